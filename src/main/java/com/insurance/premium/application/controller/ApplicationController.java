@@ -15,14 +15,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.insurance.premium.application.domain.Application;
 import com.insurance.premium.application.domain.Application.Status;
 import com.insurance.premium.application.dto.ApplicationRequest;
 import com.insurance.premium.application.dto.ApplicationResponse;
+import com.insurance.premium.application.dto.ApplicationStatusBulkRequest;
+import com.insurance.premium.application.dto.ApplicationStatusBulkResponse;
 import com.insurance.premium.application.dto.ErrorResponse;
 import com.insurance.premium.application.service.ApplicationService;
+import com.insurance.premium.application.service.ApplicationStatusService;
+import com.insurance.premium.common.dto.CursorPage;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -44,9 +49,11 @@ public class ApplicationController {
     private static final Logger logger = LoggerFactory.getLogger(ApplicationController.class);
     
     private final ApplicationService applicationService;
+    private final ApplicationStatusService statusService;
     
-    public ApplicationController(ApplicationService applicationService) {
+    public ApplicationController(ApplicationService applicationService, ApplicationStatusService statusService) {
         this.applicationService = applicationService;
+        this.statusService = statusService;
     }
     
     @PostMapping
@@ -118,6 +125,30 @@ public class ApplicationController {
         return ResponseEntity.ok(applications);
     }
     
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll applications", 
+               description = "Returns a page of applications, newest first, optionally filtered by status. " +
+                       "The next page is requested with the returned cursor; there is no total count, " +
+                       "so deep pages cost the same as the first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Applications retrieved successfully", 
+                content = @Content(schema = @Schema(implementation = CursorPage.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor", 
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Object> scrollApplications(
+            @Parameter(description = "Application status") @RequestParam(required = false) Status status,
+            @Parameter(description = "Cursor of the next page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + CursorPage.MAX_SIZE) @RequestParam(defaultValue = "20") int size) {
+        logger.debug("REST request to scroll applications [status={}, cursor={}, size={}]", status, cursor, size);
+        try {
+            return ResponseEntity.ok(applicationService.scrollApplications(status, cursor, size)
+                .map(ApplicationResponse::fromEntity));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ErrorResponse.validation(e.getMessage()));
+        }
+    }
+    
     @GetMapping("/status/{status}")
     @PageableAsQueryParam
     @Operation(summary = "Get applications by status", description = "Returns applications filtered by status with pagination support")
@@ -162,6 +193,28 @@ public class ApplicationController {
         }
     }
     
+    @PutMapping("/status")
+    @Operation(summary = "Update application statuses", 
+               description = "Changes the status of NEW applications selected by their IDs or by a filter " +
+                       "(vehicle type and/or created before). Applications that are not NEW keep their status. " +
+                       "A filter updates the oldest matching applications up to the configured maximum.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statuses updated, with the outcome per application", 
+                content = @Content(schema = @Schema(implementation = ApplicationStatusBulkResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input", 
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Object> updateApplicationStatuses(@Valid @RequestBody ApplicationStatusBulkRequest request) {
+        logger.debug("REST request to update application statuses: {}", request);
+        try {
+            return ResponseEntity.ok(statusService.updateStatuses(request));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid bulk status request: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(ErrorResponse.validation(e.getMessage()));
+        }
+    }
+    
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete application", description = "Deletes an application by its ID")
     @ApiResponses(value = {
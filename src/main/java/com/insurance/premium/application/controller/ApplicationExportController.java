@@ -0,0 +1,94 @@
+package com.insurance.premium.application.controller;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.premium.application.domain.Application.Status;
+import com.insurance.premium.application.dto.ApplicationExportEntry;
+import com.insurance.premium.application.dto.ApplicationExportFilter;
+import com.insurance.premium.application.dto.ErrorResponse;
+import com.insurance.premium.application.service.ApplicationExportService;
+import com.insurance.premium.application.service.ApplicationExportService.Format;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("/api/applications/export")
+@Tag(name = "Application Management", description = "API for managing insurance applications")
+public class ApplicationExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationExportController.class);
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final ApplicationExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    public ApplicationExportController(ApplicationExportService exportService, ObjectMapper objectMapper) {
+        this.exportService = exportService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping(produces = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Export applications",
+               description = "Streams all applications matching the given filters as CSV (with a header row) " +
+                       "or NDJSON, oldest first, one line per application")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Applications exported successfully",
+                content = {
+                    @Content(mediaType = TEXT_CSV_VALUE, schema = @Schema(type = "string")),
+                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ApplicationExportEntry.class))
+                }),
+        @ApiResponse(responseCode = "400", description = "Invalid time range",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public void exportApplications(
+            @Parameter(description = "Format of the export") @RequestParam(defaultValue = "CSV") Format format,
+            @Parameter(description = "Application status") @RequestParam(required = false) Status status,
+            @Parameter(description = "Start of the creation time (ISO format, inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the creation time (ISO format, inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Vehicle type") @RequestParam(required = false) String vehicleType,
+            HttpServletResponse response) throws IOException {
+        logger.debug("REST request to export applications [format={}, status={}, from={}, to={}, vehicleType={}]",
+                format, status, from, to, vehicleType);
+        ApplicationExportFilter filter = new ApplicationExportFilter(status, from, to, vehicleType);
+        // The applications are written while they are read, so the export is never held in memory
+        try {
+            response.setContentType(format == Format.CSV ? TEXT_CSV_VALUE : MediaType.APPLICATION_NDJSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"applications." + (format == Format.CSV ? "csv" : "ndjson") + "\"");
+            exportService.export(filter, format, response.getOutputStream());
+        } catch (IllegalArgumentException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            logger.warn("Invalid application export: {}", e.getMessage());
+            response.reset();
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ErrorResponse.validation(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.insurance.premium.application.controller;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.premium.application.domain.ApplicationImportJob;
+import com.insurance.premium.application.dto.ApplicationImportItemResult;
+import com.insurance.premium.application.dto.ApplicationImportJobResponse;
+import com.insurance.premium.application.dto.ApplicationRequest;
+import com.insurance.premium.application.dto.ErrorResponse;
+import com.insurance.premium.application.service.ApplicationImportService;
+import com.insurance.premium.application.service.ApplicationImportService.Format;
+import com.insurance.premium.application.service.ApplicationImportService.ImportFile;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("/api/applications/import")
+@Tag(name = "Application Management", description = "API for managing insurance applications")
+public class ApplicationImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationImportController.class);
+
+    public static final String JOB_ID_HEADER = "X-Import-Job-Id";
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final ApplicationImportService importService;
+    private final ObjectMapper objectMapper;
+
+    public ApplicationImportController(ApplicationImportService importService, ObjectMapper objectMapper) {
+        this.importService = importService;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import applications",
+               description = "Imports applications from a CSV file (columns postalCode, vehicleType, annualMileage) " +
+                       "or a JSON array / NDJSON stream of application requests. Rows are rated in parallel and " +
+                       "inserted in chunks; the result of every row is streamed back as NDJSON after its chunk. " +
+                       "The job ID is returned in the " + JOB_ID_HEADER + " header. If the upload is interrupted, " +
+                       "upload the same file again with the job ID to continue after the last imported chunk.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "File imported, one result or error per row",
+                content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                        schema = @Schema(implementation = ApplicationImportItemResult.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown or completed job, or invalid CSV header",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "CSV file, JSON array or NDJSON stream of applications", required = true,
+            content = {
+                @Content(mediaType = TEXT_CSV_VALUE, schema = @Schema(type = "string")),
+                @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApplicationRequest[].class)),
+                @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ApplicationRequest.class))
+            })
+    public void importApplications(
+            @Parameter(description = "ID of an interrupted import job to resume")
+            @RequestParam(required = false) String jobId,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // The file is read and the results are written as a stream, so large files are never held in memory
+        logger.debug("REST request to import applications [jobId={}]", jobId);
+        Format format = request.getContentType() != null
+                && MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                ? Format.CSV : Format.JSON;
+        // The CSV header is validated before a job is started, so rejected files leave no job behind
+        try (ImportFile importFile = importService.open(format, request.getInputStream())) {
+            ApplicationImportJob job;
+            if (jobId == null) {
+                job = importService.startJob();
+            } else {
+                job = importService.getJob(jobId)
+                        .orElseThrow(() -> new IllegalArgumentException("Import job not found: " + jobId));
+            }
+            response.setHeader(JOB_ID_HEADER, job.getJobId());
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            importService.importApplications(job, importFile, response.getOutputStream());
+        } catch (IllegalArgumentException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            logger.warn("Invalid application import: {}", e.getMessage());
+            response.reset();
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ErrorResponse.validation(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get import job", description = "Returns the progress of an application import of the current user")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import job found",
+                content = @Content(schema = @Schema(implementation = ApplicationImportJobResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Import job not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Object> getImportJob(
+            @Parameter(description = "Import job ID", required = true)
+            @PathVariable String jobId) {
+        logger.debug("REST request to get import job [jobId={}]", jobId);
+        Optional<ApplicationImportJob> job = importService.getJob(jobId);
+        if (job.isPresent()) {
+            return ResponseEntity.ok(ApplicationImportJobResponse.fromEntity(job.get()));
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(ErrorResponse.of("Import job not found with ID: " + jobId));
+    }
+}
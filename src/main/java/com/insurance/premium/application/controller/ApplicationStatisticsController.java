@@ -0,0 +1,57 @@
+package com.insurance.premium.application.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.insurance.premium.application.dto.ApplicationStatistics;
+import com.insurance.premium.application.dto.ErrorResponse;
+import com.insurance.premium.application.service.ApplicationStatisticsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/applications/statistics")
+@Tag(name = "Application Management", description = "API for managing insurance applications")
+public class ApplicationStatisticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationStatisticsController.class);
+
+    private final ApplicationStatisticsService statisticsService;
+
+    public ApplicationStatisticsController(ApplicationStatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get application statistics",
+               description = "Returns the number of applications per status and the number, premium total and average " +
+                       "premium per day, vehicle type and federal state, including archived applications. " +
+                       "The statistics are maintained incrementally, so reading them does not query the applications.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully",
+                content = @Content(schema = @Schema(implementation = ApplicationStatistics.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid number of days",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Object> getStatistics(
+            @Parameter(description = "Number of most recent days, at most " + ApplicationStatisticsService.MAX_DAYS)
+            @RequestParam(defaultValue = "30") int days) {
+        logger.debug("REST request to get application statistics [days={}]", days);
+        try {
+            return ResponseEntity.ok(statisticsService.getStatistics(days));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ErrorResponse.validation(e.getMessage()));
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.insurance.premium.application.domain;
 
-import com.insurance.premium.common.domain.BaseEntity;
+import com.insurance.premium.common.domain.SequenceEntity;
 import com.insurance.premium.security.domain.User;
 
 import jakarta.persistence.Column;
@@ -18,8 +18,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "applications")
-@SuppressWarnings("java:S2160") // equals and hashCode are in BaseEntity
-public class Application extends BaseEntity {
+@SuppressWarnings("java:S2160") // equals and hashCode are in AbstractEntity
+public class Application extends SequenceEntity {
 
     public Application() {} // default constructor for JPA
     
@@ -87,7 +87,7 @@ public class Application extends BaseEntity {
     @Column(name = "status", nullable = false)
     private Status status;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by_id")
     private User createdBy;
 
@@ -0,0 +1,56 @@
+package com.insurance.premium.application.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.insurance.premium.application.domain.Application;
+
+/**
+ * Position of the last application of a page. Applications are ordered by creation time
+ * and id descending, so the next page continues with the applications before this position.
+ */
+public record ApplicationCursor(
+    LocalDateTime createdAt,
+    long id
+) {
+    /** Position before the first page, after every application */
+    public static final ApplicationCursor FIRST = new ApplicationCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    public static ApplicationCursor of(Application application) {
+        return new ApplicationCursor(application.getCreatedAt(), application.getId());
+    }
+
+    /**
+     * Encode the cursor as an opaque URL-safe token
+     *
+     * @return the cursor token
+     */
+    public String encode() {
+        String value = createdAt + "/" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor token
+     *
+     * @param token the cursor token, null or blank for the first page
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is invalid
+     */
+    public static ApplicationCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('/');
+            return new ApplicationCursor(
+                LocalDateTime.parse(value.substring(0, separator)),
+                Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.insurance.premium.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.insurance.premium.application.domain.Application.Status;
+
+/**
+ * Data Transfer Object for an exported application, with the username of the creating user.
+ */
+public record ApplicationExportEntry(
+    long id,
+    LocalDateTime createdAt,
+    Status status,
+    String postalCode,
+    String vehicleType,
+    int annualMileage,
+    BigDecimal basePremium,
+    BigDecimal regionFactor,
+    BigDecimal vehicleFactor,
+    BigDecimal mileageFactor,
+    BigDecimal calculatedPremium,
+    String createdBy
+) {
+}
@@ -0,0 +1,19 @@
+package com.insurance.premium.application.dto;
+
+import java.time.LocalDateTime;
+
+import com.insurance.premium.application.domain.Application.Status;
+
+/**
+ * Data Transfer Object for the filters of an application export.
+ * All filters are optional and combined with AND; the creation time range is inclusive.
+ */
+public record ApplicationExportFilter(
+    Status status,
+    LocalDateTime from,
+    LocalDateTime to,
+    String vehicleType
+) {
+    /** Filter matching all applications */
+    public static final ApplicationExportFilter NONE = new ApplicationExportFilter(null, null, null, null);
+}
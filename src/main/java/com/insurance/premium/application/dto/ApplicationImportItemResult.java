@@ -0,0 +1,26 @@
+package com.insurance.premium.application.dto;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Data Transfer Object for one row of a bulk application import.
+ * Contains either the ID and premium of the created application or the error of the row.
+ * Rows are numbered from 1, not counting the CSV header.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ApplicationImportItemResult(
+    long row,
+    Long applicationId,
+    BigDecimal calculatedPremium,
+    ErrorResponse error
+) {
+    public static ApplicationImportItemResult success(long row, Long applicationId, BigDecimal calculatedPremium) {
+        return new ApplicationImportItemResult(row, applicationId, calculatedPremium, null);
+    }
+    
+    public static ApplicationImportItemResult failure(long row, ErrorResponse error) {
+        return new ApplicationImportItemResult(row, null, null, error);
+    }
+}
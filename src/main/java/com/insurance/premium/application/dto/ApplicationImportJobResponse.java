@@ -0,0 +1,33 @@
+package com.insurance.premium.application.dto;
+
+import java.time.LocalDateTime;
+
+import com.insurance.premium.application.domain.ApplicationImportJob;
+import com.insurance.premium.application.domain.ApplicationImportJob.Status;
+
+/**
+ * Data Transfer Object for the state of a bulk application import.
+ * An import in progress is resumed by uploading the same file again with the job ID;
+ * the first {@code processedRows} rows are then skipped.
+ */
+public record ApplicationImportJobResponse(
+    String jobId,
+    Status status,
+    long processedRows,
+    long importedRows,
+    long failedRows,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+    public static ApplicationImportJobResponse fromEntity(ApplicationImportJob job) {
+        return new ApplicationImportJobResponse(
+            job.getJobId(),
+            job.getStatus(),
+            job.getProcessedRows(),
+            job.getImportedRows(),
+            job.getFailedRows(),
+            job.getCreatedAt(),
+            job.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package com.insurance.premium.application.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import com.insurance.premium.application.domain.Application.Status;
+
+/**
+ * Data Transfer Object for the statistics of all applications, including archived ones.
+ * The days are the most recent ones, newest first; vehicle types and federal states are ordered by name.
+ */
+public record ApplicationStatistics(
+    long total,
+    BigDecimal premiumTotal,
+    BigDecimal averagePremium,
+    Map<Status, Long> byStatus,
+    List<ApplicationStatisticsBucket> byDay,
+    List<ApplicationStatisticsBucket> byVehicleType,
+    List<ApplicationStatisticsBucket> byFederalState
+) {
+}
@@ -0,0 +1,15 @@
+package com.insurance.premium.application.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for the number and premiums of the applications of a day, vehicle type or federal state.
+ * The average premium is null if there are no applications.
+ */
+public record ApplicationStatisticsBucket(
+    String key,
+    long count,
+    BigDecimal premiumTotal,
+    BigDecimal averagePremium
+) {
+}
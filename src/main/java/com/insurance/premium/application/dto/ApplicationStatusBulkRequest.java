@@ -0,0 +1,28 @@
+package com.insurance.premium.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.insurance.premium.application.domain.Application.Status;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Data Transfer Object for a bulk status transition of NEW applications.
+ * The applications are selected either by their IDs or by a filter; the filter
+ * fields are optional and combined with AND.
+ */
+public record ApplicationStatusBulkRequest(
+    @NotNull(message = "Status is required")
+    Status status,
+    
+    List<Long> ids,
+    
+    String vehicleType,
+    
+    LocalDateTime createdBefore
+) {
+    public boolean hasFilter() {
+        return vehicleType != null || createdBefore != null;
+    }
+}
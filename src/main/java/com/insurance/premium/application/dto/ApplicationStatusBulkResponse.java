@@ -0,0 +1,18 @@
+package com.insurance.premium.application.dto;
+
+import java.util.List;
+
+import com.insurance.premium.application.domain.Application.Status;
+
+/**
+ * Data Transfer Object for the result of a bulk status transition.
+ * If a filter matched more applications than allowed per request, only the oldest
+ * ones were updated and {@code truncated} is set; repeating the request updates the next ones.
+ */
+public record ApplicationStatusBulkResponse(
+    Status status,
+    int updated,
+    boolean truncated,
+    List<ApplicationStatusOutcome> results
+) {
+}
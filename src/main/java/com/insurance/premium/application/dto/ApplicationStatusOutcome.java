@@ -0,0 +1,24 @@
+package com.insurance.premium.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.insurance.premium.application.domain.Application.Status;
+
+/**
+ * Data Transfer Object for the outcome of a bulk status transition for one application.
+ * The status is the status of the application after the transition, null if it was not found.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ApplicationStatusOutcome(
+    long id,
+    Outcome outcome,
+    Status status
+) {
+    public enum Outcome {
+        /** The status was changed */
+        UPDATED,
+        /** The application was not NEW or is archived, its status was kept */
+        SKIPPED,
+        /** There is no application with the ID */
+        NOT_FOUND
+    }
+}
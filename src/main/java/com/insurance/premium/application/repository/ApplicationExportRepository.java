@@ -0,0 +1,66 @@
+package com.insurance.premium.application.repository;
+
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import com.insurance.premium.application.domain.Application.Status;
+import com.insurance.premium.application.dto.ApplicationExportEntry;
+import com.insurance.premium.application.dto.ApplicationExportFilter;
+import com.insurance.premium.common.jdbc.QueryBuilder;
+import com.insurance.premium.common.jdbc.StreamingQueries;
+
+/**
+ * Repository for reading applications as {@link ApplicationExportEntry} projections,
+ * streamed row by row through {@link StreamingQueries}. Archived applications are
+ * exported as well, so the export agrees with the application statistics.
+ */
+@Repository
+public class ApplicationExportRepository {
+
+    private static final String COLUMNS = "id, created_at, status, postal_code, vehicle_type, annual_mileage, " +
+            "base_premium, region_factor, vehicle_factor, mileage_factor, calculated_premium, created_by_id";
+    // PostgreSQL pushes the filters down into both tables of the union
+    private static final String SELECT = "SELECT a.*, u.username FROM (SELECT " + COLUMNS + " FROM applications " +
+            "UNION ALL SELECT " + COLUMNS + " FROM applications_archive) a LEFT JOIN users u ON u.id = a.created_by_id";
+    private static final String ORDER = " ORDER BY a.created_at, a.id";
+
+    private final StreamingQueries streamingQueries;
+
+    public ApplicationExportRepository(
+            DataSource dataSource,
+            @Value("${application.export.fetch-size:500}") int fetchSize) {
+        this.streamingQueries = new StreamingQueries(dataSource, fetchSize);
+    }
+
+    /**
+     * Pass all matching applications to a consumer, one by one.
+     *
+     * @param filter the filters
+     * @param consumer the consumer of the applications, oldest first
+     */
+    public void stream(ApplicationExportFilter filter, Consumer<ApplicationExportEntry> consumer) {
+        QueryBuilder query = new QueryBuilder(SELECT)
+                .where("a.status = ?", filter.status())
+                .where("a.created_at >= ?", filter.from())
+                .where("a.created_at <= ?", filter.to())
+                .where("a.vehicle_type = ?", filter.vehicleType())
+                .append(ORDER);
+        streamingQueries.stream(query, (rs, rowNum) -> new ApplicationExportEntry(
+                rs.getLong("id"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                Status.valueOf(rs.getString("status")),
+                rs.getString("postal_code"),
+                rs.getString("vehicle_type"),
+                rs.getInt("annual_mileage"),
+                rs.getBigDecimal("base_premium"),
+                rs.getBigDecimal("region_factor"),
+                rs.getBigDecimal("vehicle_factor"),
+                rs.getBigDecimal("mileage_factor"),
+                rs.getBigDecimal("calculated_premium"),
+                rs.getString("username")), consumer);
+    }
+}
@@ -0,0 +1,61 @@
+package com.insurance.premium.application.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.insurance.premium.application.domain.ApplicationImportJob;
+import com.insurance.premium.application.domain.ApplicationImportJob.Status;
+
+@Repository
+public interface ApplicationImportJobRepository extends JpaRepository<ApplicationImportJob, Long> {
+    
+    /**
+     * Find an import job by its public job ID, fetching the creating user in the
+     * same query for the ownership check
+     * 
+     * @param jobId The job ID
+     * @return The import job if found
+     */
+    @EntityGraph(attributePaths = "createdBy")
+    Optional<ApplicationImportJob> findByJobId(String jobId);
+    
+    /**
+     * Advance the counters of an import job after a chunk. Only succeeds if the job is
+     * still at the expected row, so concurrent uploads of the same job cannot import a
+     * chunk twice.
+     * 
+     * @param jobId The job ID
+     * @param expectedRows The processed rows before the chunk
+     * @param rows The rows of the chunk
+     * @param imported The imported rows of the chunk
+     * @param failed The failed rows of the chunk
+     * @param updatedAt The time of the update
+     * @return 1 if the job was advanced, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE ApplicationImportJob j SET j.processedRows = j.processedRows + :rows, " +
+           "j.importedRows = j.importedRows + :imported, j.failedRows = j.failedRows + :failed, j.updatedAt = :updatedAt " +
+           "WHERE j.jobId = :jobId AND j.processedRows = :expectedRows AND j.status = :status")
+    int advance(@Param("jobId") String jobId, @Param("expectedRows") long expectedRows, @Param("rows") long rows,
+            @Param("imported") long imported, @Param("failed") long failed, @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("status") Status status);
+    
+    /**
+     * Set the status of an import job
+     * 
+     * @param jobId The job ID
+     * @param status The new status
+     * @param updatedAt The time of the update
+     * @return The number of updated jobs
+     */
+    @Modifying
+    @Query("UPDATE ApplicationImportJob j SET j.status = :status, j.updatedAt = :updatedAt WHERE j.jobId = :jobId")
+    int updateStatus(@Param("jobId") String jobId, @Param("status") Status status, @Param("updatedAt") LocalDateTime updatedAt);
+}
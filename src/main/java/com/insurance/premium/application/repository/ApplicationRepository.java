@@ -1,6 +1,10 @@
 package com.insurance.premium.application.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
@@ -11,17 +15,31 @@ import com.insurance.premium.security.domain.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
     
     /**
-     * Find applications by status with pagination
+     * Find all applications with pagination, fetching the creating users
+     * in the same query for the application list
+     * 
+     * @param pageable Pagination information
+     * @return Page of applications
+     */
+    @Override
+    @EntityGraph(attributePaths = "createdBy")
+    Page<Application> findAll(Pageable pageable);
+    
+    /**
+     * Find applications by status with pagination, fetching the creating users
+     * in the same query for the application list
      * 
      * @param status The application status
      * @param pageable Pagination information
      * @return Page of applications with the given status
      */
+    @EntityGraph(attributePaths = "createdBy")
     Page<Application> findByStatus(Status status, Pageable pageable);
     
     /**
@@ -82,4 +100,75 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
      * @return Page of applications created by the given user with the given status
      */
     Page<Application> findByCreatedByAndStatus(User createdBy, Status status, Pageable pageable);
+    
+    /**
+     * Find the applications before a position, newest first, fetching the creating users.
+     * The row value comparison seeks into the (created_at, id) index, so every page
+     * costs the same, and no count query is run.
+     * 
+     * @param createdAt The creation time of the position
+     * @param id The ID of the position
+     * @param limit The maximum number of applications
+     * @return List of applications before the position
+     */
+    @EntityGraph(attributePaths = "createdBy")
+    @Query("SELECT a FROM Application a WHERE (a.createdAt, a.id) < (:createdAt, :id) ORDER BY a.createdAt DESC, a.id DESC")
+    List<Application> findBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+    
+    /**
+     * Find the applications with a status before a position, newest first, fetching the creating users
+     * 
+     * @param status The application status
+     * @param createdAt The creation time of the position
+     * @param id The ID of the position
+     * @param limit The maximum number of applications
+     * @return List of applications with the given status before the position
+     */
+    @EntityGraph(attributePaths = "createdBy")
+    @Query("SELECT a FROM Application a WHERE a.status = :status AND (a.createdAt, a.id) < (:createdAt, :id) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Application> findByStatusBefore(@Param("status") Status status, @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id, Limit limit);
+    
+    /**
+     * Find the applications of a user before a position, newest first
+     * 
+     * @param createdBy The user who created the applications
+     * @param createdAt The creation time of the position
+     * @param id The ID of the position
+     * @param limit The maximum number of applications
+     * @return List of applications created by the given user before the position
+     */
+    @Query("SELECT a FROM Application a WHERE a.createdBy = :createdBy AND (a.createdAt, a.id) < (:createdAt, :id) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Application> findByCreatedByBefore(@Param("createdBy") User createdBy, @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id, Limit limit);
+    
+    /**
+     * Find the applications of a user with a status before a position, newest first
+     * 
+     * @param createdBy The user who created the applications
+     * @param status The application status
+     * @param createdAt The creation time of the position
+     * @param id The ID of the position
+     * @param limit The maximum number of applications
+     * @return List of applications created by the given user with the given status before the position
+     */
+    @Query("SELECT a FROM Application a WHERE a.createdBy = :createdBy AND a.status = :status " +
+           "AND (a.createdAt, a.id) < (:createdAt, :id) ORDER BY a.createdAt DESC, a.id DESC")
+    List<Application> findByCreatedByAndStatusBefore(@Param("createdBy") User createdBy, @Param("status") Status status,
+                                                     @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                     Limit limit);
+    
+    /**
+     * Find an archived application by ID. Decided applications of old months are moved
+     * into applications_archive by the partition maintenance and are read-only.
+     * 
+     * @param id The application ID
+     * @return Optional containing the archived application if found
+     */
+    @Query(value = "SELECT id, annual_mileage, vehicle_type, postal_code, base_premium, mileage_factor, vehicle_factor, " +
+           "region_factor, calculated_premium, created_at, status, created_by_id FROM applications_archive WHERE id = :id",
+           nativeQuery = true)
+    Optional<Application> findArchivedById(@Param("id") Long id);
 }
@@ -0,0 +1,77 @@
+package com.insurance.premium.application.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the aggregated application counts and premiums in {@code application_statistics}.
+ *
+ * Changes are added with one multi-row upsert, so a flush is a single atomic statement
+ * no matter how many aggregates it touches.
+ */
+@Repository
+public class ApplicationStatisticsRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO application_statistics (dimension, dimension_value, application_count, premium_total) VALUES %s " +
+            "ON CONFLICT (dimension, dimension_value) DO UPDATE SET " +
+            "application_count = application_statistics.application_count + EXCLUDED.application_count, " +
+            "premium_total = application_statistics.premium_total + EXCLUDED.premium_total";
+
+    /**
+     * Count and premium total of one aggregate, or the change of an aggregate
+     *
+     * @param dimension the dimension, e.g. {@code STATUS} or {@code DAY}
+     * @param value the value within the dimension, e.g. {@code NEW} or {@code 2025-03-01}
+     * @param count the number of applications
+     * @param premiumTotal the sum of the premiums
+     */
+    public record Row(String dimension, String value, long count, BigDecimal premiumTotal) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ApplicationStatisticsRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Read all aggregates
+     *
+     * @return the aggregates
+     */
+    public List<Row> findAll() {
+        return jdbcTemplate.query(
+                "SELECT dimension, dimension_value, application_count, premium_total FROM application_statistics",
+                (rs, rowNum) -> new Row(rs.getString("dimension"), rs.getString("dimension_value"),
+                        rs.getLong("application_count"), rs.getBigDecimal("premium_total")));
+    }
+
+    /**
+     * Add changes to the aggregates, creating missing ones. Each aggregate may only be
+     * contained once; the rows should be sorted, so concurrent flushes lock in the same order.
+     *
+     * @param changes the changes of the counts and premium totals
+     */
+    public void add(List<Row> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(changes.size() * 4);
+        StringBuilder values = new StringBuilder();
+        for (Row change : changes) {
+            values.append(values.isEmpty() ? "" : ", ").append("(?, ?, ?, ?)");
+            args.add(change.dimension());
+            args.add(change.value());
+            args.add(change.count());
+            args.add(change.premiumTotal());
+        }
+        jdbcTemplate.update(UPSERT_SQL.formatted(values), args.toArray());
+    }
+}
@@ -0,0 +1,112 @@
+package com.insurance.premium.application.repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.insurance.premium.application.domain.Application.Status;
+
+/**
+ * Repository for set-based status transitions of applications.
+ *
+ * The IDs are bound as one array parameter ({@code id = ANY(?)}), so a transition of
+ * hundreds of applications is a single statement with a single plan. The rows are
+ * locked before the update, so the outcome of every ID is known exactly.
+ */
+@Repository
+public class ApplicationStatusRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ApplicationStatusRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Lock applications and read their status
+     *
+     * @param ids the application IDs
+     * @return the status by ID of the applications found
+     */
+    public Map<Long, Status> lockStatuses(Long[] ids) {
+        Map<Long, Status> statuses = new HashMap<>();
+        jdbcTemplate.query(
+                con -> {
+                    var statement = con.prepareStatement("SELECT id, status FROM applications WHERE id = ANY(?) FOR UPDATE");
+                    statement.setArray(1, con.createArrayOf("bigint", ids));
+                    return statement;
+                },
+                rs -> {
+                    statuses.put(rs.getLong("id"), Status.valueOf(rs.getString("status")));
+                });
+        return statuses;
+    }
+
+    /**
+     * Read the status of archived applications. Archived applications are decided and
+     * never changed again, so they are not locked.
+     *
+     * @param ids the application IDs
+     * @return the status by ID of the archived applications found
+     */
+    public Map<Long, Status> findArchivedStatuses(Long[] ids) {
+        Map<Long, Status> statuses = new HashMap<>();
+        jdbcTemplate.query(
+                con -> {
+                    var statement = con.prepareStatement("SELECT id, status FROM applications_archive WHERE id = ANY(?)");
+                    statement.setArray(1, con.createArrayOf("bigint", ids));
+                    return statement;
+                },
+                rs -> {
+                    statuses.put(rs.getLong("id"), Status.valueOf(rs.getString("status")));
+                });
+        return statuses;
+    }
+
+    /**
+     * Lock the oldest NEW applications matching a filter
+     *
+     * @param vehicleType the vehicle type, null for all
+     * @param createdBefore the creation time the applications must be older than, null for all
+     * @param limit the maximum number of applications
+     * @return the IDs, oldest first
+     */
+    public List<Long> lockNewIds(String vehicleType, Timestamp createdBefore, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT id FROM applications WHERE status = 'NEW'");
+        List<Object> args = new ArrayList<>();
+        if (vehicleType != null) {
+            sql.append(" AND vehicle_type = ?");
+            args.add(vehicleType);
+        }
+        if (createdBefore != null) {
+            sql.append(" AND created_at < ?");
+            args.add(createdBefore);
+        }
+        sql.append(" ORDER BY created_at, id LIMIT ? FOR UPDATE");
+        args.add(limit);
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+    }
+
+    /**
+     * Change the status of the NEW applications among the given IDs
+     *
+     * @param ids the application IDs
+     * @param status the new status
+     * @return the number of updated applications
+     */
+    public int updateNewStatus(Long[] ids, Status status) {
+        return jdbcTemplate.update(con -> {
+            var statement = con.prepareStatement("UPDATE applications SET status = ? WHERE id = ANY(?) AND status = 'NEW'");
+            statement.setString(1, status.name());
+            statement.setArray(2, con.createArrayOf("bigint", ids));
+            return statement;
+        });
+    }
+}
@@ -0,0 +1,128 @@
+package com.insurance.premium.application.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.insurance.premium.application.dto.ApplicationExportEntry;
+import com.insurance.premium.application.dto.ApplicationExportFilter;
+import com.insurance.premium.application.repository.ApplicationExportRepository;
+import com.opencsv.CSVWriter;
+import com.opencsv.ICSVWriter;
+
+/**
+ * Service for exporting applications as CSV or NDJSON.
+ */
+@Service
+public class ApplicationExportService {
+
+    private static final int OUTPUT_BUFFER_SIZE = 8192;
+    private static final String[] CSV_HEADER = {"id", "createdAt", "status", "postalCode", "vehicleType",
+            "annualMileage", "basePremium", "regionFactor", "vehicleFactor", "mileageFactor", "calculatedPremium", "createdBy"};
+
+    /**
+     * Format of an export
+     */
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private final ApplicationExportRepository exportRepository;
+    private final ObjectWriter entryWriter;
+
+    public ApplicationExportService(ApplicationExportRepository exportRepository, ObjectMapper objectMapper) {
+        this.exportRepository = exportRepository;
+        this.entryWriter = objectMapper.writerFor(ApplicationExportEntry.class);
+    }
+
+    /**
+     * Write all matching applications, oldest first.
+     * Applications are written while they are read from the database, so the heap usage
+     * does not depend on the number of applications.
+     *
+     * @param filter the filters
+     * @param format the format of the export
+     * @param output the stream the export is written to
+     * @return the number of written applications
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if the creation time range is empty
+     */
+    @Transactional(readOnly = true)
+    public long export(ApplicationExportFilter filter, Format format, OutputStream output) throws IOException {
+        if (filter.from() != null && filter.to() != null && filter.from().isAfter(filter.to())) {
+            throw new IllegalArgumentException("Start time must not be after end time");
+        }
+        OutputStream out = new BufferedOutputStream(output, OUTPUT_BUFFER_SIZE);
+        long count;
+        try {
+            count = format == Format.CSV ? exportCsv(filter, out) : exportNdjson(filter, out);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        return count;
+    }
+
+    private long exportCsv(ApplicationExportFilter filter, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        // The CSV writer is not closed, that would close the response stream
+        ICSVWriter csvWriter = new CSVWriter(writer);
+        csvWriter.writeNext(CSV_HEADER, false);
+        long[] count = new long[1];
+        exportRepository.stream(filter, entry -> {
+            csvWriter.writeNext(new String[] {
+                String.valueOf(entry.id()),
+                entry.createdAt().toString(),
+                entry.status().name(),
+                entry.postalCode(),
+                entry.vehicleType(),
+                String.valueOf(entry.annualMileage()),
+                plain(entry.basePremium()),
+                plain(entry.regionFactor()),
+                plain(entry.vehicleFactor()),
+                plain(entry.mileageFactor()),
+                plain(entry.calculatedPremium()),
+                entry.createdBy()
+            }, false);
+            // the CSV writer keeps write errors instead of throwing them; stop reading once the client is gone
+            if (csvWriter.getException() != null) {
+                throw new UncheckedIOException(csvWriter.getException());
+            }
+            count[0]++;
+        });
+        csvWriter.flush();
+        if (csvWriter.getException() != null) {
+            throw csvWriter.getException();
+        }
+        return count[0];
+    }
+
+    private long exportNdjson(ApplicationExportFilter filter, OutputStream out) {
+        long[] count = new long[1];
+        exportRepository.stream(filter, entry -> {
+            try {
+                out.write(entryWriter.writeValueAsBytes(entry));
+                out.write('\n');
+                count[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return count[0];
+    }
+
+    private static String plain(BigDecimal value) {
+        return value != null ? value.toPlainString() : null;
+    }
+}
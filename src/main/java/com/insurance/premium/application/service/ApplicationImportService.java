@@ -0,0 +1,519 @@
+package com.insurance.premium.application.service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.insurance.premium.application.domain.Application;
+import com.insurance.premium.application.domain.Application.Status;
+import com.insurance.premium.application.domain.ApplicationImportJob;
+import com.insurance.premium.application.dto.ApplicationImportItemResult;
+import com.insurance.premium.application.dto.ApplicationImportJobResponse;
+import com.insurance.premium.application.dto.ApplicationRequest;
+import com.insurance.premium.application.dto.ErrorResponse;
+import com.insurance.premium.application.repository.ApplicationImportJobRepository;
+import com.insurance.premium.application.repository.ApplicationRepository;
+import com.insurance.premium.calculation.dto.PremiumCalculationRequest;
+import com.insurance.premium.calculation.dto.PremiumCalculationResult;
+import com.insurance.premium.calculation.rating.RatingSnapshot;
+import com.insurance.premium.calculation.service.PremiumCalculationService;
+import com.insurance.premium.security.domain.User;
+import com.insurance.premium.security.service.UserService;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Service for bulk imports of applications.
+ * Rows are read one by one from a CSV file or a JSON array / NDJSON stream and handled in
+ * chunks: the rows of a chunk are validated and rated in parallel against the same rating
+ * snapshot, the valid ones are inserted in one transaction together with the progress of
+ * the job, and the results are written as NDJSON lines in input order. The user is resolved
+ * once per job. An interrupted import is resumed by uploading the same file with the job ID,
+ * which skips the rows of committed chunks.
+ */
+@Service
+public class ApplicationImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationImportService.class);
+
+    private static final int OUTPUT_BUFFER_SIZE = 8192;
+    private static final String[] CSV_COLUMNS = {"postalcode", "vehicletype", "annualmileage"};
+
+    /**
+     * Format of the uploaded file
+     */
+    public enum Format {
+        /** CSV with a header row naming the columns postalCode, vehicleType and annualMileage */
+        CSV,
+        /** JSON array or NDJSON stream of application requests */
+        JSON
+    }
+
+    private final ApplicationRepository applicationRepository;
+    private final ApplicationImportJobRepository jobRepository;
+    private final PremiumCalculationService calculationService;
+    private final UserService userService;
+    private final ApplicationStatisticsService statisticsService;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+    private final ExecutorService ratingExecutor;
+
+    @SuppressWarnings("java:S107") // number of parameters
+    public ApplicationImportService(
+            ApplicationRepository applicationRepository,
+            ApplicationImportJobRepository jobRepository,
+            PremiumCalculationService calculationService,
+            UserService userService,
+            ApplicationStatisticsService statisticsService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${application.import.chunk-size:500}") int chunkSize,
+            @Value("${application.import.parallelism:0}") int parallelism) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Application import chunk size must be positive");
+        }
+        this.applicationRepository = applicationRepository;
+        this.jobRepository = jobRepository;
+        this.calculationService = calculationService;
+        this.userService = userService;
+        this.statisticsService = statisticsService;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(ApplicationRequest.class);
+        this.resultWriter = objectMapper.writerFor(ApplicationImportItemResult.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threads = new AtomicInteger();
+        this.ratingExecutor = Executors.newFixedThreadPool(this.parallelism, task -> {
+            Thread thread = new Thread(task, "application-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stop the rating threads
+     */
+    @PreDestroy
+    public void shutdown() {
+        ratingExecutor.shutdownNow();
+    }
+
+    /**
+     * Start a new import job for the current authenticated user
+     *
+     * @return The new import job
+     */
+    @Transactional
+    public ApplicationImportJob startJob() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userService.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
+        ApplicationImportJob job = jobRepository.save(
+                new ApplicationImportJob(UUID.randomUUID().toString(), user, LocalDateTime.now()));
+        logger.info("Started application import [jobId={}] for user {}", job.getJobId(), username);
+        return job;
+    }
+
+    /**
+     * Get an import job of the current authenticated user
+     *
+     * @param jobId The job ID
+     * @return Optional containing the job if found and started by the current user
+     */
+    @Transactional(readOnly = true)
+    public Optional<ApplicationImportJob> getJob(String jobId) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return jobRepository.findByJobId(jobId)
+                .filter(job -> job.getCreatedBy().getUsername().equals(username));
+    }
+
+    /**
+     * Open a file for import, reading and validating the CSV header
+     *
+     * @param format The format of the file
+     * @param input The file
+     * @return The opened file, to be closed by the caller
+     * @throws IOException if reading the file fails
+     * @throws IllegalArgumentException if the CSV file is empty or its header is invalid
+     */
+    public ImportFile open(Format format, InputStream input) throws IOException {
+        return new ImportFile(format == Format.CSV ? new CsvRowReader(input) : new JsonRowReader(input));
+    }
+
+    /**
+     * Import applications from a file, continuing after the rows the job has already processed.
+     *
+     * @param job The import job, from {@link #startJob()} or {@link #getJob(String)}
+     * @param format The format of the file
+     * @param input The file
+     * @param output Stream the NDJSON results are written to, one line per row after every chunk
+     * @return The state of the job after the import
+     * @throws IOException if reading the file or writing the results fails
+     * @throws IllegalArgumentException if the job is completed or the CSV header is invalid
+     */
+    public ApplicationImportJobResponse importApplications(ApplicationImportJob job, Format format,
+            InputStream input, OutputStream output) throws IOException {
+        try (ImportFile file = open(format, input)) {
+            return importApplications(job, file, output);
+        }
+    }
+
+    /**
+     * Import applications from an opened file, continuing after the rows the job has already processed.
+     *
+     * @param job The import job, from {@link #startJob()} or {@link #getJob(String)}
+     * @param file The file, from {@link #open(Format, InputStream)}
+     * @param output Stream the NDJSON results are written to, one line per row after every chunk
+     * @return The state of the job after the import
+     * @throws IOException if reading the file or writing the results fails
+     * @throws IllegalArgumentException if the job is completed
+     */
+    public ApplicationImportJobResponse importApplications(ApplicationImportJob job, ImportFile file,
+            OutputStream output) throws IOException {
+        if (job.getStatus() == ApplicationImportJob.Status.COMPLETED) {
+            throw new IllegalArgumentException("Import job already completed: " + job.getJobId());
+        }
+        String jobId = job.getJobId();
+        RatingSnapshot snapshot = calculationService.getRatingSnapshot();
+        OutputStream out = new BufferedOutputStream(output, OUTPUT_BUFFER_SIZE);
+        long processed = job.getProcessedRows();
+
+        RowReader rows = file.rows;
+        for (long skipped = 0; skipped < processed; skipped++) {
+            if (rows.next() == null) {
+                throw new IllegalArgumentException("File has fewer rows than already processed by import job " + jobId);
+            }
+        }
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        ImportRow row;
+        while ((row = rows.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                processed = importChunk(jobId, processed, chunk, job.getCreatedBy(), snapshot, out);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processed = importChunk(jobId, processed, chunk, job.getCreatedBy(), snapshot, out);
+        }
+
+        transactionTemplate.executeWithoutResult(status ->
+                jobRepository.updateStatus(jobId, ApplicationImportJob.Status.COMPLETED, LocalDateTime.now()));
+        ApplicationImportJob completed = jobRepository.findByJobId(jobId).orElseThrow();
+        logger.info("Completed application import [jobId={}]: {} rows, {} imported, {} failed",
+                jobId, completed.getProcessedRows(), completed.getImportedRows(), completed.getFailedRows());
+        return ApplicationImportJobResponse.fromEntity(completed);
+    }
+
+    /**
+     * Rate the rows of a chunk in parallel, insert the valid ones together with the progress
+     * of the job and write the results.
+     *
+     * @return The processed rows of the job after the chunk
+     */
+    private long importChunk(String jobId, long processed, List<ImportRow> chunk, User createdBy,
+            RatingSnapshot snapshot, OutputStream out) throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        Object[] rated = rate(chunk, createdBy, snapshot, now);
+        List<Application> applications = new ArrayList<>(chunk.size());
+        for (Object item : rated) {
+            if (item instanceof Application application) {
+                applications.add(application);
+            }
+        }
+        int failed = chunk.size() - applications.size();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            applicationRepository.saveAll(applications);
+            if (jobRepository.advance(jobId, processed, chunk.size(), applications.size(), failed, now,
+                    ApplicationImportJob.Status.IN_PROGRESS) != 1) {
+                throw new IllegalStateException("Import job " + jobId + " was advanced by another upload");
+            }
+            statisticsService.recordCreated(applications);
+        });
+        logger.debug("Imported chunk of application import [jobId={}]: rows {} to {}, {} failed",
+                jobId, processed + 1, processed + chunk.size(), failed);
+
+        for (int i = 0; i < rated.length; i++) {
+            long row = processed + i + 1;
+            ApplicationImportItemResult result = rated[i] instanceof Application application
+                    ? ApplicationImportItemResult.success(row, application.getId(), application.getCalculatedPremium())
+                    : ApplicationImportItemResult.failure(row, (ErrorResponse) rated[i]);
+            out.write(resultWriter.writeValueAsBytes(result));
+            out.write('\n');
+        }
+        out.flush();
+        return processed + chunk.size();
+    }
+
+    /**
+     * Rate the rows of a chunk, split into one slice per rating thread
+     *
+     * @return The application or the error per row
+     */
+    private Object[] rate(List<ImportRow> chunk, User createdBy, RatingSnapshot snapshot, LocalDateTime now) {
+        Object[] rated = new Object[chunk.size()];
+        int sliceSize = (chunk.size() + parallelism - 1) / parallelism;
+        List<Callable<Void>> slices = new ArrayList<>(parallelism);
+        for (int start = 0; start < chunk.size(); start += sliceSize) {
+            int from = start;
+            int to = Math.min(start + sliceSize, chunk.size());
+            slices.add(() -> {
+                for (int i = from; i < to; i++) {
+                    rated[i] = rate(chunk.get(i), createdBy, snapshot, now);
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> slice : ratingExecutor.invokeAll(slices)) {
+                slice.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rating applications", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error rating applications", e.getCause());
+        }
+        return rated;
+    }
+
+    /**
+     * Validate and rate one row
+     *
+     * @return The application, not yet saved, or the error of the row
+     */
+    private Object rate(ImportRow row, User createdBy, RatingSnapshot snapshot, LocalDateTime now) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        ApplicationRequest request = row.request();
+        if (request == null) {
+            return ErrorResponse.validation("Request cannot be null");
+        }
+        Set<ConstraintViolation<ApplicationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return ErrorResponse.validation(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        try {
+            PremiumCalculationResult result = calculationService.calculatePremium(new PremiumCalculationRequest(
+                    request.postalCode(), request.vehicleType(), request.annualMileage()), snapshot);
+            return new Application(
+                    request.annualMileage(), request.vehicleType(), request.postalCode(), result.basePremium(),
+                    result.mileageFactor(), result.vehicleTypeFactor(), result.regionFactor(), result.premium(),
+                    now, Status.NEW, createdBy);
+        } catch (IllegalArgumentException e) {
+            return ErrorResponse.validation(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error rating imported application {}", request, e);
+            return ErrorResponse.serverError("An unexpected error occurred");
+        }
+    }
+
+    /**
+     * One row of the file, either a request or the reason it could not be read
+     */
+    private record ImportRow(ApplicationRequest request, ErrorResponse error) {
+
+        static ImportRow of(ApplicationRequest request) {
+            return new ImportRow(request, null);
+        }
+
+        static ImportRow invalid(String message) {
+            return new ImportRow(null, ErrorResponse.validation(message));
+        }
+    }
+
+    /**
+     * A file opened for import, whose CSV header has been validated
+     */
+    public static final class ImportFile implements Closeable {
+
+        private final RowReader rows;
+
+        private ImportFile(RowReader rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+
+    /**
+     * Streaming reader of the rows of a file
+     */
+    private interface RowReader extends Closeable {
+
+        /**
+         * @return The next row, null at the end of the file
+         */
+        ImportRow next() throws IOException;
+    }
+
+    /**
+     * Reads a JSON array or an NDJSON stream; a root level array is unwrapped by readValues
+     */
+    private final class JsonRowReader implements RowReader {
+
+        private final MappingIterator<ApplicationRequest> requests;
+        private boolean malformed;
+
+        JsonRowReader(InputStream input) throws IOException {
+            this.requests = requestReader.readValues(input);
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            if (malformed) {
+                return null;
+            }
+            try {
+                return requests.hasNextValue() ? ImportRow.of(requests.nextValue()) : null;
+            } catch (JsonParseException e) {
+                // the input cannot be read any further
+                malformed = true;
+                return ImportRow.invalid("Malformed JSON: " + e.getOriginalMessage());
+            } catch (JsonMappingException e) {
+                // the iterator skips the rest of the invalid request
+                return ImportRow.invalid("Invalid request: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            requests.close();
+        }
+    }
+
+    /**
+     * Reads a CSV file with a header row; blank lines are skipped
+     */
+    private static final class CsvRowReader implements RowReader {
+
+        private final CSVReader csvReader;
+        private final int[] columns = new int[CSV_COLUMNS.length];
+
+        CsvRowReader(InputStream input) throws IOException {
+            this.csvReader = new CSVReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+            String[] header = readNext();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            for (int i = 0; i < CSV_COLUMNS.length; i++) {
+                columns[i] = -1;
+                for (int j = 0; j < header.length; j++) {
+                    // the first column may start with a byte order mark
+                    if (header[j].replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT).equals(CSV_COLUMNS[i])) {
+                        columns[i] = j;
+                    }
+                }
+                if (columns[i] < 0) {
+                    throw new IllegalArgumentException("CSV header must contain the columns postalCode, vehicleType and annualMileage");
+                }
+            }
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String[] line;
+            try {
+                line = readNext();
+            } catch (IllegalArgumentException e) {
+                return ImportRow.invalid(e.getMessage());
+            }
+            if (line == null) {
+                return null;
+            }
+            int maxColumn = Math.max(columns[0], Math.max(columns[1], columns[2]));
+            if (line.length <= maxColumn) {
+                return ImportRow.invalid("Expected at least " + (maxColumn + 1) + " columns, found " + line.length);
+            }
+            String mileage = line[columns[2]].trim();
+            Integer annualMileage;
+            try {
+                annualMileage = mileage.isEmpty() ? null : Integer.valueOf(mileage);
+            } catch (NumberFormatException e) {
+                return ImportRow.invalid("Annual mileage must be a number: " + mileage);
+            }
+            return ImportRow.of(new ApplicationRequest(line[columns[0]].trim(), line[columns[1]].trim(), annualMileage));
+        }
+
+        /**
+         * Read the next non-blank line
+         */
+        private String[] readNext() throws IOException {
+            try {
+                String[] line;
+                do {
+                    line = csvReader.readNext();
+                } while (line != null && isBlank(line));
+                return line;
+            } catch (CsvException e) {
+                throw new IllegalArgumentException("Invalid CSV line " + e.getLineNumber() + ": " + e.getMessage(), e);
+            }
+        }
+
+        private static boolean isBlank(String[] line) {
+            for (String value : line) {
+                if (!value.isBlank()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            csvReader.close();
+        }
+    }
+}
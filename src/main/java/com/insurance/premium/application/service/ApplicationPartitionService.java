@@ -0,0 +1,203 @@
+package com.insurance.premium.application.service;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.insurance.premium.common.jdbc.RangePartitions;
+
+/**
+ * Service maintaining the monthly partitions of the {@code applications} table.
+ *
+ * Partitions are created a few months ahead. Once a month is older than the archive
+ * age, its accepted and rejected applications are moved into the partition of that
+ * month in {@code applications_archive}, so queries and vacuum on {@code applications}
+ * only touch recent and undecided applications. Archived applications are still found
+ * by {@link ApplicationService#getApplication(Long)} and exported. The partitions themselves are
+ * created through {@link RangePartitions}, which also keeps the maintenance on one
+ * instance at a time.
+ */
+@Service
+@ConditionalOnProperty(name = "application.partitioning.enabled", havingValue = "true")
+public class ApplicationPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationPartitionService.class);
+
+    static final String PARTITION_PREFIX = "applications_p";
+    static final String ARCHIVE_PARTITION_PREFIX = "applications_archive_p";
+    private static final String TABLE = "applications";
+    private static final String ARCHIVE_TABLE = "applications_archive";
+    private static final String DEFAULT_PARTITION = RangePartitions.defaultPartition(TABLE);
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    // Key of the advisory lock preventing concurrent maintenance on several instances
+    private static final long MAINTENANCE_LOCK_KEY = 0x6170_706c_5f70_6172L;
+
+    private static final String COLUMNS = "id, annual_mileage, vehicle_type, postal_code, base_premium, mileage_factor, " +
+            "vehicle_factor, region_factor, calculated_premium, created_at, status, created_by_id";
+    private static final String DECIDED = "status IN ('ACCEPTED', 'REJECTED')";
+
+    /**
+     * Result of a maintenance run
+     *
+     * @param created the names of the created partitions
+     * @param archived the number of archived applications
+     */
+    public record MaintenanceResult(List<String> created, long archived) {
+    }
+
+    private final DataSource dataSource;
+    private final int precreateMonths;
+    private final int archiveAfterMonths;
+
+    public ApplicationPartitionService(
+            DataSource dataSource,
+            @Value("${application.partitioning.precreate-months:3}") int precreateMonths,
+            @Value("${application.partitioning.archive-after-months:12}") int archiveAfterMonths) {
+        if (archiveAfterMonths < 1 || precreateMonths < 0) {
+            throw new IllegalArgumentException("Application archive age must be at least one month");
+        }
+        this.dataSource = dataSource;
+        this.precreateMonths = precreateMonths;
+        this.archiveAfterMonths = archiveAfterMonths;
+    }
+
+    /**
+     * Maintain the partitions when the application is ready, so the current month always has one
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduledMaintenance();
+    }
+
+    /**
+     * Maintain the partitions once a day
+     */
+    @Scheduled(cron = "${application.partitioning.cron:0 45 0 * * *}")
+    public void scheduledMaintenance() {
+        try {
+            maintain(LocalDate.now());
+        } catch (Exception e) {
+            logger.error("Application partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Create the partitions up to {@code precreateMonths} after the month of the given day,
+     * then archive the decided applications of months older than the archive age.
+     *
+     * @param today the current day
+     * @return the created partitions and the number of archived applications
+     * @throws SQLException if the maintenance failed
+     * @throws IllegalStateException if another instance is maintaining the partitions
+     */
+    public MaintenanceResult maintain(LocalDate today) throws SQLException {
+        MaintenanceResult result = RangePartitions.maintain(dataSource, MAINTENANCE_LOCK_KEY,
+                "Application partition maintenance", conn -> {
+            YearMonth current = YearMonth.from(today);
+            List<YearMonth> existing = listPartitionMonths(conn, TABLE, PARTITION_PREFIX);
+            List<String> created = new ArrayList<>();
+            for (YearMonth month = current; !month.isAfter(current.plusMonths(precreateMonths)); month = month.plusMonths(1)) {
+                if (!existing.contains(month)) {
+                    RangePartitions.createPartition(conn, TABLE, partitionName(month), "created_at",
+                            month.atDay(1), month.plusMonths(1).atDay(1));
+                    created.add(partitionName(month));
+                }
+            }
+            YearMonth oldestHot = current.minusMonths(archiveAfterMonths);
+            List<YearMonth> archivePartitions = listPartitionMonths(conn, ARCHIVE_TABLE, ARCHIVE_PARTITION_PREFIX);
+            long archived = 0;
+            for (YearMonth month : existing) {
+                if (month.isBefore(oldestHot)) {
+                    archived += archive(conn, partitionName(month), "", month, archivePartitions);
+                }
+            }
+            for (YearMonth month : listDefaultPartitionMonths(conn, oldestHot)) {
+                archived += archive(conn, DEFAULT_PARTITION, " AND " + range(month), month, archivePartitions);
+            }
+            return new MaintenanceResult(created, archived);
+        });
+        if (!result.created().isEmpty() || result.archived() > 0) {
+            logger.info("Application partitions created: {}, applications archived: {}", result.created(), result.archived());
+        }
+        return result;
+    }
+
+    /**
+     * Get the months of the existing monthly partitions of a table, ignoring the default partition
+     */
+    private List<YearMonth> listPartitionMonths(Connection conn, String table, String prefix) throws SQLException {
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : RangePartitions.listPartitions(conn, table)) {
+            if (name.startsWith(prefix)) {
+                months.add(YearMonth.parse(name.substring(prefix.length()), PARTITION_SUFFIX));
+            }
+        }
+        months.sort(null);
+        return months;
+    }
+
+    /**
+     * Get the months before the oldest hot month with decided applications in the default partition
+     */
+    private List<YearMonth> listDefaultPartitionMonths(Connection conn, YearMonth oldestHot) throws SQLException {
+        List<YearMonth> months = new ArrayList<>();
+        try (Statement statement = conn.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT DISTINCT date_trunc('month', created_at)::date FROM " +
+                     DEFAULT_PARTITION + " WHERE " + DECIDED + " AND created_at < '" + oldestHot.atDay(1) + "'")) {
+            while (rs.next()) {
+                months.add(YearMonth.from(rs.getDate(1).toLocalDate()));
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Move the decided applications of a month from a partition of {@code applications}
+     * into the archive partition of that month, which is created if needed
+     */
+    private long archive(Connection conn, String partition, String condition, YearMonth month,
+                         List<YearMonth> archivePartitions) throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            if (!archivePartitions.contains(month)) {
+                statement.execute("CREATE TABLE " + archivePartitionName(month) + " PARTITION OF " + ARCHIVE_TABLE + " " +
+                        "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "') " +
+                        "WITH (fillfactor = 100)");
+                archivePartitions.add(month);
+            }
+            // inserted in ID order, so lookups by ID read neighbouring pages
+            return statement.executeUpdate("WITH moved AS (DELETE FROM " + partition + " WHERE " + DECIDED + condition +
+                    " RETURNING " + COLUMNS + ") INSERT INTO " + archivePartitionName(month) + " (" + COLUMNS + ") " +
+                    "SELECT " + COLUMNS + " FROM moved ORDER BY id");
+        }
+    }
+
+    private static String range(YearMonth month) {
+        return "created_at >= '" + month.atDay(1) + "' AND created_at < '" + month.plusMonths(1).atDay(1) + "'";
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    static String archivePartitionName(YearMonth month) {
+        return ARCHIVE_PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -2,6 +2,7 @@ package com.insurance.premium.application.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -12,11 +13,13 @@ import org.springframework.validation.annotation.Validated;
 
 import com.insurance.premium.application.domain.Application;
 import com.insurance.premium.application.domain.Application.Status;
+import com.insurance.premium.application.dto.ApplicationCursor;
 import com.insurance.premium.application.dto.ApplicationRequest;
 import com.insurance.premium.application.repository.ApplicationRepository;
 import com.insurance.premium.calculation.dto.PremiumCalculationRequest;
 import com.insurance.premium.calculation.dto.PremiumCalculationResult;
 import com.insurance.premium.calculation.service.PremiumCalculationService;
+import com.insurance.premium.common.dto.CursorPage;
 import com.insurance.premium.security.domain.User;
 import com.insurance.premium.security.service.UserService;
 
@@ -39,13 +42,16 @@ public class ApplicationService {
     private final ApplicationRepository applicationRepository;
     private final PremiumCalculationService calculationService;
     private final UserService userService;
+    private final ApplicationStatisticsService statisticsService;
     
     public ApplicationService(ApplicationRepository applicationRepository, 
                              PremiumCalculationService calculationService,
-                             UserService userService) {
+                             UserService userService,
+                             ApplicationStatisticsService statisticsService) {
         this.applicationRepository = applicationRepository;
         this.calculationService = calculationService;
         this.userService = userService;
+        this.statisticsService = statisticsService;
     }
     
     /**
@@ -78,6 +84,7 @@ public class ApplicationService {
                 LocalDateTime.now(), Status.NEW, currentUser.orElse(null));
         
         Application savedApplication = applicationRepository.save(application);
+        statisticsService.recordCreated(savedApplication);
         logger.info("Created application [id={}] with premium={} for postalCode={}, vehicleType={}, annualMileage={}",
                 savedApplication.getId(), savedApplication.getCalculatedPremium(), 
                 savedApplication.getPostalCode(), savedApplication.getVehicleType(), 
@@ -87,7 +94,7 @@ public class ApplicationService {
     }
     
     /**
-     * Get an application by ID
+     * Get an application by ID, including archived applications
      * 
      * @param id The application ID
      * @return Optional containing the application if found
@@ -96,6 +103,9 @@ public class ApplicationService {
     public Optional<Application> getApplication(Long id) {
         logger.debug("Retrieving application [id={}]", id);
         Optional<Application> application = applicationRepository.findById(id);
+        if (application.isEmpty()) {
+            application = applicationRepository.findArchivedById(id);
+        }
         if (application.isPresent()) {
             logger.debug("Found application [id={}]", id);
         } else {
@@ -162,6 +172,65 @@ public class ApplicationService {
         return applications;
     }
     
+    /**
+     * Get a page of applications, newest first, without counting all applications.
+     * The creating users are fetched with the applications.
+     * 
+     * @param status The application status to filter by, null for all
+     * @param cursor The cursor returned with the previous page, null for the first page
+     * @param size The page size, at most {@value CursorPage#MAX_SIZE}
+     * @return Page of applications with the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Application> scrollApplications(Status status, String cursor, int size) {
+        int limit = Math.clamp(size, 1, CursorPage.MAX_SIZE);
+        ApplicationCursor before = ApplicationCursor.decode(cursor);
+        logger.debug("Retrieving applications with status {} before {} [size={}]", status, before, limit);
+        // one more application than requested tells whether there is a next page
+        List<Application> applications = status == null
+                ? applicationRepository.findBefore(before.createdAt(), before.id(), Limit.of(limit + 1))
+                : applicationRepository.findByStatusBefore(status, before.createdAt(), before.id(), Limit.of(limit + 1));
+        return toCursorPage(applications, limit);
+    }
+    
+    /**
+     * Get a page of the applications created by the current authenticated user, newest first,
+     * without counting all applications
+     * 
+     * @param status The application status to filter by, null for all
+     * @param cursor The cursor returned with the previous page, null for the first page
+     * @param size The page size, at most {@value CursorPage#MAX_SIZE}
+     * @return Page of applications created by the current user with the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Application> scrollMyApplications(Status status, String cursor, int size) {
+        int limit = Math.clamp(size, 1, CursorPage.MAX_SIZE);
+        ApplicationCursor before = ApplicationCursor.decode(cursor);
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        Optional<User> currentUser = userService.findByUsername(username);
+        if (currentUser.isEmpty()) {
+            logger.warn("User not found: {}", username);
+            return new CursorPage<>(List.of(), null);
+        }
+        
+        logger.debug("Retrieving applications for user {} with status {} before {} [size={}]", username, status, before, limit);
+        List<Application> applications = status == null
+                ? applicationRepository.findByCreatedByBefore(currentUser.get(), before.createdAt(), before.id(), Limit.of(limit + 1))
+                : applicationRepository.findByCreatedByAndStatusBefore(currentUser.get(), status,
+                        before.createdAt(), before.id(), Limit.of(limit + 1));
+        return toCursorPage(applications, limit);
+    }
+    
+    private static CursorPage<Application> toCursorPage(List<Application> applications, int limit) {
+        if (applications.size() <= limit) {
+            return new CursorPage<>(applications, null);
+        }
+        List<Application> items = List.copyOf(applications.subList(0, limit));
+        return new CursorPage<>(items, ApplicationCursor.of(items.get(limit - 1)).encode());
+    }
+    
     /**
      * Get applications created by the current authenticated user with pagination
      * 
@@ -225,8 +294,10 @@ public class ApplicationService {
         Optional<Application> applicationOpt = applicationRepository.findById(id);
         if (applicationOpt.isPresent()) {
             Application application = applicationOpt.get();
+            Status previousStatus = application.getStatus();
             application.setStatus(status);
             Application updatedApplication = applicationRepository.save(application);
+            statisticsService.recordStatusChange(previousStatus, status, 1);
             logger.info("Updated application [id={}] status to {}", updatedApplication.getId(), updatedApplication.getStatus());
             return Optional.of(updatedApplication);
         }
@@ -243,7 +314,9 @@ public class ApplicationService {
     @Transactional
     public void deleteApplication(Long id) {
         logger.debug("Deleting application [id={}]", id);
+        Optional<Application> application = applicationRepository.findById(id);
         applicationRepository.deleteById(id);
+        application.ifPresent(statisticsService::recordDeleted);
         logger.info("Deleted application [id={}]", id);
     }
 }
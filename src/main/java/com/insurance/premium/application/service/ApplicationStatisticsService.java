@@ -0,0 +1,365 @@
+package com.insurance.premium.application.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.insurance.premium.application.domain.Application;
+import com.insurance.premium.application.domain.Application.Status;
+import com.insurance.premium.application.dto.ApplicationStatistics;
+import com.insurance.premium.application.dto.ApplicationStatisticsBucket;
+import com.insurance.premium.application.repository.ApplicationStatisticsRepository;
+import com.insurance.premium.application.repository.ApplicationStatisticsRepository.Row;
+import com.insurance.premium.calculation.rating.RatingSnapshot;
+import com.insurance.premium.calculation.service.PremiumCalculationService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service maintaining application counts and premium totals per status, day,
+ * vehicle type and federal state.
+ *
+ * Every change of an application is added to in-memory counters once its transaction
+ * has committed, so reading the statistics never queries the applications and costs
+ * the same for any number of them. The changes are also collected per aggregate and
+ * flushed to {@code application_statistics} in one upsert every second, instead of
+ * updating the same rows in every request. The counters are reloaded from the table
+ * periodically, which picks up the changes of other instances. Changes wait while the
+ * reloaded counters are swapped in, so none is added to the replaced ones and lost.
+ */
+@Service
+public class ApplicationStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationStatisticsService.class);
+
+    static final String UNKNOWN_FEDERAL_STATE = "UNKNOWN";
+    public static final int MAX_DAYS = 366;
+
+    /**
+     * Dimension of an aggregate
+     */
+    enum Dimension {
+        STATUS,
+        DAY,
+        VEHICLE_TYPE,
+        FEDERAL_STATE
+    }
+
+    private record Key(Dimension dimension, String value) {
+    }
+
+    private record Delta(Key key, long count, long premiumCents) {
+    }
+
+    /**
+     * Count and premium total of an aggregate
+     */
+    private static final class Counter {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder premiumCents = new LongAdder();
+
+        void add(long countDelta, long premiumCentsDelta) {
+            count.add(countDelta);
+            if (premiumCentsDelta != 0) {
+                premiumCents.add(premiumCentsDelta);
+            }
+        }
+    }
+
+    private final ApplicationStatisticsRepository statisticsRepository;
+    private final PremiumCalculationService calculationService;
+    private final boolean persistent;
+
+    // counters read by the statistics, replaced as a whole when reloaded from the table
+    private volatile Map<Dimension, ConcurrentMap<String, Counter>> totals = emptyTotals();
+    // committed changes not yet flushed to the table
+    private final ConcurrentMap<Key, Counter> pending = new ConcurrentHashMap<>();
+    // shared by the changes, exclusive while the unflushed changes are merged into reloaded counters
+    private final ReadWriteLock totalsLock = new ReentrantReadWriteLock();
+
+    public ApplicationStatisticsService(
+            ApplicationStatisticsRepository statisticsRepository,
+            PremiumCalculationService calculationService,
+            @Value("${application.statistics.persistent:true}") boolean persistent) {
+        this.statisticsRepository = statisticsRepository;
+        this.calculationService = calculationService;
+        this.persistent = persistent;
+    }
+
+    /**
+     * Load the counters from the table when the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Count a created application after its transaction has committed
+     *
+     * @param application the created application
+     */
+    public void recordCreated(Application application) {
+        recordCreated(List.of(application));
+    }
+
+    /**
+     * Count created applications after their transaction has committed
+     *
+     * @param applications the created applications
+     */
+    public void recordCreated(Collection<Application> applications) {
+        if (applications.isEmpty()) {
+            return;
+        }
+        RatingSnapshot snapshot = calculationService.getRatingSnapshot();
+        List<Delta> deltas = new ArrayList<>(applications.size() * Dimension.values().length);
+        for (Application application : applications) {
+            addApplication(deltas, application, 1, snapshot);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Move applications from one status to another after their transaction has committed
+     *
+     * @param from the previous status
+     * @param to the new status
+     * @param count the number of changed applications
+     */
+    public void recordStatusChange(Status from, Status to, long count) {
+        if (from == to || count == 0) {
+            return;
+        }
+        apply(List.of(
+                new Delta(new Key(Dimension.STATUS, from.name()), -count, 0),
+                new Delta(new Key(Dimension.STATUS, to.name()), count, 0)));
+    }
+
+    /**
+     * Remove a deleted application after its transaction has committed
+     *
+     * @param application the deleted application
+     */
+    public void recordDeleted(Application application) {
+        List<Delta> deltas = new ArrayList<>(Dimension.values().length);
+        addApplication(deltas, application, -1, calculationService.getRatingSnapshot());
+        apply(deltas);
+    }
+
+    /**
+     * Get the statistics of all applications
+     *
+     * @param days the number of most recent days, including today
+     * @return the counts per status and the counts and premiums per day, vehicle type and federal state
+     * @throws IllegalArgumentException if the number of days is not between 1 and {@value #MAX_DAYS}
+     */
+    public ApplicationStatistics getStatistics(int days) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("Days must be between 1 and " + MAX_DAYS);
+        }
+        Map<Dimension, ConcurrentMap<String, Counter>> current = totals;
+
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        long total = 0;
+        for (Status status : Status.values()) {
+            Counter counter = current.get(Dimension.STATUS).get(status.name());
+            long count = counter != null ? counter.count.sum() : 0;
+            byStatus.put(status, count);
+            total += count;
+        }
+
+        Map<String, Counter> dayCounters = current.get(Dimension.DAY);
+        List<ApplicationStatisticsBucket> byDay = new ArrayList<>(days);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < days; i++) {
+            String day = today.minusDays(i).toString();
+            byDay.add(bucket(day, dayCounters.get(day)));
+        }
+
+        List<ApplicationStatisticsBucket> byVehicleType = buckets(current.get(Dimension.VEHICLE_TYPE));
+        long premiumCents = 0;
+        for (Counter counter : current.get(Dimension.VEHICLE_TYPE).values()) {
+            premiumCents += counter.premiumCents.sum();
+        }
+        BigDecimal premiumTotal = BigDecimal.valueOf(premiumCents, 2);
+        return new ApplicationStatistics(total, premiumTotal, average(premiumTotal, total), byStatus,
+                byDay, byVehicleType, buckets(current.get(Dimension.FEDERAL_STATE)));
+    }
+
+    /**
+     * Write the committed changes to the table in one upsert. Failed changes are kept
+     * and written with the next flush.
+     */
+    @Scheduled(fixedDelayString = "${application.statistics.flush-interval-ms:1000}")
+    @PreDestroy
+    public synchronized void flush() {
+        if (!persistent) {
+            return;
+        }
+        List<Delta> drained = new ArrayList<>();
+        for (Map.Entry<Key, Counter> entry : pending.entrySet()) {
+            long count = entry.getValue().count.sumThenReset();
+            long premiumCents = entry.getValue().premiumCents.sumThenReset();
+            if (count != 0 || premiumCents != 0) {
+                drained.add(new Delta(entry.getKey(), count, premiumCents));
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        // the same order on all instances, so concurrent flushes cannot deadlock
+        drained.sort(Comparator.comparing((Delta delta) -> delta.key().dimension())
+                .thenComparing(delta -> delta.key().value()));
+        try {
+            statisticsRepository.add(drained.stream()
+                    .map(delta -> new Row(delta.key().dimension().name(), delta.key().value(), delta.count(),
+                            BigDecimal.valueOf(delta.premiumCents(), 2)))
+                    .toList());
+        } catch (RuntimeException e) {
+            for (Delta delta : drained) {
+                pending.computeIfAbsent(delta.key(), key -> new Counter()).add(delta.count(), delta.premiumCents());
+            }
+            logger.warn("Failed to flush {} application statistics, retrying with the next flush: {}",
+                    drained.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reload the counters from the table, with the changes of all instances
+     */
+    @Scheduled(fixedDelayString = "${application.statistics.refresh-interval-ms:60000}",
+               initialDelayString = "${application.statistics.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        if (!persistent) {
+            return;
+        }
+        try {
+            flush();
+            Map<Dimension, ConcurrentMap<String, Counter>> loaded = emptyTotals();
+            for (Row row : statisticsRepository.findAll()) {
+                Dimension dimension;
+                try {
+                    dimension = Dimension.valueOf(row.dimension());
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                counter(loaded, new Key(dimension, row.value()))
+                        .add(row.count(), row.premiumTotal().movePointRight(2).longValueExact());
+            }
+            // changes not flushed yet, including those recorded while loading; no change
+            // may be added to the replaced counters once they are merged
+            totalsLock.writeLock().lock();
+            try {
+                for (Map.Entry<Key, Counter> entry : pending.entrySet()) {
+                    counter(loaded, entry.getKey()).add(entry.getValue().count.sum(), entry.getValue().premiumCents.sum());
+                }
+                totals = loaded;
+            } finally {
+                totalsLock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            logger.error("Failed to load application statistics, keeping the current counters", e);
+        }
+    }
+
+    private void addApplication(List<Delta> deltas, Application application, int sign, RatingSnapshot snapshot) {
+        long premiumCents = sign * application.getCalculatedPremium().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        deltas.add(new Delta(new Key(Dimension.STATUS, application.getStatus().name()), sign, 0));
+        deltas.add(new Delta(new Key(Dimension.DAY, application.getCreatedAt().toLocalDate().toString()), sign, premiumCents));
+        deltas.add(new Delta(new Key(Dimension.VEHICLE_TYPE, application.getVehicleType()), sign, premiumCents));
+        deltas.add(new Delta(new Key(Dimension.FEDERAL_STATE, federalState(snapshot, application.getPostalCode())),
+                sign, premiumCents));
+    }
+
+    /**
+     * Get the federal state of a postal code; postal codes spanning several federal states have none
+     */
+    private static String federalState(RatingSnapshot snapshot, String postalCode) {
+        int slot = snapshot.findRegionSlot(postalCode);
+        return slot != RatingSnapshot.NOT_FOUND ? snapshot.getFederalState(slot) : UNKNOWN_FEDERAL_STATE;
+    }
+
+    /**
+     * Add the changes after the current transaction has committed, or immediately without transaction
+     */
+    private void apply(List<Delta> deltas) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(deltas);
+                }
+            });
+        } else {
+            add(deltas);
+        }
+    }
+
+    private void add(List<Delta> deltas) {
+        totalsLock.readLock().lock();
+        try {
+            Map<Dimension, ConcurrentMap<String, Counter>> current = totals;
+            for (Delta delta : deltas) {
+                counter(current, delta.key()).add(delta.count(), delta.premiumCents());
+                if (persistent) {
+                    pending.computeIfAbsent(delta.key(), key -> new Counter()).add(delta.count(), delta.premiumCents());
+                }
+            }
+        } finally {
+            totalsLock.readLock().unlock();
+        }
+    }
+
+    private static Counter counter(Map<Dimension, ConcurrentMap<String, Counter>> counters, Key key) {
+        return counters.get(key.dimension()).computeIfAbsent(key.value(), value -> new Counter());
+    }
+
+    private static Map<Dimension, ConcurrentMap<String, Counter>> emptyTotals() {
+        Map<Dimension, ConcurrentMap<String, Counter>> counters = new EnumMap<>(Dimension.class);
+        for (Dimension dimension : Dimension.values()) {
+            counters.put(dimension, new ConcurrentHashMap<>());
+        }
+        return counters;
+    }
+
+    private static List<ApplicationStatisticsBucket> buckets(Map<String, Counter> counters) {
+        return counters.entrySet().stream()
+                .map(entry -> bucket(entry.getKey(), entry.getValue()))
+                .filter(bucket -> bucket.count() != 0)
+                .sorted(Comparator.comparing(ApplicationStatisticsBucket::key))
+                .toList();
+    }
+
+    private static ApplicationStatisticsBucket bucket(String key, Counter counter) {
+        long count = counter != null ? counter.count.sum() : 0;
+        BigDecimal premiumTotal = BigDecimal.valueOf(counter != null ? counter.premiumCents.sum() : 0, 2);
+        return new ApplicationStatisticsBucket(key, count, premiumTotal, average(premiumTotal, count));
+    }
+
+    private static BigDecimal average(BigDecimal premiumTotal, long count) {
+        return count > 0 ? premiumTotal.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) : null;
+    }
+}
@@ -0,0 +1,125 @@
+package com.insurance.premium.application.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.insurance.premium.application.domain.Application.Status;
+import com.insurance.premium.application.dto.ApplicationStatusBulkRequest;
+import com.insurance.premium.application.dto.ApplicationStatusBulkResponse;
+import com.insurance.premium.application.dto.ApplicationStatusOutcome;
+import com.insurance.premium.application.dto.ApplicationStatusOutcome.Outcome;
+import com.insurance.premium.application.repository.ApplicationStatusRepository;
+
+/**
+ * Service for bulk status transitions of NEW applications.
+ *
+ * The applications are locked and updated with one set-based statement each,
+ * instead of loading and saving every application through JPA.
+ */
+@Service
+public class ApplicationStatusService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationStatusService.class);
+
+    private final ApplicationStatusRepository statusRepository;
+    private final ApplicationStatisticsService statisticsService;
+    private final int maxApplications;
+
+    public ApplicationStatusService(ApplicationStatusRepository statusRepository,
+                                    ApplicationStatisticsService statisticsService,
+                                    @Value("${application.bulk-status.max-applications:1000}") int maxApplications) {
+        this.statusRepository = statusRepository;
+        this.statisticsService = statisticsService;
+        this.maxApplications = maxApplications;
+    }
+
+    /**
+     * Change the status of NEW applications selected by IDs or by a filter
+     *
+     * @param request the target status and the IDs or the filter
+     * @return the number of updated applications and the outcome per ID
+     * @throws IllegalArgumentException if the request is invalid
+     */
+    @Transactional
+    public ApplicationStatusBulkResponse updateStatuses(ApplicationStatusBulkRequest request) {
+        if (request == null || request.status() == null) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        if (request.status() == Status.NEW) {
+            throw new IllegalArgumentException("Applications can only be changed from NEW to ACCEPTED or REJECTED");
+        }
+        boolean hasIds = request.ids() != null && !request.ids().isEmpty();
+        if (hasIds == request.hasFilter()) {
+            throw new IllegalArgumentException("Either application IDs or a filter is required");
+        }
+        return hasIds ? updateByIds(request) : updateByFilter(request);
+    }
+
+    private ApplicationStatusBulkResponse updateByIds(ApplicationStatusBulkRequest request) {
+        Long[] ids = new LinkedHashSet<>(request.ids()).toArray(Long[]::new);
+        if (ids.length > maxApplications) {
+            throw new IllegalArgumentException("At most " + maxApplications + " applications can be changed at once");
+        }
+        for (Long id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("Application IDs cannot be null");
+            }
+        }
+
+        // the locks keep the statuses stable until the update, so every outcome is exact
+        Map<Long, Status> statuses = statusRepository.lockStatuses(ids);
+        if (statuses.size() < ids.length) {
+            // archived applications are decided, so they are skipped like other decided ones
+            Long[] missing = Arrays.stream(ids).filter(id -> !statuses.containsKey(id)).toArray(Long[]::new);
+            statuses.putAll(statusRepository.findArchivedStatuses(missing));
+        }
+        int updated = statusRepository.updateNewStatus(ids, request.status());
+        statisticsService.recordStatusChange(Status.NEW, request.status(), updated);
+
+        List<ApplicationStatusOutcome> results = new ArrayList<>(ids.length);
+        for (Long id : ids) {
+            Status current = statuses.get(id);
+            if (current == null) {
+                results.add(new ApplicationStatusOutcome(id, Outcome.NOT_FOUND, null));
+            } else if (current == Status.NEW) {
+                results.add(new ApplicationStatusOutcome(id, Outcome.UPDATED, request.status()));
+            } else {
+                results.add(new ApplicationStatusOutcome(id, Outcome.SKIPPED, current));
+            }
+        }
+        logger.info("Bulk status change to {} [requested={}, updated={}]", request.status(), ids.length, updated);
+        return new ApplicationStatusBulkResponse(request.status(), updated, false, results);
+    }
+
+    private ApplicationStatusBulkResponse updateByFilter(ApplicationStatusBulkRequest request) {
+        Timestamp createdBefore = request.createdBefore() != null ? Timestamp.valueOf(request.createdBefore()) : null;
+        // one more than allowed tells whether the filter matched more applications
+        List<Long> ids = statusRepository.lockNewIds(request.vehicleType(), createdBefore, maxApplications + 1);
+        boolean truncated = ids.size() > maxApplications;
+        if (truncated) {
+            ids = ids.subList(0, maxApplications);
+        }
+        if (ids.isEmpty()) {
+            return new ApplicationStatusBulkResponse(request.status(), 0, false, List.of());
+        }
+
+        int updated = statusRepository.updateNewStatus(ids.toArray(Long[]::new), request.status());
+        statisticsService.recordStatusChange(Status.NEW, request.status(), updated);
+        List<ApplicationStatusOutcome> results = ids.stream()
+                .map(id -> new ApplicationStatusOutcome(id, Outcome.UPDATED, request.status()))
+                .toList();
+        logger.info("Bulk status change to {} [vehicleType={}, createdBefore={}, updated={}, truncated={}]",
+                request.status(), request.vehicleType(), request.createdBefore(), updated, truncated);
+        return new ApplicationStatusBulkResponse(request.status(), updated, truncated, results);
+    }
+}
@@ -1,5 +1,7 @@
 package com.insurance.premium.calculation.controller;
 
+import java.io.IOException;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,15 +16,24 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.insurance.premium.application.dto.ErrorResponse;
 import com.insurance.premium.calculation.domain.MileageFactor;
 import com.insurance.premium.calculation.domain.RegionFactor;
 import com.insurance.premium.calculation.domain.VehicleType;
 import com.insurance.premium.calculation.dto.MileageFactorRequest;
+import com.insurance.premium.calculation.dto.PremiumGridResponse;
+import com.insurance.premium.calculation.dto.QuoteCacheStats;
 import com.insurance.premium.calculation.dto.RegionFactorRequest;
+import com.insurance.premium.calculation.dto.RegionSyncResult;
 import com.insurance.premium.calculation.dto.VehicleTypeRequest;
 import com.insurance.premium.calculation.service.FactorManagementService;
+import com.insurance.premium.calculation.service.PremiumCalculationService;
+import com.insurance.premium.calculation.service.RegionDataLoader;
+import com.opencsv.exceptions.CsvValidationException;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -41,9 +52,16 @@ public class FactorManagementController {
     private static final Logger logger = LoggerFactory.getLogger(FactorManagementController.class);
     
     private final FactorManagementService factorManagementService;
+    private final PremiumCalculationService calculationService;
+    private final RegionDataLoader regionDataLoader;
     
-    public FactorManagementController(FactorManagementService factorManagementService) {
+    public FactorManagementController(
+            FactorManagementService factorManagementService,
+            PremiumCalculationService calculationService,
+            RegionDataLoader regionDataLoader) {
         this.factorManagementService = factorManagementService;
+        this.calculationService = calculationService;
+        this.regionDataLoader = regionDataLoader;
     }
     
     // Region Factor endpoints
@@ -396,4 +414,89 @@ public class FactorManagementController {
             return ResponseEntity.notFound().build();
         }
     }
+    
+    // Premium grid endpoint
+    
+    @GetMapping("/grid")
+    @Operation(
+        summary = "Get premium grid", 
+        description = "Returns the premium of every combination of region factor, vehicle type and mileage band " +
+                "as calculated from the current factors and base premium"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Premium grid retrieved successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = PremiumGridResponse.class))
+        ),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Insufficient permissions")
+    })
+    public ResponseEntity<PremiumGridResponse> getPremiumGrid() {
+        return ResponseEntity.ok(calculationService.getPremiumGrid());
+    }
+    
+    // Quote cache endpoint
+    
+    @GetMapping("/quote-cache")
+    @Operation(
+        summary = "Get quote cache statistics", 
+        description = "Returns the hit, miss and eviction counters of the quote cache"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Quote cache statistics retrieved successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuoteCacheStats.class))
+        ),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Insufficient permissions")
+    })
+    public ResponseEntity<QuoteCacheStats> getQuoteCacheStats() {
+        return ResponseEntity.ok(calculationService.getQuoteCacheStats());
+    }
+    
+    // Postcode synchronization endpoint
+    
+    @PostMapping("/postcodes/reload")
+    @Operation(
+        summary = "Reload postcodes", 
+        description = "Synchronizes the postcodes with the configured CSV file or an uploaded one. " +
+                "Only inserted, updated and deleted postcodes are written, in one transaction; " +
+                "premium calculations use the new postcodes once the changes are committed. " +
+                "Files without valid postcodes are rejected, as are files that would delete a large share " +
+                "of the postcodes unless force is set."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Postcodes synchronized successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = RegionSyncResult.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid CSV file, or too many postcodes would be deleted",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Insufficient permissions"),
+        @ApiResponse(responseCode = "409", description = "Synchronization already running",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Object> reloadPostcodes(
+            @Parameter(description = "CSV file in the format of postcodes.csv; the configured file is used if omitted")
+            @RequestParam(value = "file", required = false) MultipartFile file,
+            @Parameter(description = "Apply the file even if it deletes more postcodes than region.sync.max-delete-ratio allows")
+            @RequestParam(defaultValue = "false") boolean force) {
+        try {
+            RegionSyncResult result = file == null || file.isEmpty()
+                    ? regionDataLoader.syncRegions(force)
+                    : regionDataLoader.syncRegions(file.getResource(), force);
+            logger.info("Synchronized postcodes: {}", result);
+            return ResponseEntity.ok(result);
+        } catch (IllegalStateException e) {
+            logger.warn("Postcode synchronization rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ErrorResponse.of(e.getMessage()));
+        } catch (IOException | CsvValidationException | IllegalArgumentException e) {
+            logger.error("Invalid postcode file: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ErrorResponse.validation(e.getMessage()));
+        } catch (SQLException e) {
+            logger.error("Error synchronizing postcodes", e);
+            return ResponseEntity.internalServerError().body(ErrorResponse.serverError("Error synchronizing postcodes"));
+        }
+    }
 }
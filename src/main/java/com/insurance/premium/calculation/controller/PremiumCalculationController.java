@@ -1,5 +1,6 @@
 package com.insurance.premium.calculation.controller;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -8,20 +9,25 @@ import org.slf4j.LoggerFactory;
 import org.springdoc.core.converters.models.PageableAsQueryParam;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.insurance.premium.application.dto.ErrorResponse;
 import com.insurance.premium.calculation.dto.FactorResponse;
 import com.insurance.premium.calculation.dto.PostcodeResponse;
+import com.insurance.premium.calculation.dto.PremiumBatchItemResult;
 import com.insurance.premium.calculation.dto.PremiumCalculationRequest;
 import com.insurance.premium.calculation.dto.PremiumCalculationResult;
+import com.insurance.premium.calculation.service.PremiumBatchCalculationService;
 import com.insurance.premium.calculation.service.PremiumCalculationService;
+import com.insurance.premium.common.dto.CursorPage;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -30,6 +36,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -40,9 +48,13 @@ public class PremiumCalculationController {
     private static final Logger logger = LoggerFactory.getLogger(PremiumCalculationController.class);
     
     private final PremiumCalculationService calculationService;
+    private final PremiumBatchCalculationService batchCalculationService;
     
-    public PremiumCalculationController(PremiumCalculationService calculationService) {
+    public PremiumCalculationController(
+            PremiumCalculationService calculationService,
+            PremiumBatchCalculationService batchCalculationService) {
         this.calculationService = calculationService;
+        this.batchCalculationService = batchCalculationService;
     }
     
     @PostMapping("/calculate")
@@ -72,6 +84,31 @@ public class PremiumCalculationController {
         }
     }
     
+    @PostMapping(value = "/calculate/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Calculate premiums in batch", 
+               description = "Calculates premiums for a JSON array or NDJSON stream of calculation requests. " +
+                       "Results are streamed back as NDJSON, one line per request in input order. " +
+                       "Invalid requests are reported per item and do not abort the batch.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, one result or error per request", 
+                content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                        schema = @Schema(implementation = PremiumBatchItemResult.class)))
+    })
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "JSON array or NDJSON stream of premium calculation requests", required = true,
+            content = {
+                @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PremiumCalculationRequest[].class)),
+                @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = PremiumCalculationRequest.class))
+            })
+    public void calculatePremiumBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // The batch is read and written as a stream, so it is audited once and never held in memory
+        logger.debug("REST request to calculate premium batch");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        batchCalculationService.calculateBatch(request.getInputStream(), response.getOutputStream());
+    }
+    
     @GetMapping("/factors")
     @Operation(summary = "Get all factors", description = "Returns all available factors for premium calculation (region, vehicle type, mileage)")
     public ResponseEntity<Map<String, List<FactorResponse>>> getAllFactors() {
@@ -115,6 +152,27 @@ public class PremiumCalculationController {
         return ResponseEntity.ok(postcodes);
     }
     
+    @GetMapping("/postcodes/scroll")
+    @Operation(summary = "Scroll postcodes", 
+               description = "Returns a page of postcodes ordered by postal code. The next page is requested " +
+                       "with the returned cursor; there is no total count, so deep pages cost the same as the first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Postcodes retrieved successfully", 
+                content = @Content(schema = @Schema(implementation = CursorPage.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor", 
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Object> scrollPostcodes(
+            @Parameter(description = "Cursor of the next page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + CursorPage.MAX_SIZE) @RequestParam(defaultValue = "20") int size) {
+        logger.debug("REST request to scroll postcodes [cursor={}, size={}]", cursor, size);
+        try {
+            return ResponseEntity.ok(calculationService.scrollPostcodes(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ErrorResponse.validation(e.getMessage()));
+        }
+    }
+    
     @GetMapping("/postcodes/search/{prefix}")
     @Operation(summary = "Search postcodes by prefix", description = "Returns postcodes that start with the given prefix")
     public ResponseEntity<List<PostcodeResponse>> getPostcodesByPrefix(
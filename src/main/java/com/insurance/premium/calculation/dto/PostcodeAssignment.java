@@ -0,0 +1,11 @@
+package com.insurance.premium.calculation.dto;
+
+/**
+ * Projection of a region onto the data needed for premium calculation:
+ * the postal code, its federal state and the assigned region factor.
+ */
+public record PostcodeAssignment(
+    String postalCode,
+    String federalState,
+    Long regionFactorId
+) {}
@@ -0,0 +1,52 @@
+package com.insurance.premium.calculation.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.insurance.premium.calculation.domain.Region;
+
+/**
+ * Position of the last region of a page. Regions are ordered by postal code and id,
+ * so the next page continues with the regions after this position.
+ */
+public record PostcodeCursor(
+    String postalCode,
+    long id
+) {
+    /** Position before the first page, before every region */
+    public static final PostcodeCursor FIRST = new PostcodeCursor("", 0);
+
+    public static PostcodeCursor of(Region region) {
+        return new PostcodeCursor(region.getPostalCode(), region.getId());
+    }
+
+    /**
+     * Encode the cursor as an opaque URL-safe token
+     *
+     * @return the cursor token
+     */
+    public String encode() {
+        String value = postalCode + "/" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor token
+     *
+     * @param token the cursor token, null or blank for the first page
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is invalid
+     */
+    public static PostcodeCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('/');
+            return new PostcodeCursor(value.substring(0, separator), Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
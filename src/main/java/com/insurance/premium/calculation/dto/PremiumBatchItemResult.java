@@ -0,0 +1,23 @@
+package com.insurance.premium.calculation.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.insurance.premium.application.dto.ErrorResponse;
+
+/**
+ * Data Transfer Object for one item of a batch premium calculation.
+ * Contains either the calculation result or the error for the request at the given index.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PremiumBatchItemResult(
+    int index,
+    PremiumCalculationResult result,
+    ErrorResponse error
+) {
+    public static PremiumBatchItemResult success(int index, PremiumCalculationResult result) {
+        return new PremiumBatchItemResult(index, result, null);
+    }
+    
+    public static PremiumBatchItemResult failure(int index, ErrorResponse error) {
+        return new PremiumBatchItemResult(index, null, error);
+    }
+}
@@ -0,0 +1,14 @@
+package com.insurance.premium.calculation.dto;
+
+/**
+ * Summary of a batch premium calculation
+ */
+public record PremiumBatchSummary(
+    int total,
+    int failed,
+    long snapshotVersion
+) {
+    public int succeeded() {
+        return total - failed;
+    }
+}
@@ -0,0 +1,17 @@
+package com.insurance.premium.calculation.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for one combination of factors in the premium grid
+ */
+public record PremiumGridEntry(
+    String federalState,
+    BigDecimal regionFactor,
+    String vehicleType,
+    BigDecimal vehicleTypeFactor,
+    int minMileage,
+    Integer maxMileage,
+    BigDecimal mileageFactor,
+    BigDecimal premium
+) {}
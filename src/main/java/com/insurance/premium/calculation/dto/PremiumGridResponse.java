@@ -0,0 +1,17 @@
+package com.insurance.premium.calculation.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the premium grid, containing the premium of every
+ * combination of region factor, vehicle type and mileage band
+ */
+public record PremiumGridResponse(
+    long version,
+    BigDecimal basePremium,
+    int regionFactors,
+    int vehicleTypes,
+    int mileageBands,
+    List<PremiumGridEntry> premiums
+) {}
@@ -0,0 +1,24 @@
+package com.insurance.premium.calculation.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Data Transfer Object for the statistics of the quote cache
+ */
+public record QuoteCacheStats(
+    long hits,
+    long misses,
+    long evictions,
+    int size,
+    int maxSize,
+    long ratingVersion
+) {
+    /**
+     * Share of lookups answered from the cache, between 0 and 1
+     */
+    @JsonProperty("hitRate")
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
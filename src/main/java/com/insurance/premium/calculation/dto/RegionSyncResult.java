@@ -0,0 +1,16 @@
+package com.insurance.premium.calculation.dto;
+
+/**
+ * Data Transfer Object for the result of a region synchronization
+ */
+public record RegionSyncResult(
+    int inserted,
+    int updated,
+    int deleted,
+    int unchanged,
+    long durationMillis
+) {
+    public boolean hasChanges() {
+        return inserted + updated + deleted > 0;
+    }
+}
@@ -0,0 +1,9 @@
+package com.insurance.premium.calculation.event;
+
+/**
+ * Event published when premium calculation factors (region factors, vehicle types,
+ * mileage factors or the postcode to region assignment) have been changed.
+ */
+public record FactorsChangedEvent(
+    String source
+) {}
@@ -0,0 +1,110 @@
+package com.insurance.premium.calculation.rating;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point arithmetic on {@code long} values with two decimal places.
+ *
+ * Factors are stored as {@code DECIMAL(5,2)} and premiums as {@code DECIMAL(10,2)},
+ * so both fit into a {@code long} holding hundredths. Multiplying the base premium
+ * with three factors yields a value with eight decimal places, which is rounded
+ * HALF_UP back to two decimal places. The result is identical to
+ * {@code base.multiply(a).multiply(b).multiply(c).setScale(2, RoundingMode.HALF_UP)}.
+ *
+ * Values with more than two decimal places cannot be represented; callers fall back
+ * to {@link BigDecimal} arithmetic for them, just as for products that overflow.
+ */
+public final class FixedPoint {
+
+    /** Number of decimal places of a fixed-point value. */
+    public static final int SCALE = 2;
+
+    /** Marker for values that have no fixed-point representation. */
+    public static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+
+    /** Divisor reducing the scale of a product of four fixed-point values back to {@link #SCALE}. */
+    private static final long PRODUCT_DIVISOR = 1_000_000L;
+
+    private FixedPoint() {
+    }
+
+    /**
+     * Convert a decimal value to its fixed-point representation
+     *
+     * @param value The decimal value
+     * @return The value in hundredths, or {@link #NOT_REPRESENTABLE} if the value is null,
+     *         has more than two decimal places or does not fit into a long
+     */
+    public static long of(BigDecimal value) {
+        if (value == null) {
+            return NOT_REPRESENTABLE;
+        }
+        try {
+            long scaled = value.movePointRight(SCALE).longValueExact();
+            return scaled == NOT_REPRESENTABLE ? NOT_REPRESENTABLE : scaled;
+        } catch (ArithmeticException e) {
+            return NOT_REPRESENTABLE;
+        }
+    }
+
+    /**
+     * Convert a fixed-point value to a decimal value with two decimal places
+     *
+     * @param value The value in hundredths
+     * @return The decimal value
+     */
+    public static BigDecimal toBigDecimal(long value) {
+        return BigDecimal.valueOf(value, SCALE);
+    }
+
+    /**
+     * Multiply a premium with three factors and round the product HALF_UP to two decimal places
+     *
+     * @param premium The premium in hundredths
+     * @param factor1 The first factor in hundredths
+     * @param factor2 The second factor in hundredths
+     * @param factor3 The third factor in hundredths
+     * @return The rounded product in hundredths
+     * @throws ArithmeticException if the product overflows a long
+     */
+    public static long multiply(long premium, long factor1, long factor2, long factor3) {
+        long product = Math.multiplyExact(Math.multiplyExact(Math.multiplyExact(premium, factor1), factor2), factor3);
+        return roundHalfUp(product, PRODUCT_DIVISOR);
+    }
+
+    /**
+     * Divide and round HALF_UP, i.e. ties are rounded away from zero
+     *
+     * @param value The dividend
+     * @param divisor The positive divisor
+     * @return The rounded quotient
+     */
+    static long roundHalfUp(long value, long divisor) {
+        long quotient = value / divisor;
+        long remainder = value % divisor;
+        // compare 2 * |remainder| >= divisor without overflowing
+        if (Math.abs(remainder) >= divisor - Math.abs(remainder)) {
+            quotient += value < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    /**
+     * Reference implementation of {@link #multiply} using {@link BigDecimal}, used when
+     * a value has no fixed-point representation or the product overflows
+     *
+     * @param premium The premium
+     * @param factor1 The first factor
+     * @param factor2 The second factor
+     * @param factor3 The third factor
+     * @return The product rounded HALF_UP to two decimal places
+     */
+    public static BigDecimal multiply(BigDecimal premium, BigDecimal factor1, BigDecimal factor2, BigDecimal factor3) {
+        return premium
+                .multiply(factor1)
+                .multiply(factor2)
+                .multiply(factor3)
+                .setScale(SCALE, RoundingMode.HALF_UP);
+    }
+}
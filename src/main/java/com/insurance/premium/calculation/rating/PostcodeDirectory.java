@@ -0,0 +1,197 @@
+package com.insurance.premium.calculation.rating;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.insurance.premium.calculation.dto.PostcodeAssignment;
+
+/**
+ * Immutable directory mapping postal codes to region factor slots.
+ *
+ * German postal codes have five digits, so the directory is a dense {@code short[]}
+ * indexed by the numeric postal code (about 200 KB). Lookups neither allocate nor
+ * hash. Postal codes that do not consist of exactly five digits are kept in a small
+ * overflow map.
+ *
+ * Each entry holds the region factor slot plus one, {@code 0} for unknown postal
+ * codes and {@code -1} for postal codes that span several federal states.
+ */
+public final class PostcodeDirectory {
+
+    /** Slot value returned for unknown or ambiguous postal codes. */
+    public static final int NOT_FOUND = -1;
+
+    private static final int DIGITS = 5;
+    private static final int CAPACITY = 100_000;
+    private static final short UNKNOWN = 0;
+    private static final short AMBIGUOUS = -1;
+
+    private final short[] entries;
+    private final Map<String, Short> overflow;
+    private final int size;
+    private final int ambiguousCount;
+
+    private PostcodeDirectory(short[] entries, Map<String, Short> overflow, int size, int ambiguousCount) {
+        this.entries = entries;
+        this.overflow = overflow;
+        this.size = size;
+        this.ambiguousCount = ambiguousCount;
+    }
+
+    /**
+     * Build a directory from postcode assignments.
+     *
+     * @param postcodes The postcode assignments
+     * @param regionFactorSlots The region factor slot for each region factor ID;
+     *        assignments to unknown region factors are ignored
+     * @return The postcode directory
+     */
+    @SuppressWarnings("java:S3776") // complex method
+    public static PostcodeDirectory build(List<PostcodeAssignment> postcodes, Map<Long, Integer> regionFactorSlots) {
+        short[] entries = new short[CAPACITY];
+        // federal state of each entry, only needed while building to detect ambiguous postal codes
+        int[] entryStates = new int[CAPACITY];
+        Map<String, Short> overflow = new HashMap<>();
+        Map<String, Integer> overflowStates = new HashMap<>();
+        Map<String, Integer> stateIds = new HashMap<>();
+
+        for (PostcodeAssignment postcode : postcodes) {
+            Integer slot = regionFactorSlots.get(postcode.regionFactorId());
+            if (slot == null || postcode.postalCode() == null) {
+                continue;
+            }
+            if (slot >= Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many region factors for postcode directory: " + slot);
+            }
+            int stateId = stateIds.computeIfAbsent(String.valueOf(postcode.federalState()), s -> stateIds.size() + 1);
+            short entry = (short) (slot + 1);
+
+            int index = indexOf(postcode.postalCode());
+            if (index >= 0) {
+                if (entries[index] == UNKNOWN) {
+                    entries[index] = entry;
+                    entryStates[index] = stateId;
+                } else if (entryStates[index] != stateId) {
+                    entries[index] = AMBIGUOUS;
+                }
+            } else {
+                Integer knownState = overflowStates.putIfAbsent(postcode.postalCode(), stateId);
+                if (knownState == null) {
+                    overflow.put(postcode.postalCode(), entry);
+                } else if (knownState != stateId) {
+                    overflow.put(postcode.postalCode(), AMBIGUOUS);
+                }
+            }
+        }
+
+        int size = overflow.size();
+        int ambiguousCount = (int) overflow.values().stream().filter(e -> e == AMBIGUOUS).count();
+        for (short entry : entries) {
+            if (entry != UNKNOWN) {
+                size++;
+            }
+            if (entry == AMBIGUOUS) {
+                ambiguousCount++;
+            }
+        }
+        return new PostcodeDirectory(entries, Map.copyOf(overflow), size, ambiguousCount);
+    }
+
+    /**
+     * Find the region factor slot for a postal code
+     *
+     * @param postalCode The postal code
+     * @return The region factor slot, or {@link #NOT_FOUND} for unknown or ambiguous postal codes
+     */
+    public int findSlot(String postalCode) {
+        if (postalCode == null) {
+            return NOT_FOUND;
+        }
+        int index = indexOf(postalCode);
+        short entry;
+        if (index >= 0) {
+            entry = entries[index];
+        } else {
+            Short overflowEntry = overflow.get(postalCode);
+            entry = overflowEntry == null ? UNKNOWN : overflowEntry;
+        }
+        return entry > 0 ? entry - 1 : NOT_FOUND;
+    }
+
+    /**
+     * Check whether a postal code spans several federal states
+     *
+     * @param postalCode The postal code
+     * @return true if the postal code is assigned to more than one federal state
+     */
+    public boolean isAmbiguous(String postalCode) {
+        if (postalCode == null) {
+            return false;
+        }
+        int index = indexOf(postalCode);
+        if (index >= 0) {
+            return entries[index] == AMBIGUOUS;
+        }
+        Short overflowEntry = overflow.get(postalCode);
+        return overflowEntry != null && overflowEntry == AMBIGUOUS;
+    }
+
+    /**
+     * Number of known postal codes, including ambiguous ones
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of postal codes that span several federal states
+     */
+    public int getAmbiguousCount() {
+        return ambiguousCount;
+    }
+
+    /**
+     * Get the array index of a five digit postal code
+     *
+     * @param postalCode The postal code
+     * @return The numeric value of the postal code, or -1 if it does not consist of exactly five digits
+     */
+    private static int indexOf(String postalCode) {
+        if (postalCode.length() != DIGITS) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < DIGITS; i++) {
+            char c = postalCode.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "PostcodeDirectory{" +
+               "size:" + size + "," +
+               "ambiguous:" + ambiguousCount + "," +
+               "overflow:" + overflow.size() +
+               '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PostcodeDirectory that = (PostcodeDirectory) o;
+        return Arrays.equals(entries, that.entries) && overflow.equals(that.overflow);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(entries) + overflow.hashCode();
+    }
+}
@@ -0,0 +1,324 @@
+package com.insurance.premium.calculation.rating;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.insurance.premium.calculation.domain.MileageFactor;
+import com.insurance.premium.calculation.domain.RegionFactor;
+import com.insurance.premium.calculation.domain.VehicleType;
+import com.insurance.premium.calculation.dto.PostcodeAssignment;
+
+/**
+ * Immutable in-memory view of all data needed to calculate a premium:
+ * the base premium, the region factors with their postcode assignment,
+ * the vehicle types and the mileage bands.
+ *
+ * Every factor is addressed by a slot (its index in this snapshot), so lookups
+ * resolve a request to slots first and read the factor values afterwards.
+ * Besides the {@link BigDecimal} values returned to API clients, the snapshot keeps
+ * every value as a {@link FixedPoint} long, which is used to calculate premiums.
+ * As there are only a few hundred combinations of factors, the premium of every
+ * combination is calculated when the snapshot is created and stored in a premium grid.
+ * A snapshot is never modified; changed data results in a new snapshot.
+ */
+public final class RatingSnapshot {
+
+    /** Slot value returned when no matching factor exists. */
+    public static final int NOT_FOUND = -1;
+
+    /** Maximum number of premiums in the premium grid, larger snapshots calculate premiums on demand. */
+    static final int MAX_GRID_SIZE = 1 << 20;
+
+    private final long version;
+    private final BigDecimal basePremium;
+    private final long basePremiumFixed;
+
+    private final String[] federalStates;
+    private final BigDecimal[] regionFactors;
+    private final long[] regionFactorsFixed;
+    private final PostcodeDirectory postcodeDirectory;
+
+    private final String[] vehicleTypeNames;
+    private final BigDecimal[] vehicleFactors;
+    private final long[] vehicleFactorsFixed;
+    private final Map<String, Integer> vehicleTypeSlots;
+
+    private final int[] mileageMins;
+    private final Integer[] mileageMaxs;
+    private final BigDecimal[] mileageFactors;
+    private final long[] mileageFactorsFixed;
+
+    // premium in hundredths for every (region, vehicle type, mileage band) combination
+    private final long[] premiumGrid;
+
+    /**
+     * Create a new snapshot from the given factor data.
+     *
+     * @param version The version of the snapshot, increasing with every reload
+     * @param basePremium The base premium
+     * @param regionFactors All region factors
+     * @param postcodes The postcode to region factor assignments
+     * @param vehicleTypes All vehicle types
+     * @param mileageFactors All mileage factors
+     */
+    public RatingSnapshot(long version, BigDecimal basePremium, List<RegionFactor> regionFactors,
+            List<PostcodeAssignment> postcodes, List<VehicleType> vehicleTypes, List<MileageFactor> mileageFactors) {
+        this.version = version;
+        this.basePremium = basePremium;
+        this.basePremiumFixed = FixedPoint.of(basePremium);
+
+        // Region factors
+        this.federalStates = new String[regionFactors.size()];
+        this.regionFactors = new BigDecimal[regionFactors.size()];
+        this.regionFactorsFixed = new long[regionFactors.size()];
+        Map<Long, Integer> regionFactorSlots = new HashMap<>();
+        for (int slot = 0; slot < regionFactors.size(); slot++) {
+            RegionFactor regionFactor = regionFactors.get(slot);
+            this.federalStates[slot] = regionFactor.getFederalState();
+            this.regionFactors[slot] = regionFactor.getFactor();
+            this.regionFactorsFixed[slot] = FixedPoint.of(regionFactor.getFactor());
+            regionFactorSlots.put(regionFactor.getId(), slot);
+        }
+
+        // Postcodes, a postcode spanning several federal states has no unique region factor
+        this.postcodeDirectory = PostcodeDirectory.build(postcodes, regionFactorSlots);
+
+        // Vehicle types
+        this.vehicleTypeNames = new String[vehicleTypes.size()];
+        this.vehicleFactors = new BigDecimal[vehicleTypes.size()];
+        this.vehicleFactorsFixed = new long[vehicleTypes.size()];
+        Map<String, Integer> vehicleTypeMap = new HashMap<>();
+        for (int slot = 0; slot < vehicleTypes.size(); slot++) {
+            VehicleType vehicleType = vehicleTypes.get(slot);
+            this.vehicleTypeNames[slot] = vehicleType.getName();
+            this.vehicleFactors[slot] = vehicleType.getFactor();
+            this.vehicleFactorsFixed[slot] = FixedPoint.of(vehicleType.getFactor());
+            vehicleTypeMap.put(vehicleType.getName(), slot);
+        }
+        this.vehicleTypeSlots = Map.copyOf(vehicleTypeMap);
+
+        // Mileage bands, ordered by min mileage
+        List<MileageFactor> bands = new ArrayList<>(mileageFactors);
+        bands.sort(Comparator.comparing(MileageFactor::getMinMileage));
+        this.mileageMins = new int[bands.size()];
+        this.mileageMaxs = new Integer[bands.size()];
+        this.mileageFactors = new BigDecimal[bands.size()];
+        this.mileageFactorsFixed = new long[bands.size()];
+        for (int slot = 0; slot < bands.size(); slot++) {
+            MileageFactor band = bands.get(slot);
+            this.mileageMins[slot] = band.getMinMileage();
+            this.mileageMaxs[slot] = band.getMaxMileage();
+            this.mileageFactors[slot] = band.getFactor();
+            this.mileageFactorsFixed[slot] = FixedPoint.of(band.getFactor());
+        }
+
+        // Premium grid
+        long gridSize = (long) this.regionFactors.length * this.vehicleFactors.length * this.mileageFactors.length;
+        if (gridSize <= MAX_GRID_SIZE) {
+            this.premiumGrid = new long[(int) gridSize];
+            for (int regionSlot = 0; regionSlot < this.regionFactors.length; regionSlot++) {
+                for (int vehicleTypeSlot = 0; vehicleTypeSlot < this.vehicleFactors.length; vehicleTypeSlot++) {
+                    for (int mileageSlot = 0; mileageSlot < this.mileageFactors.length; mileageSlot++) {
+                        this.premiumGrid[gridIndex(regionSlot, vehicleTypeSlot, mileageSlot)] =
+                                computePremiumFixed(regionSlot, vehicleTypeSlot, mileageSlot);
+                    }
+                }
+            }
+        } else {
+            this.premiumGrid = null;
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public BigDecimal getBasePremium() {
+        return basePremium;
+    }
+
+    // Region factors
+
+    /**
+     * Find the region factor slot for a postal code. Postal codes that are unknown
+     * or span several federal states have no region factor.
+     *
+     * @param postalCode The postal code
+     * @return The region factor slot, or {@link #NOT_FOUND}
+     */
+    public int findRegionSlot(String postalCode) {
+        return postcodeDirectory.findSlot(postalCode);
+    }
+
+    public PostcodeDirectory getPostcodeDirectory() {
+        return postcodeDirectory;
+    }
+
+    public int getRegionSlotCount() {
+        return regionFactors.length;
+    }
+
+    public String getFederalState(int regionSlot) {
+        return federalStates[regionSlot];
+    }
+
+    public BigDecimal getRegionFactor(int regionSlot) {
+        return regionFactors[regionSlot];
+    }
+
+    // Vehicle types
+
+    /**
+     * Find the vehicle type slot for a vehicle type name.
+     *
+     * @param vehicleTypeName The vehicle type name
+     * @return The vehicle type slot, or {@link #NOT_FOUND}
+     */
+    public int findVehicleTypeSlot(String vehicleTypeName) {
+        if (vehicleTypeName == null) {
+            return NOT_FOUND;
+        }
+        Integer slot = vehicleTypeSlots.get(vehicleTypeName);
+        return slot == null ? NOT_FOUND : slot;
+    }
+
+    public int getVehicleTypeSlotCount() {
+        return vehicleFactors.length;
+    }
+
+    public String getVehicleTypeName(int vehicleTypeSlot) {
+        return vehicleTypeNames[vehicleTypeSlot];
+    }
+
+    public BigDecimal getVehicleFactor(int vehicleTypeSlot) {
+        return vehicleFactors[vehicleTypeSlot];
+    }
+
+    // Mileage bands
+
+    /**
+     * Find the mileage band slot for an annual mileage. As there are no checks for
+     * overlapping ranges, the band with the highest min mileage wins, just like
+     * {@code MileageFactorRepository.findByMileage}.
+     *
+     * @param annualMileage The annual mileage
+     * @return The mileage band slot, or {@link #NOT_FOUND}
+     */
+    public int findMileageSlot(int annualMileage) {
+        for (int slot = mileageMins.length - 1; slot >= 0; slot--) {
+            if (mileageMins[slot] <= annualMileage
+                    && (mileageMaxs[slot] == null || mileageMaxs[slot] >= annualMileage)) {
+                return slot;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    public int getMileageSlotCount() {
+        return mileageFactors.length;
+    }
+
+    public int getMinMileage(int mileageSlot) {
+        return mileageMins[mileageSlot];
+    }
+
+    public Integer getMaxMileage(int mileageSlot) {
+        return mileageMaxs[mileageSlot];
+    }
+
+    public BigDecimal getMileageFactor(int mileageSlot) {
+        return mileageFactors[mileageSlot];
+    }
+
+    // Premium
+
+    /**
+     * Get the premium for the given slots in hundredths, see {@link #calculatePremium(int, int, int)}
+     *
+     * @param regionSlot The region factor slot
+     * @param vehicleTypeSlot The vehicle type slot
+     * @param mileageSlot The mileage band slot
+     * @return The premium in hundredths, or {@link FixedPoint#NOT_REPRESENTABLE} if it does not fit into a long
+     */
+    public long getPremiumFixed(int regionSlot, int vehicleTypeSlot, int mileageSlot) {
+        if (premiumGrid != null) {
+            return premiumGrid[gridIndex(regionSlot, vehicleTypeSlot, mileageSlot)];
+        }
+        return computePremiumFixed(regionSlot, vehicleTypeSlot, mileageSlot);
+    }
+
+    /**
+     * Get the premium for the given slots: the base premium multiplied with the region,
+     * vehicle type and mileage factor, rounded HALF_UP to two decimal places.
+     * The premium is read from the premium grid.
+     *
+     * @param regionSlot The region factor slot
+     * @param vehicleTypeSlot The vehicle type slot
+     * @param mileageSlot The mileage band slot
+     * @return The premium with two decimal places
+     */
+    public BigDecimal calculatePremium(int regionSlot, int vehicleTypeSlot, int mileageSlot) {
+        long premium = getPremiumFixed(regionSlot, vehicleTypeSlot, mileageSlot);
+        if (premium != FixedPoint.NOT_REPRESENTABLE) {
+            return FixedPoint.toBigDecimal(premium);
+        }
+        return FixedPoint.multiply(basePremium, regionFactors[regionSlot],
+                vehicleFactors[vehicleTypeSlot], mileageFactors[mileageSlot]);
+    }
+
+    /**
+     * Whether the premiums of this snapshot are precalculated in a premium grid
+     */
+    public boolean hasPremiumGrid() {
+        return premiumGrid != null;
+    }
+
+    private int gridIndex(int regionSlot, int vehicleTypeSlot, int mileageSlot) {
+        return (regionSlot * vehicleFactors.length + vehicleTypeSlot) * mileageFactors.length + mileageSlot;
+    }
+
+    /**
+     * Calculate the premium for the given slots using fixed-point long arithmetic.
+     * Falls back to {@link BigDecimal} if a value has more than two decimal places or the product overflows.
+     *
+     * @param regionSlot The region factor slot
+     * @param vehicleTypeSlot The vehicle type slot
+     * @param mileageSlot The mileage band slot
+     * @return The premium in hundredths, or {@link FixedPoint#NOT_REPRESENTABLE} if it does not fit into a long
+     */
+    private long computePremiumFixed(int regionSlot, int vehicleTypeSlot, int mileageSlot) {
+        long regionFactor = regionFactorsFixed[regionSlot];
+        long vehicleFactor = vehicleFactorsFixed[vehicleTypeSlot];
+        long mileageFactor = mileageFactorsFixed[mileageSlot];
+        if (basePremiumFixed != FixedPoint.NOT_REPRESENTABLE
+                && regionFactor != FixedPoint.NOT_REPRESENTABLE
+                && vehicleFactor != FixedPoint.NOT_REPRESENTABLE
+                && mileageFactor != FixedPoint.NOT_REPRESENTABLE) {
+            try {
+                return FixedPoint.multiply(basePremiumFixed, regionFactor, vehicleFactor, mileageFactor);
+            } catch (ArithmeticException e) {
+                // product overflows, fall through to BigDecimal
+            }
+        }
+        BigDecimal premium = FixedPoint.multiply(basePremium, regionFactors[regionSlot],
+                vehicleFactors[vehicleTypeSlot], mileageFactors[mileageSlot]);
+        return FixedPoint.of(premium);
+    }
+
+    @Override
+    public String toString() {
+        return "RatingSnapshot{" +
+               "version:" + version + "," +
+               "basePremium:" + basePremium + "," +
+               "regionFactors:" + regionFactors.length + "," +
+               "postcodes:" + postcodeDirectory.size() + "," +
+               "vehicleTypes:" + vehicleFactors.length + "," +
+               "mileageBands:" + mileageFactors.length + "," +
+               "premiumGrid:" + (premiumGrid == null ? 0 : premiumGrid.length) +
+               '}';
+    }
+}
@@ -1,11 +1,14 @@
 package com.insurance.premium.calculation.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.insurance.premium.calculation.domain.Region;
+import com.insurance.premium.calculation.dto.PostcodeAssignment;
 
 import java.util.List;
 
@@ -39,4 +42,28 @@ public interface RegionRepository extends JpaRepository<Region, Long> {
            "OR LOWER(r.city) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
            "OR LOWER(r.district) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<Region> findByAreaCityOrDistrictContaining(@Param("searchTerm") String searchTerm);
+    
+    /**
+     * Find the distinct postal code to region factor assignments of all regions.
+     * Only the columns needed for premium calculation are loaded.
+     * 
+     * @return List of postcode assignments
+     */
+    @Query("SELECT DISTINCT new com.insurance.premium.calculation.dto.PostcodeAssignment(r.postalCode, r.federalState, r.regionFactor.id) " +
+           "FROM Region r")
+    List<PostcodeAssignment> findAllPostcodeAssignments();
+    
+    /**
+     * Find the regions after a position, ordered by postal code and ID.
+     * The row value comparison seeks into the (postal_code, id) index, so every page
+     * costs the same, and no count query is run.
+     * 
+     * @param postalCode The postal code of the position
+     * @param id The ID of the position
+     * @param limit The maximum number of regions
+     * @return List of regions after the position
+     */
+    @EntityGraph(attributePaths = "regionFactor")
+    @Query("SELECT r FROM Region r WHERE (r.postalCode, r.id) > (:postalCode, :id) ORDER BY r.postalCode, r.id")
+    List<Region> findAfter(@Param("postalCode") String postalCode, @Param("id") Long id, Limit limit);
 }
@@ -2,6 +2,7 @@ package com.insurance.premium.calculation.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,6 +12,7 @@ import com.insurance.premium.calculation.domain.VehicleType;
 import com.insurance.premium.calculation.dto.MileageFactorRequest;
 import com.insurance.premium.calculation.dto.RegionFactorRequest;
 import com.insurance.premium.calculation.dto.VehicleTypeRequest;
+import com.insurance.premium.calculation.event.FactorsChangedEvent;
 import com.insurance.premium.calculation.repository.MileageFactorRepository;
 import com.insurance.premium.calculation.repository.RegionFactorRepository;
 import com.insurance.premium.calculation.repository.VehicleTypeRepository;
@@ -33,14 +35,17 @@ public class FactorManagementService {
     private final RegionFactorRepository regionFactorRepository;
     private final VehicleTypeRepository vehicleTypeRepository;
     private final MileageFactorRepository mileageFactorRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     public FactorManagementService(
             RegionFactorRepository regionFactorRepository,
             VehicleTypeRepository vehicleTypeRepository,
-            MileageFactorRepository mileageFactorRepository) {
+            MileageFactorRepository mileageFactorRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.regionFactorRepository = regionFactorRepository;
         this.vehicleTypeRepository = vehicleTypeRepository;
         this.mileageFactorRepository = mileageFactorRepository;
+        this.eventPublisher = eventPublisher;
     }
     
     // Region Factor methods
@@ -80,6 +85,7 @@ public class FactorManagementService {
         
         RegionFactor savedFactor = regionFactorRepository.save(regionFactor);
         logger.info("Created region factor: {}", savedFactor);
+        eventPublisher.publishEvent(new FactorsChangedEvent("region factor"));
         return savedFactor;
     }
     
@@ -101,6 +107,7 @@ public class FactorManagementService {
         
         RegionFactor updatedFactor = regionFactorRepository.save(regionFactor);
         logger.info("Updated region factor: {}", updatedFactor);
+        eventPublisher.publishEvent(new FactorsChangedEvent("region factor"));
         return updatedFactor;
     }
     
@@ -118,6 +125,7 @@ public class FactorManagementService {
         
         regionFactorRepository.deleteById(id);
         logger.info("Deleted region factor with ID: {}", id);
+        eventPublisher.publishEvent(new FactorsChangedEvent("region factor"));
     }
     
     // Vehicle Type methods
@@ -157,6 +165,7 @@ public class FactorManagementService {
         
         VehicleType savedType = vehicleTypeRepository.save(vehicleType);
         logger.info("Created vehicle type: {}", savedType);
+        eventPublisher.publishEvent(new FactorsChangedEvent("vehicle type"));
         return savedType;
     }
     
@@ -178,6 +187,7 @@ public class FactorManagementService {
         
         VehicleType updatedType = vehicleTypeRepository.save(vehicleType);
         logger.info("Updated vehicle type: {}", updatedType);
+        eventPublisher.publishEvent(new FactorsChangedEvent("vehicle type"));
         return updatedType;
     }
     
@@ -195,6 +205,7 @@ public class FactorManagementService {
         
         vehicleTypeRepository.deleteById(id);
         logger.info("Deleted vehicle type with ID: {}", id);
+        eventPublisher.publishEvent(new FactorsChangedEvent("vehicle type"));
     }
     
     // Mileage Factor methods
@@ -237,6 +248,7 @@ public class FactorManagementService {
         
         MileageFactor savedFactor = mileageFactorRepository.save(mileageFactor);
         logger.info("Created mileage factor: {}", savedFactor);
+        eventPublisher.publishEvent(new FactorsChangedEvent("mileage factor"));
         return savedFactor;
     }
     
@@ -261,6 +273,7 @@ public class FactorManagementService {
         
         MileageFactor updatedFactor = mileageFactorRepository.save(mileageFactor);
         logger.info("Updated mileage factor: {}", updatedFactor);
+        eventPublisher.publishEvent(new FactorsChangedEvent("mileage factor"));
         return updatedFactor;
     }
     
@@ -278,6 +291,7 @@ public class FactorManagementService {
         
         mileageFactorRepository.deleteById(id);
         logger.info("Deleted mileage factor with ID: {}", id);
+        eventPublisher.publishEvent(new FactorsChangedEvent("mileage factor"));
     }
     
     /**
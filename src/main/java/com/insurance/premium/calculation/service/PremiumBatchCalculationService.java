@@ -0,0 +1,151 @@
+package com.insurance.premium.calculation.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.insurance.premium.application.dto.ErrorResponse;
+import com.insurance.premium.calculation.dto.PremiumBatchItemResult;
+import com.insurance.premium.calculation.dto.PremiumBatchSummary;
+import com.insurance.premium.calculation.dto.PremiumCalculationRequest;
+import com.insurance.premium.calculation.dto.PremiumCalculationResult;
+import com.insurance.premium.calculation.rating.RatingSnapshot;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Service for batch premium calculations.
+ * Requests are read one by one from a JSON array or an NDJSON stream and every
+ * result is written as one NDJSON line as soon as it is calculated, so a batch
+ * never has to be held in memory. All requests of a batch are rated against the
+ * same rating snapshot, and a failing request does not abort the batch.
+ */
+@Service
+public class PremiumBatchCalculationService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PremiumBatchCalculationService.class);
+    
+    private static final int OUTPUT_BUFFER_SIZE = 8192;
+    
+    private final PremiumCalculationService calculationService;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    
+    public PremiumBatchCalculationService(
+            PremiumCalculationService calculationService,
+            Validator validator,
+            ObjectMapper objectMapper) {
+        this.calculationService = calculationService;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(PremiumCalculationRequest.class);
+        this.resultWriter = objectMapper.writerFor(PremiumBatchItemResult.class);
+    }
+    
+    /**
+     * Calculate the premiums for a batch of requests.
+     * 
+     * @param input JSON array or NDJSON stream of premium calculation requests
+     * @param output Stream the NDJSON results are written to, one line per request
+     * @return The batch summary
+     * @throws IOException if reading the requests or writing the results fails
+     */
+    public PremiumBatchSummary calculateBatch(InputStream input, OutputStream output) throws IOException {
+        RatingSnapshot snapshot = calculationService.getRatingSnapshot();
+        OutputStream out = new BufferedOutputStream(output, OUTPUT_BUFFER_SIZE);
+        int index = 0;
+        int failed = 0;
+        
+        // readValues unwraps a root level JSON array, so arrays and NDJSON are read the same way
+        try (MappingIterator<PremiumCalculationRequest> requests = requestReader.readValues(input)) {
+            while (true) {
+                PremiumBatchItemResult item;
+                try {
+                    if (!requests.hasNextValue()) {
+                        break;
+                    }
+                    item = calculateItem(index, requests.nextValue(), snapshot);
+                } catch (JsonParseException e) {
+                    // the input cannot be read any further
+                    logger.warn("Malformed batch input at item {}: {}", index, e.getOriginalMessage());
+                    write(out, PremiumBatchItemResult.failure(index, ErrorResponse.validation("Malformed JSON: " + e.getOriginalMessage())));
+                    failed++;
+                    index++;
+                    break;
+                } catch (JsonMappingException e) {
+                    // the iterator skips the rest of the invalid request
+                    item = PremiumBatchItemResult.failure(index, ErrorResponse.validation("Invalid request: " + e.getOriginalMessage()));
+                }
+                if (item.error() != null) {
+                    failed++;
+                }
+                write(out, item);
+                index++;
+            }
+        }
+        out.flush();
+        
+        PremiumBatchSummary summary = new PremiumBatchSummary(index, failed, snapshot.getVersion());
+        logger.info("Calculated premium batch: {} requests, {} failed, rating snapshot version {}",
+                summary.total(), summary.failed(), summary.snapshotVersion());
+        return summary;
+    }
+    
+    /**
+     * Validate and rate one request of a batch
+     * 
+     * @param index The index of the request in the batch
+     * @param request The premium calculation request
+     * @param snapshot The rating snapshot of the batch
+     * @return The item result
+     */
+    private PremiumBatchItemResult calculateItem(int index, PremiumCalculationRequest request, RatingSnapshot snapshot) {
+        if (request == null) {
+            return PremiumBatchItemResult.failure(index, ErrorResponse.validation("Request cannot be null"));
+        }
+        Set<ConstraintViolation<PremiumCalculationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            return PremiumBatchItemResult.failure(index, ErrorResponse.validation(message));
+        }
+        try {
+            PremiumCalculationResult result = calculationService.calculatePremium(request, snapshot);
+            return PremiumBatchItemResult.success(index, result);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Invalid premium calculation request at index {}: {}", index, e.getMessage());
+            return PremiumBatchItemResult.failure(index, ErrorResponse.validation(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error calculating premium at index {}", index, e);
+            return PremiumBatchItemResult.failure(index, ErrorResponse.serverError("An unexpected error occurred"));
+        }
+    }
+    
+    /**
+     * Write one item result as an NDJSON line
+     * 
+     * @param out The output stream
+     * @param item The item result
+     * @throws IOException if writing fails
+     */
+    private void write(OutputStream out, PremiumBatchItemResult item) throws IOException {
+        out.write(resultWriter.writeValueAsBytes(item));
+        out.write('\n');
+    }
+}
@@ -1,33 +1,34 @@
 package com.insurance.premium.calculation.service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
-import com.insurance.premium.calculation.domain.MileageFactor;
 import com.insurance.premium.calculation.domain.Region;
-import com.insurance.premium.calculation.domain.RegionFactor;
-import com.insurance.premium.calculation.domain.VehicleType;
 import com.insurance.premium.calculation.dto.FactorResponse;
+import com.insurance.premium.calculation.dto.PostcodeCursor;
 import com.insurance.premium.calculation.dto.PostcodeResponse;
 import com.insurance.premium.calculation.dto.PremiumCalculationRequest;
 import com.insurance.premium.calculation.dto.PremiumCalculationResult;
+import com.insurance.premium.calculation.dto.PremiumGridEntry;
+import com.insurance.premium.calculation.dto.PremiumGridResponse;
+import com.insurance.premium.calculation.dto.QuoteCacheStats;
+import com.insurance.premium.calculation.rating.RatingSnapshot;
 import com.insurance.premium.calculation.repository.MileageFactorRepository;
 import com.insurance.premium.calculation.repository.RegionRepository;
 import com.insurance.premium.calculation.repository.VehicleTypeRepository;
-import com.insurance.premium.common.service.ConfigurationService;
+import com.insurance.premium.common.dto.CursorPage;
 
 import jakarta.validation.Valid;
 
@@ -43,68 +44,168 @@ public class PremiumCalculationService {
     private final RegionRepository regionRepository;
     private final VehicleTypeRepository vehicleTypeRepository;
     private final MileageFactorRepository mileageFactorRepository;
-    private final ConfigurationService configService;
+    private final RatingSnapshotService ratingSnapshotService;
+    private final QuoteCache quoteCache;
     
     public PremiumCalculationService(
             RegionRepository regionRepository,
             VehicleTypeRepository vehicleTypeRepository,
             MileageFactorRepository mileageFactorRepository,
-            ConfigurationService configService) {
+            RatingSnapshotService ratingSnapshotService,
+            QuoteCache quoteCache) {
         this.regionRepository = regionRepository;
         this.vehicleTypeRepository = vehicleTypeRepository;
         this.mileageFactorRepository = mileageFactorRepository;
-        this.configService = configService;
+        this.ratingSnapshotService = ratingSnapshotService;
+        this.quoteCache = quoteCache;
     }
     
     /**
-     * Calculate the premium based on the provided request
+     * Calculate the premium based on the provided request.
+     * All factors are read from the current rating snapshot, so no database access is needed.
      * 
      * @param request The premium calculation request
      * @return The premium calculation result
      */
-    @Transactional(readOnly = true)
     public PremiumCalculationResult calculatePremium(@Valid PremiumCalculationRequest request) {
+        PremiumCalculationResult result = calculatePremium(request, ratingSnapshotService.getSnapshot());
+        
+        logger.info("Calculated premium={} [basePremium={}, regionFactor={}, vehicleFactor={}, mileageFactor={}] for postalCode={}, vehicleType={}, annualMileage={}",
+                result.premium(), result.basePremium(), result.regionFactor(), result.vehicleTypeFactor(), result.mileageFactor(),
+                request.postalCode(), request.vehicleType(), request.annualMileage());
+        
+        return result;
+    }
+    
+    /**
+     * Calculate the premium based on the provided request using the given rating snapshot.
+     * Batch calculations pass the same snapshot for all requests of a batch.
+     * Results are cached per postal code, vehicle type and mileage band.
+     * 
+     * @param request The premium calculation request
+     * @param snapshot The rating snapshot to read the factors from
+     * @return The premium calculation result
+     */
+    public PremiumCalculationResult calculatePremium(PremiumCalculationRequest request, RatingSnapshot snapshot) {
         if (request == null) {
             throw new IllegalArgumentException("Request cannot be null");
         }
         
-        logger.debug("Processing premium calculation request: {}", request);
-        
-        // Get base premium from configuration
-        BigDecimal basePremium = configService.getBasePremium();
-        
-        // Get region factor
-        RegionFactor regionFactor = findRegionFactor(request.postalCode());
+        // Invalid mileages are not cached, so errors are reported in the usual order
+        int mileageSlot = snapshot.findMileageSlot(request.annualMileage());
+        if (mileageSlot == RatingSnapshot.NOT_FOUND) {
+            return calculatePremiumUncached(request, snapshot);
+        }
         
-        // Get vehicle type factor
-        BigDecimal vehicleFactor = findVehicleTypeFactor(request.vehicleType());
+        QuoteCache.Key key = new QuoteCache.Key(request.postalCode(), request.vehicleType(), mileageSlot, snapshot.getVersion());
+        PremiumCalculationResult cached = quoteCache.get(key);
+        if (cached != null) {
+            logger.debug("Using cached premium calculation result for request: {}", request);
+            return cached.annualMileage() == request.annualMileage() ? cached : withAnnualMileage(cached, request.annualMileage());
+        }
         
-        // Get mileage factor
-        BigDecimal mileageFactor = findMileageFactor(request.annualMileage());
+        PremiumCalculationResult result = calculatePremiumUncached(request, snapshot);
+        quoteCache.put(key, result);
+        return result;
+    }
+    
+    /**
+     * Calculate the premium based on the provided request using the given rating snapshot,
+     * bypassing the quote cache
+     * 
+     * @param request The premium calculation request
+     * @param snapshot The rating snapshot to read the factors from
+     * @return The premium calculation result
+     */
+    private PremiumCalculationResult calculatePremiumUncached(PremiumCalculationRequest request, RatingSnapshot snapshot) {
+        logger.debug("Processing premium calculation request: {}", request);
         
-        // Calculate premium
-        BigDecimal calculatedPremium = basePremium
-                .multiply(regionFactor.getFactor())
-                .multiply(vehicleFactor)
-                .multiply(mileageFactor)
-                .setScale(2, RoundingMode.HALF_UP);
+        // Resolve the factor slots
+        int regionSlot = findRegionSlot(snapshot, request.postalCode());
+        int vehicleTypeSlot = findVehicleTypeSlot(snapshot, request.vehicleType());
+        int mileageSlot = findMileageSlot(snapshot, request.annualMileage());
         
-        logger.info("Calculated premium={} [basePremium={}, regionFactor={}, vehicleFactor={}, mileageFactor={}] for postalCode={}, vehicleType={}, annualMileage={}",
-                calculatedPremium, basePremium, regionFactor.getFactor(), vehicleFactor, mileageFactor,
-                request.postalCode(), request.vehicleType(), request.annualMileage());
+        // Calculate premium, BigDecimal values are only used for the result
+        BigDecimal calculatedPremium = snapshot.calculatePremium(regionSlot, vehicleTypeSlot, mileageSlot);
         
         return new PremiumCalculationResult(
                 request.postalCode(), 
                 request.vehicleType(), 
                 request.annualMileage(),
-                basePremium, 
-                mileageFactor, 
-                vehicleFactor, 
-                regionFactor.getFactor(), 
+                snapshot.getBasePremium(), 
+                snapshot.getMileageFactor(mileageSlot), 
+                snapshot.getVehicleFactor(vehicleTypeSlot), 
+                snapshot.getRegionFactor(regionSlot), 
                 calculatedPremium
         );
     }
     
+    /**
+     * Copy a cached result for another annual mileage within the same mileage band
+     */
+    private static PremiumCalculationResult withAnnualMileage(PremiumCalculationResult result, int annualMileage) {
+        return new PremiumCalculationResult(
+                result.postalCode(),
+                result.vehicleType(),
+                annualMileage,
+                result.basePremium(),
+                result.mileageFactor(),
+                result.vehicleTypeFactor(),
+                result.regionFactor(),
+                result.premium());
+    }
+    
+    /**
+     * Get the statistics of the quote cache
+     * 
+     * @return The quote cache statistics
+     */
+    public QuoteCacheStats getQuoteCacheStats() {
+        return quoteCache.getStats();
+    }
+    
+    /**
+     * Get the rating snapshot used for premium calculations
+     * 
+     * @return The current rating snapshot
+     */
+    public RatingSnapshot getRatingSnapshot() {
+        return ratingSnapshotService.getSnapshot();
+    }
+    
+    /**
+     * Get the premium of every combination of region factor, vehicle type and mileage band
+     * 
+     * @return The premium grid of the current rating snapshot
+     */
+    public PremiumGridResponse getPremiumGrid() {
+        RatingSnapshot snapshot = ratingSnapshotService.getSnapshot();
+        List<PremiumGridEntry> premiums = new ArrayList<>(
+                snapshot.getRegionSlotCount() * snapshot.getVehicleTypeSlotCount() * snapshot.getMileageSlotCount());
+        for (int regionSlot = 0; regionSlot < snapshot.getRegionSlotCount(); regionSlot++) {
+            for (int vehicleTypeSlot = 0; vehicleTypeSlot < snapshot.getVehicleTypeSlotCount(); vehicleTypeSlot++) {
+                for (int mileageSlot = 0; mileageSlot < snapshot.getMileageSlotCount(); mileageSlot++) {
+                    premiums.add(new PremiumGridEntry(
+                            snapshot.getFederalState(regionSlot),
+                            snapshot.getRegionFactor(regionSlot),
+                            snapshot.getVehicleTypeName(vehicleTypeSlot),
+                            snapshot.getVehicleFactor(vehicleTypeSlot),
+                            snapshot.getMinMileage(mileageSlot),
+                            snapshot.getMaxMileage(mileageSlot),
+                            snapshot.getMileageFactor(mileageSlot),
+                            snapshot.calculatePremium(regionSlot, vehicleTypeSlot, mileageSlot)));
+                }
+            }
+        }
+        return new PremiumGridResponse(
+                snapshot.getVersion(),
+                snapshot.getBasePremium(),
+                snapshot.getRegionSlotCount(),
+                snapshot.getVehicleTypeSlotCount(),
+                snapshot.getMileageSlotCount(),
+                premiums);
+    }
+    
     /**
      * Get all factors for premium calculation
      * 
@@ -175,6 +276,29 @@ public class PremiumCalculationService {
                 .map(PostcodeResponse::fromRegion);
     }
     
+    /**
+     * Get a page of postcodes ordered by postal code, without counting all postcodes
+     * 
+     * @param cursor The cursor returned with the previous page, null for the first page
+     * @param size The page size, at most {@value CursorPage#MAX_SIZE}
+     * @return Page of postcode responses with the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PostcodeResponse> scrollPostcodes(String cursor, int size) {
+        int limit = Math.clamp(size, 1, CursorPage.MAX_SIZE);
+        PostcodeCursor after = PostcodeCursor.decode(cursor);
+        logger.debug("Getting postcodes after {} [size={}]", after, limit);
+        // one more region than requested tells whether there is a next page
+        List<Region> regions = regionRepository.findAfter(after.postalCode(), after.id(), Limit.of(limit + 1));
+        String nextCursor = null;
+        if (regions.size() > limit) {
+            regions = regions.subList(0, limit);
+            nextCursor = PostcodeCursor.of(regions.get(limit - 1)).encode();
+        }
+        return new CursorPage<>(regions.stream().map(PostcodeResponse::fromRegion).toList(), nextCursor);
+    }
+    
     /**
      * Search postcodes by prefix
      * 
@@ -204,22 +328,21 @@ public class PremiumCalculationService {
     }
     
     /**
-     * Find the region factor for a postal code
+     * Find the region factor slot for a postal code
      * 
+     * @param snapshot The rating snapshot
      * @param postalCode The postal code
-     * @return The region factor
+     * @return The region factor slot
      */
-    private RegionFactor findRegionFactor(String postalCode) {
+    private int findRegionSlot(RatingSnapshot snapshot, String postalCode) {
         logger.debug("Finding region factor for postalCode={}", postalCode);
         
-        List<Region> regions = regionRepository.findByPostalCode(postalCode);
-        // if exactly one region is found or all regions have the same federal state
-        if (regions.size() == 1 || regions.stream().map(Region::getFederalState).collect(Collectors.toSet()).size() == 1) {
-            Region region = regions.get(0);
-            RegionFactor regionFactor = region.getRegionFactor();
+        // the snapshot only resolves postal codes that belong to exactly one federal state
+        int slot = snapshot.findRegionSlot(postalCode);
+        if (slot != RatingSnapshot.NOT_FOUND) {
             logger.debug("Found region factor={} for postalCode={} (state={})", 
-                    regionFactor.getFactor(), postalCode, region.getFederalState());
-            return regionFactor;
+                    snapshot.getRegionFactor(slot), postalCode, snapshot.getFederalState(slot));
+            return slot;
         }
         
         logger.warn(LOG_FACTOR_NOT_FOUND, "Region factor", "postalCode", postalCode);
@@ -227,20 +350,20 @@ public class PremiumCalculationService {
     }
     
     /**
-     * Find the vehicle type factor for a vehicle type
+     * Find the vehicle type slot for a vehicle type
      * 
+     * @param snapshot The rating snapshot
      * @param vehicleTypeName The vehicle type name
-     * @return The vehicle type factor
+     * @return The vehicle type slot
      */
-    private BigDecimal findVehicleTypeFactor(String vehicleTypeName) {
+    private int findVehicleTypeSlot(RatingSnapshot snapshot, String vehicleTypeName) {
         logger.debug("Finding vehicle factor for vehicleType={}", vehicleTypeName);
         
-        Optional<VehicleType> vehicleTypeOpt = vehicleTypeRepository.findByName(vehicleTypeName);
-        if (vehicleTypeOpt.isPresent()) {
-            VehicleType vehicleType = vehicleTypeOpt.get();
+        int slot = snapshot.findVehicleTypeSlot(vehicleTypeName);
+        if (slot != RatingSnapshot.NOT_FOUND) {
             logger.debug("Found vehicle factor={} for vehicleType={}", 
-                    vehicleType.getFactor(), vehicleTypeName);
-            return vehicleType.getFactor();
+                    snapshot.getVehicleFactor(slot), vehicleTypeName);
+            return slot;
         }
         
         logger.warn(LOG_FACTOR_NOT_FOUND, "Vehicle type", "name", vehicleTypeName);
@@ -248,20 +371,20 @@ public class PremiumCalculationService {
     }
     
     /**
-     * Find the mileage factor for an annual mileage
+     * Find the mileage band slot for an annual mileage
      * 
+     * @param snapshot The rating snapshot
      * @param annualMileage The annual mileage
-     * @return The mileage factor
+     * @return The mileage band slot
      */
-    private BigDecimal findMileageFactor(int annualMileage) {
+    private int findMileageSlot(RatingSnapshot snapshot, int annualMileage) {
         logger.debug("Finding mileage factor for annualMileage={}", annualMileage);
         
-        Optional<MileageFactor> factor = mileageFactorRepository.findByMileage(annualMileage);
-        if (factor.isPresent()) {
-            MileageFactor mileageFactor = factor.get();
+        int slot = snapshot.findMileageSlot(annualMileage);
+        if (slot != RatingSnapshot.NOT_FOUND) {
             logger.debug("Found mileage factor={} for annualMileage={} (range: {}-{})", 
-                    mileageFactor.getFactor(), annualMileage, mileageFactor.getMinMileage(), mileageFactor.getMaxMileage());
-            return mileageFactor.getFactor();
+                    snapshot.getMileageFactor(slot), annualMileage, snapshot.getMinMileage(slot), snapshot.getMaxMileage(slot));
+            return slot;
         }
         
         logger.warn(LOG_FACTOR_NOT_FOUND, "Mileage factor", "annualMileage", annualMileage);
@@ -0,0 +1,153 @@
+package com.insurance.premium.calculation.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.insurance.premium.calculation.dto.PremiumCalculationResult;
+import com.insurance.premium.calculation.dto.QuoteCacheStats;
+
+/**
+ * Bounded cache of premium calculation results.
+ *
+ * The premium depends on the mileage band, not on the exact annual mileage, so results
+ * are keyed by postal code, vehicle type, mileage band slot and rating snapshot version.
+ * Entries of older snapshot versions can never be hit again and are dropped as soon as
+ * a newer version is seen. When the cache is full, a part of the entries is evicted
+ * with the second-chance (CLOCK) policy: every hit marks its entry, and eviction skips
+ * and unmarks marked entries, so frequently requested keys stay cached.
+ */
+@Component
+public class QuoteCache {
+
+    // Share of entries evicted when the cache is full, so eviction does not run on every put
+    private static final int EVICTION_DIVISOR = 10;
+
+    private final int maxSize;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong(-1);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Key of a cached result
+     *
+     * @param postalCode The postal code
+     * @param vehicleType The vehicle type name
+     * @param mileageSlot The mileage band slot in the rating snapshot
+     * @param version The rating snapshot version
+     */
+    public record Key(String postalCode, String vehicleType, int mileageSlot, long version) {}
+
+    /**
+     * Cached result with the reference bit of the second-chance eviction
+     */
+    private static final class Entry {
+
+        private final PremiumCalculationResult result;
+        private volatile boolean referenced;
+
+        Entry(PremiumCalculationResult result) {
+            this.result = result;
+        }
+    }
+
+    public QuoteCache(@Value("${premium.quote-cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get a cached result
+     *
+     * @param key The key
+     * @return The cached result, or null if the result is not cached
+     */
+    public PremiumCalculationResult get(Key key) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        // only written once, so hits on popular entries do not contend on the same cache line
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        return entry.result;
+    }
+
+    /**
+     * Add a result to the cache
+     *
+     * @param key The key
+     * @param result The result
+     */
+    public void put(Key key, PremiumCalculationResult result) {
+        if (maxSize <= 0) {
+            return;
+        }
+        long current = version.get();
+        if (key.version() < current) {
+            // calculated with an outdated snapshot
+            return;
+        }
+        if (key.version() > current && version.compareAndSet(current, key.version())) {
+            invalidate();
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        Entry entry = new Entry(result);
+        entries.put(key, entry);
+        if (version.get() > key.version()) {
+            // a newer version was seen and the cache cleared while adding, the entry can never be hit
+            entries.remove(key, entry);
+        }
+    }
+
+    /**
+     * Remove all entries
+     */
+    public void invalidate() {
+        entries.clear();
+    }
+
+    /**
+     * Get the statistics of the cache
+     *
+     * @return The cache statistics
+     */
+    public QuoteCacheStats getStats() {
+        return new QuoteCacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), maxSize, version.get());
+    }
+
+    /**
+     * Evict entries not hit since the last eviction passed them. The first pass unmarks the
+     * hit entries, so the second pass finds enough entries even if all were hit.
+     */
+    private void evict() {
+        int toEvict = Math.max(1, maxSize / EVICTION_DIVISOR);
+        for (int pass = 0; pass < 2 && toEvict > 0; pass++) {
+            for (Map.Entry<Key, Entry> candidate : entries.entrySet()) {
+                if (toEvict == 0) {
+                    break;
+                }
+                if (candidate.getValue().referenced) {
+                    candidate.getValue().referenced = false;
+                } else if (entries.remove(candidate.getKey(), candidate.getValue())) {
+                    evictions.increment();
+                    toEvict--;
+                }
+            }
+        }
+    }
+}
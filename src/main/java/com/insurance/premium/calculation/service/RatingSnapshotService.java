@@ -0,0 +1,148 @@
+package com.insurance.premium.calculation.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.insurance.premium.calculation.event.FactorsChangedEvent;
+import com.insurance.premium.calculation.rating.RatingSnapshot;
+import com.insurance.premium.calculation.repository.MileageFactorRepository;
+import com.insurance.premium.calculation.repository.RegionFactorRepository;
+import com.insurance.premium.calculation.repository.RegionRepository;
+import com.insurance.premium.calculation.repository.VehicleTypeRepository;
+import com.insurance.premium.common.event.ConfigurationChangedEvent;
+import com.insurance.premium.common.service.ConfigurationService;
+
+/**
+ * Service holding the current {@link RatingSnapshot}.
+ * The snapshot is loaded once and replaced atomically whenever a factor or the
+ * base premium change has been committed, so premium calculations do not need
+ * any database access.
+ */
+@Service
+public class RatingSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingSnapshotService.class);
+
+    private final RegionFactorRepository regionFactorRepository;
+    private final RegionRepository regionRepository;
+    private final VehicleTypeRepository vehicleTypeRepository;
+    private final MileageFactorRepository mileageFactorRepository;
+    private final ConfigurationService configService;
+
+    private final AtomicReference<RatingSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong versionCounter = new AtomicLong();
+
+    // Self injection so transaction proxies are not bypassed by direct method calls
+    @SuppressWarnings("java:S6813") // self injection
+    @Autowired
+    @Lazy
+    private RatingSnapshotService self;
+
+    public RatingSnapshotService(
+            RegionFactorRepository regionFactorRepository,
+            RegionRepository regionRepository,
+            VehicleTypeRepository vehicleTypeRepository,
+            MileageFactorRepository mileageFactorRepository,
+            ConfigurationService configService) {
+        this.regionFactorRepository = regionFactorRepository;
+        this.regionRepository = regionRepository;
+        this.vehicleTypeRepository = vehicleTypeRepository;
+        this.mileageFactorRepository = mileageFactorRepository;
+        this.configService = configService;
+    }
+
+    /**
+     * Get the current rating snapshot, loading it on first access
+     *
+     * @return The current rating snapshot
+     */
+    public RatingSnapshot getSnapshot() {
+        RatingSnapshot current = snapshot.get();
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot.get();
+                if (current == null) {
+                    current = reload();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Load a new rating snapshot from the database and make it the current one
+     *
+     * @return The new rating snapshot
+     */
+    public synchronized RatingSnapshot reload() {
+        RatingSnapshot loaded = self.loadSnapshot(versionCounter.incrementAndGet());
+        snapshot.set(loaded);
+        logger.info("Loaded rating snapshot: {}", loaded);
+        return loaded;
+    }
+
+    /**
+     * Read all factors in one transaction. A new transaction is required, as the
+     * reload is triggered after the commit of the transaction that changed the factors.
+     *
+     * @param version The version of the new snapshot
+     * @return The rating snapshot
+     */
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public RatingSnapshot loadSnapshot(long version) {
+        return new RatingSnapshot(
+                version,
+                configService.getBasePremium(),
+                regionFactorRepository.findAll(),
+                regionRepository.findAllPostcodeAssignments(),
+                vehicleTypeRepository.findAll(),
+                mileageFactorRepository.findAll());
+    }
+
+    /**
+     * Load the snapshot when the application is ready, so the first quote does not pay for it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.error("Failed to load rating snapshot, retrying on first calculation", e);
+        }
+    }
+
+    /**
+     * Reload the snapshot after factor changes have been committed
+     *
+     * @param event The factors changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFactorsChanged(FactorsChangedEvent event) {
+        logger.debug("Factors changed ({}), reloading rating snapshot", event.source());
+        reload();
+    }
+
+    /**
+     * Reload the snapshot after a base premium change has been committed
+     *
+     * @param event The configuration changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (ConfigurationService.BASE_PREMIUM_KEY.equals(event.key())) {
+            logger.debug("Base premium changed, reloading rating snapshot");
+            reload();
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.insurance.premium.calculation.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.insurance.premium.calculation.event.FactorsChangedEvent;
+import com.insurance.premium.common.event.ConfigurationChangedEvent;
+import com.insurance.premium.common.service.ConfigurationService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service keeping the rating snapshots of all instances in sync.
+ *
+ * Every change of the rating data increments the version in the {@code rating_version}
+ * table and sends a PostgreSQL notification on the {@value #CHANNEL} channel within the
+ * changing transaction, so the notification is delivered on commit only. The payload
+ * holds the version and the ID of the publishing instance. Each instance
+ * listens on the channel with a dedicated connection and reloads its rating snapshot
+ * when it sees a newer version. A periodic version check covers notifications missed
+ * while the connection was down.
+ *
+ * The listening connection is held for the lifetime of the instance, so it is opened
+ * with the driver directly instead of being taken from the connection pool.
+ */
+@Service
+@ConditionalOnProperty(name = "rating.sync.enabled", havingValue = "true")
+public class RatingSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingSyncService.class);
+
+    static final String CHANNEL = "rating_changed";
+    static final String LISTENER_APPLICATION_NAME = "rating-sync-listener";
+
+    private static final String INCREMENT_VERSION_SQL =
+            "UPDATE rating_version SET version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE id = 1 RETURNING version";
+    private static final String SELECT_VERSION_SQL = "SELECT version FROM rating_version WHERE id = 1";
+
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final RatingSnapshotService ratingSnapshotService;
+    private final int listenTimeoutMillis;
+    private final long reconnectDelayMillis;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // Latest rating version this instance has loaded
+    private final AtomicLong knownVersion = new AtomicLong(-1);
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public RatingSyncService(
+            DataSource dataSource,
+            DataSourceProperties dataSourceProperties,
+            RatingSnapshotService ratingSnapshotService,
+            @Value("${rating.sync.listen-timeout-ms:1000}") int listenTimeoutMillis,
+            @Value("${rating.sync.reconnect-delay-ms:5000}") long reconnectDelayMillis) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.ratingSnapshotService = ratingSnapshotService;
+        this.listenTimeoutMillis = listenTimeoutMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+    }
+
+    /**
+     * Read the current version and start listening. Runs before the rating snapshot is
+     * loaded on startup, so no change between both steps goes unnoticed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onApplicationReady() {
+        try {
+            knownVersion.set(readVersion());
+        } catch (Exception e) {
+            logger.error("Failed to read rating version, relying on notifications", e);
+        }
+        start();
+    }
+
+    /**
+     * Start the listener thread
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "rating-sync-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    /**
+     * Stop the listener thread
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            try {
+                listenerThread.join(2L * listenTimeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            listenerThread = null;
+        }
+    }
+
+    /**
+     * Publish a new version after factor changes, within the changing transaction
+     *
+     * @param event The factors changed event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onFactorsChanged(FactorsChangedEvent event) {
+        publishVersion(event.source());
+    }
+
+    /**
+     * Publish a new version after a base premium change, within the changing transaction
+     *
+     * @param event The configuration changed event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (ConfigurationService.BASE_PREMIUM_KEY.equals(event.key())) {
+            publishVersion("base premium");
+        }
+    }
+
+    /**
+     * Increment the rating version and notify all instances. Must be called within a
+     * transaction; the notification is sent by PostgreSQL when the transaction commits.
+     *
+     * @param source Description of the change, for logging
+     * @return The new rating version
+     */
+    public long publishVersion(String source) {
+        Long version = jdbcTemplate.queryForObject(INCREMENT_VERSION_SQL, Long.class);
+        if (version == null) {
+            throw new IllegalStateException("Rating version row not found");
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, version + "," + instanceId);
+        logger.debug("Published rating version {} ({})", version, source);
+
+        // this instance reloads its snapshot after the commit on its own
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    knownVersion.accumulateAndGet(version, Math::max);
+                }
+            });
+        }
+        return version;
+    }
+
+    /**
+     * Fallback for missed notifications: reload the snapshot if the version has changed
+     */
+    @Scheduled(fixedDelayString = "${rating.sync.check-interval-ms:60000}",
+               initialDelayString = "${rating.sync.check-interval-ms:60000}")
+    public void checkVersion() {
+        try {
+            applyVersion(readVersion(), "version check");
+        } catch (Exception e) {
+            logger.warn("Rating version check failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Get the latest rating version this instance has loaded
+     *
+     * @return The rating version, or -1 if unknown
+     */
+    public long getKnownVersion() {
+        return knownVersion.get();
+    }
+
+    /**
+     * Reload the rating snapshot if the version is newer than the known one
+     *
+     * @param version The rating version
+     * @param source Where the version was seen, for logging
+     */
+    private void applyVersion(long version, String source) {
+        long previous = knownVersion.getAndAccumulate(version, Math::max);
+        if (version > previous) {
+            logger.info("Rating version changed from {} to {} ({}), reloading rating snapshot", previous, version, source);
+            ratingSnapshotService.reload();
+        }
+    }
+
+    private long readVersion() {
+        Long version = jdbcTemplate.queryForObject(SELECT_VERSION_SQL, Long.class);
+        return version == null ? 0 : version;
+    }
+
+    /**
+     * Open the listening connection outside the connection pool
+     *
+     * @return A new connection to the configured database
+     * @throws SQLException If the connection cannot be opened
+     */
+    private Connection openListenerConnection() throws SQLException {
+        Properties info = new Properties();
+        String username = dataSourceProperties.determineUsername();
+        String password = dataSourceProperties.determinePassword();
+        if (username != null) {
+            info.setProperty("user", username);
+        }
+        if (password != null) {
+            info.setProperty("password", password);
+        }
+        info.setProperty("ApplicationName", LISTENER_APPLICATION_NAME);
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), info);
+    }
+
+    /**
+     * Listener loop: LISTEN on a dedicated connection and wait for notifications,
+     * reconnecting after connection failures
+     */
+    @SuppressWarnings("java:S3776") // complex method
+    private void listen() {
+        while (running) {
+            try (Connection connection = openListenerConnection()) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    logger.warn("Database does not support notifications, relying on the rating version check");
+                    return;
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                logger.info("Listening for rating changes on channel {}", CHANNEL);
+
+                // catch up on changes made while not listening
+                checkVersion();
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(listenTimeoutMillis);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    long version = -1;
+                    for (PGNotification notification : notifications) {
+                        version = Math.max(version, parseVersion(notification.getParameter()));
+                    }
+                    if (version >= 0) {
+                        applyVersion(version, "notification");
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    logger.warn("Rating change listener failed, reconnecting in {} ms: {}", reconnectDelayMillis, e.getMessage());
+                    sleepBeforeReconnect();
+                }
+            } catch (Exception e) {
+                if (running) {
+                    logger.error("Error handling rating change notification", e);
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+        logger.info("Stopped listening for rating changes");
+    }
+
+    /**
+     * Parse the version from a notification payload
+     *
+     * @param payload The payload in the format {@code <version>,<instance ID>}
+     * @return The version, or -1 for notifications of this instance and invalid payloads
+     */
+    private long parseVersion(String payload) {
+        int separator = payload.indexOf(',');
+        if (separator > 0 && payload.substring(separator + 1).equals(instanceId)) {
+            // this instance reloads its snapshot after its own commit
+            return -1;
+        }
+        try {
+            return Long.parseLong(separator > 0 ? payload.substring(0, separator) : payload);
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring invalid rating notification: {}", payload);
+            return -1;
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -1,57 +1,108 @@
 package com.insurance.premium.calculation.service;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.sql.DataSource;
 
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.event.EventListener;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import com.insurance.premium.calculation.domain.Region;
 import com.insurance.premium.calculation.domain.RegionFactor;
+import com.insurance.premium.calculation.dto.RegionSyncResult;
+import com.insurance.premium.calculation.event.FactorsChangedEvent;
 import com.insurance.premium.calculation.repository.RegionFactorRepository;
 import com.insurance.premium.calculation.repository.RegionRepository;
+import com.insurance.premium.common.jdbc.AdvisoryLocks;
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvValidationException;
 
 /**
  * Service for loading region data from CSV file.
+ * The file is compared row by row with the {@code regions} table, and only inserted,
+ * updated and deleted rows are written, in one transaction. Rows are identified by a
+ * 64-bit hash of the region columns; the region factor is the only column that can change.
+ * New rows are piped into {@code COPY} on PostgreSQL and inserted in JDBC batches otherwise.
+ * A file without valid rows, or one that would delete more than {@code region.sync.max-delete-ratio}
+ * of the current regions, aborts the synchronization unless it is forced.
  */
 @Service
 public class RegionDataLoader {
     
     private static final Logger logger = LoggerFactory.getLogger(RegionDataLoader.class);
-    private static final String CSV_FILE_PATH = "postcodes.csv";
+    private static final String REGION_COLUMNS =
+            "(federal_state, country, area, city, postal_code, district, region_factor_id)";
+    private static final String SELECT_REGIONS_SQL =
+            "SELECT id, federal_state, country, area, city, postal_code, district, region_factor_id FROM regions";
+    // Key of the advisory lock preventing concurrent synchronizations on several instances
+    private static final long SYNC_LOCK_KEY = 0x7265_6769_6f6e_73L;
+    private static final int BATCH_SIZE = 500;
     
     private final RegionRepository regionRepository;
     private final RegionFactorRepository regionFactorRepository;
     private final DataSource dataSource;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final double maxDeleteRatio;
+    private final ReentrantLock syncLock = new ReentrantLock();
+    
+    // Self injection so transaction proxies are not bypassed by direct method calls
+    @SuppressWarnings("java:S6813") // self injection
+    @Autowired
+    @Lazy
+    private RegionDataLoader self;
     
     public RegionDataLoader(RegionRepository regionRepository,
                             RegionFactorRepository regionFactorRepository,
-                            DataSource dataSource) {
+                            DataSource dataSource,
+                            ApplicationEventPublisher eventPublisher,
+                            ResourceLoader resourceLoader,
+                            @Value("${region.sync.location:classpath:postcodes.csv}") String location,
+                            @Value("${region.sync.max-delete-ratio:0.2}") double maxDeleteRatio) {
         this.regionRepository = regionRepository;
         this.regionFactorRepository = regionFactorRepository;
         this.dataSource = dataSource;
+        this.eventPublisher = eventPublisher;
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+        this.maxDeleteRatio = maxDeleteRatio;
     }
     
     /**
@@ -67,92 +118,231 @@ public class RegionDataLoader {
             return;
         }
         
-        logger.info("Loading region data from CSV file: {}", CSV_FILE_PATH);
+        logger.info("Loading region data from CSV file: {}", location);
         try {
-            List<Region> regions = parseRegionsFromCsv();
-            insertRegionsWithJdbc(regions);
-            logger.info("Successfully loaded {} regions", regions.size());
+            RegionSyncResult result = syncRegions(resourceLoader.getResource(location), false);
+            logger.info("Successfully loaded {} regions in {} ms", result.inserted(), result.durationMillis());
         } catch (Exception e) {
             logger.error("Failed to load region data from CSV file", e);
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            }
+        }
+    }
+    
+    /**
+     * Synchronize the regions with the configured CSV file ({@code region.sync.location})
+     * on the schedule given by {@code region.sync.cron}, disabled by default.
+     */
+    @Scheduled(cron = "${region.sync.cron:-}")
+    public void scheduledSync() {
+        try {
+            RegionSyncResult result = self.syncRegions(resourceLoader.getResource(location), false);
+            logger.info("Scheduled region synchronization finished: {}", result);
+        } catch (Exception e) {
+            logger.error("Scheduled region synchronization failed", e);
         }
     }
     
     /**
-     * Insert regions using JDBC batch inserts for better performance.
+     * Synchronize the regions with the configured CSV file ({@code region.sync.location})
+     * 
+     * @param force Whether to delete more regions than {@code region.sync.max-delete-ratio} allows
+     * @return The number of inserted, updated, deleted and unchanged regions
+     * @throws IOException if an I/O error occurs
+     * @throws CsvValidationException if the CSV file is invalid or contains no valid regions
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if too many regions would be deleted without force
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public RegionSyncResult syncRegions(boolean force) throws IOException, CsvValidationException, SQLException {
+        return syncRegions(resourceLoader.getResource(location), force);
+    }
+    
+    /**
+     * Synchronize the regions with a CSV file: rows missing in the table are inserted,
+     * rows with a changed region factor are updated and rows missing in the file are deleted.
+     * The rating snapshot is reloaded once the changes have been committed.
      * 
-     * @param regions List of Region entities to insert
+     * @param resource The CSV file
+     * @param force Whether to delete more regions than {@code region.sync.max-delete-ratio} allows
+     * @return The number of inserted, updated, deleted and unchanged regions
+     * @throws IOException if an I/O error occurs
+     * @throws CsvValidationException if the CSV file is invalid or contains no valid regions
      * @throws SQLException if a database error occurs
+     * @throws IllegalStateException if a synchronization is already running
+     * @throws IllegalArgumentException if too many regions would be deleted without force
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public RegionSyncResult syncRegions(Resource resource, boolean force) throws IOException, CsvValidationException, SQLException {
+        if (!syncLock.tryLock()) {
+            throw new IllegalStateException("Region synchronization is already running");
+        }
+        try {
+            RegionSyncResult result = applyRegions(resource, force);
+            if (result.hasChanges()) {
+                eventPublisher.publishEvent(new FactorsChangedEvent("region data"));
+            }
+            return result;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+    
+    /**
+     * Compare the CSV file with the regions table and write the differences.
+     * Uses the connection of the current transaction if there is one, otherwise
+     * the changes are committed on a connection of its own.
      */
     @SuppressWarnings("java:S2139") // general exception catching
-    private void insertRegionsWithJdbc(List<Region> regions) throws SQLException {
-        final int batchSize = 500;
-        try (Connection conn = dataSource.getConnection()) {
-            final String sql = "INSERT INTO " + conn.getSchema() + ".regions "
-                             + "(federal_state, country, area, city, postal_code, district, region_factor_id) "
-                             + "VALUES (?, ?, ?, ?, ?, ?, ?)";
-            boolean autoCommit = conn.getAutoCommit();
-            if (autoCommit) conn.setAutoCommit(false);
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {            
-                int count = 0;
-                for (Region region : regions) {
-                    ps.setString(1, region.getFederalState());
-                    ps.setString(2, region.getCountry());
-                    ps.setString(3, region.getArea());
-                    ps.setString(4, region.getCity());
-                    ps.setString(5, region.getPostalCode());
-                    ps.setString(6, region.getDistrict());
-                    ps.setLong(7, region.getRegionFactor().getId());
-                    ps.addBatch();
-                    
-                    if (++count % batchSize == 0) {
-                        ps.executeBatch();
-                        conn.commit();
-                        logger.info("Inserted batch of {} regions ({}/{})", batchSize, count, regions.size());
-                    }
+    private RegionSyncResult applyRegions(Resource resource, boolean force) throws IOException, CsvValidationException, SQLException {
+        long start = System.nanoTime();
+        
+        // Get default region factor
+        RegionFactor defaultRegionFactor = regionFactorRepository.findDefaultRegionFactor()
+            .orElseThrow(() -> new IOException("Default region factor not found"));
+        
+        // Fetch all region factors at once and create a map for quick lookup
+        Map<String, Long> regionFactorIds = new HashMap<>();
+        for (RegionFactor factor : regionFactorRepository.findAll()) {
+            if (factor.getFederalState() != null && !factor.getFederalState().isBlank()) {
+                regionFactorIds.put(factor.getFederalState().toLowerCase(), factor.getId());
+            }
+        }
+        
+        Connection conn = DataSourceUtils.getConnection(dataSource);
+        boolean transactional = DataSourceUtils.isConnectionTransactional(conn, dataSource);
+        boolean autoCommit = conn.getAutoCommit();
+        try {
+            if (!transactional && autoCommit) conn.setAutoCommit(false);
+            boolean postgres = conn.isWrapperFor(PGConnection.class);
+            if (postgres) {
+                AdvisoryLocks.lockForTransaction(conn, SYNC_LOCK_KEY, "Region synchronization");
+            }
+            
+            // read the current regions before the COPY occupies the connection
+            Map<Long, CurrentRegion> current = loadCurrentRegions(conn);
+            int before = current.size();
+            RegionDiff diff;
+            try (RegionWriter writer = postgres ? new CopyRegionWriter(conn) : new BatchRegionWriter(conn)) {
+                diff = new RegionDiff(current, writer);
+                parseRegionsFromCsv(resource, regionFactorIds, defaultRegionFactor.getId(), diff);
+                writer.finish();
+            }
+            checkDeletions(before, diff, force);
+            updateRegions(conn, diff.updates);
+            deleteRegions(conn, diff.current.values());
+            
+            if (!transactional) conn.commit();
+            return new RegionSyncResult(diff.inserted, diff.updates.size(), diff.current.size(), diff.unchanged,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Failed to synchronize regions", e);
+            if (!transactional) conn.rollback();
+            throw e;
+        } finally {
+            if (!transactional && autoCommit) conn.setAutoCommit(true);
+            DataSourceUtils.releaseConnection(conn, dataSource);
+        }
+    }
+    
+    /**
+     * Reject files that would empty or mostly empty the regions table, e.g. truncated
+     * files or files with the wrong delimiter, before anything is deleted
+     *
+     * @param before The number of regions before the synchronization
+     */
+    private void checkDeletions(int before, RegionDiff diff, boolean force) throws CsvValidationException {
+        if (diff.inserted + diff.updates.size() + diff.unchanged == 0) {
+            throw new CsvValidationException("CSV file contains no valid regions");
+        }
+        int deleted = diff.current.size();
+        if (!force && deleted > maxDeleteRatio * before) {
+            throw new IllegalArgumentException(String.format(
+                    "Synchronization would delete %d of %d regions (more than %.0f%%), use force to apply it",
+                    deleted, before, maxDeleteRatio * 100));
+        }
+    }
+    
+    /**
+     * Read the hash, ID and region factor of every region in the table
+     */
+    private Map<Long, CurrentRegion> loadCurrentRegions(Connection conn) throws SQLException {
+        Map<Long, CurrentRegion> current = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_REGIONS_SQL)) {
+            ps.setFetchSize(10_000);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    long hash = RowHashes.hash(valueOf(rs, "federal_state"), valueOf(rs, "country"), valueOf(rs, "area"),
+                            valueOf(rs, "city"), valueOf(rs, "postal_code"), valueOf(rs, "district"));
+                    current.put(hash, new CurrentRegion(rs.getLong("id"), rs.getLong("region_factor_id")));
                 }
-                
-                // Insert remaining records
-                if (count % batchSize != 0) {
+            }
+        }
+        return current;
+    }
+    
+    private static String valueOf(ResultSet rs, String column) throws SQLException {
+        String value = rs.getString(column);
+        return value == null ? "" : value;
+    }
+    
+    private void updateRegions(Connection conn, List<RegionUpdate> updates) throws SQLException {
+        if (updates.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = conn.prepareStatement("UPDATE regions SET region_factor_id = ? WHERE id = ?")) {
+            int count = 0;
+            for (RegionUpdate update : updates) {
+                ps.setLong(1, update.regionFactorId());
+                ps.setLong(2, update.id());
+                ps.addBatch();
+                if (++count % BATCH_SIZE == 0) {
                     ps.executeBatch();
-                    conn.commit();
-                    logger.info("Inserted final batch of {} regions", count % batchSize);
                 }
-            }            
-            if (autoCommit) conn.setAutoCommit(true);
-        } catch (Exception e) {
-            logger.error("Failed to insert regions", e);
-            throw e;
+            }
+            ps.executeBatch();
+        }
+    }
+    
+    private void deleteRegions(Connection conn, Collection<CurrentRegion> regions) throws SQLException {
+        if (regions.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = conn.prepareStatement("DELETE FROM regions WHERE id = ?")) {
+            int count = 0;
+            for (CurrentRegion region : regions) {
+                ps.setLong(1, region.id());
+                ps.addBatch();
+                if (++count % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
         }
     }
     
     /**
-     * Parse regions from CSV file.
+     * Parse regions from CSV file and pass each new region to the handler, without
+     * keeping the regions in memory. Duplicates are detected by a 64-bit hash of the
+     * region columns.
      * 
-     * @return List of Region entities
+     * @param resource The CSV file
+     * @param regionFactorIds Region factor IDs by lower case federal state
+     * @param defaultRegionFactorId ID of the region factor for unknown federal states
+     * @param handler The handler receiving the regions
      * @throws IOException if an I/O error occurs
      * @throws CsvValidationException if the CSV file is invalid
+     * @throws SQLException if a database error occurs
      */
     @SuppressWarnings({"java:S3776", "java:S135"}) // complex method and multiple continues
-    private List<Region> parseRegionsFromCsv() throws IOException, CsvValidationException {
-        List<Region> regions = new ArrayList<>();
-        Resource resource = new ClassPathResource(CSV_FILE_PATH);
+    private void parseRegionsFromCsv(Resource resource, Map<String, Long> regionFactorIds, long defaultRegionFactorId,
+            RegionHandler handler) throws IOException, CsvValidationException, SQLException {
+        int duplicates = 0;
         
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8));
              CSVReader csvReader = new CSVReader(reader)) {
             
-            // Get default region factor
-            RegionFactor defaultRegionFactor = regionFactorRepository.findDefaultRegionFactor()
-                .orElseThrow(() -> new IOException("Default region factor not found"));
-            
-            // Fetch all region factors at once and create a map for quick lookup
-            List<RegionFactor> allRegionFactors = regionFactorRepository.findAll();
-            Map<String, RegionFactor> regionFactorMap = new HashMap<>();
-            for (RegionFactor factor : allRegionFactors) {
-                if (factor.getFederalState() != null && !factor.getFederalState().isBlank()) {
-                    regionFactorMap.put(factor.getFederalState().toLowerCase(), factor);
-                }
-            }
-            
             String[] header = csvReader.readNext();
             if (header == null) {
                 throw new IOException("CSV file is empty");
@@ -166,7 +356,8 @@ public class RegionDataLoader {
                   maxIdx = Math.max(idxState, Math.max(idxCountry, Math.max(idxArea, Math.max(idxCity, Math.max(idxPostcode, idxDistrict)))));
             
             // Track processed entries to avoid duplicates
-            Set<String> processed = new HashSet<>();
+            RowHashes processed = new RowHashes();
+            Set<String> unknownStates = new HashSet<>();
             String[] line;
             while ((line = csvReader.readNext()) != null) {
                 if (line.length > maxIdx) {
@@ -184,29 +375,31 @@ public class RegionDataLoader {
                     }
                     
                     // Skip duplicates
-                    String key = state + "_" + country + "_" + area + "_" + city + "_" + postcode + "_" + district;
-                    if (processed.contains(key)) {
-                        logger.warn("Skipping duplicate region: {}", (Object) line);
+                    long hash = RowHashes.hash(state, country, area, city, postcode, district);
+                    if (!processed.add(hash)) {
+                        logger.debug("Skipping duplicate region: {}", (Object) line);
+                        duplicates++;
                         continue;
                     }
-                    processed.add(key);
 
                     // Get the region factor from the map instead of querying the database
-                    RegionFactor regionFactor = regionFactorMap.get(state.toLowerCase());
-                    if (regionFactor == null) {
-                        logger.warn("Region factor not found for state: {}", state);
-                        regionFactor = defaultRegionFactor;
+                    Long regionFactorId = regionFactorIds.get(state.toLowerCase());
+                    if (regionFactorId == null) {
+                        if (unknownStates.add(state)) {
+                            logger.warn("Region factor not found for state: {}", state);
+                        }
+                        regionFactorId = defaultRegionFactorId;
                     }
                     
-                    // Create and add region
-                    Region reg = new Region(state, country, area, city, postcode, district, regionFactor);
-                    regions.add(reg);
+                    handler.accept(hash, state, country, area, city, postcode, district, regionFactorId);
                 } else {
                     logger.warn("Skipping invalid line with insufficient columns: {}", (Object) line);
                 }
             }
         }
-        return regions;
+        if (duplicates > 0) {
+            logger.info("Skipped {} duplicate regions", duplicates);
+        }
     }
     
     /**
@@ -224,4 +417,260 @@ public class RegionDataLoader {
         }
         throw new CsvValidationException("Column " + columnName + " not found in header: " + Arrays.toString(header));
     }
+    
+    /**
+     * Receives the parsed regions
+     */
+    @FunctionalInterface
+    private interface RegionHandler {
+        
+        void accept(long hash, String state, String country, String area, String city, String postcode, String district,
+                long regionFactorId) throws IOException, SQLException;
+    }
+    
+    private record CurrentRegion(long id, long regionFactorId) {}
+    
+    private record RegionUpdate(long id, long regionFactorId) {}
+    
+    /**
+     * Compares the parsed regions with the current ones: new regions are written right
+     * away, changed regions are collected, and the current regions left over at the end
+     * are missing in the file.
+     */
+    private static final class RegionDiff implements RegionHandler {
+        
+        private final Map<Long, CurrentRegion> current;
+        private final RegionWriter writer;
+        private final List<RegionUpdate> updates = new ArrayList<>();
+        private int inserted;
+        private int unchanged;
+        
+        RegionDiff(Map<Long, CurrentRegion> current, RegionWriter writer) {
+            this.current = current;
+            this.writer = writer;
+        }
+        
+        @Override
+        public void accept(long hash, String state, String country, String area, String city, String postcode,
+                String district, long regionFactorId) throws IOException, SQLException {
+            CurrentRegion region = current.remove(hash);
+            if (region == null) {
+                writer.write(state, country, area, city, postcode, district, regionFactorId);
+                inserted++;
+            } else if (region.regionFactorId() != regionFactorId) {
+                updates.add(new RegionUpdate(region.id(), regionFactorId));
+            } else {
+                unchanged++;
+            }
+        }
+    }
+    
+    /**
+     * Target of the region import
+     */
+    private interface RegionWriter extends AutoCloseable {
+        
+        void write(String state, String country, String area, String city, String postcode, String district,
+                long regionFactorId) throws IOException, SQLException;
+        
+        /**
+         * Write all pending regions, called before the commit
+         */
+        void finish() throws IOException, SQLException;
+        
+        @Override
+        void close() throws IOException, SQLException;
+    }
+    
+    /**
+     * Streams the regions into {@code COPY regions FROM STDIN} (CSV format) using the PgJDBC {@link CopyManager}
+     */
+    private static final class CopyRegionWriter implements RegionWriter {
+        
+        private static final int COPY_BUFFER_SIZE = 64 * 1024;
+        
+        private final CopyIn copyIn;
+        private final Writer out;
+        
+        CopyRegionWriter(Connection conn) throws SQLException {
+            CopyManager copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+            this.copyIn = copyManager.copyIn("COPY " + conn.getSchema() + ".regions " + REGION_COLUMNS
+                    + " FROM STDIN WITH (FORMAT csv)");
+            this.out = new BufferedWriter(new OutputStreamWriter(
+                    new PGCopyOutputStream(copyIn, COPY_BUFFER_SIZE), StandardCharsets.UTF_8));
+        }
+        
+        @Override
+        public void write(String state, String country, String area, String city, String postcode, String district,
+                long regionFactorId) throws IOException {
+            writeValue(state);
+            out.write(',');
+            writeValue(country);
+            out.write(',');
+            writeValue(area);
+            out.write(',');
+            writeValue(city);
+            out.write(',');
+            writeValue(postcode);
+            out.write(',');
+            writeValue(district);
+            out.write(',');
+            out.write(Long.toString(regionFactorId));
+            out.write('\n');
+        }
+        
+        /**
+         * Write a quoted CSV value, quoted empty values are empty strings rather than NULL
+         */
+        private void writeValue(String value) throws IOException {
+            out.write('"');
+            if (value.indexOf('"') >= 0) {
+                out.write(value.replace("\"", "\"\""));
+            } else {
+                out.write(value);
+            }
+            out.write('"');
+        }
+        
+        @Override
+        public void finish() throws IOException, SQLException {
+            out.flush();
+            long rows = copyIn.endCopy();
+            logger.debug("Copied {} regions", rows);
+        }
+        
+        @Override
+        public void close() throws SQLException {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+    
+    /**
+     * Inserts the regions with JDBC batches, for databases without {@code COPY} support
+     */
+    private static final class BatchRegionWriter implements RegionWriter {
+        
+        private final PreparedStatement ps;
+        private int pending;
+        
+        BatchRegionWriter(Connection conn) throws SQLException {
+            this.ps = conn.prepareStatement("INSERT INTO " + conn.getSchema() + ".regions " + REGION_COLUMNS
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?)");
+        }
+        
+        @Override
+        public void write(String state, String country, String area, String city, String postcode, String district,
+                long regionFactorId) throws SQLException {
+            ps.setString(1, state);
+            ps.setString(2, country);
+            ps.setString(3, area);
+            ps.setString(4, city);
+            ps.setString(5, postcode);
+            ps.setString(6, district);
+            ps.setLong(7, regionFactorId);
+            ps.addBatch();
+            if (++pending == BATCH_SIZE) {
+                ps.executeBatch();
+                pending = 0;
+            }
+        }
+        
+        @Override
+        public void finish() throws SQLException {
+            if (pending > 0) {
+                ps.executeBatch();
+                pending = 0;
+            }
+        }
+        
+        @Override
+        public void close() throws SQLException {
+            ps.close();
+        }
+    }
+    
+    /**
+     * Set of 64-bit row hashes using open addressing, about 16 bytes per row.
+     * Rows are compared by hash only; with 64-bit hashes a false duplicate is
+     * practically impossible even for millions of rows.
+     */
+    static final class RowHashes {
+        
+        private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+        private static final long FNV_PRIME = 0x100000001b3L;
+        
+        private long[] table = new long[1 << 14];
+        private int size;
+        
+        /**
+         * Hash the values of a row with FNV-1a, including the value lengths so
+         * that shifting characters between values changes the hash
+         */
+        static long hash(String... values) {
+            long hash = FNV_OFFSET;
+            for (String value : values) {
+                for (int i = 0; i < value.length(); i++) {
+                    hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+                }
+                hash = (hash ^ value.length()) * FNV_PRIME;
+            }
+            return hash;
+        }
+        
+        /**
+         * Add a row hash
+         * 
+         * @param hash The row hash
+         * @return true if the hash was not contained yet
+         */
+        boolean add(long hash) {
+            // 0 marks empty entries
+            long entry = hash == 0 ? 1 : hash;
+            if (2 * (size + 1) > table.length) {
+                resize();
+            }
+            int mask = table.length - 1;
+            for (int i = spread(entry) & mask; ; i = (i + 1) & mask) {
+                if (table[i] == entry) {
+                    return false;
+                }
+                if (table[i] == 0) {
+                    table[i] = entry;
+                    size++;
+                    return true;
+                }
+            }
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        private void resize() {
+            long[] old = table;
+            table = new long[old.length * 2];
+            int mask = table.length - 1;
+            for (long entry : old) {
+                if (entry != 0) {
+                    int i = spread(entry) & mask;
+                    while (table[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    table[i] = entry;
+                }
+            }
+        }
+        
+        /**
+         * Mix the high bits into the table index (MurmurHash3 finalizer)
+         */
+        private static int spread(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            return (int) hash;
+        }
+    }
 }
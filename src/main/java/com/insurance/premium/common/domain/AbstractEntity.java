@@ -0,0 +1,33 @@
+package com.insurance.premium.common.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.MappedSuperclass;
+
+/**
+ * Common superclass of all entities.
+ * Provides equals/hashCode based on the ID; the subclasses define how the ID is generated.
+ */
+@MappedSuperclass
+public abstract class AbstractEntity implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public abstract Long getId();
+    
+    public abstract void setId(Long id);
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AbstractEntity that = (AbstractEntity) o;
+        return Objects.equals(getId(), that.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId());
+    }
+}
@@ -1,8 +1,5 @@
 package com.insurance.premium.common.domain;
 
-import java.io.Serializable;
-import java.util.Objects;
-
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -13,7 +10,7 @@ import jakarta.persistence.MappedSuperclass;
  * Provides common functionality like ID field and equals/hashCode methods.
  */
 @MappedSuperclass
-public abstract class BaseEntity implements Serializable {
+public abstract class BaseEntity extends AbstractEntity {
     
     private static final long serialVersionUID = 1L;
     
@@ -21,24 +18,13 @@ public abstract class BaseEntity implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    @Override
     public Long getId() {
         return id;
     }
     
+    @Override
     public void setId(Long id) {
         this.id = id;
     }
-    
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        BaseEntity that = (BaseEntity) o;
-        return Objects.equals(id, that.id);
-    }
-    
-    @Override
-    public int hashCode() {
-        return Objects.hash(id);
-    }
 }
@@ -0,0 +1,20 @@
+package com.insurance.premium.common.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Data Transfer Object for a page of a keyset pagination.
+ * There is no total count; the next cursor is null on the last page.
+ */
+public record CursorPage<T>(
+    List<T> items,
+    String nextCursor
+) {
+    /** Largest page size, smaller and larger sizes are clamped */
+    public static final int MAX_SIZE = 100;
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
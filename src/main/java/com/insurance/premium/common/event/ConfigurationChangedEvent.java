@@ -0,0 +1,11 @@
+package com.insurance.premium.common.event;
+
+/**
+ * Event published when a system configuration has been created or updated.
+ * Listeners that cache configuration values should refresh them after the
+ * surrounding transaction has been committed.
+ */
+public record ConfigurationChangedEvent(
+    String key,
+    String value
+) {}
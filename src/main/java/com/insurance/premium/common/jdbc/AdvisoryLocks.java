@@ -0,0 +1,35 @@
+package com.insurance.premium.common.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * PostgreSQL advisory locks, used so only one instance runs a maintenance task at a time.
+ */
+public final class AdvisoryLocks {
+
+    private AdvisoryLocks() {
+    }
+
+    /**
+     * Take a transaction-level advisory lock, released on commit or rollback
+     *
+     * @param conn the connection of the transaction
+     * @param key the key of the lock
+     * @param activity the activity the lock protects, for the error message
+     * @throws SQLException if the lock cannot be queried
+     * @throws IllegalStateException if another session holds the lock
+     */
+    public static void lockForTransaction(Connection conn, long key, String activity) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT pg_try_advisory_xact_lock(?)")) {
+            ps.setLong(1, key);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || !rs.getBoolean(1)) {
+                    throw new IllegalStateException(activity + " is already running on another instance");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.insurance.premium.common.jdbc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builder of a SQL query with optional filters, collecting the arguments of the placeholders.
+ * Filters with a null value are left out; the others are combined with AND.
+ */
+public final class QueryBuilder {
+
+    private final StringBuilder sql;
+    private final List<Object> args = new ArrayList<>();
+    private boolean filtered;
+
+    /**
+     * @param select the query up to and without the WHERE clause
+     */
+    public QueryBuilder(String select) {
+        this.sql = new StringBuilder(select);
+    }
+
+    /**
+     * Add a filter with one placeholder if its value is set
+     *
+     * @param condition the condition, e.g. {@code status = ?}
+     * @param value the value of the placeholder, null to leave the filter out.
+     *        Date-times are passed as timestamps and enums by name.
+     * @return this builder
+     */
+    public QueryBuilder where(String condition, Object value) {
+        return value != null ? and(condition, value) : this;
+    }
+
+    /**
+     * Add a condition
+     *
+     * @param condition the condition
+     * @param values the values of its placeholders
+     * @return this builder
+     */
+    public QueryBuilder and(String condition, Object... values) {
+        sql.append(filtered ? " AND " : " WHERE ").append(condition);
+        filtered = true;
+        for (Object value : values) {
+            args.add(parameter(value));
+        }
+        return this;
+    }
+
+    /**
+     * Append a clause after the conditions, e.g. the ORDER BY or LIMIT clause
+     *
+     * @param clause the SQL, with a leading space
+     * @param values the values of its placeholders
+     * @return this builder
+     */
+    public QueryBuilder append(String clause, Object... values) {
+        sql.append(clause);
+        for (Object value : values) {
+            args.add(parameter(value));
+        }
+        return this;
+    }
+
+    public String sql() {
+        return sql.toString();
+    }
+
+    public Object[] args() {
+        return args.toArray();
+    }
+
+    private static Object parameter(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return Timestamp.valueOf(dateTime);
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,120 @@
+package com.insurance.premium.common.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+/**
+ * Maintenance of PostgreSQL tables partitioned by range, with a default partition
+ * named {@code <table>_default} for rows outside of the created ranges.
+ */
+public final class RangePartitions {
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = ?::regclass ORDER BY c.relname";
+
+    /**
+     * Work done within a maintenance transaction
+     */
+    @FunctionalInterface
+    public interface Maintenance<T> {
+
+        T run(Connection conn) throws SQLException;
+    }
+
+    private RangePartitions() {
+    }
+
+    /**
+     * Run a maintenance in one transaction on a connection of its own, holding an
+     * advisory lock so only one instance maintains the partitions at a time
+     *
+     * @param dataSource the data source
+     * @param lockKey the key of the advisory lock
+     * @param activity the name of the maintenance, for the error message
+     * @param maintenance the maintenance
+     * @return the result of the maintenance
+     * @throws SQLException if the maintenance failed, it is rolled back
+     * @throws IllegalStateException if another instance is running the maintenance
+     */
+    public static <T> T maintain(DataSource dataSource, long lockKey, String activity, Maintenance<T> maintenance)
+            throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                AdvisoryLocks.lockForTransaction(conn, lockKey, activity);
+                T result = maintenance.run(conn);
+                conn.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Get the names of the partitions of a table, including the default partition
+     *
+     * @param conn the connection
+     * @param table the partitioned table
+     * @return the partition names in alphabetical order
+     * @throws SQLException if the partitions cannot be listed
+     */
+    public static List<String> listPartitions(Connection conn, String table) throws SQLException {
+        List<String> partitions = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(LIST_PARTITIONS_SQL)) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    partitions.add(rs.getString(1));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Create the partition of a range. Rows of the range already in the default partition
+     * are moved into the new partition before it is attached, since a partition cannot be
+     * attached while the default partition holds rows of its range.
+     *
+     * @param conn the connection
+     * @param table the partitioned table
+     * @param partition the name of the new partition
+     * @param column the partition key
+     * @param from the lower bound of the range, inclusive
+     * @param to the upper bound of the range, exclusive
+     * @throws SQLException if the partition cannot be created
+     */
+    public static void createPartition(Connection conn, String table, String partition, String column,
+                                       Object from, Object to) throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            statement.execute("CREATE TABLE " + partition + " (LIKE " + table + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            statement.executeUpdate("WITH moved AS (DELETE FROM " + defaultPartition(table) + " WHERE " + column + " >= '" + from +
+                    "' AND " + column + " < '" + to + "' RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved");
+            statement.execute("ALTER TABLE " + table + " ATTACH PARTITION " + partition +
+                    " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        }
+    }
+
+    /**
+     * Get the name of the default partition of a table
+     *
+     * @param table the partitioned table
+     * @return the name of the default partition
+     */
+    public static String defaultPartition(String table) {
+        return table + "_default";
+    }
+}
@@ -0,0 +1,42 @@
+package com.insurance.premium.common.jdbc;
+
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Runs queries whose rows are passed on one by one instead of being collected.
+ *
+ * Rows are read with a forward-only result set and a fetch size, so the PostgreSQL driver
+ * uses a cursor instead of loading the whole result when called within a transaction.
+ * No entities are created, so nothing accumulates in a persistence context either.
+ */
+public final class StreamingQueries {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param dataSource the data source
+     * @param fetchSize the number of rows read from the cursor at a time
+     */
+    public StreamingQueries(DataSource dataSource, int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Pass the rows of a query to a consumer, one by one
+     *
+     * @param query the query
+     * @param rowMapper the mapper of a row
+     * @param consumer the consumer of the mapped rows, in the order of the query
+     */
+    public <T> void stream(QueryBuilder query, RowMapper<T> rowMapper, Consumer<T> consumer) {
+        jdbcTemplate.query(query.sql(), (RowCallbackHandler) rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow())),
+                query.args());
+    }
+}
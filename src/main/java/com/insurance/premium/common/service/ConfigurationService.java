@@ -9,23 +9,27 @@ import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.insurance.premium.common.domain.SystemConfiguration;
+import com.insurance.premium.common.event.ConfigurationChangedEvent;
 import com.insurance.premium.common.repository.SystemConfigurationRepository;
 
 @Service
 public class ConfigurationService {
     
     private static final Logger logger = LoggerFactory.getLogger(ConfigurationService.class);
-    private static final String BASE_PREMIUM_KEY = "BASE_PREMIUM";
+    public static final String BASE_PREMIUM_KEY = "BASE_PREMIUM";
+    public static final String AUDIT_POLICY_KEY = "AUDIT_POLICY";
     
     // Set of allowed configuration keys
-    private static final Set<String> ALLOWED_KEYS = Set.of(BASE_PREMIUM_KEY);
+    private static final Set<String> ALLOWED_KEYS = Set.of(BASE_PREMIUM_KEY, AUDIT_POLICY_KEY);
     
     private final SystemConfigurationRepository configurationRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     // Self injection so transaction proxies are not bypassed by direct method calls
     @SuppressWarnings("java:S6813") // self injection
@@ -33,8 +37,10 @@ public class ConfigurationService {
     @Lazy
     private ConfigurationService self;
     
-    public ConfigurationService(SystemConfigurationRepository configurationRepository) {
+    public ConfigurationService(SystemConfigurationRepository configurationRepository,
+                                ApplicationEventPublisher eventPublisher) {
         this.configurationRepository = configurationRepository;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
@@ -133,6 +139,7 @@ public class ConfigurationService {
         
         SystemConfiguration savedConfig = configurationRepository.save(config);
         logger.info("Updated configuration: {}", savedConfig);
+        eventPublisher.publishEvent(new ConfigurationChangedEvent(key, value));
         return savedConfig;
     }
 }
@@ -2,6 +2,10 @@ package com.insurance.premium.security.aspect;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.insurance.premium.security.service.AuditLogService;
+import com.insurance.premium.security.service.AuditPolicy;
+import com.insurance.premium.security.service.AuditPolicyService;
+import com.insurance.premium.security.service.AuditRecord;
+import com.insurance.premium.security.service.EndpointLatencyRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -10,19 +14,25 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Aspect for audit logging of controller methods.
+ * The execution time of every call is also recorded in the {@link EndpointLatencyRegistry}.
  */
 @Aspect
 @Component
@@ -31,10 +41,23 @@ public class AuditLogAspect {
     private static final Logger logger = LoggerFactory.getLogger(AuditLogAspect.class);
     
     private final AuditLogService auditLogService;
+    private final AuditPolicyService auditPolicyService;
+    private final EndpointLatencyRegistry latencyRegistry;
     private final ObjectMapper objectMapper;
     
-    public AuditLogAspect(AuditLogService auditLogService, ObjectMapper objectMapper) {
+    // Method descriptors per controller class, so proxies and subclasses get their own controller name
+    private final ClassValue<Map<Method, AuditMethodDescriptor>> descriptors = new ClassValue<>() {
+        @Override
+        protected Map<Method, AuditMethodDescriptor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    
+    public AuditLogAspect(AuditLogService auditLogService, AuditPolicyService auditPolicyService,
+                          EndpointLatencyRegistry latencyRegistry, ObjectMapper objectMapper) {
         this.auditLogService = auditLogService;
+        this.auditPolicyService = auditPolicyService;
+        this.latencyRegistry = latencyRegistry;
         this.objectMapper = objectMapper;
     }
     
@@ -48,69 +71,59 @@ public class AuditLogAspect {
     @Around("@within(org.springframework.web.bind.annotation.RestController) || " +
             "@within(org.springframework.stereotype.Controller)")
     public Object logControllerMethodExecution(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
         
         // Get HTTP request and response
-        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
-        
-        // Get method information
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-        String controllerName = joinPoint.getTarget().getClass().getSimpleName();
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        HttpServletRequest request = attributes.getRequest();
+        HttpServletResponse response = attributes.getResponse();
         
-        // Determine HTTP method
-        String httpMethod = determineHttpMethod(method);
+        // Get the cached method information
+        AuditMethodDescriptor descriptor = describe(joinPoint);
         
-        // Get endpoint path
-        String endpoint = determineEndpoint(method, request);
+        // Decide how much of the call is audited
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        AuditPolicy.Decision decision = auditPolicyService.decide(
+            descriptor.controllerName(), request.getRequestURI(), authentication);
         
-        // Extract request data
-        String requestData = extractRequestData(joinPoint, method);
+        // Extract request data, for calls only audited on failure once the outcome is known
+        Object[] args = joinPoint.getArgs();
+        String requestData = decision.audited() && decision.withRequestData()
+            ? extractRequestData(args, descriptor) : null;
         
         // Execute the method
         Object result = null;
-        Integer responseStatus = 200;
+        int responseStatus = 200;
         try {
             result = joinPoint.proceed();
             
-            // Try to extract response status if result is ResponseEntity
-            if (result != null && result.getClass().getSimpleName().equals("ResponseEntity")) {
-                try {
-                    responseStatus = (Integer) result.getClass().getMethod("getStatusCodeValue").invoke(result);
-                } catch (Exception e) {
-                    // Fallback for newer Spring versions
-                    try {
-                        Object statusCode = result.getClass().getMethod("getStatusCode").invoke(result);
-                        responseStatus = (Integer) statusCode.getClass().getMethod("value").invoke(statusCode);
-                    } catch (Exception ex) {
-                        logger.debug("Could not extract status code from ResponseEntity", ex);
-                    }
-                }
+            // Extract response status if result is ResponseEntity, otherwise the handler
+            // may have set it on the response itself, e.g. streaming endpoints rejecting a file
+            if (result instanceof ResponseEntity<?> responseEntity) {
+                responseStatus = responseEntity.getStatusCode().value();
+            } else if (response != null) {
+                responseStatus = response.getStatus();
             }
         } catch (Exception e) {
-            responseStatus = 500;
+            responseStatus = statusOf(e);
             throw e;
         } finally {
-            long executionTime = System.currentTimeMillis() - startTime;
+            long elapsedNanos = System.nanoTime() - startTime;
+            latencyRegistry.record(descriptor.endpointName(), descriptor.httpMethod(), elapsedNanos, responseStatus);
             
-            // Get client information
-            String ipAddress = request.getRemoteAddr();
-            String userAgent = request.getHeader("User-Agent");
+            if (requestData == null) {
+                requestData = responseStatus >= 400 && decision.withRequestData()
+                    ? extractRequestData(args, descriptor) : "{}";
+            }
             
-            // Create audit log
-            try {
-                auditLogService.createAuditLog(
-                    controllerName,
-                    httpMethod,
-                    endpoint,
-                    requestData,
-                    responseStatus,
-                    ipAddress,
-                    userAgent,
-                    executionTime
-                );
-            } catch (Exception e) {
-                logger.error("Failed to create audit log", e);
+            // Requests passing the audit filter are written once when they complete
+            AuditRecord auditRecord = AuditRecord.current();
+            if (auditRecord != null) {
+                auditRecord.recordControllerCall(descriptor.controllerName(), requestData,
+                    authentication, decision.audited());
+            } else if (decision.audited() || responseStatus >= 400) {
+                createAuditLog(request, descriptor, requestData, responseStatus,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
             }
         }
         
@@ -118,80 +131,77 @@ public class AuditLogAspect {
     }
     
     /**
-     * Determines the HTTP method from the method annotations.
-     * 
-     * @param method the method
-     * @return the HTTP method
+     * Writes an audit log entry directly, for calls outside of an audited request.
      */
-    private String determineHttpMethod(Method method) {
-        if (method.isAnnotationPresent(GetMapping.class)) {
-            return "GET";
-        } else if (method.isAnnotationPresent(PostMapping.class)) {
-            return "POST";
-        } else if (method.isAnnotationPresent(PutMapping.class)) {
-            return "PUT";
-        } else if (method.isAnnotationPresent(DeleteMapping.class)) {
-            return "DELETE";
-        } else if (method.isAnnotationPresent(PatchMapping.class)) {
-            return "PATCH";
-        } else if (method.isAnnotationPresent(RequestMapping.class)) {
-            RequestMapping requestMapping = method.getAnnotation(RequestMapping.class);
-            if (requestMapping.method().length > 0) {
-                return requestMapping.method()[0].name();
-            }
+    private void createAuditLog(HttpServletRequest request, AuditMethodDescriptor descriptor,
+                                String requestData, Integer responseStatus, long executionTime) {
+        try {
+            auditLogService.createAuditLog(
+                descriptor.controllerName(),
+                descriptor.httpMethod(),
+                request.getRequestURI(),
+                requestData,
+                responseStatus,
+                request.getRemoteAddr(),
+                request.getHeader("User-Agent"),
+                executionTime
+            );
+        } catch (Exception e) {
+            logger.error("Failed to create audit log", e);
         }
-        return "UNKNOWN";
     }
     
     /**
-     * Determines the endpoint path from the method annotations and request.
+     * Determines the response status an exception is mapped to by Spring MVC:
+     * the status of {@link ErrorResponse} exceptions such as {@code ResponseStatusException},
+     * the {@link ResponseStatus} annotation of the exception class, or 500 otherwise.
      * 
-     * @param method the method
-     * @param request the HTTP request
-     * @return the endpoint path
+     * @param e the exception thrown by the controller method
+     * @return the response status
      */
-    private String determineEndpoint(Method method, HttpServletRequest request) {
-        return request.getRequestURI();
+    static int statusOf(Exception e) {
+        if (e instanceof ErrorResponse errorResponse) {
+            return errorResponse.getStatusCode().value();
+        }
+        ResponseStatus responseStatus = AnnotatedElementUtils.findMergedAnnotation(e.getClass(), ResponseStatus.class);
+        return responseStatus != null ? responseStatus.code().value() : 500;
     }
     
     /**
-     * Extracts request data from the join point and method.
+     * Gets the audit metadata of the intercepted method, building it on the first call.
      * 
      * @param joinPoint the join point
-     * @param method the method
+     * @return the method descriptor
+     */
+    AuditMethodDescriptor describe(ProceedingJoinPoint joinPoint) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Class<?> controllerClass = joinPoint.getTarget().getClass();
+        return descriptors.get(controllerClass).computeIfAbsent(signature.getMethod(),
+            method -> AuditMethodDescriptor.of(controllerClass, method, signature.getParameterNames()));
+    }
+    
+    /**
+     * Extracts request data from the method arguments.
+     * 
+     * @param args the method arguments
+     * @param descriptor the method descriptor
      * @return the request data as JSON string
      */
-    private String extractRequestData(ProceedingJoinPoint joinPoint, Method method) {
+    private String extractRequestData(Object[] args, AuditMethodDescriptor descriptor) {
         try {
-            Object[] args = joinPoint.getArgs();
-            String[] parameterNames = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
-            Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+            // For RequestBody, use the whole object
+            if (descriptor.requestBodyIndex() >= 0) {
+                return objectMapper.writeValueAsString(args[descriptor.requestBodyIndex()]);
+            }
             
+            // Otherwise use the map of parameters
+            String[] parameterNames = descriptor.parameterNames();
             Map<String, Object> requestData = new HashMap<>();
-            
             for (int i = 0; i < args.length; i++) {
-                Object arg = args[i];
-                
-                // Skip HttpServletRequest, HttpServletResponse, and similar objects
-                if (arg instanceof HttpServletRequest || arg instanceof HttpServletResponse) {
-                    continue;
-                }
-                
-                // Check if parameter has RequestBody annotation
-                boolean isRequestBody = Arrays.stream(parameterAnnotations[i])
-                    .anyMatch(annotation -> annotation.annotationType().equals(RequestBody.class));
-                
-                if (isRequestBody) {
-                    // For RequestBody, use the whole object
-                    return objectMapper.writeValueAsString(arg);
-                } else {
-                    // For other parameters, add them to the map
-                    String paramName = parameterNames[i];
-                    requestData.put(paramName, arg);
+                if (parameterNames[i] != null) {
+                    requestData.put(parameterNames[i], args[i]);
                 }
             }
-            
-            // If we didn't find a RequestBody, return the map of parameters
             if (!requestData.isEmpty()) {
                 return objectMapper.writeValueAsString(requestData);
             }
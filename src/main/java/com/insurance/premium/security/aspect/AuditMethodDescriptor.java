@@ -0,0 +1,63 @@
+package com.insurance.premium.security.aspect;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+/**
+ * Audit metadata of a controller method, computed once per method so the audit aspect
+ * does not have to inspect annotations on every call.
+ *
+ * @param controllerName the simple name of the controller class
+ * @param endpointName the controller and method name, e.g. {@code ApplicationController.createApplication}
+ * @param httpMethod the HTTP method of the mapping, or "UNKNOWN"
+ * @param requestBodyIndex the index of the {@link RequestBody} parameter, or -1
+ * @param parameterNames the parameter names, null entries for parameters not to be logged
+ */
+record AuditMethodDescriptor(String controllerName, String endpointName, String httpMethod, int requestBodyIndex, String[] parameterNames) {
+
+    /**
+     * Build the descriptor of a controller method.
+     *
+     * @param controllerClass the controller class
+     * @param method the controller method
+     * @param parameterNames the parameter names of the method
+     * @return the descriptor
+     */
+    static AuditMethodDescriptor of(Class<?> controllerClass, Method method, String[] parameterNames) {
+        Parameter[] parameters = method.getParameters();
+        int requestBodyIndex = -1;
+        String[] loggedNames = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Class<?> type = parameters[i].getType();
+            // Servlet requests and responses are not request data
+            if (ServletRequest.class.isAssignableFrom(type) || ServletResponse.class.isAssignableFrom(type)) {
+                continue;
+            }
+            if (requestBodyIndex < 0 && parameters[i].isAnnotationPresent(RequestBody.class)) {
+                requestBodyIndex = i;
+            }
+            loggedNames[i] = parameterNames != null && i < parameterNames.length ? parameterNames[i] : parameters[i].getName();
+        }
+        String controllerName = controllerClass.getSimpleName();
+        return new AuditMethodDescriptor(controllerName, controllerName + "." + method.getName(),
+            httpMethodOf(method), requestBodyIndex, loggedNames);
+    }
+
+    /**
+     * Determines the HTTP method from the mapping annotations, including composed ones
+     * such as {@code @GetMapping}.
+     */
+    private static String httpMethodOf(Method method) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        if (mapping != null && mapping.method().length > 0) {
+            return mapping.method()[0].name();
+        }
+        return "UNKNOWN";
+    }
+}
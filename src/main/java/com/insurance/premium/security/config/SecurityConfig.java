@@ -75,7 +75,10 @@ public class SecurityConfig {
                 
                 // API endpoints with role-based access
                 .requestMatchers("/api/applications/*/status/**").hasAnyAuthority(ROLE_ADMIN, ROLE_AGENT)
-                .requestMatchers("/api/applications").hasAnyAuthority(ROLE_ADMIN, ROLE_AGENT, ROLE_API_CLIENT)
+                .requestMatchers("/api/applications/status").hasAnyAuthority(ROLE_ADMIN, ROLE_AGENT)
+                .requestMatchers("/api/applications/export", "/api/applications/statistics").hasAnyAuthority(ROLE_ADMIN, ROLE_AGENT)
+                .requestMatchers("/api/applications", "/api/applications/scroll").hasAnyAuthority(ROLE_ADMIN, ROLE_AGENT, ROLE_API_CLIENT)
+                .requestMatchers("/api/applications/import", "/api/applications/import/**").hasAnyAuthority(ROLE_ADMIN, ROLE_AGENT, ROLE_API_CLIENT)
                 .requestMatchers("/api/applications/my").hasAnyAuthority(ROLE_ADMIN, ROLE_AGENT, ROLE_CUSTOMER)
                 
                 // Premium calculation endpoints
@@ -1,6 +1,7 @@
 package com.insurance.premium.security.config;
 
 import com.insurance.premium.security.service.AuditLogService;
+import com.insurance.premium.security.service.AuditRecord;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,6 +91,8 @@ public class SecurityEventListener {
 
     /**
      * Logs security events to the audit log.
+     * Within an audited request the event is added to the audit record of the request,
+     * otherwise a separate audit log entry is written.
      *
      * @param eventType the type of security event
      * @param authentication the authentication object
@@ -97,6 +100,13 @@ public class SecurityEventListener {
      */
     private void logSecurityEvent(String eventType, Authentication authentication, int statusCode) {
         try {
+            // Events raised while processing an audited request are stored with its audit record
+            AuditRecord auditRecord = AuditRecord.current();
+            if (auditRecord != null) {
+                auditRecord.recordSecurityEvent(eventType, authentication, statusCode < 400);
+                return;
+            }
+            
             // Default request details
             String ipAddress = "unknown";
             String userAgent = "unknown";
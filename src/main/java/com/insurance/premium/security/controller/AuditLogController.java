@@ -1,7 +1,13 @@
 package com.insurance.premium.security.controller;
 
-import com.insurance.premium.security.domain.AuditLog;
+import com.insurance.premium.application.dto.ErrorResponse;
+import com.insurance.premium.security.dto.AuditLogEntry;
+import com.insurance.premium.security.dto.AuditLogFilter;
+import com.insurance.premium.security.dto.AuditLogPage;
+import com.insurance.premium.security.dto.AuditWriterStats;
+import com.insurance.premium.security.dto.EndpointLatencyStats;
 import com.insurance.premium.security.service.AuditLogService;
+import com.insurance.premium.security.service.EndpointLatencyRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,11 +15,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -26,22 +35,27 @@ import java.util.List;
 @SecurityRequirement(name = "basicAuth")
 public class AuditLogController {
     
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
     private final AuditLogService auditLogService;
+    private final EndpointLatencyRegistry latencyRegistry;
     
-    public AuditLogController(AuditLogService auditLogService) {
+    public AuditLogController(AuditLogService auditLogService, EndpointLatencyRegistry latencyRegistry) {
         this.auditLogService = auditLogService;
+        this.latencyRegistry = latencyRegistry;
     }
     
     @GetMapping
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @Operation(
         summary = "Get all audit logs",
-        description = "Returns a list of all audit logs in the system",
+        description = "Returns the newest audit logs in the system, at most audit.query.max-results. " +
+                "If there are more, the X-Next-Cursor header continues with the search endpoint",
         responses = {
             @ApiResponse(
                 responseCode = "200",
                 description = "List of audit logs retrieved successfully",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuditLog.class))
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuditLogEntry.class))
             ),
             @ApiResponse(
                 responseCode = "403",
@@ -50,21 +64,20 @@ public class AuditLogController {
             )
         }
     )
-    public ResponseEntity<List<AuditLog>> getAllAuditLogs() {
-        List<AuditLog> auditLogs = auditLogService.findAll();
-        return ResponseEntity.ok(auditLogs);
+    public ResponseEntity<List<AuditLogEntry>> getAllAuditLogs() {
+        return toList(auditLogService.findAll());
     }
     
     @GetMapping("/user/{username}")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @Operation(
         summary = "Get audit logs by username",
-        description = "Returns a list of audit logs for a specific user",
+        description = "Returns the newest audit logs for a specific user, at most audit.query.max-results",
         responses = {
             @ApiResponse(
                 responseCode = "200",
                 description = "List of audit logs retrieved successfully",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuditLog.class))
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuditLogEntry.class))
             ),
             @ApiResponse(
                 responseCode = "403",
@@ -73,23 +86,22 @@ public class AuditLogController {
             )
         }
     )
-    public ResponseEntity<List<AuditLog>> getAuditLogsByUsername(
+    public ResponseEntity<List<AuditLogEntry>> getAuditLogsByUsername(
             @Parameter(description = "Username", required = true)
             @PathVariable String username) {
-        List<AuditLog> auditLogs = auditLogService.findByUsername(username);
-        return ResponseEntity.ok(auditLogs);
+        return toList(auditLogService.findByUsername(username));
     }
     
     @GetMapping("/controller/{controller}")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @Operation(
         summary = "Get audit logs by controller",
-        description = "Returns a list of audit logs for a specific controller",
+        description = "Returns the newest audit logs for a specific controller, at most audit.query.max-results",
         responses = {
             @ApiResponse(
                 responseCode = "200",
                 description = "List of audit logs retrieved successfully",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuditLog.class))
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuditLogEntry.class))
             ),
             @ApiResponse(
                 responseCode = "403",
@@ -98,23 +110,22 @@ public class AuditLogController {
             )
         }
     )
-    public ResponseEntity<List<AuditLog>> getAuditLogsByController(
+    public ResponseEntity<List<AuditLogEntry>> getAuditLogsByController(
             @Parameter(description = "Controller name", required = true)
             @PathVariable String controller) {
-        List<AuditLog> auditLogs = auditLogService.findByController(controller);
-        return ResponseEntity.ok(auditLogs);
+        return toList(auditLogService.findByController(controller));
     }
     
     @GetMapping("/endpoint/{endpoint}")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @Operation(
         summary = "Get audit logs by endpoint",
-        description = "Returns a list of audit logs for a specific endpoint",
+        description = "Returns the newest audit logs for a specific endpoint, at most audit.query.max-results",
         responses = {
             @ApiResponse(
                 responseCode = "200",
                 description = "List of audit logs retrieved successfully",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuditLog.class))
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuditLogEntry.class))
             ),
             @ApiResponse(
                 responseCode = "403",
@@ -123,23 +134,22 @@ public class AuditLogController {
             )
         }
     )
-    public ResponseEntity<List<AuditLog>> getAuditLogsByEndpoint(
+    public ResponseEntity<List<AuditLogEntry>> getAuditLogsByEndpoint(
             @Parameter(description = "Endpoint path", required = true)
             @PathVariable String endpoint) {
-        List<AuditLog> auditLogs = auditLogService.findByEndpoint(endpoint);
-        return ResponseEntity.ok(auditLogs);
+        return toList(auditLogService.findByEndpoint(endpoint));
     }
     
     @GetMapping("/time-range")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @Operation(
         summary = "Get audit logs by time range",
-        description = "Returns a list of audit logs created within a specific time range",
+        description = "Returns the newest audit logs created within a specific time range, at most audit.query.max-results",
         responses = {
             @ApiResponse(
                 responseCode = "200",
                 description = "List of audit logs retrieved successfully",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuditLog.class))
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuditLogEntry.class))
             ),
             @ApiResponse(
                 responseCode = "403",
@@ -148,12 +158,154 @@ public class AuditLogController {
             )
         }
     )
-    public ResponseEntity<List<AuditLog>> getAuditLogsByTimeRange(
+    public ResponseEntity<List<AuditLogEntry>> getAuditLogsByTimeRange(
             @Parameter(description = "Start time (ISO format)", required = true)
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
             @Parameter(description = "End time (ISO format)", required = true)
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
-        List<AuditLog> auditLogs = auditLogService.findByTimeRange(startTime, endTime);
-        return ResponseEntity.ok(auditLogs);
+        return toList(auditLogService.findByTimeRange(startTime, endTime));
+    }
+    
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Search audit logs",
+        description = "Returns a page of audit logs matching all given filters, newest first. " +
+                "The next page is requested with the returned cursor",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Page of audit logs retrieved successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuditLogPage.class))
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Invalid cursor",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                responseCode = "403",
+                description = "Forbidden - requires admin role",
+                content = @Content
+            )
+        }
+    )
+    @SuppressWarnings("java:S107")
+    public ResponseEntity<Object> searchAuditLogs(
+            @Parameter(description = "Username") @RequestParam(required = false) String username,
+            @Parameter(description = "Controller name") @RequestParam(required = false) String controller,
+            @Parameter(description = "Endpoint path") @RequestParam(required = false) String endpoint,
+            @Parameter(description = "Start time (ISO format, inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End time (ISO format, inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Response status") @RequestParam(required = false) Integer status,
+            @Parameter(description = "Minimum response status, e.g. 400 for all failed requests")
+            @RequestParam(required = false) Integer minStatus,
+            @Parameter(description = "Cursor of the next page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most audit.query.max-results") @RequestParam(defaultValue = "100") int size,
+            @Parameter(description = "Include the request data") @RequestParam(defaultValue = "false") boolean includeRequestData) {
+        try {
+            AuditLogFilter filter = new AuditLogFilter(username, controller, endpoint, from, to, status, minStatus);
+            return ResponseEntity.ok(auditLogService.search(filter, cursor, size, includeRequestData));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ErrorResponse.validation(e.getMessage()));
+        }
+    }
+    
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Export audit logs",
+        description = "Streams all audit logs matching the given filters as NDJSON, newest first, one line per entry",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Audit logs exported successfully",
+                content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = AuditLogEntry.class))
+            ),
+            @ApiResponse(
+                responseCode = "403",
+                description = "Forbidden - requires admin role",
+                content = @Content
+            )
+        }
+    )
+    @SuppressWarnings("java:S107")
+    public void exportAuditLogs(
+            @Parameter(description = "Username") @RequestParam(required = false) String username,
+            @Parameter(description = "Controller name") @RequestParam(required = false) String controller,
+            @Parameter(description = "Endpoint path") @RequestParam(required = false) String endpoint,
+            @Parameter(description = "Start time (ISO format, inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End time (ISO format, inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Response status") @RequestParam(required = false) Integer status,
+            @Parameter(description = "Minimum response status, e.g. 400 for all failed requests")
+            @RequestParam(required = false) Integer minStatus,
+            @Parameter(description = "Include the request data") @RequestParam(defaultValue = "false") boolean includeRequestData,
+            HttpServletResponse response) throws IOException {
+        AuditLogFilter filter = new AuditLogFilter(username, controller, endpoint, from, to, status, minStatus);
+        // The entries are written while they are read, so the export is never held in memory
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        auditLogService.export(filter, includeRequestData, response.getOutputStream());
+    }
+    
+    @GetMapping("/latency")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Get endpoint latencies",
+        description = "Returns latency percentiles, throughput and error counts per controller method " +
+                "over rolling windows, measured in memory on this instance",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Endpoint latencies retrieved successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = EndpointLatencyStats.class))
+            ),
+            @ApiResponse(
+                responseCode = "403",
+                description = "Forbidden - requires admin role",
+                content = @Content
+            )
+        }
+    )
+    public ResponseEntity<List<EndpointLatencyStats>> getEndpointLatencies() {
+        return ResponseEntity.ok(latencyRegistry.getStats());
+    }
+    
+    @GetMapping("/writer")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Get audit writer statistics",
+        description = "Returns the counters of the asynchronous audit log writer, including dropped entries",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Audit writer statistics retrieved successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuditWriterStats.class))
+            ),
+            @ApiResponse(
+                responseCode = "403",
+                description = "Forbidden - requires admin role",
+                content = @Content
+            )
+        }
+    )
+    public ResponseEntity<AuditWriterStats> getWriterStats() {
+        return ResponseEntity.ok(auditLogService.getWriterStats());
+    }
+    
+    /**
+     * Return the items of a page, with the cursor of the next page in the {@value #NEXT_CURSOR_HEADER} header
+     * if the result was capped
+     */
+    private static ResponseEntity<List<AuditLogEntry>> toList(AuditLogPage page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return builder.body(page.items());
     }
 }
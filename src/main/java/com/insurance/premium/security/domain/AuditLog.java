@@ -1,10 +1,9 @@
 package com.insurance.premium.security.domain;
 
+import com.insurance.premium.common.domain.SequenceEntity;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 
@@ -13,11 +12,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "audit_logs")
-public class AuditLog {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+@SuppressWarnings("java:S2160") // equals and hashCode are in AbstractEntity
+public class AuditLog extends SequenceEntity {
 
     @Column(name = "timestamp", nullable = false)
     private LocalDateTime timestamp;
@@ -49,6 +45,9 @@ public class AuditLog {
     @Column(name = "execution_time_ms")
     private Long executionTimeMs;
 
+    @Column(name = "security_event", length = 100)
+    private String securityEvent;
+
     // Default constructor for JPA
     protected AuditLog() {
     }
@@ -69,14 +68,6 @@ public class AuditLog {
     }
 
     // Getters and setters
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
     public LocalDateTime getTimestamp() {
         return timestamp;
     }
@@ -156,4 +147,12 @@ public class AuditLog {
     public void setExecutionTimeMs(Long executionTimeMs) {
         this.executionTimeMs = executionTimeMs;
     }
+
+    public String getSecurityEvent() {
+        return securityEvent;
+    }
+
+    public void setSecurityEvent(String securityEvent) {
+        this.securityEvent = securityEvent;
+    }
 }
@@ -28,7 +28,7 @@ public class Role extends BaseEntity {
     @Column(name = "name", nullable = false, unique = true)
     private String name;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "role_authorities",
         joinColumns = @JoinColumn(name = "role_id"),
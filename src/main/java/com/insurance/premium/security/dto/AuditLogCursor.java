@@ -0,0 +1,48 @@
+package com.insurance.premium.security.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last audit log entry of a page. Audit logs are ordered by timestamp
+ * and id descending, so the next page continues with the entries before this position.
+ */
+public record AuditLogCursor(
+    LocalDateTime timestamp,
+    long id
+) {
+    public static AuditLogCursor of(AuditLogEntry entry) {
+        return new AuditLogCursor(entry.timestamp(), entry.id());
+    }
+
+    /**
+     * Encode the cursor as an opaque URL-safe token
+     *
+     * @return the cursor token
+     */
+    public String encode() {
+        String value = timestamp + "/" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor token
+     *
+     * @param token the cursor token
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is invalid
+     */
+    public static AuditLogCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('/');
+            return new AuditLogCursor(
+                LocalDateTime.parse(value.substring(0, separator)),
+                Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
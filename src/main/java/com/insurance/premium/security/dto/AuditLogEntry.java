@@ -0,0 +1,23 @@
+package com.insurance.premium.security.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for an audit log entry, read as a projection without hydrating
+ * the entity. The request data is only set if it was requested.
+ */
+public record AuditLogEntry(
+    Long id,
+    LocalDateTime timestamp,
+    String username,
+    String controller,
+    String method,
+    String endpoint,
+    String requestData,
+    Integer responseStatus,
+    String ipAddress,
+    String userAgent,
+    Long executionTimeMs,
+    String securityEvent
+) {
+}
@@ -0,0 +1,36 @@
+package com.insurance.premium.security.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for the filters of an audit log query.
+ * All filters are optional and combined with AND; the time range is inclusive.
+ */
+public record AuditLogFilter(
+    String username,
+    String controller,
+    String endpoint,
+    LocalDateTime from,
+    LocalDateTime to,
+    Integer status,
+    Integer minStatus
+) {
+    /** Filter matching all audit logs */
+    public static final AuditLogFilter NONE = new AuditLogFilter(null, null, null, null, null, null, null);
+
+    public static AuditLogFilter byUsername(String username) {
+        return new AuditLogFilter(username, null, null, null, null, null, null);
+    }
+
+    public static AuditLogFilter byController(String controller) {
+        return new AuditLogFilter(null, controller, null, null, null, null, null);
+    }
+
+    public static AuditLogFilter byEndpoint(String endpoint) {
+        return new AuditLogFilter(null, null, endpoint, null, null, null, null);
+    }
+
+    public static AuditLogFilter byTimeRange(LocalDateTime from, LocalDateTime to) {
+        return new AuditLogFilter(null, null, null, from, to, null, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.insurance.premium.security.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page of audit log entries.
+ * The next cursor is null on the last page.
+ */
+public record AuditLogPage(
+    List<AuditLogEntry> items,
+    String nextCursor
+) {
+}
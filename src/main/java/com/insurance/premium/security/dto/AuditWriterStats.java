@@ -0,0 +1,15 @@
+package com.insurance.premium.security.dto;
+
+/**
+ * Data Transfer Object for the counters of the asynchronous audit log writer
+ */
+public record AuditWriterStats(
+    long enqueued,
+    long written,
+    long dropped,
+    long failed,
+    int buffered,
+    int capacity,
+    String overflowPolicy
+) {
+}
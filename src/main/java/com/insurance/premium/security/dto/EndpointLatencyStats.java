@@ -0,0 +1,13 @@
+package com.insurance.premium.security.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the latency of a controller method over all rolling windows
+ */
+public record EndpointLatencyStats(
+    String endpoint,
+    String httpMethod,
+    List<LatencyWindowStats> windows
+) {
+}
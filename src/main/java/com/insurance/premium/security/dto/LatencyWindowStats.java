@@ -0,0 +1,20 @@
+package com.insurance.premium.security.dto;
+
+/**
+ * Data Transfer Object for the latency of an endpoint over a rolling window.
+ * Latencies are in milliseconds; percentiles are accurate to about 1%.
+ */
+public record LatencyWindowStats(
+    int windowMinutes,
+    long count,
+    double throughputPerSecond,
+    long clientErrors,
+    long serverErrors,
+    double meanMs,
+    double p50Ms,
+    double p90Ms,
+    double p99Ms,
+    double p999Ms,
+    double maxMs
+) {
+}
@@ -1,6 +1,7 @@
 package com.insurance.premium.security.filter;
 
 import com.insurance.premium.security.service.AuditLogService;
+import com.insurance.premium.security.service.AuditRecord;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,7 +18,8 @@ import java.io.IOException;
 
 /**
  * Filter to log all HTTP requests, including those rejected by Spring Security.
- * This filter is ordered to run after Spring Security but before controller execution.
+ * The filter starts the {@link AuditRecord} of each request, which the audit aspect and
+ * the security event listener enrich, and writes it once when the request completes.
  */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE + 10)
@@ -36,9 +38,6 @@ public class SecurityAuditLogFilter extends OncePerRequestFilter {
                                    @NonNull FilterChain filterChain)
             throws ServletException, IOException {
         
-        // Record the start time
-        long startTime = System.currentTimeMillis();
-        
         // Get the request URI
         String requestUri = request.getRequestURI();
         
@@ -48,36 +47,23 @@ public class SecurityAuditLogFilter extends OncePerRequestFilter {
             return;
         }
         
-        // Get the HTTP method
-        String httpMethod = request.getMethod();
-        
-        // Get client information
-        String ipAddress = request.getRemoteAddr();
-        String userAgent = request.getHeader("User-Agent");
+        // Start the audit record of this request, enriched by the aspect and security events
+        AuditRecord auditRecord = AuditRecord.start(request);
         
+        boolean failed = true;
         try {
             // Continue with the filter chain
             filterChain.doFilter(request, response);
+            failed = false;
         } finally {
-            // Only log if the response status indicates an error (4xx or 5xx)
-            int status = response.getStatus();
-            if (status >= 400) {
-                long executionTime = System.currentTimeMillis() - startTime;
-                
-                // Create audit log for failed requests
+            // An exception leaving the chain is turned into a 500 response by the container
+            int status = failed ? 500 : response.getStatus();
+            if (auditRecord.isAuditable(status)) {
+                // Write the single audit log entry of this request
                 try {
-                    auditLogService.createAuditLog(
-                        "SecurityFilter",
-                        httpMethod,
-                        requestUri,
-                        "{}",  // We don't have access to the request body at this point
-                        status,
-                        ipAddress,
-                        userAgent,
-                        executionTime
-                    );
+                    auditLogService.createAuditLog(auditRecord, status);
                 } catch (Exception e) {
-                    LOG.error("Failed to create audit log for failed request", e);
+                    LOG.error("Failed to create audit log for request", e);
                 }
             }
         }
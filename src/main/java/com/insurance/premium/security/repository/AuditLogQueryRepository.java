@@ -0,0 +1,111 @@
+package com.insurance.premium.security.repository;
+
+import com.insurance.premium.common.jdbc.QueryBuilder;
+import com.insurance.premium.common.jdbc.StreamingQueries;
+import com.insurance.premium.security.dto.AuditLogCursor;
+import com.insurance.premium.security.dto.AuditLogEntry;
+import com.insurance.premium.security.dto.AuditLogFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Repository for reading audit logs as {@link AuditLogEntry} projections.
+ *
+ * Entries are ordered by timestamp and id descending. Pages continue after the last
+ * entry of the previous page (keyset pagination). The {@code (timestamp, id)} index lets
+ * PostgreSQL merge the daily partitions in that order and stop after the page, so reading
+ * deep pages costs the same as the first one. Only the requested columns are selected.
+ * Streams are passed on row by row through {@link StreamingQueries}.
+ */
+@Repository
+public class AuditLogQueryRepository {
+
+    private static final String COLUMNS = "id, timestamp, username, controller, method, endpoint, " +
+            "response_status, ip_address, user_agent, execution_time_ms, security_event";
+    private static final String ORDER = " ORDER BY timestamp DESC, id DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StreamingQueries streamingQueries;
+
+    public AuditLogQueryRepository(
+            DataSource dataSource,
+            @Value("${audit.query.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingQueries = new StreamingQueries(dataSource, fetchSize);
+    }
+
+    /**
+     * Find a page of audit logs.
+     *
+     * @param filter the filters
+     * @param after the position of the last entry of the previous page, null for the first page
+     * @param limit the maximum number of entries
+     * @param includeRequestData whether the request data is read
+     * @return the entries, newest first
+     */
+    public List<AuditLogEntry> findPage(AuditLogFilter filter, AuditLogCursor after, int limit, boolean includeRequestData) {
+        QueryBuilder query = select(filter, includeRequestData);
+        if (after != null) {
+            query.and("(timestamp, id) < (?, ?)", after.timestamp(), after.id());
+        }
+        query.append(ORDER + " LIMIT ?", limit);
+        return jdbcTemplate.query(query.sql(), rowMapper(includeRequestData), query.args());
+    }
+
+    /**
+     * Pass all matching audit logs to a consumer, one by one.
+     *
+     * @param filter the filters
+     * @param includeRequestData whether the request data is read
+     * @param consumer the consumer of the entries, newest first
+     */
+    public void stream(AuditLogFilter filter, boolean includeRequestData, Consumer<AuditLogEntry> consumer) {
+        streamingQueries.stream(select(filter, includeRequestData).append(ORDER), rowMapper(includeRequestData), consumer);
+    }
+
+    private static QueryBuilder select(AuditLogFilter filter, boolean includeRequestData) {
+        String columns = includeRequestData ? COLUMNS + ", request_data" : COLUMNS;
+        return new QueryBuilder("SELECT " + columns + " FROM audit_logs")
+                .where("username = ?", filter.username())
+                .where("controller = ?", filter.controller())
+                .where("endpoint = ?", filter.endpoint())
+                .where("timestamp >= ?", filter.from())
+                .where("timestamp <= ?", filter.to())
+                .where("response_status = ?", filter.status())
+                .where("response_status >= ?", filter.minStatus());
+    }
+
+    private static RowMapper<AuditLogEntry> rowMapper(boolean includeRequestData) {
+        return (rs, rowNum) -> new AuditLogEntry(
+                rs.getLong("id"),
+                rs.getTimestamp("timestamp").toLocalDateTime(),
+                rs.getString("username"),
+                rs.getString("controller"),
+                rs.getString("method"),
+                rs.getString("endpoint"),
+                includeRequestData ? rs.getString("request_data") : null,
+                nullableInt(rs, "response_status"),
+                rs.getString("ip_address"),
+                rs.getString("user_agent"),
+                nullableLong(rs, "execution_time_ms"),
+                rs.getString("security_event"));
+    }
+
+    private static Integer nullableInt(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Long nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+}
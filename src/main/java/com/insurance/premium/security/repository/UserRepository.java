@@ -1,10 +1,12 @@
 package com.insurance.premium.security.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import com.insurance.premium.security.domain.User;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,13 +16,41 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     
     /**
-     * Find a user by username
+     * Find a user by ID with the roles
+     * 
+     * @param id The user ID
+     * @return Optional containing the user if found
+     */
+    @Override
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findById(Long id);
+    
+    /**
+     * Find all users with their roles in one query
+     * 
+     * @return List of all users
+     */
+    @Override
+    @EntityGraph(attributePaths = "roles")
+    List<User> findAll();
+    
+    /**
+     * Find a user by username, without the roles
      * 
      * @param username The username to search for
      * @return Optional containing the user if found
      */
     Optional<User> findByUsername(String username);
     
+    /**
+     * Find a user by username with the roles and their authorities in one query
+     * 
+     * @param username The username to search for
+     * @return Optional containing the user if found
+     */
+    @EntityGraph(attributePaths = {"roles", "roles.authorities"})
+    Optional<User> findWithAuthoritiesByUsername(String username);
+    
     /**
      * Find a user by email
      * 
@@ -0,0 +1,192 @@
+package com.insurance.premium.security.service;
+
+import com.insurance.premium.common.jdbc.RangePartitions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service maintaining the daily partitions of the {@code audit_logs} table.
+ *
+ * Partitions are created a few days ahead. Once a day is older than the retention
+ * period, its entries are rolled up into the hourly aggregates of {@code audit_log_hourly}
+ * and the partition is dropped in the same transaction, which is much cheaper than
+ * deleting the rows. At most {@code max-drops-per-run} partitions are dropped per run, so a
+ * backlog of expired days (e.g. after shortening the retention) is worked off over several
+ * runs instead of locking all partitions in one transaction. Like the other partition
+ * maintenance, it runs through {@link RangePartitions}, on one instance at a time.
+ */
+@Service
+@ConditionalOnProperty(name = "audit.partitioning.enabled", havingValue = "true")
+public class AuditLogPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogPartitionService.class);
+
+    static final String PARTITION_PREFIX = "audit_logs_p";
+    private static final String TABLE = "audit_logs";
+    private static final String DEFAULT_PARTITION = RangePartitions.defaultPartition(TABLE);
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    // Key of the advisory lock preventing concurrent maintenance on several instances
+    private static final long MAINTENANCE_LOCK_KEY = 0x6175_6469_745f_6c6fL;
+
+    private static final String ROLLUP_SQL =
+            "INSERT INTO audit_log_hourly (hour, controller, method, endpoint, request_count, error_count, " +
+            "total_execution_time_ms, max_execution_time_ms) " +
+            "SELECT date_trunc('hour', timestamp), controller, method, endpoint, COUNT(*), " +
+            "COUNT(*) FILTER (WHERE response_status >= 400), " +
+            "COALESCE(SUM(execution_time_ms), 0), COALESCE(MAX(execution_time_ms), 0) " +
+            "FROM %s GROUP BY 1, 2, 3, 4 " +
+            "ON CONFLICT (hour, controller, method, endpoint) DO UPDATE SET " +
+            "request_count = audit_log_hourly.request_count + EXCLUDED.request_count, " +
+            "error_count = audit_log_hourly.error_count + EXCLUDED.error_count, " +
+            "total_execution_time_ms = audit_log_hourly.total_execution_time_ms + EXCLUDED.total_execution_time_ms, " +
+            "max_execution_time_ms = GREATEST(audit_log_hourly.max_execution_time_ms, EXCLUDED.max_execution_time_ms)";
+
+    /**
+     * Result of a maintenance run
+     *
+     * @param created the names of the created partitions
+     * @param dropped the names of the rolled up and dropped partitions
+     */
+    public record MaintenanceResult(List<String> created, List<String> dropped) {
+    }
+
+    private final DataSource dataSource;
+    private final int retentionDays;
+    private final int precreateDays;
+    private final int maxDropsPerRun;
+
+    public AuditLogPartitionService(
+            DataSource dataSource,
+            @Value("${audit.partitioning.retention-days:90}") int retentionDays,
+            @Value("${audit.partitioning.precreate-days:7}") int precreateDays,
+            @Value("${audit.partitioning.max-drops-per-run:30}") int maxDropsPerRun) {
+        if (retentionDays < 1 || precreateDays < 0) {
+            throw new IllegalArgumentException("Audit log retention must be at least one day");
+        }
+        if (maxDropsPerRun < 1) {
+            throw new IllegalArgumentException("Audit log maintenance must drop at least one partition per run");
+        }
+        this.dataSource = dataSource;
+        this.retentionDays = retentionDays;
+        this.precreateDays = precreateDays;
+        this.maxDropsPerRun = maxDropsPerRun;
+    }
+
+    /**
+     * Maintain the partitions when the application is ready, so the current day always has one
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduledMaintenance();
+    }
+
+    /**
+     * Maintain the partitions once a day
+     */
+    @Scheduled(cron = "${audit.partitioning.cron:0 15 0 * * *}")
+    public void scheduledMaintenance() {
+        try {
+            maintain(LocalDate.now());
+        } catch (Exception e) {
+            logger.error("Audit log partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Create the partitions up to {@code precreateDays} after the given day, then roll up
+     * and drop the partitions of days older than the retention period, oldest first and
+     * at most {@code maxDropsPerRun}.
+     *
+     * @param today the current day
+     * @return the created and dropped partitions
+     * @throws SQLException if the maintenance failed
+     * @throws IllegalStateException if another instance is maintaining the partitions
+     */
+    public MaintenanceResult maintain(LocalDate today) throws SQLException {
+        MaintenanceResult result = RangePartitions.maintain(dataSource, MAINTENANCE_LOCK_KEY,
+                "Audit log partition maintenance", conn -> {
+            List<LocalDate> existing = listPartitionDays(conn);
+            List<String> created = new ArrayList<>();
+            for (LocalDate day = today; !day.isAfter(today.plusDays(precreateDays)); day = day.plusDays(1)) {
+                if (!existing.contains(day)) {
+                    RangePartitions.createPartition(conn, TABLE, partitionName(day), "timestamp", day, day.plusDays(1));
+                    created.add(partitionName(day));
+                }
+            }
+            LocalDate oldestKept = today.minusDays(retentionDays);
+            List<String> dropped = new ArrayList<>();
+            for (LocalDate day : existing) {
+                if (!day.isBefore(oldestKept)) {
+                    break;
+                }
+                if (dropped.size() == maxDropsPerRun) {
+                    logger.info("Dropped {} expired audit log partitions, the remaining ones follow with the next run",
+                            maxDropsPerRun);
+                    break;
+                }
+                rollUpAndDrop(conn, day);
+                dropped.add(partitionName(day));
+            }
+            expireDefaultPartition(conn, oldestKept);
+            return new MaintenanceResult(created, dropped);
+        });
+        if (!result.created().isEmpty() || !result.dropped().isEmpty()) {
+            logger.info("Audit log partitions created: {}, rolled up and dropped: {}", result.created(), result.dropped());
+        }
+        return result;
+    }
+
+    /**
+     * Get the days of the existing daily partitions, ignoring the default partition
+     */
+    private List<LocalDate> listPartitionDays(Connection conn) throws SQLException {
+        List<LocalDate> days = new ArrayList<>();
+        for (String name : RangePartitions.listPartitions(conn, TABLE)) {
+            if (name.startsWith(PARTITION_PREFIX)) {
+                days.add(LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+            }
+        }
+        days.sort(null);
+        return days;
+    }
+
+    /**
+     * Roll up and delete expired entries of the default partition, which only holds
+     * entries of days without partition
+     */
+    private void expireDefaultPartition(Connection conn, LocalDate oldestKept) throws SQLException {
+        String expired = "(SELECT * FROM " + DEFAULT_PARTITION + " WHERE timestamp < '" + oldestKept + "') expired";
+        try (Statement statement = conn.createStatement()) {
+            statement.executeUpdate(ROLLUP_SQL.formatted(expired));
+            statement.executeUpdate("DELETE FROM " + DEFAULT_PARTITION + " WHERE timestamp < '" + oldestKept + "'");
+        }
+    }
+
+    private void rollUpAndDrop(Connection conn, LocalDate day) throws SQLException {
+        String partition = partitionName(day);
+        try (Statement statement = conn.createStatement()) {
+            statement.executeUpdate(ROLLUP_SQL.formatted(partition));
+            statement.execute("DROP TABLE " + partition);
+        }
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+    }
+}
@@ -1,12 +1,23 @@
 package com.insurance.premium.security.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.insurance.premium.security.domain.AuditLog;
-import com.insurance.premium.security.repository.AuditLogRepository;
-import org.springframework.security.core.Authentication;
+import com.insurance.premium.security.dto.AuditLogCursor;
+import com.insurance.premium.security.dto.AuditLogEntry;
+import com.insurance.premium.security.dto.AuditLogFilter;
+import com.insurance.premium.security.dto.AuditLogPage;
+import com.insurance.premium.security.dto.AuditWriterStats;
+import com.insurance.premium.security.repository.AuditLogQueryRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -16,14 +27,31 @@ import java.util.List;
 @Service
 public class AuditLogService {
     
-    private final AuditLogRepository auditLogRepository;
+    private static final int OUTPUT_BUFFER_SIZE = 8192;
     
-    public AuditLogService(AuditLogRepository auditLogRepository) {
-        this.auditLogRepository = auditLogRepository;
+    private final AuditLogQueryRepository auditLogQueryRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final ObjectWriter entryWriter;
+    private final int maxResults;
+    
+    public AuditLogService(
+            AuditLogQueryRepository auditLogQueryRepository,
+            AuditLogWriter auditLogWriter,
+            ObjectMapper objectMapper,
+            @Value("${audit.query.max-results:1000}") int maxResults) {
+        if (maxResults < 1) {
+            throw new IllegalArgumentException("Audit query max results must be positive");
+        }
+        this.auditLogQueryRepository = auditLogQueryRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.entryWriter = objectMapper.writerFor(AuditLogEntry.class);
+        this.maxResults = maxResults;
     }
     
     /**
      * Create a new audit log entry.
+     * The entry is written asynchronously by the {@link AuditLogWriter}, so it is not
+     * persisted yet when this method returns and may be dropped if the buffer is full.
      * 
      * @param controller the controller name
      * @param method the HTTP method
@@ -35,79 +63,151 @@ public class AuditLogService {
      * @param executionTimeMs the execution time in milliseconds
      * @return the created audit log
      */
-    @Transactional
     @SuppressWarnings("java:S107")
     public AuditLog createAuditLog(String controller, String method, String endpoint, 
                                   String requestData, Integer responseStatus, 
                                   String ipAddress, String userAgent, Long executionTimeMs) {
         // Get the current authenticated user
-        String username = "anonymous";
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated() && 
-            !authentication.getName().equals("anonymousUser")) {
-            username = authentication.getName();
-        }
+        String username = AuditRecord.usernameOf(SecurityContextHolder.getContext().getAuthentication());
         
         AuditLog auditLog = new AuditLog(
             username, controller, method, endpoint, requestData, 
             responseStatus, ipAddress, userAgent, executionTimeMs
         );
         
-        return auditLogRepository.save(auditLog);
+        auditLogWriter.enqueue(auditLog);
+        return auditLog;
+    }
+    
+    /**
+     * Write the audit record of a completed request.
+     * 
+     * @param auditRecord the audit record
+     * @param responseStatus the final HTTP response status code
+     * @return the created audit log
+     */
+    public AuditLog createAuditLog(AuditRecord auditRecord, int responseStatus) {
+        AuditLog auditLog = auditRecord.toAuditLog(responseStatus);
+        auditLogWriter.enqueue(auditLog);
+        return auditLog;
+    }
+    
+    /**
+     * Get the counters of the asynchronous audit log writer.
+     * 
+     * @return the audit writer statistics
+     */
+    public AuditWriterStats getWriterStats() {
+        return auditLogWriter.getStats();
+    }
+    
+    /**
+     * Find a page of audit logs, newest first.
+     * 
+     * @param filter the filters
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param size the page size, capped at {@code audit.query.max-results}
+     * @param includeRequestData whether the request data is included
+     * @return the page with the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public AuditLogPage search(AuditLogFilter filter, String cursor, int size, boolean includeRequestData) {
+        int limit = Math.clamp(size, 1, maxResults);
+        AuditLogCursor after = cursor == null || cursor.isBlank() ? null : AuditLogCursor.decode(cursor);
+        // one more entry than requested tells whether there is a next page
+        List<AuditLogEntry> entries = auditLogQueryRepository.findPage(filter, after, limit + 1, includeRequestData);
+        if (entries.size() <= limit) {
+            return new AuditLogPage(entries, null);
+        }
+        List<AuditLogEntry> items = entries.subList(0, limit);
+        return new AuditLogPage(List.copyOf(items), AuditLogCursor.of(items.get(limit - 1)).encode());
+    }
+    
+    /**
+     * Write all matching audit logs as NDJSON, newest first.
+     * Entries are written while they are read from the database, so the heap usage
+     * does not depend on the number of entries.
+     * 
+     * @param filter the filters
+     * @param includeRequestData whether the request data is included
+     * @param output the stream the NDJSON lines are written to
+     * @return the number of written entries
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public long export(AuditLogFilter filter, boolean includeRequestData, OutputStream output) throws IOException {
+        OutputStream out = new BufferedOutputStream(output, OUTPUT_BUFFER_SIZE);
+        long[] count = new long[1];
+        try {
+            auditLogQueryRepository.stream(filter, includeRequestData, entry -> {
+                try {
+                    out.write(entryWriter.writeValueAsBytes(entry));
+                    out.write('\n');
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        return count[0];
     }
     
     /**
-     * Get all audit logs.
+     * Get the newest audit logs, at most {@code audit.query.max-results}.
      * 
-     * @return list of all audit logs
+     * @return the first page of all audit logs
      */
     @Transactional(readOnly = true)
-    public List<AuditLog> findAll() {
-        return auditLogRepository.findAll();
+    public AuditLogPage findAll() {
+        return search(AuditLogFilter.NONE, null, maxResults, true);
     }
     
     /**
-     * Find audit logs by username.
+     * Find the newest audit logs of a user, at most {@code audit.query.max-results}.
      * 
      * @param username the username to search for
-     * @return list of audit logs for the specified user
+     * @return the first page of audit logs for the specified user
      */
     @Transactional(readOnly = true)
-    public List<AuditLog> findByUsername(String username) {
-        return auditLogRepository.findByUsername(username);
+    public AuditLogPage findByUsername(String username) {
+        return search(AuditLogFilter.byUsername(username), null, maxResults, true);
     }
     
     /**
-     * Find audit logs by controller name.
+     * Find the newest audit logs of a controller, at most {@code audit.query.max-results}.
      * 
      * @param controller the controller name to search for
-     * @return list of audit logs for the specified controller
+     * @return the first page of audit logs for the specified controller
      */
     @Transactional(readOnly = true)
-    public List<AuditLog> findByController(String controller) {
-        return auditLogRepository.findByController(controller);
+    public AuditLogPage findByController(String controller) {
+        return search(AuditLogFilter.byController(controller), null, maxResults, true);
     }
     
     /**
-     * Find audit logs by endpoint.
+     * Find the newest audit logs of an endpoint, at most {@code audit.query.max-results}.
      * 
      * @param endpoint the endpoint to search for
-     * @return list of audit logs for the specified endpoint
+     * @return the first page of audit logs for the specified endpoint
      */
     @Transactional(readOnly = true)
-    public List<AuditLog> findByEndpoint(String endpoint) {
-        return auditLogRepository.findByEndpoint(endpoint);
+    public AuditLogPage findByEndpoint(String endpoint) {
+        return search(AuditLogFilter.byEndpoint(endpoint), null, maxResults, true);
     }
     
     /**
-     * Find audit logs created within a time range.
+     * Find the newest audit logs within a time range, at most {@code audit.query.max-results}.
      * 
      * @param startTime the start time
      * @param endTime the end time
-     * @return list of audit logs created within the specified time range
+     * @return the first page of audit logs created within the specified time range
      */
     @Transactional(readOnly = true)
-    public List<AuditLog> findByTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
-        return auditLogRepository.findByTimestampBetween(startTime, endTime);
+    public AuditLogPage findByTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
+        return search(AuditLogFilter.byTimeRange(startTime, endTime), null, maxResults, true);
     }
 }
@@ -0,0 +1,374 @@
+package com.insurance.premium.security.service;
+
+import com.insurance.premium.security.domain.AuditLog;
+import com.insurance.premium.security.dto.AuditWriterStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous writer for audit log entries.
+ *
+ * Request threads only put entries into a bounded lock-free ring buffer. A background
+ * thread drains the buffer and writes the entries with multi-row inserts, either when a
+ * full batch is available or when the flush interval has elapsed. If the buffer is full,
+ * entries are dropped right away ({@code drop}) or after waiting up to the block timeout
+ * for free space ({@code block}). Remaining entries are written on shutdown.
+ * IDs are reserved from {@code audit_logs_seq} in blocks of {@value #ID_BLOCK_SIZE}, like the
+ * Hibernate pooled optimizer, so a batch needs only one sequence call per block.
+ */
+@Component
+public class AuditLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private static final String INSERT_PREFIX = "INSERT INTO audit_logs " +
+            "(id, timestamp, username, controller, method, endpoint, request_data, response_status, " +
+            "ip_address, user_agent, execution_time_ms, security_event) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String NEXT_ID_BLOCK_SQL = "SELECT nextval('audit_logs_seq')";
+    /** Must match the increment of audit_logs_seq */
+    static final int ID_BLOCK_SIZE = 50;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    /**
+     * Behaviour when the buffer is full
+     */
+    public enum OverflowPolicy {
+        /** Drop the entry immediately */
+        DROP,
+        /** Wait for free space up to the block timeout, then drop the entry */
+        BLOCK
+    }
+
+    private final DataSource dataSource;
+    private final RingBuffer<AuditLog> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final String batchInsertSql;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile Thread writerThread;
+    private volatile boolean running;
+
+    // reserved IDs, only used by the writing thread
+    private long nextId;
+    private long lastId = -1;
+
+    public AuditLogWriter(
+            DataSource dataSource,
+            @Value("${audit.writer.buffer-size:8192}") int bufferSize,
+            @Value("${audit.writer.batch-size:200}") int batchSize,
+            @Value("${audit.writer.flush-interval-ms:500}") long flushIntervalMs,
+            @Value("${audit.writer.overflow-policy:drop}") String overflowPolicy,
+            @Value("${audit.writer.block-timeout-ms:50}") long blockTimeoutMs) {
+        if (bufferSize < 1 || batchSize < 1 || flushIntervalMs < 1) {
+            throw new IllegalArgumentException("Audit writer buffer size, batch size and flush interval must be positive");
+        }
+        this.dataSource = dataSource;
+        this.buffer = new RingBuffer<>(bufferSize);
+        this.batchSize = Math.min(batchSize, buffer.capacity());
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase(Locale.ROOT));
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, blockTimeoutMs));
+        this.batchInsertSql = insertSql(this.batchSize);
+    }
+
+    /**
+     * Start the background writer thread
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "audit-log-writer");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Stop the background writer thread after all buffered entries have been written
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        Thread thread = writerThread;
+        running = false;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            logger.warn("Audit log writer did not finish within {} ms, {} entries not written",
+                    SHUTDOWN_TIMEOUT_MS, buffer.size());
+        }
+        writerThread = null;
+    }
+
+    /**
+     * Queue an audit log entry for writing
+     *
+     * @param auditLog the audit log entry
+     * @return true if the entry was queued, false if it was dropped because the buffer is full
+     */
+    public boolean enqueue(AuditLog auditLog) {
+        boolean queued = buffer.offer(auditLog);
+        if (!queued && overflowPolicy == OverflowPolicy.BLOCK) {
+            queued = offerWithTimeout(auditLog);
+        }
+        if (!queued) {
+            dropped.increment();
+            return false;
+        }
+        enqueued.increment();
+        if (buffer.size() >= batchSize) {
+            Thread thread = writerThread;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the counters of the writer
+     *
+     * @return the writer statistics
+     */
+    public AuditWriterStats getStats() {
+        return new AuditWriterStats(
+                enqueued.sum(),
+                written.sum(),
+                dropped.sum(),
+                failed.sum(),
+                buffer.size(),
+                buffer.capacity(),
+                overflowPolicy.name().toLowerCase(Locale.ROOT));
+    }
+
+    private boolean offerWithTimeout(AuditLog auditLog) {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        Thread thread = writerThread;
+        while (System.nanoTime() < deadline) {
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            if (buffer.offer(auditLog)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        long lastFlush = System.nanoTime();
+        while (running) {
+            long waited = System.nanoTime() - lastFlush;
+            if (buffer.size() < batchSize && waited < flushIntervalNanos) {
+                LockSupport.parkNanos(this, flushIntervalNanos - waited);
+                continue;
+            }
+            flush(batch);
+            lastFlush = System.nanoTime();
+        }
+        flush(batch);
+    }
+
+    /**
+     * Write all buffered entries, batch by batch
+     */
+    private void flush(List<AuditLog> batch) {
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                write(batch);
+                written.add(batch.size());
+            } catch (Exception e) {
+                failed.add(batch.size());
+                logger.error("Failed to write {} audit log entries", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Write entries with a single multi-row insert
+     *
+     * @param entries the entries to write, at most one batch
+     * @throws SQLException if the entries could not be written
+     */
+    void write(List<AuditLog> entries) throws SQLException {
+        String sql = entries.size() == batchSize ? batchInsertSql : insertSql(entries.size());
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (AuditLog entry : entries) {
+                statement.setLong(index++, nextId(connection));
+                statement.setTimestamp(index++, Timestamp.valueOf(entry.getTimestamp()));
+                statement.setString(index++, entry.getUsername());
+                statement.setString(index++, entry.getController());
+                statement.setString(index++, entry.getMethod());
+                statement.setString(index++, entry.getEndpoint());
+                statement.setString(index++, entry.getRequestData());
+                setNullable(statement, index++, entry.getResponseStatus(), Types.INTEGER);
+                statement.setString(index++, entry.getIpAddress());
+                statement.setString(index++, entry.getUserAgent());
+                setNullable(statement, index++, entry.getExecutionTimeMs(), Types.BIGINT);
+                statement.setString(index++, entry.getSecurityEvent());
+            }
+            statement.executeUpdate();
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        }
+    }
+
+    /**
+     * Get the next reserved ID, reserving a new block from the sequence when all are used.
+     * A sequence value N reserves the IDs N-49 to N.
+     */
+    private long nextId(Connection connection) throws SQLException {
+        if (nextId > lastId) {
+            try (PreparedStatement statement = connection.prepareStatement(NEXT_ID_BLOCK_SQL);
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                lastId = resultSet.getLong(1);
+            }
+            // the first value of a fresh sequence is its start value 1
+            nextId = Math.max(1, lastId - ID_BLOCK_SIZE + 1);
+        }
+        return nextId++;
+    }
+
+    private static void setNullable(PreparedStatement statement, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, sqlType);
+        } else {
+            statement.setObject(index, value, sqlType);
+        }
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDERS.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Bounded lock-free ring buffer for many producers and a single consumer.
+     *
+     * Each slot carries a sequence number telling producers and the consumer whether
+     * the slot is free or filled for the current lap; producers claim slots with a CAS
+     * on the tail, so neither side ever takes a lock.
+     */
+    static final class RingBuffer<E> {
+
+        private final int mask;
+        private final AtomicReferenceArray<E> elements;
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicLong head = new AtomicLong();
+
+        RingBuffer(int minCapacity) {
+            int capacity = Integer.highestOneBit(Math.max(2, minCapacity) - 1) << 1;
+            this.mask = capacity - 1;
+            this.elements = new AtomicReferenceArray<>(capacity);
+            this.sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        /**
+         * Add an element, returning false if the buffer is full
+         */
+        boolean offer(E element) {
+            while (true) {
+                long position = tail.get();
+                int index = (int) (position & mask);
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        elements.lazySet(index, element);
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                } else if (difference < 0) {
+                    return false;
+                }
+                Thread.onSpinWait();
+            }
+        }
+
+        /**
+         * Move up to {@code maxElements} elements into the target list; only called by the consumer
+         *
+         * @return the number of elements moved
+         */
+        int drainTo(List<E> target, int maxElements) {
+            int count = 0;
+            long position = head.get();
+            while (count < maxElements) {
+                int index = (int) (position & mask);
+                if (sequences.get(index) != position + 1) {
+                    break;
+                }
+                target.add(elements.get(index));
+                elements.lazySet(index, null);
+                sequences.set(index, position + mask + 1);
+                position++;
+                count++;
+            }
+            head.set(position);
+            return count;
+        }
+
+        int size() {
+            return (int) Math.max(0, Math.min(tail.get() - head.get(), capacity()));
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.insurance.premium.security.service;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable audit policy deciding how much of a controller call is audited.
+ *
+ * A policy is a list of rules separated by {@code ;}, each of the form
+ * {@code selector=mode}. The first rule whose selector matches the call applies:
+ * <ul>
+ *   <li>{@code controller:PremiumCalculationController} matches a controller by simple name</li>
+ *   <li>{@code endpoint:/api/premium/calculate/**} matches the request path (Ant-style pattern)</li>
+ *   <li>{@code role:ADMIN} matches an authority, with or without {@code ROLE_} prefix;
+ *       {@code role:ANONYMOUS} matches unauthenticated requests</li>
+ *   <li>{@code default} matches every call</li>
+ * </ul>
+ * Modes are {@code full} (with request data), {@code metadata} (without request data),
+ * {@code sampled:N} (N percent of the calls, with request data) and {@code errors}
+ * (only failed calls). Failed calls are audited in every mode. Calls matching no rule
+ * are audited in full.
+ *
+ * Example: {@code endpoint:/api/premium/calculate/**=sampled:5;role:ANONYMOUS=metadata;default=full}
+ */
+public final class AuditPolicy {
+
+    /**
+     * How much of a call is audited
+     */
+    public enum Mode {
+        FULL,
+        METADATA,
+        SAMPLED,
+        ERRORS
+    }
+
+    /**
+     * The outcome of the policy for a single call.
+     *
+     * @param audited whether the call is audited regardless of its outcome
+     * @param withRequestData whether the request data is recorded
+     */
+    public record Decision(boolean audited, boolean withRequestData) {
+        /** Audit with request data */
+        public static final Decision FULL = new Decision(true, true);
+        /** Audit without request data */
+        public static final Decision METADATA = new Decision(true, false);
+        /** Only audit failed calls, with request data */
+        public static final Decision ERRORS_ONLY = new Decision(false, true);
+    }
+
+    /** Policy auditing every call in full, the behaviour without configuration */
+    public static final AuditPolicy FULL = parse("default=full");
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final String ANONYMOUS_ROLE = "ANONYMOUS";
+
+    private enum Selector {
+        CONTROLLER,
+        ENDPOINT,
+        ROLE,
+        DEFAULT
+    }
+
+    private record Rule(Selector selector, String value, Mode mode, double samplePercent) {
+    }
+
+    private final List<Rule> rules;
+    private final String definition;
+
+    private AuditPolicy(List<Rule> rules, String definition) {
+        this.rules = rules;
+        this.definition = definition;
+    }
+
+    /**
+     * Parse a policy definition.
+     *
+     * @param definition the policy definition
+     * @return the audit policy
+     * @throws IllegalArgumentException if the definition is invalid
+     */
+    public static AuditPolicy parse(String definition) {
+        if (definition == null || definition.isBlank()) {
+            throw new IllegalArgumentException("Audit policy must not be empty");
+        }
+        List<Rule> rules = new ArrayList<>();
+        for (String part : definition.split(";")) {
+            String rule = part.trim();
+            if (!rule.isEmpty()) {
+                rules.add(parseRule(rule));
+            }
+        }
+        if (rules.isEmpty()) {
+            throw new IllegalArgumentException("Audit policy must contain at least one rule");
+        }
+        return new AuditPolicy(List.copyOf(rules), definition.trim());
+    }
+
+    /**
+     * Decide how a controller call is audited.
+     *
+     * @param controller the simple name of the controller
+     * @param endpoint the request path
+     * @param authentication the current authentication, may be null
+     * @return the decision of the first matching rule
+     */
+    public Decision decide(String controller, String endpoint, Authentication authentication) {
+        for (Rule rule : rules) {
+            if (matches(rule, controller, endpoint, authentication)) {
+                return switch (rule.mode()) {
+                    case FULL -> Decision.FULL;
+                    case METADATA -> Decision.METADATA;
+                    case ERRORS -> Decision.ERRORS_ONLY;
+                    case SAMPLED -> ThreadLocalRandom.current().nextDouble(100) < rule.samplePercent()
+                        ? Decision.FULL : Decision.ERRORS_ONLY;
+                };
+            }
+        }
+        return Decision.FULL;
+    }
+
+    /**
+     * Get the definition the policy was parsed from.
+     *
+     * @return the policy definition
+     */
+    public String getDefinition() {
+        return definition;
+    }
+
+    private static boolean matches(Rule rule, String controller, String endpoint, Authentication authentication) {
+        return switch (rule.selector()) {
+            case DEFAULT -> true;
+            case CONTROLLER -> rule.value().equals(controller);
+            case ENDPOINT -> endpoint != null && PATH_MATCHER.match(rule.value(), endpoint);
+            case ROLE -> hasRole(authentication, rule.value());
+        };
+    }
+
+    private static boolean hasRole(Authentication authentication, String role) {
+        boolean anonymous = AuditRecord.ANONYMOUS.equals(AuditRecord.usernameOf(authentication));
+        if (ANONYMOUS_ROLE.equals(role)) {
+            return anonymous;
+        }
+        if (anonymous) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && (name.equals(role) || name.equals(ROLE_PREFIX + role))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Rule parseRule(String rule) {
+        int separator = rule.lastIndexOf('=');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid audit policy rule, expected selector=mode: " + rule);
+        }
+        String selector = rule.substring(0, separator).trim();
+        String mode = rule.substring(separator + 1).trim().toLowerCase(Locale.ROOT);
+
+        Selector type;
+        String value = "";
+        if (selector.equalsIgnoreCase("default")) {
+            type = Selector.DEFAULT;
+        } else {
+            int colon = selector.indexOf(':');
+            if (colon <= 0 || colon == selector.length() - 1) {
+                throw new IllegalArgumentException("Invalid audit policy selector: " + selector);
+            }
+            type = switch (selector.substring(0, colon).trim().toLowerCase(Locale.ROOT)) {
+                case "controller" -> Selector.CONTROLLER;
+                case "endpoint" -> Selector.ENDPOINT;
+                case "role" -> Selector.ROLE;
+                default -> throw new IllegalArgumentException("Unknown audit policy selector: " + selector);
+            };
+            value = selector.substring(colon + 1).trim();
+            if (type == Selector.ROLE) {
+                value = value.toUpperCase(Locale.ROOT);
+                if (value.startsWith(ROLE_PREFIX)) {
+                    value = value.substring(ROLE_PREFIX.length());
+                }
+            }
+        }
+
+        if (mode.startsWith("sampled:")) {
+            double percent;
+            try {
+                percent = Double.parseDouble(mode.substring("sampled:".length()).replace("%", "").trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid audit sample rate: " + mode, e);
+            }
+            if (percent < 0 || percent > 100) {
+                throw new IllegalArgumentException("Audit sample rate must be between 0 and 100: " + mode);
+            }
+            return new Rule(type, value, Mode.SAMPLED, percent);
+        }
+        return switch (mode) {
+            case "full" -> new Rule(type, value, Mode.FULL, 100);
+            case "metadata" -> new Rule(type, value, Mode.METADATA, 100);
+            case "errors" -> new Rule(type, value, Mode.ERRORS, 0);
+            default -> throw new IllegalArgumentException("Unknown audit policy mode: " + mode);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "AuditPolicy{" + definition + "}";
+    }
+}
@@ -0,0 +1,115 @@
+package com.insurance.premium.security.service;
+
+import com.insurance.premium.common.event.ConfigurationChangedEvent;
+import com.insurance.premium.common.service.ConfigurationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service holding the current {@link AuditPolicy}.
+ *
+ * The policy is stored in the system configuration {@link ConfigurationService#AUDIT_POLICY_KEY}
+ * and falls back to the {@code audit.policy} property. It is replaced without restart when the
+ * configuration changes, and re-read periodically so changes made on other instances apply as well.
+ */
+@Service
+public class AuditPolicyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditPolicyService.class);
+
+    private final ConfigurationService configService;
+    private final String defaultDefinition;
+
+    private volatile AuditPolicy policy;
+
+    public AuditPolicyService(ConfigurationService configService,
+                              @Value("${audit.policy:default=full}") String defaultDefinition) {
+        this.configService = configService;
+        this.defaultDefinition = defaultDefinition;
+        this.policy = AuditPolicy.parse(defaultDefinition);
+    }
+
+    /**
+     * Decide how a controller call is audited.
+     *
+     * @param controller the simple name of the controller
+     * @param endpoint the request path
+     * @param authentication the current authentication, may be null
+     * @return the audit decision
+     */
+    public AuditPolicy.Decision decide(String controller, String endpoint, Authentication authentication) {
+        return policy.decide(controller, endpoint, authentication);
+    }
+
+    /**
+     * Get the current audit policy.
+     *
+     * @return the audit policy
+     */
+    public AuditPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Load the policy from the system configuration when the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Re-read the policy from the system configuration.
+     */
+    @Scheduled(fixedDelayString = "${audit.policy.refresh-interval-ms:60000}",
+               initialDelayString = "${audit.policy.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            apply(configService.getConfigValue(ConfigurationService.AUDIT_POLICY_KEY, defaultDefinition));
+        } catch (Exception e) {
+            logger.error("Failed to load audit policy, keeping {}", policy, e);
+        }
+    }
+
+    /**
+     * Reject invalid policies before the configuration change is committed.
+     *
+     * @param event the configuration changed event
+     * @throws IllegalArgumentException if the new policy is invalid
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void validateConfiguration(ConfigurationChangedEvent event) {
+        if (ConfigurationService.AUDIT_POLICY_KEY.equals(event.key())) {
+            AuditPolicy.parse(event.value());
+        }
+    }
+
+    /**
+     * Apply the new policy after a configuration change has been committed.
+     *
+     * @param event the configuration changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (ConfigurationService.AUDIT_POLICY_KEY.equals(event.key())) {
+            apply(event.value());
+        }
+    }
+
+    private void apply(String definition) {
+        AuditPolicy current = policy;
+        if (definition.trim().equals(current.getDefinition())) {
+            return;
+        }
+        policy = AuditPolicy.parse(definition);
+        logger.info("Applied audit policy: {}", policy);
+    }
+}
@@ -0,0 +1,170 @@
+package com.insurance.premium.security.service;
+
+import com.insurance.premium.security.domain.AuditLog;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Audit data of a single HTTP request.
+ *
+ * The record is created by the {@code SecurityAuditLogFilter} when the request starts,
+ * enriched by the {@code AuditLogAspect} and the {@code SecurityEventListener} while the
+ * request is processed, and written once when the request completes. It is stored as a
+ * request attribute and only accessed by the request thread.
+ */
+public class AuditRecord {
+
+    /** Request attribute holding the audit record of the current request */
+    public static final String ATTRIBUTE = AuditRecord.class.getName();
+
+    static final String ANONYMOUS = "anonymous";
+
+    private final long startTime;
+    private final String httpMethod;
+    private final String endpoint;
+    private final String ipAddress;
+    private final String userAgent;
+    private String username = ANONYMOUS;
+    private String controller;
+    private boolean controllerAudited;
+    private String requestData;
+    private String securityEvent;
+
+    AuditRecord(String httpMethod, String endpoint, String ipAddress, String userAgent) {
+        this.startTime = System.nanoTime();
+        this.httpMethod = httpMethod;
+        this.endpoint = endpoint;
+        this.ipAddress = ipAddress;
+        this.userAgent = userAgent;
+    }
+
+    /**
+     * Create the audit record for a request and attach it to the request.
+     *
+     * @param request the HTTP request
+     * @return the audit record
+     */
+    public static AuditRecord start(HttpServletRequest request) {
+        AuditRecord auditRecord = new AuditRecord(
+            request.getMethod(), request.getRequestURI(), request.getRemoteAddr(), request.getHeader("User-Agent"));
+        request.setAttribute(ATTRIBUTE, auditRecord);
+        return auditRecord;
+    }
+
+    /**
+     * Get the audit record of the current request.
+     *
+     * @return the audit record, or null if the current thread is not processing an audited request
+     */
+    public static AuditRecord current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof AuditRecord auditRecord
+            ? auditRecord : null;
+    }
+
+    /**
+     * Record the controller call handling the request.
+     *
+     * @param controller the controller name
+     * @param requestData the request data (JSON)
+     * @param authentication the current authentication, may be null
+     * @param audited whether the audit policy requires the call to be written even if it succeeds
+     */
+    public void recordControllerCall(String controller, String requestData, Authentication authentication,
+                                     boolean audited) {
+        this.controller = controller;
+        this.controllerAudited = audited;
+        this.requestData = requestData;
+        recordUser(authentication);
+    }
+
+    /**
+     * Record an authentication event raised while processing the request.
+     *
+     * @param eventType the type of security event
+     * @param authentication the authentication of the event, only used on success
+     * @param success whether the authentication succeeded
+     */
+    public void recordSecurityEvent(String eventType, Authentication authentication, boolean success) {
+        this.securityEvent = eventType;
+        if (success) {
+            recordUser(authentication);
+        }
+    }
+
+    /**
+     * Whether the request has to be written: it failed, reached a controller the audit
+     * policy selects, or raised a security event without reaching a controller.
+     *
+     * @param status the final response status
+     * @return true if the record should be written
+     */
+    public boolean isAuditable(int status) {
+        if (status >= 400) {
+            return true;
+        }
+        return controller != null ? controllerAudited : securityEvent != null;
+    }
+
+    /**
+     * Create the audit log entry for the completed request.
+     *
+     * @param status the final response status
+     * @return the audit log entry
+     */
+    public AuditLog toAuditLog(int status) {
+        AuditLog auditLog = new AuditLog(
+            username,
+            controller != null ? controller : "SecurityFilter",
+            httpMethod,
+            endpoint,
+            requestData != null ? requestData : "{}",
+            status,
+            ipAddress,
+            userAgent,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)
+        );
+        auditLog.setSecurityEvent(securityEvent);
+        return auditLog;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getController() {
+        return controller;
+    }
+
+    public String getSecurityEvent() {
+        return securityEvent;
+    }
+
+    /**
+     * Resolve the username of an authentication.
+     *
+     * @param authentication the authentication, may be null
+     * @return the username, or "anonymous" for unauthenticated requests
+     */
+    static String usernameOf(Authentication authentication) {
+        if (authentication != null && authentication.isAuthenticated()
+                && !authentication.getName().equals("anonymousUser")) {
+            return authentication.getName();
+        }
+        return ANONYMOUS;
+    }
+
+    private void recordUser(Authentication authentication) {
+        String name = usernameOf(authentication);
+        if (!ANONYMOUS.equals(name)) {
+            this.username = name;
+        }
+    }
+}
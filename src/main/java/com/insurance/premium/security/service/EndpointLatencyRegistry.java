@@ -0,0 +1,303 @@
+package com.insurance.premium.security.service;
+
+import com.insurance.premium.security.dto.EndpointLatencyStats;
+import com.insurance.premium.security.dto.LatencyWindowStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory latency histograms of the controller methods.
+ *
+ * Every endpoint keeps a ring of one-minute slices, each with a log-linear histogram
+ * of the execution times (HdrHistogram-style: 64 linear sub-buckets per power of two;
+ * percentiles report the middle of their bucket, so they are accurate to about 1%).
+ * A rolling window of N minutes merges the current slice with the N previous ones.
+ * Recording only increments atomic counters and replaces expired slices with a CAS,
+ * so request threads never take a lock.
+ */
+@Component
+public class EndpointLatencyRegistry {
+
+    private static final long SLICE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final int[] windowMinutes;
+    private final LongSupplier nanoClock;
+    private final long origin;
+
+    @Autowired
+    public EndpointLatencyRegistry(@Value("${audit.latency.windows-minutes:1,5,15}") String windowMinutes) {
+        this(windowMinutes, System::nanoTime);
+    }
+
+    EndpointLatencyRegistry(String windowMinutes, LongSupplier nanoClock) {
+        this.windowMinutes = Arrays.stream(windowMinutes.split(","))
+                .map(String::trim)
+                .filter(window -> !window.isEmpty())
+                .mapToInt(Integer::parseInt)
+                .sorted()
+                .distinct()
+                .toArray();
+        if (this.windowMinutes.length == 0 || this.windowMinutes[0] < 1) {
+            throw new IllegalArgumentException("Latency windows must be positive: " + windowMinutes);
+        }
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+    }
+
+    /**
+     * Record the execution of a controller method
+     *
+     * @param endpoint the name of the controller method
+     * @param httpMethod the HTTP method of the mapping
+     * @param elapsedNanos the execution time in nanoseconds
+     * @param status the HTTP response status code
+     */
+    public void record(String endpoint, String httpMethod, long elapsedNanos, int status) {
+        Endpoint entry = endpoints.get(endpoint);
+        if (entry == null) {
+            entry = endpoints.computeIfAbsent(endpoint,
+                    name -> new Endpoint(name, httpMethod, windowMinutes[windowMinutes.length - 1] + 1));
+        }
+        entry.slice(currentEpoch()).record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), status);
+    }
+
+    /**
+     * Get the latency statistics of all endpoints called within the longest window
+     *
+     * @return the statistics per endpoint, ordered by endpoint name
+     */
+    public List<EndpointLatencyStats> getStats() {
+        long epoch = currentEpoch();
+        long elapsedInSlice = (nanoClock.getAsLong() - origin) % SLICE_NANOS;
+        List<EndpointLatencyStats> stats = new ArrayList<>();
+        for (Endpoint endpoint : endpoints.values()) {
+            List<LatencyWindowStats> windows = new ArrayList<>(windowMinutes.length);
+            for (int minutes : windowMinutes) {
+                windows.add(endpoint.window(epoch, minutes, elapsedInSlice));
+            }
+            if (windows.get(windows.size() - 1).count() > 0) {
+                stats.add(new EndpointLatencyStats(endpoint.name, endpoint.httpMethod, windows));
+            }
+        }
+        stats.sort(Comparator.comparing(EndpointLatencyStats::endpoint));
+        return stats;
+    }
+
+    private long currentEpoch() {
+        return (nanoClock.getAsLong() - origin) / SLICE_NANOS;
+    }
+
+    /**
+     * Ring of one-minute slices of a controller method
+     */
+    private static final class Endpoint {
+
+        private final String name;
+        private final String httpMethod;
+        private final AtomicReferenceArray<Slice> slices;
+
+        Endpoint(String name, String httpMethod, int slices) {
+            this.name = name;
+            this.httpMethod = httpMethod;
+            this.slices = new AtomicReferenceArray<>(slices);
+        }
+
+        /**
+         * Get the slice of an epoch, replacing the expired slice in its slot
+         */
+        Slice slice(long epoch) {
+            int index = (int) (epoch % slices.length());
+            Slice slice = slices.get(index);
+            while (slice == null || slice.epoch < epoch) {
+                Slice fresh = new Slice(epoch);
+                if (slices.compareAndSet(index, slice, fresh)) {
+                    return fresh;
+                }
+                slice = slices.get(index);
+            }
+            // a slice of a later epoch means this call took longer than the ring; count it there
+            return slice;
+        }
+
+        LatencyWindowStats window(long epoch, int minutes, long elapsedInSlice) {
+            Histogram merged = new Histogram();
+            long clientErrors = 0;
+            long serverErrors = 0;
+            for (int i = 0; i < slices.length(); i++) {
+                Slice slice = slices.get(i);
+                if (slice != null && slice.epoch <= epoch && epoch - slice.epoch <= minutes) {
+                    merged.add(slice.histogram);
+                    clientErrors += slice.clientErrors.sum();
+                    serverErrors += slice.serverErrors.sum();
+                }
+            }
+            // the window covers the current slice and the previous ones since the registry started
+            long coveredNanos = Math.min(epoch, minutes) * SLICE_NANOS + elapsedInSlice;
+            long count = merged.count();
+            double seconds = Math.max(1, coveredNanos) / 1e9;
+            return new LatencyWindowStats(
+                    minutes,
+                    count,
+                    count / seconds,
+                    clientErrors,
+                    serverErrors,
+                    millis(merged.mean()),
+                    millis(merged.percentile(0.50)),
+                    millis(merged.percentile(0.90)),
+                    millis(merged.percentile(0.99)),
+                    millis(merged.percentile(0.999)),
+                    millis(merged.max()));
+        }
+
+        private static double millis(double micros) {
+            return Math.round(micros) / 1000.0;
+        }
+    }
+
+    /**
+     * Histogram and error counts of one minute
+     */
+    private static final class Slice {
+
+        private final long epoch;
+        private final Histogram histogram = new Histogram();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+
+        Slice(long epoch) {
+            this.epoch = epoch;
+        }
+
+        void record(long micros, int status) {
+            histogram.record(micros);
+            if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            }
+        }
+    }
+
+    /**
+     * Log-linear histogram of values in microseconds.
+     *
+     * Values below 128 have their own bucket. Above, every power of two is split into
+     * 64 buckets, so a bucket is never wider than 1/64 of its values. Values above
+     * {@link #MAX_VALUE} (about 71 minutes) are counted in the last bucket.
+     */
+    static final class Histogram {
+
+        private static final int SUB_BUCKET_BITS = 7;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+        static final long MAX_VALUE = (1L << 32) - 1;
+        private static final int BUCKETS = indexOf(MAX_VALUE) + 1;
+
+        private final AtomicIntegerArray counts = new AtomicIntegerArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long value) {
+            long clamped = Math.clamp(value, 0, MAX_VALUE);
+            counts.incrementAndGet(indexOf(clamped));
+            count.increment();
+            sum.add(clamped);
+            long current = max.get();
+            while (clamped > current && !max.compareAndSet(current, clamped)) {
+                current = max.get();
+            }
+        }
+
+        /**
+         * Add the counts of another histogram, which may still be recorded to
+         */
+        void add(Histogram other) {
+            for (int i = 0; i < BUCKETS; i++) {
+                int bucketCount = other.counts.get(i);
+                if (bucketCount != 0) {
+                    counts.addAndGet(i, bucketCount);
+                    count.add(bucketCount);
+                }
+            }
+            sum.add(other.sum.sum());
+            max.accumulateAndGet(other.max.get(), Math::max);
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        double mean() {
+            long total = count.sum();
+            return total == 0 ? 0 : (double) sum.sum() / total;
+        }
+
+        long max() {
+            return max.get();
+        }
+
+        /**
+         * Get the middle of the bucket holding the given quantile, at most the maximum
+         *
+         * @param quantile the quantile between 0 and 1
+         * @return the value in microseconds, 0 if the histogram is empty
+         */
+        long percentile(double quantile) {
+            long total = count.sum();
+            if (total == 0) {
+                return 0;
+            }
+            long target = Math.max(1, (long) Math.ceil(quantile * total));
+            long cumulative = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                cumulative += counts.get(i);
+                if (cumulative >= target) {
+                    return Math.min(middleValueOf(i), max.get());
+                }
+            }
+            return max.get();
+        }
+
+        static int indexOf(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+            return (shift + 1) * HALF_SUB_BUCKETS + (int) (value >>> shift) - HALF_SUB_BUCKETS;
+        }
+
+        static long middleValueOf(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int shift = index / HALF_SUB_BUCKETS - 1;
+            long subBucket = index % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+            return (subBucket << shift) + (1L << shift) / 2;
+        }
+
+        static long highestValueOf(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int shift = index / HALF_SUB_BUCKETS - 1;
+            long subBucket = index % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+            return ((subBucket + 1) << shift) - 1;
+        }
+    }
+}
@@ -38,7 +38,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         logger.debug("Authenticating user: {}", username);
         
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findWithAuthoritiesByUsername(username)
                 .orElseThrow(() -> {
                     logger.warn("User not found: {}", username);
                     return new UsernameNotFoundException("User not found with username: " + username);
@@ -5,9 +5,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,9 +22,11 @@ import com.insurance.premium.application.domain.Application;
 import com.insurance.premium.application.domain.Application.Status;
 import com.insurance.premium.application.dto.ApplicationRequest;
 import com.insurance.premium.application.service.ApplicationService;
+import com.insurance.premium.application.service.ApplicationStatisticsService;
 import com.insurance.premium.calculation.dto.FactorResponse;
 import com.insurance.premium.calculation.dto.PremiumCalculationRequest;
 import com.insurance.premium.calculation.service.PremiumCalculationService;
+import com.insurance.premium.common.dto.CursorPage;
 
 import jakarta.validation.Valid;
 
@@ -64,10 +63,17 @@ public class WebController {
     private static final String STATUSES_ATTR = "statuses";
     private static final String IS_ALL_APPLICATIONS_ATTR = "isAllApplications";
     private static final String IS_MY_APPLICATIONS_ATTR = "isMyApplications";
+    private static final String NEXT_CURSOR_ATTR = "nextCursor";
+    private static final String IS_FIRST_PAGE_ATTR = "isFirstPage";
+    private static final String PAGE_SIZE_ATTR = "pageSize";
     private static final String USERNAME_ATTR = "username";
     private static final String IS_ADMIN_ATTR = "isAdmin";
     private static final String IS_AGENT_ATTR = "isAgent";
     private static final String IS_CUSTOMER_ATTR = "isCustomer";
+    private static final String STATISTICS_ATTR = "statistics";
+    
+    // Number of days shown in the dashboard statistics
+    private static final int DASHBOARD_STATISTICS_DAYS = 14;
     
     // Error messages
     private static final String ERROR_INVALID_POSTAL_CODE = "Invalid postal code. Please enter a valid postal code.";
@@ -81,12 +87,15 @@ public class WebController {
 
     private final ApplicationService applicationService;
     private final PremiumCalculationService calculationService;
+    private final ApplicationStatisticsService statisticsService;
 
     public WebController(
             ApplicationService applicationService, 
-            PremiumCalculationService calculationService) {
+            PremiumCalculationService calculationService,
+            ApplicationStatisticsService statisticsService) {
         this.applicationService = applicationService;
         this.calculationService = calculationService;
+        this.statisticsService = statisticsService;
     }
 
     /**
@@ -115,6 +124,11 @@ public class WebController {
         model.addAttribute(IS_AGENT_ATTR, isAgent);
         model.addAttribute(IS_CUSTOMER_ATTR, isCustomer);
         
+        // Statistics of all applications, read from the in-memory counters
+        if (isAdmin || isAgent) {
+            model.addAttribute(STATISTICS_ATTR, statisticsService.getStatistics(DASHBOARD_STATISTICS_DAYS));
+        }
+        
         return DASHBOARD_VIEW;
     }
 
@@ -213,19 +227,17 @@ public class WebController {
      */
     @GetMapping("/applications")
     public String applications(@RequestParam(required = false) Status status,
-                              @PageableDefault(size = 10) Pageable pageable,
+                              @RequestParam(required = false) String cursor,
+                              @RequestParam(defaultValue = "10") int size,
                               Model model) {
-        Page<Application> applications;
-        
-        if (status != null) {
-            applications = applicationService.getApplicationsByStatus(status, pageable);
-            model.addAttribute(CURRENT_STATUS_ATTR, status);
-        } else {
-            applications = applicationService.getAllApplications(pageable);
+        CursorPage<Application> applications;
+        try {
+            applications = applicationService.scrollApplications(status, cursor, size);
+        } catch (IllegalArgumentException e) {
+            // invalid cursor, start over
+            return REDIRECT_APPLICATIONS;
         }
-        
-        model.addAttribute(APPLICATIONS_VIEW, applications);
-        model.addAttribute(STATUSES_ATTR, Status.values());
+        addApplicationsAttributes(model, applications, status, cursor, size);
         model.addAttribute(IS_ALL_APPLICATIONS_ATTR, true);
         
         return APPLICATIONS_VIEW;
@@ -236,23 +248,34 @@ public class WebController {
      */
     @GetMapping("/my-applications")
     public String myApplications(@RequestParam(required = false) Status status,
-                                @PageableDefault(size = 10) Pageable pageable,
+                                @RequestParam(required = false) String cursor,
+                                @RequestParam(defaultValue = "10") int size,
                                 Model model) {
-        Page<Application> applications;
-        
-        if (status != null) {
-            applications = applicationService.getMyApplicationsByStatus(status, pageable);
-            model.addAttribute(CURRENT_STATUS_ATTR, status);
-        } else {
-            applications = applicationService.getMyApplications(pageable);
+        CursorPage<Application> applications;
+        try {
+            applications = applicationService.scrollMyApplications(status, cursor, size);
+        } catch (IllegalArgumentException e) {
+            // invalid cursor, start over
+            return REDIRECT_MY_APPLICATIONS;
         }
-        
-        model.addAttribute(APPLICATIONS_VIEW, applications);
-        model.addAttribute(STATUSES_ATTR, Status.values());
+        addApplicationsAttributes(model, applications, status, cursor, size);
         model.addAttribute(IS_MY_APPLICATIONS_ATTR, true);
         
         return APPLICATIONS_VIEW;
     }
+    
+    /**
+     * Add a page of applications and the positions of the pages around it
+     */
+    private static void addApplicationsAttributes(Model model, CursorPage<Application> applications,
+                                                  Status status, String cursor, int size) {
+        model.addAttribute(APPLICATIONS_VIEW, applications.items());
+        model.addAttribute(NEXT_CURSOR_ATTR, applications.nextCursor());
+        model.addAttribute(IS_FIRST_PAGE_ATTR, cursor == null || cursor.isBlank());
+        model.addAttribute(PAGE_SIZE_ATTR, size);
+        model.addAttribute(CURRENT_STATUS_ATTR, status);
+        model.addAttribute(STATUSES_ATTR, Status.values());
+    }
 
     /**
      * Update application status (admin and agent only).
@@ -0,0 +1,15 @@
+-- Bulk application imports
+-- processed_rows is advanced in the same transaction as the inserted applications of a chunk,
+-- so an interrupted import is resumed with the same file after the last committed row.
+CREATE TABLE application_import_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    job_id VARCHAR(36) NOT NULL UNIQUE,
+    status VARCHAR(20) NOT NULL,
+    processed_rows BIGINT NOT NULL DEFAULT 0,
+    imported_rows BIGINT NOT NULL DEFAULT 0,
+    failed_rows BIGINT NOT NULL DEFAULT 0,
+    created_by_id BIGINT NOT NULL REFERENCES users(id),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT chk_application_import_job_status CHECK (status IN ('IN_PROGRESS', 'COMPLETED'))
+);
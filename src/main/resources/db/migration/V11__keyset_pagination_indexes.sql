@@ -0,0 +1,15 @@
+-- Indexes matching the keyset pagination order, so a page is read from the index
+-- right after the position of the previous page instead of skipping an offset.
+-- Each replaces an index on its leading column.
+
+CREATE INDEX idx_applications_created_at_id ON applications(created_at, id);
+DROP INDEX idx_applications_created_at;
+
+CREATE INDEX idx_applications_status_created_at_id ON applications(status, created_at, id);
+DROP INDEX idx_applications_status;
+
+CREATE INDEX idx_applications_created_by_created_at_id ON applications(created_by_id, created_at, id);
+DROP INDEX idx_applications_created_by;
+
+CREATE INDEX idx_regions_postal_code_id ON regions(postal_code, id);
+DROP INDEX idx_regions_postal_code;
@@ -0,0 +1,81 @@
+-- Partition applications by month of created_at
+-- Future months are created ahead of time by ApplicationPartitionService. Decided applications of old months
+-- are moved into applications_archive, so the hot partitions only hold recent and undecided applications.
+-- The primary key has to include the partition key.
+ALTER TABLE applications RENAME TO applications_legacy;
+ALTER TABLE applications_legacy RENAME CONSTRAINT applications_pkey TO applications_legacy_pkey;
+ALTER TABLE applications_legacy RENAME CONSTRAINT chk_application_status TO chk_application_legacy_status;
+ALTER TABLE applications_legacy ALTER COLUMN id DROP DEFAULT;
+DROP INDEX idx_applications_created_at_id;
+DROP INDEX idx_applications_status_created_at_id;
+DROP INDEX idx_applications_created_by_created_at_id;
+
+CREATE TABLE applications (
+    id BIGINT NOT NULL DEFAULT nextval('applications_seq'),
+    annual_mileage INTEGER NOT NULL,
+    vehicle_type VARCHAR(100) NOT NULL,
+    postal_code VARCHAR(10) NOT NULL,
+    base_premium DECIMAL(10, 2) NOT NULL,
+    mileage_factor DECIMAL(5, 2) NOT NULL,
+    vehicle_factor DECIMAL(5, 2) NOT NULL,
+    region_factor DECIMAL(5, 2) NOT NULL,
+    calculated_premium DECIMAL(10, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    status VARCHAR(20) NOT NULL DEFAULT 'NEW',
+    created_by_id BIGINT NOT NULL REFERENCES users(id),
+    PRIMARY KEY (id, created_at),
+    CONSTRAINT chk_application_status CHECK (status IN ('NEW', 'ACCEPTED', 'REJECTED'))
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE applications_seq OWNED BY applications.id;
+
+CREATE INDEX idx_applications_created_at_id ON applications(created_at, id);
+CREATE INDEX idx_applications_status_created_at_id ON applications(status, created_at, id);
+CREATE INDEX idx_applications_created_by_created_at_id ON applications(created_by_id, created_at, id);
+
+-- Catches rows outside of the created months, e.g. if partition maintenance did not run
+CREATE TABLE applications_default PARTITION OF applications DEFAULT;
+
+-- One partition per month, from the oldest existing application until three months ahead
+DO $$
+DECLARE
+    month DATE := LEAST(COALESCE((SELECT date_trunc('month', MIN(created_at))::date FROM applications_legacy),
+                                 date_trunc('month', CURRENT_DATE)::date), date_trunc('month', CURRENT_DATE)::date);
+BEGIN
+    WHILE month <= date_trunc('month', CURRENT_DATE)::date + INTERVAL '3 months' LOOP
+        EXECUTE format('CREATE TABLE applications_p%s PARTITION OF applications FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month, 'YYYYMM'), month, (month + INTERVAL '1 month')::date);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO applications (id, annual_mileage, vehicle_type, postal_code, base_premium, mileage_factor, vehicle_factor,
+                          region_factor, calculated_premium, created_at, status, created_by_id)
+SELECT id, annual_mileage, vehicle_type, postal_code, base_premium, mileage_factor, vehicle_factor,
+       region_factor, calculated_premium, created_at, status, created_by_id
+FROM applications_legacy;
+
+DROP TABLE applications_legacy;
+
+COMMENT ON TABLE applications IS 'Stores insurance applications, partitioned by month';
+
+-- Decided applications of old months, also partitioned by month. The partitions are only inserted into,
+-- so they are created fully packed (fillfactor 100) and only have the primary key index.
+CREATE TABLE applications_archive (
+    id BIGINT NOT NULL,
+    annual_mileage INTEGER NOT NULL,
+    vehicle_type VARCHAR(100) NOT NULL,
+    postal_code VARCHAR(10) NOT NULL,
+    base_premium DECIMAL(10, 2) NOT NULL,
+    mileage_factor DECIMAL(5, 2) NOT NULL,
+    vehicle_factor DECIMAL(5, 2) NOT NULL,
+    region_factor DECIMAL(5, 2) NOT NULL,
+    calculated_premium DECIMAL(10, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_by_id BIGINT NOT NULL REFERENCES users(id),
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+COMMENT ON TABLE applications_archive IS 'Accepted and rejected applications moved out of applications, partitioned by month';
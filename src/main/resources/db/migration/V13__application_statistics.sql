@@ -0,0 +1,35 @@
+-- Aggregates of all applications, including archived ones, maintained incrementally by ApplicationStatisticsService
+-- STATUS rows count the applications per status, DAY, VEHICLE_TYPE and FEDERAL_STATE rows count the applications
+-- and sum their premiums per creation day, vehicle type and federal state of the postal code.
+CREATE TABLE application_statistics (
+    dimension VARCHAR(20) NOT NULL,
+    dimension_value VARCHAR(100) NOT NULL,
+    application_count BIGINT NOT NULL,
+    premium_total DECIMAL(16, 2) NOT NULL,
+    PRIMARY KEY (dimension, dimension_value)
+);
+
+COMMENT ON TABLE application_statistics IS 'Application counts and premium totals per status, day, vehicle type and federal state';
+
+-- Postal codes spanning several federal states have no federal state, like in the rating snapshot
+WITH all_applications AS (
+    SELECT created_at, status, vehicle_type, postal_code, calculated_premium FROM applications
+    UNION ALL
+    SELECT created_at, status, vehicle_type, postal_code, calculated_premium FROM applications_archive
+), postcode_states AS (
+    SELECT postal_code, MIN(federal_state) AS federal_state
+    FROM regions
+    GROUP BY postal_code
+    HAVING COUNT(DISTINCT federal_state) = 1
+)
+INSERT INTO application_statistics (dimension, dimension_value, application_count, premium_total)
+SELECT 'STATUS', status, COUNT(*), 0 FROM all_applications GROUP BY status
+UNION ALL
+SELECT 'DAY', to_char(created_at, 'YYYY-MM-DD'), COUNT(*), SUM(calculated_premium)
+FROM all_applications GROUP BY to_char(created_at, 'YYYY-MM-DD')
+UNION ALL
+SELECT 'VEHICLE_TYPE', vehicle_type, COUNT(*), SUM(calculated_premium) FROM all_applications GROUP BY vehicle_type
+UNION ALL
+SELECT 'FEDERAL_STATE', COALESCE(s.federal_state, 'UNKNOWN'), COUNT(*), SUM(a.calculated_premium)
+FROM all_applications a LEFT JOIN postcode_states s ON s.postal_code = a.postal_code
+GROUP BY COALESCE(s.federal_state, 'UNKNOWN');
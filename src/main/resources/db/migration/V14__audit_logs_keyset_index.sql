@@ -0,0 +1,6 @@
+-- Index matching the keyset pagination order of the audit log search, so each daily partition
+-- is read backwards from the position of the previous page and the partitions are merged in order
+-- instead of sorting every scanned partition for each page. It also covers the time ranges the
+-- BRIN index was used for, so that one is dropped.
+CREATE INDEX idx_audit_logs_timestamp_id ON audit_logs(timestamp, id);
+DROP INDEX idx_audit_logs_timestamp;
@@ -0,0 +1,13 @@
+-- Create rating version table
+-- Single row holding the version of the rating data (factors, regions and base premium).
+-- Every change increments the version and notifies the other instances via NOTIFY rating_changed.
+CREATE TABLE rating_version (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO rating_version (id, version) VALUES (1, 0);
+
+-- Add comment to table
+COMMENT ON TABLE rating_version IS 'Version of the rating data, used to invalidate the rating caches of all instances';
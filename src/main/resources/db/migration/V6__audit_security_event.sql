@@ -0,0 +1,5 @@
+-- Add the security event to audit logs
+-- Each request is audited in a single row; authentication events of the request are stored with it
+ALTER TABLE audit_logs ADD COLUMN security_event VARCHAR(100);
+
+COMMENT ON COLUMN audit_logs.security_event IS 'Authentication event raised while processing the request';
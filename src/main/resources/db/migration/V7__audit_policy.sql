@@ -0,0 +1,6 @@
+-- Audit policy
+-- Quotes are sampled, as full auditing of every anonymous quote is not required;
+-- all other calls, such as applications and admin changes, are audited in full.
+-- See AuditPolicy for the syntax; the policy can be changed at runtime via /api/admin/configurations.
+INSERT INTO system_configurations (config_key, config_value, description) VALUES
+('AUDIT_POLICY', 'endpoint:/api/premium/calculate/**=sampled:5;default=full', 'Audit policy rules (selector=mode, separated by semicolons)');
@@ -0,0 +1,79 @@
+-- Partition audit logs by day
+-- Old days are rolled up into audit_log_hourly and dropped as a whole by AuditLogPartitionService,
+-- future days are created ahead of time. The primary key has to include the partition key.
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+ALTER TABLE audit_logs_legacy RENAME CONSTRAINT audit_logs_pkey TO audit_logs_legacy_pkey;
+DROP INDEX idx_audit_logs_username;
+DROP INDEX idx_audit_logs_controller;
+DROP INDEX idx_audit_logs_endpoint;
+DROP INDEX idx_audit_logs_timestamp;
+
+CREATE TABLE audit_logs (
+    id BIGINT NOT NULL DEFAULT nextval('audit_logs_id_seq'),
+    timestamp TIMESTAMP NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    controller VARCHAR(255) NOT NULL,
+    method VARCHAR(10) NOT NULL,
+    endpoint VARCHAR(255) NOT NULL,
+    request_data TEXT,
+    response_status INTEGER,
+    ip_address VARCHAR(45),
+    user_agent VARCHAR(255),
+    execution_time_ms BIGINT,
+    security_event VARCHAR(100),
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+ALTER SEQUENCE audit_logs_id_seq OWNED BY audit_logs.id;
+
+-- Time ranges are found by partition pruning and a small BRIN index within each day,
+-- so only the user, controller and endpoint lookups need B-tree indexes
+CREATE INDEX idx_audit_logs_username ON audit_logs(username, timestamp);
+CREATE INDEX idx_audit_logs_controller ON audit_logs(controller, timestamp);
+CREATE INDEX idx_audit_logs_endpoint ON audit_logs(endpoint, timestamp);
+CREATE INDEX idx_audit_logs_timestamp ON audit_logs USING BRIN (timestamp);
+
+-- Catches rows outside of the created days, e.g. if partition maintenance did not run
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+-- One partition per day within the retention period (audit.partitioning.retention-days, passed in
+-- as audit.retention_days by spring.flyway.init-sqls) until a week ahead. Older entries are kept in
+-- the default partition, which the first maintenance run rolls up, so the migration and the first
+-- maintenance never handle more partitions than the retention period.
+DO $$
+DECLARE
+    retention INTEGER := COALESCE(NULLIF(current_setting('audit.retention_days', true), '')::INTEGER, 90);
+    day DATE := LEAST(GREATEST(COALESCE((SELECT MIN(timestamp)::date FROM audit_logs_legacy), CURRENT_DATE),
+                               CURRENT_DATE - retention), CURRENT_DATE);
+BEGIN
+    WHILE day <= CURRENT_DATE + 7 LOOP
+        EXECUTE format('CREATE TABLE audit_logs_p%s PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                       to_char(day, 'YYYYMMDD'), day, day + 1);
+        day := day + 1;
+    END LOOP;
+END $$;
+
+INSERT INTO audit_logs (id, timestamp, username, controller, method, endpoint, request_data,
+                        response_status, ip_address, user_agent, execution_time_ms, security_event)
+SELECT id, timestamp, username, controller, method, endpoint, request_data,
+       response_status, ip_address, user_agent, execution_time_ms, security_event
+FROM audit_logs_legacy;
+
+DROP TABLE audit_logs_legacy;
+
+COMMENT ON TABLE audit_logs IS 'Stores audit logs for all API requests, partitioned by day';
+
+-- Hourly aggregates of expired audit log partitions
+CREATE TABLE audit_log_hourly (
+    hour TIMESTAMP NOT NULL,
+    controller VARCHAR(255) NOT NULL,
+    method VARCHAR(10) NOT NULL,
+    endpoint VARCHAR(255) NOT NULL,
+    request_count BIGINT NOT NULL,
+    error_count BIGINT NOT NULL,
+    total_execution_time_ms BIGINT NOT NULL,
+    max_execution_time_ms BIGINT NOT NULL,
+    PRIMARY KEY (hour, controller, method, endpoint)
+);
+
+COMMENT ON TABLE audit_log_hourly IS 'Request counts and latency per endpoint and hour, kept after audit log partitions are dropped';
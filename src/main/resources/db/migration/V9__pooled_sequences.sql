@@ -0,0 +1,15 @@
+-- Sequences with an increment of 50 for applications and audit logs
+-- Hibernate (pooled optimizer) and AuditLogWriter reserve 50 IDs per nextval, so inserts need
+-- one sequence round trip per 50 rows and can be sent in JDBC batches. A nextval value N
+-- reserves the IDs N-49 to N, so the column defaults stay safe for manual inserts.
+CREATE SEQUENCE applications_seq INCREMENT BY 50;
+SELECT setval('applications_seq', COALESCE((SELECT MAX(id) FROM applications), 0) + 50, false);
+ALTER TABLE applications ALTER COLUMN id SET DEFAULT nextval('applications_seq');
+ALTER SEQUENCE applications_seq OWNED BY applications.id;
+DROP SEQUENCE applications_id_seq;
+
+CREATE SEQUENCE audit_logs_seq INCREMENT BY 50;
+SELECT setval('audit_logs_seq', COALESCE((SELECT MAX(id) FROM audit_logs), 0) + 50, false);
+ALTER TABLE audit_logs ALTER COLUMN id SET DEFAULT nextval('audit_logs_seq');
+ALTER SEQUENCE audit_logs_seq OWNED BY audit_logs.id;
+DROP SEQUENCE audit_logs_id_seq;
@@ -0,0 +1,110 @@
+package com.insurance.premium.application.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurance.premium.PremiumCalculatorApplication;
+import com.insurance.premium.application.domain.Application;
+import com.insurance.premium.application.domain.Application.Status;
+import com.insurance.premium.application.repository.ApplicationRepository;
+import com.insurance.premium.security.domain.User;
+import com.insurance.premium.security.repository.UserRepository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Benchmark of inserting applications in bulk through JPA.
+ *
+ * Starts the application context on an embedded PostgreSQL with the Flyway migrations
+ * and saves {@value #APPLICATIONS} applications in one transaction. The {@code batchSize}
+ * parameter is {@code hibernate.jdbc.batch_size}, 0 disables JDBC batching.
+ *
+ * Run with {@code mvn -Pbenchmark -DskipTests verify -Djmh.args="ApplicationInsert"}, see STARTUP_GUIDE.md.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApplicationInsertBenchmark {
+
+    private static final int APPLICATIONS = 500;
+
+    @Param({"50", "0"})
+    private int batchSize;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private ApplicationRepository applicationRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private User createdBy;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(PremiumCalculatorApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--logging.level.root=WARN");
+
+        applicationRepository = context.getBean(ApplicationRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        createdBy = context.getBean(UserRepository.class).findByUsername("admin").orElseThrow();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteApplications() {
+        jdbcTemplate.update("DELETE FROM applications");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    public List<Application> saveAll() {
+        List<Application> applications = new ArrayList<>(APPLICATIONS);
+        for (int i = 0; i < APPLICATIONS; i++) {
+            applications.add(new Application(10_000 + i, "Kompaktklasse", "10115", new BigDecimal("500.00"),
+                    new BigDecimal("1.0"), new BigDecimal("1.0"), new BigDecimal("1.0"), new BigDecimal("500.00"),
+                    LocalDateTime.now(), Status.NEW, createdBy));
+        }
+        return transactionTemplate.execute(status -> applicationRepository.saveAll(applications));
+    }
+}
@@ -10,6 +10,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -30,7 +31,13 @@ import com.insurance.premium.application.domain.Application;
 import com.insurance.premium.application.domain.Application.Status;
 import com.insurance.premium.application.dto.ApplicationRequest;
 import com.insurance.premium.application.dto.ApplicationResponse;
+import com.insurance.premium.application.dto.ApplicationStatusBulkRequest;
+import com.insurance.premium.application.dto.ApplicationStatusBulkResponse;
+import com.insurance.premium.application.dto.ApplicationStatusOutcome;
+import com.insurance.premium.application.dto.ApplicationStatusOutcome.Outcome;
 import com.insurance.premium.application.service.ApplicationService;
+import com.insurance.premium.application.service.ApplicationStatusService;
+import com.insurance.premium.common.dto.CursorPage;
 import com.insurance.premium.security.config.TestSecurityConfig;
 
 @WebMvcTest(ApplicationController.class)
@@ -46,6 +53,9 @@ class ApplicationControllerTest {
     @MockitoBean
     private ApplicationService applicationService;
 
+    @MockitoBean
+    private ApplicationStatusService statusService;
+
     private ApplicationRequest validRequest;
     private Application testApplication;
 
@@ -224,6 +234,68 @@ class ApplicationControllerTest {
         verify(applicationService, times(1)).updateApplicationStatus(999L, Status.ACCEPTED);
     }
 
+    @Test
+    void scrollApplications_ReturnsItemsWithNextCursor() throws Exception {
+        // Arrange
+        when(applicationService.scrollApplications(Status.ACCEPTED, "cursor", 1))
+                .thenReturn(new CursorPage<>(List.of(testApplication), "next"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/applications/scroll")
+                .param("status", "ACCEPTED")
+                .param("cursor", "cursor")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void scrollApplications_WithInvalidCursor_ReturnsBadRequest() throws Exception {
+        // Arrange
+        when(applicationService.scrollApplications(null, "invalid", 20))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: invalid"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/applications/scroll").param("cursor", "invalid"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor: invalid"));
+    }
+
+    @Test
+    void updateApplicationStatuses_ReturnsOutcomePerId() throws Exception {
+        // Arrange
+        ApplicationStatusBulkRequest request = new ApplicationStatusBulkRequest(Status.ACCEPTED, List.of(1L, 2L), null, null);
+        when(statusService.updateStatuses(request)).thenReturn(new ApplicationStatusBulkResponse(Status.ACCEPTED, 1, false, List.of(
+                new ApplicationStatusOutcome(1, Outcome.UPDATED, Status.ACCEPTED),
+                new ApplicationStatusOutcome(2, Outcome.NOT_FOUND, null))));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/applications/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.results[1].status").doesNotExist());
+    }
+
+    @Test
+    void updateApplicationStatuses_WithInvalidRequest_ReturnsBadRequest() throws Exception {
+        // Arrange
+        when(statusService.updateStatuses(any(ApplicationStatusBulkRequest.class)))
+                .thenThrow(new IllegalArgumentException("Either application IDs or a filter is required"));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/applications/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"REJECTED\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Either application IDs or a filter is required"));
+    }
+
     @Test
     void deleteApplication_ReturnsNoContent() throws Exception {
         // Arrange
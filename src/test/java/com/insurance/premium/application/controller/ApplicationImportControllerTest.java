@@ -0,0 +1,66 @@
+package com.insurance.premium.application.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.insurance.premium.application.domain.ApplicationImportJob;
+import com.insurance.premium.application.service.ApplicationImportService;
+import com.insurance.premium.application.service.ApplicationImportService.Format;
+import com.insurance.premium.application.service.ApplicationImportService.ImportFile;
+import com.insurance.premium.security.config.TestSecurityConfig;
+import com.insurance.premium.security.domain.User;
+
+@WebMvcTest(ApplicationImportController.class)
+@Import(TestSecurityConfig.class)
+class ApplicationImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ApplicationImportService importService;
+
+    @Test
+    void importApplications_WithInvalidCsvHeader_ReturnsBadRequestWithoutStartingJob() throws Exception {
+        // Arrange
+        when(importService.open(eq(Format.CSV), any()))
+                .thenThrow(new IllegalArgumentException("CSV header must contain the columns postalCode, vehicleType and annualMileage"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/applications/import").contentType("text/csv").content("plz,typ,km\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(ApplicationImportController.JOB_ID_HEADER));
+
+        verify(importService, never()).startJob();
+    }
+
+    @Test
+    void importApplications_WithValidFile_StartsJobAndReturnsItsId() throws Exception {
+        // Arrange
+        ImportFile importFile = mock(ImportFile.class);
+        ApplicationImportJob job = new ApplicationImportJob("3f2504e0-4f89-11d3-9a0c-0305e82c3301", new User(), LocalDateTime.now());
+        when(importService.open(eq(Format.JSON), any())).thenReturn(importFile);
+        when(importService.startJob()).thenReturn(job);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/applications/import").contentType("application/x-ndjson")
+                        .content("{\"postalCode\":\"10115\",\"vehicleType\":\"Kompaktklasse\",\"annualMileage\":15000}\n"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ApplicationImportController.JOB_ID_HEADER, job.getJobId()));
+
+        verify(importService).importApplications(eq(job), eq(importFile), any());
+        verify(importFile).close();
+    }
+}
@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -246,6 +249,37 @@ class ApplicationRepositoryTest {
     }
     
     // Helper method to create test applications
+    @Test
+    void findBefore_ShouldSeekPastTheCursorPosition() {
+        // Arrange - applications created at the same time are ordered by ID; the cursor is
+        // taken from the saved entities, so their times must have the precision of the column
+        LocalDateTime base = now.truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 5; i++) {
+            applicationRepository.save(createApplicationWithDate("10115", "Kompaktklasse", Status.NEW, base.minusHours(i / 2)));
+        }
+        applicationRepository.save(createApplicationWithDate("10115", "Kompaktklasse", Status.ACCEPTED, base.minusHours(1)));
+        
+        // Act
+        List<Application> firstPage = applicationRepository.findBefore(now.plusDays(1), Long.MAX_VALUE, Limit.of(4));
+        Application last = firstPage.get(3);
+        List<Application> secondPage = applicationRepository.findBefore(last.getCreatedAt(), last.getId(), Limit.of(4));
+        List<Application> newApplications = applicationRepository.findByStatusBefore(Status.NEW, now.plusDays(1), Long.MAX_VALUE, Limit.of(10));
+        
+        // Assert
+        assertEquals(4, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertEquals(5, newApplications.size());
+        List<Application> all = new ArrayList<>(firstPage);
+        all.addAll(secondPage);
+        for (int i = 1; i < all.size(); i++) {
+            Application previous = all.get(i - 1);
+            Application current = all.get(i);
+            assertTrue(previous.getCreatedAt().isAfter(current.getCreatedAt())
+                    || (previous.getCreatedAt().equals(current.getCreatedAt()) && previous.getId() > current.getId()),
+                    "applications must be ordered newest first");
+        }
+    }
+    
     private Application createApplication(String postalCode, String vehicleType, Status status) {
         return createApplicationWithDate(postalCode, vehicleType, status, now);
     }
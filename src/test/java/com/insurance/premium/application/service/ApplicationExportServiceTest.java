@@ -0,0 +1,130 @@
+package com.insurance.premium.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.premium.application.domain.Application.Status;
+import com.insurance.premium.application.dto.ApplicationExportEntry;
+import com.insurance.premium.application.dto.ApplicationExportFilter;
+import com.insurance.premium.application.repository.ApplicationExportRepository;
+import com.insurance.premium.application.service.ApplicationExportService.Format;
+
+class ApplicationExportServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:application-export-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50) NOT NULL)");
+        for (String table : List.of("applications", "applications_archive")) {
+            jdbcTemplate.execute("CREATE TABLE " + table + " (id BIGINT PRIMARY KEY, created_at TIMESTAMP NOT NULL, "
+                    + "status VARCHAR(20) NOT NULL, postal_code VARCHAR(10) NOT NULL, vehicle_type VARCHAR(50) NOT NULL, "
+                    + "annual_mileage INT NOT NULL, base_premium DECIMAL(10,2), region_factor DECIMAL(5,2), "
+                    + "vehicle_factor DECIMAL(5,2), mileage_factor DECIMAL(5,2), calculated_premium DECIMAL(10,2), "
+                    + "created_by_id BIGINT)");
+        }
+        jdbcTemplate.update("INSERT INTO users (id, username) VALUES (1, 'agent')");
+        exportService = new ApplicationExportService(new ApplicationExportRepository(dataSource, 2), objectMapper);
+    }
+
+    @Test
+    void export_WithNdjson_WritesMatchingApplicationsOldestFirst() throws IOException {
+        insert(1, BASE.plusHours(2), Status.NEW, "Kompaktklasse");
+        insert(2, BASE, Status.NEW, "Kompaktklasse");
+        insert(3, BASE.plusHours(1), Status.ACCEPTED, "Kompaktklasse");
+        insert(4, BASE.plusHours(1), Status.NEW, "SUV");
+        insert(5, BASE.plusDays(2), Status.NEW, "Kompaktklasse");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = exportService.export(new ApplicationExportFilter(Status.NEW, BASE, BASE.plusDays(1), "Kompaktklasse"),
+                Format.NDJSON, output);
+
+        assertEquals(2, count);
+        try (MappingIterator<ApplicationExportEntry> entries = objectMapper.readerFor(ApplicationExportEntry.class)
+                .readValues(output.toByteArray())) {
+            ApplicationExportEntry first = entries.next();
+            assertEquals(2, first.id());
+            assertEquals(BASE, first.createdAt());
+            assertEquals("agent", first.createdBy());
+            assertEquals(1, entries.next().id());
+            assertFalse(entries.hasNext());
+        }
+    }
+
+    @Test
+    void export_WithCsv_WritesHeaderAndRows() throws IOException {
+        insert(1, BASE, Status.NEW, "Kompaktklasse");
+        insert(2, BASE.plusHours(1), Status.REJECTED, "SUV, groß");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = exportService.export(ApplicationExportFilter.NONE, Format.CSV, output);
+
+        assertEquals(2, count);
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,createdAt,status,postalCode,vehicleType,annualMileage,basePremium,regionFactor,"
+                + "vehicleFactor,mileageFactor,calculatedPremium,createdBy", lines[0]);
+        assertEquals("1,2025-03-01T12:00,NEW,10115,Kompaktklasse,15000,500.00,1.20,1.00,1.50,900.00,agent", lines[1]);
+        assertEquals("2,2025-03-01T13:00,REJECTED,10115,\"SUV, groß\",15000,500.00,1.20,1.00,1.50,900.00,agent", lines[2]);
+    }
+
+    @Test
+    void export_AcrossAnArchivedMonth_IncludesArchivedApplications() throws IOException {
+        insert("applications_archive", 1, BASE.minusMonths(13), Status.ACCEPTED, "Kompaktklasse");
+        insert("applications_archive", 3, BASE.minusMonths(13).plusHours(1), Status.REJECTED, "Kompaktklasse");
+        insert(2, BASE.minusMonths(13).plusMinutes(30), Status.NEW, "Kompaktklasse");
+        insert(4, BASE, Status.ACCEPTED, "Kompaktklasse");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = exportService.export(new ApplicationExportFilter(null, BASE.minusMonths(14), BASE, "Kompaktklasse"),
+                Format.CSV, output);
+
+        assertEquals(4, count);
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(List.of("1", "2", "3", "4"), Arrays.stream(lines).skip(1).map(line -> line.split(",")[0]).toList());
+
+        ByteArrayOutputStream accepted = new ByteArrayOutputStream();
+        assertEquals(2, exportService.export(new ApplicationExportFilter(Status.ACCEPTED, null, null, null),
+                Format.CSV, accepted));
+    }
+
+    @Test
+    void export_WithInvalidTimeRange_IsRejected() {
+        ApplicationExportFilter filter = new ApplicationExportFilter(null, BASE, BASE.minusDays(1), null);
+
+        assertThrows(IllegalArgumentException.class, () -> exportService.export(filter, Format.CSV, new ByteArrayOutputStream()));
+    }
+
+    private void insert(long id, LocalDateTime createdAt, Status status, String vehicleType) {
+        insert("applications", id, createdAt, status, vehicleType);
+    }
+
+    private void insert(String table, long id, LocalDateTime createdAt, Status status, String vehicleType) {
+        jdbcTemplate.update("INSERT INTO " + table + " (id, created_at, status, postal_code, vehicle_type, annual_mileage, "
+                + "base_premium, region_factor, vehicle_factor, mileage_factor, calculated_premium, created_by_id) "
+                + "VALUES (?, ?, ?, '10115', ?, 15000, 500.00, 1.20, 1.00, 1.50, 900.00, 1)",
+                id, Timestamp.valueOf(createdAt), status.name(), vehicleType);
+    }
+}
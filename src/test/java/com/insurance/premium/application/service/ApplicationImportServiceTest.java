@@ -0,0 +1,233 @@
+package com.insurance.premium.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.premium.application.domain.Application;
+import com.insurance.premium.application.domain.ApplicationImportJob;
+import com.insurance.premium.application.dto.ApplicationImportItemResult;
+import com.insurance.premium.application.repository.ApplicationImportJobRepository;
+import com.insurance.premium.application.repository.ApplicationRepository;
+import com.insurance.premium.application.service.ApplicationImportService.Format;
+import com.insurance.premium.calculation.domain.MileageFactor;
+import com.insurance.premium.calculation.domain.RegionFactor;
+import com.insurance.premium.calculation.domain.VehicleType;
+import com.insurance.premium.calculation.dto.PostcodeAssignment;
+import com.insurance.premium.calculation.rating.RatingSnapshot;
+import com.insurance.premium.calculation.service.PremiumCalculationService;
+import com.insurance.premium.calculation.service.QuoteCache;
+import com.insurance.premium.calculation.service.RatingSnapshotService;
+import com.insurance.premium.security.domain.User;
+import com.insurance.premium.security.service.UserService;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+@ExtendWith(MockitoExtension.class)
+class ApplicationImportServiceTest {
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @Mock
+    private ApplicationImportJobRepository jobRepository;
+
+    @Mock
+    private RatingSnapshotService ratingSnapshotService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ApplicationStatisticsService statisticsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Application> saved = new ArrayList<>();
+    private ValidatorFactory validatorFactory;
+    private ApplicationImportService importService;
+    private RatingSnapshot snapshot;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        PremiumCalculationService calculationService = new PremiumCalculationService(null, null, null, ratingSnapshotService, new QuoteCache(100));
+        importService = new ApplicationImportService(applicationRepository, jobRepository, calculationService, userService,
+                statisticsService, validatorFactory.getValidator(), objectMapper, transactionManager, 2, 2);
+
+        RegionFactor berlin = new RegionFactor();
+        berlin.setId(1L);
+        berlin.setFederalState("Berlin");
+        berlin.setFactor(new BigDecimal("1.2"));
+        VehicleType vehicleType = new VehicleType();
+        vehicleType.setName("Kompaktklasse");
+        vehicleType.setFactor(new BigDecimal("1.0"));
+        MileageFactor mileageFactor = new MileageFactor();
+        mileageFactor.setMinMileage(0);
+        mileageFactor.setMaxMileage(null);
+        mileageFactor.setFactor(new BigDecimal("1.5"));
+        snapshot = new RatingSnapshot(3L, new BigDecimal("500.00"), List.of(berlin),
+                List.of(new PostcodeAssignment("10115", "Berlin", 1L)), List.of(vehicleType), List.of(mileageFactor));
+
+        user = new User();
+        user.setId(7L);
+        user.setUsername("partner");
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+        validatorFactory.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void startJob_ResolvesCurrentUserOnce() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("partner", "secret"));
+        when(userService.findByUsername("partner")).thenReturn(Optional.of(user));
+        when(jobRepository.save(any(ApplicationImportJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ApplicationImportJob job = importService.startJob();
+
+        assertEquals(user, job.getCreatedBy());
+        assertEquals(ApplicationImportJob.Status.IN_PROGRESS, job.getStatus());
+        assertEquals(36, job.getJobId().length());
+        verify(userService, times(1)).findByUsername("partner");
+    }
+
+    @Test
+    void importApplications_WithCsv_RatesAndInsertsInChunks() throws IOException {
+        String input = """
+                vehicleType;postalCode;annualMileage
+                Kompaktklasse;10115;15000
+                Kompaktklasse;99999;15000
+
+                Kompaktklasse;10115;many
+                Kompaktklasse;10115;5000
+                """.replace(';', ',');
+        ApplicationImportJob job = job(0);
+        stubInserts(job);
+
+        List<ApplicationImportItemResult> results = importFile(job, Format.CSV, input);
+
+        assertEquals(4, results.size());
+        assertEquals(1, results.get(0).row());
+        assertEquals(1L, results.get(0).applicationId());
+        assertEquals(new BigDecimal("900.00"), results.get(0).calculatedPremium());
+        assertEquals("No region factor found for postal code: 99999", results.get(1).error().message());
+        assertEquals("Annual mileage must be a number: many", results.get(2).error().message());
+        assertEquals(4, results.get(3).row());
+        assertEquals(2L, results.get(3).applicationId());
+
+        // two chunks of two rows, each inserted with the progress of the job
+        verify(applicationRepository, times(2)).saveAll(any());
+        verify(statisticsService, times(2)).recordCreated(anyCollection());
+        verify(jobRepository).advance(eq(job.getJobId()), eq(0L), eq(2L), eq(1L), eq(1L), any(), any());
+        verify(jobRepository).advance(eq(job.getJobId()), eq(2L), eq(2L), eq(1L), eq(1L), any(), any());
+        verify(jobRepository).updateStatus(eq(job.getJobId()), eq(ApplicationImportJob.Status.COMPLETED), any());
+        assertTrue(saved.stream().allMatch(application -> application.getCreatedBy() == user));
+        // one snapshot for the whole import
+        verify(ratingSnapshotService, times(1)).getSnapshot();
+    }
+
+    @Test
+    void importApplications_WithResumedJob_SkipsProcessedRows() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            input.append("{\"postalCode\":\"10115\",\"vehicleType\":\"Kompaktklasse\",\"annualMileage\":").append(1000 * (i + 1)).append("}\n");
+        }
+        ApplicationImportJob job = job(2);
+        stubInserts(job);
+
+        List<ApplicationImportItemResult> results = importFile(job, Format.JSON, input.toString());
+
+        assertEquals(List.of(3L, 4L, 5L), results.stream().map(ApplicationImportItemResult::row).toList());
+        assertEquals(List.of(3000, 4000, 5000), saved.stream().map(Application::getAnnualMileage).toList());
+        verify(jobRepository).advance(eq(job.getJobId()), eq(2L), eq(2L), eq(2L), eq(0L), any(), any());
+        verify(jobRepository).advance(eq(job.getJobId()), eq(4L), eq(1L), eq(1L), eq(0L), any(), any());
+    }
+
+    @Test
+    void importApplications_WhenAdvancedConcurrently_FailsTheChunk() {
+        ApplicationImportJob job = job(0);
+        when(applicationRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jobRepository.advance(anyString(), anyLong(), anyLong(), anyLong(), anyLong(), any(), any())).thenReturn(0);
+        String input = "[{\"postalCode\":\"10115\",\"vehicleType\":\"Kompaktklasse\",\"annualMileage\":15000}]";
+
+        assertThrows(IllegalStateException.class, () -> importFile(job, Format.JSON, input));
+        verify(jobRepository, never()).updateStatus(anyString(), any(), any());
+    }
+
+    @Test
+    void open_WithInvalidCsvHeader_IsRejected() {
+        ByteArrayInputStream input = new ByteArrayInputStream("plz,typ,km\n10115,Kompaktklasse,100\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> importService.open(Format.CSV, input));
+        assertThrows(IllegalArgumentException.class, () -> importService.open(Format.CSV, new ByteArrayInputStream(new byte[0])));
+        // the file is rejected before any job or snapshot is needed
+        verifyNoInteractions(applicationRepository, jobRepository, ratingSnapshotService);
+    }
+
+    private ApplicationImportJob job(long processedRows) {
+        ApplicationImportJob job = new ApplicationImportJob("3f2504e0-4f89-11d3-9a0c-0305e82c3301", user, LocalDateTime.now());
+        job.setProcessedRows(processedRows);
+        when(ratingSnapshotService.getSnapshot()).thenReturn(snapshot);
+        return job;
+    }
+
+    private void stubInserts(ApplicationImportJob job) {
+        // the repository assigns IDs like the sequence
+        AtomicLong ids = new AtomicLong();
+        when(applicationRepository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<Application> applications = invocation.getArgument(0);
+            for (Application application : applications) {
+                application.setId(ids.incrementAndGet());
+                saved.add(application);
+            }
+            return applications;
+        });
+        when(jobRepository.advance(anyString(), anyLong(), anyLong(), anyLong(), anyLong(), any(), any())).thenReturn(1);
+        when(jobRepository.findByJobId(job.getJobId())).thenReturn(Optional.of(job));
+    }
+
+    private List<ApplicationImportItemResult> importFile(ApplicationImportJob job, Format format, String input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        importService.importApplications(job, format, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        List<ApplicationImportItemResult> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                results.add(objectMapper.readValue(line, ApplicationImportItemResult.class));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,120 @@
+package com.insurance.premium.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.insurance.premium.application.domain.Application.Status;
+import com.insurance.premium.application.dto.ApplicationExportFilter;
+import com.insurance.premium.application.repository.ApplicationExportRepository;
+import com.insurance.premium.application.repository.ApplicationStatusRepository;
+import com.insurance.premium.common.jdbc.EmbeddedPostgresExtension;
+
+/**
+ * Runs the archiving against an embedded PostgreSQL that is upgraded to the partitioned
+ * applications table with existing applications, as on a running installation. Creating
+ * and attaching the partitions is covered by {@code RangePartitionsTest}. Skipped where
+ * the embedded database cannot be started.
+ */
+class ApplicationPartitionServiceTest {
+
+    @RegisterExtension
+    static final EmbeddedPostgresExtension postgres = new EmbeddedPostgresExtension();
+
+    private static DataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static YearMonth legacyMonth;
+    private static long legacyAccepted;
+    private static long legacyUndecided;
+    private static ApplicationPartitionService service;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        dataSource = postgres.getDataSource();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // applications created before the partitioning, older than the archive age
+        Flyway.configure().dataSource(dataSource).target("11").load().migrate();
+        LocalDateTime legacyCreatedAt = LocalDate.now().minusMonths(14).atTime(8, 0);
+        legacyMonth = YearMonth.from(legacyCreatedAt);
+        legacyAccepted = insert(legacyCreatedAt, "ACCEPTED");
+        legacyUndecided = insert(legacyCreatedAt.plusHours(1), "NEW");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        service = new ApplicationPartitionService(dataSource, 3, 12);
+    }
+
+    @Test
+    void maintain_ArchivesDecidedApplicationsOfMigratedMonths() throws Exception {
+        ApplicationPartitionService.MaintenanceResult result = service.maintain(LocalDate.now());
+
+        // the migration created the partitions from the oldest application until three months ahead
+        assertTrue(result.created().isEmpty());
+        assertEquals(List.of(legacyAccepted), ids(ApplicationPartitionService.archivePartitionName(legacyMonth)));
+        assertEquals(List.of(legacyUndecided), ids(ApplicationPartitionService.partitionName(legacyMonth)));
+    }
+
+    @Test
+    void maintain_ArchivesDecidedApplicationsOfTheDefaultPartition() throws Exception {
+        // older than the oldest partition, so stored in the default partition
+        YearMonth month = legacyMonth.minusMonths(6);
+        long accepted = insert(month.atDay(3).atTime(10, 0), "ACCEPTED");
+        long undecided = insert(month.atDay(4).atTime(10, 0), "NEW");
+
+        service.maintain(LocalDate.now());
+
+        assertEquals(List.of(accepted), ids(ApplicationPartitionService.archivePartitionName(month)));
+        assertEquals(List.of(undecided), ids("applications_default"));
+    }
+
+    @Test
+    void maintain_ArchivesApplicationsDecidedAfterTheirMonthWasArchived() throws Exception {
+        YearMonth month = legacyMonth.plusMonths(1);
+        long id = insert(month.atDay(20).atTime(16, 0), "NEW");
+        service.maintain(LocalDate.now());
+        assertTrue(ids(ApplicationPartitionService.partitionName(month)).contains(id));
+
+        jdbcTemplate.update("UPDATE applications SET status = 'REJECTED' WHERE id = ?", id);
+
+        assertEquals(1, service.maintain(LocalDate.now()).archived());
+        assertEquals(List.of(id), ids(ApplicationPartitionService.archivePartitionName(month)));
+        assertFalse(ids("applications").contains(id));
+    }
+
+    @Test
+    void maintain_KeepsArchivedApplicationsInTheExportAndStatusLookup() throws Exception {
+        service.maintain(LocalDate.now());
+
+        List<Long> exported = new ArrayList<>();
+        new ApplicationExportRepository(dataSource, 2).stream(new ApplicationExportFilter(null,
+                legacyMonth.atDay(1).atStartOfDay(), legacyMonth.plusMonths(1).atDay(1).atStartOfDay(), null),
+                entry -> exported.add(entry.id()));
+
+        assertEquals(List.of(legacyAccepted, legacyUndecided), exported);
+        assertEquals(Map.of(legacyAccepted, Status.ACCEPTED), new ApplicationStatusRepository(dataSource)
+                .findArchivedStatuses(new Long[] {legacyAccepted, legacyUndecided}));
+    }
+
+    private static long insert(LocalDateTime createdAt, String status) {
+        return jdbcTemplate.queryForObject("INSERT INTO applications (annual_mileage, vehicle_type, postal_code, base_premium, "
+                + "mileage_factor, vehicle_factor, region_factor, calculated_premium, created_at, status, created_by_id) "
+                + "VALUES (15000, 'Kompaktklasse', '10115', 500.00, 1.50, 1.00, 1.20, 900.00, ?, ?, "
+                + "(SELECT MIN(id) FROM users)) RETURNING id", Long.class, Timestamp.valueOf(createdAt), status);
+    }
+
+    private static List<Long> ids(String table) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " ORDER BY id", Long.class);
+    }
+}
@@ -0,0 +1,198 @@
+package com.insurance.premium.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.insurance.premium.application.domain.Application;
+import com.insurance.premium.application.domain.Application.Status;
+import com.insurance.premium.application.dto.ApplicationResponse;
+import com.insurance.premium.application.repository.ApplicationRepository;
+import com.insurance.premium.common.dto.CursorPage;
+import com.insurance.premium.security.domain.Authority;
+import com.insurance.premium.security.domain.Role;
+import com.insurance.premium.security.domain.User;
+import com.insurance.premium.security.repository.AuthorityRepository;
+import com.insurance.premium.security.repository.RoleRepository;
+import com.insurance.premium.security.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the statements of the application read use cases with the Hibernate statistics,
+ * so a page costs the same number of queries however many users and roles it shows.
+ * Not transactional, as the views use the entities after the service transaction.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ApplicationQueryCountIntegrationTest {
+
+    private static final int USERS = 12;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Authority read = authorityRepository.save(new Authority("QUERY_COUNT_READ"));
+        Authority write = authorityRepository.save(new Authority("QUERY_COUNT_WRITE"));
+        Role agent = new Role("ROLE_QUERY_COUNT_AGENT");
+        agent.setAuthorities(Set.of(read, write));
+        Role customer = new Role("ROLE_QUERY_COUNT_CUSTOMER");
+        customer.setAuthorities(Set.of(read));
+        roleRepository.saveAll(List.of(agent, customer));
+
+        // every application has its own user with two roles, the worst case for N+1 selects
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setUsername("query-count-" + i);
+            user.setPassword("password");
+            user.setEmail("query-count-" + i + "@example.com");
+            user.setFirstName("Query");
+            user.setLastName("Count");
+            user.addRole(agent);
+            user.addRole(customer);
+            users.add(userRepository.save(user));
+            applicationRepository.save(new Application(10_000, "Kompaktklasse", "10115", new BigDecimal("500.00"),
+                    new BigDecimal("1.0"), new BigDecimal("1.0"), new BigDecimal("1.0"), new BigDecimal("500.00"),
+                    LocalDateTime.now(), Status.NEW, user));
+        }
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        applicationRepository.deleteAll();
+        userRepository.deleteAll(users);
+        roleRepository.deleteAll(roleRepository.findAll().stream()
+                .filter(role -> role.getName().startsWith("ROLE_QUERY_COUNT")).toList());
+        authorityRepository.deleteAll(authorityRepository.findAll().stream()
+                .filter(authority -> authority.getName().startsWith("QUERY_COUNT")).toList());
+    }
+
+    @Test
+    void getAllApplications_FetchesCreatorsWithThePage() {
+        Page<Application> page = applicationService.getAllApplications(PageRequest.of(0, USERS));
+        // render the page like the applications view, after the transaction
+        page.forEach(application -> {
+            ApplicationResponse.fromEntity(application);
+            assertTrue(application.getCreatedBy().getUsername().startsWith("query-count-"));
+        });
+
+        assertEquals(USERS, page.getNumberOfElements());
+        // the page and its count, no selects per user, role or authority
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(2L * USERS, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void getApplicationsByStatus_FetchesCreatorsWithThePage() {
+        Page<Application> page = applicationService.getApplicationsByStatus(Status.NEW, PageRequest.of(0, USERS / 2));
+        page.forEach(application -> assertNotNull(application.getCreatedBy().getUsername()));
+
+        assertEquals(USERS / 2, page.getNumberOfElements());
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void scrollApplications_ReadsEveryPageWithOneQuery() {
+        CursorPage<Application> first = applicationService.scrollApplications(null, null, USERS / 2);
+        first.items().forEach(application -> assertNotNull(application.getCreatedBy().getUsername()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        CursorPage<Application> second = applicationService.scrollApplications(null, first.nextCursor(), USERS / 2);
+        second.items().forEach(application -> assertNotNull(application.getCreatedBy().getUsername()));
+
+        // no count query and no selects per user
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(USERS / 2, second.items().size());
+        assertNull(second.nextCursor());
+        assertTrue(first.items().stream().noneMatch(second.items()::contains));
+    }
+
+    @Test
+    void getMyApplications_LoadsTheUserOnce() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("query-count-3", "password"));
+
+        Page<Application> page = applicationService.getMyApplications(PageRequest.of(0, 10));
+        page.forEach(application -> assertEquals("query-count-3", application.getCreatedBy().getUsername()));
+
+        assertEquals(1, page.getNumberOfElements());
+        // the user, the page and its count
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void getApplication_LoadsOnlyTheApplication() {
+        Long id = applicationRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        statistics.clear();
+
+        ApplicationResponse response = ApplicationResponse.fromEntity(applicationService.getApplication(id).orElseThrow());
+
+        assertEquals(id, response.id());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void loadUserByUsername_FetchesRolesAndAuthoritiesInOneQuery() {
+        UserDetails details = userDetailsService.loadUserByUsername("query-count-0");
+
+        assertEquals(Set.of("ROLE_QUERY_COUNT_AGENT", "ROLE_QUERY_COUNT_CUSTOMER", "QUERY_COUNT_READ", "QUERY_COUNT_WRITE"),
+                details.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+}
@@ -40,6 +40,9 @@ class ApplicationServiceTest {
     @Mock
     private UserService userService;
     
+    @Mock
+    private ApplicationStatisticsService statisticsService;
+    
     @InjectMocks
     private ApplicationService applicationService;
     
@@ -115,6 +118,8 @@ class ApplicationServiceTest {
         assertEquals(calculatedPremium, result.getCalculatedPremium());
         assertEquals(Status.NEW, result.getStatus());
         
+        verify(statisticsService).recordCreated(savedApplication);
+        
         // Verify calculation service was called with correct parameters
         ArgumentCaptor<PremiumCalculationRequest> requestCaptor = ArgumentCaptor.forClass(PremiumCalculationRequest.class);
         verify(calculationService).calculatePremium(requestCaptor.capture());
@@ -157,6 +162,7 @@ class ApplicationServiceTest {
         Long id = 1L;
         
         when(applicationRepository.findById(id)).thenReturn(Optional.empty());
+        when(applicationRepository.findArchivedById(id)).thenReturn(Optional.empty());
         
         // Act
         Optional<Application> result = applicationService.getApplication(id);
@@ -166,6 +172,26 @@ class ApplicationServiceTest {
         
         // Verify repository was called
         verify(applicationRepository).findById(id);
+        verify(applicationRepository).findArchivedById(id);
+    }
+    
+    @Test
+    void getApplication_ShouldReturnArchivedApplication_WhenArchived() {
+        // Arrange
+        Long id = 1L;
+        Application application = new Application();
+        application.setId(id);
+        application.setStatus(Status.ACCEPTED);
+        
+        when(applicationRepository.findById(id)).thenReturn(Optional.empty());
+        when(applicationRepository.findArchivedById(id)).thenReturn(Optional.of(application));
+        
+        // Act
+        Optional<Application> result = applicationService.getApplication(id);
+        
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(Status.ACCEPTED, result.get().getStatus());
     }
     
     @Test
@@ -195,6 +221,7 @@ class ApplicationServiceTest {
         // Verify repository methods were called
         verify(applicationRepository).findById(id);
         verify(applicationRepository).save(any(Application.class));
+        verify(statisticsService).recordStatusChange(Status.NEW, newStatus, 1);
     }
     
     @Test
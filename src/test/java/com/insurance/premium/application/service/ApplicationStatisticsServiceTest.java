@@ -0,0 +1,213 @@
+package com.insurance.premium.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.insurance.premium.application.domain.Application;
+import com.insurance.premium.application.domain.Application.Status;
+import com.insurance.premium.application.dto.ApplicationStatistics;
+import com.insurance.premium.application.dto.ApplicationStatisticsBucket;
+import com.insurance.premium.application.repository.ApplicationStatisticsRepository;
+import com.insurance.premium.application.repository.ApplicationStatisticsRepository.Row;
+import com.insurance.premium.calculation.domain.MileageFactor;
+import com.insurance.premium.calculation.domain.RegionFactor;
+import com.insurance.premium.calculation.domain.VehicleType;
+import com.insurance.premium.calculation.dto.PostcodeAssignment;
+import com.insurance.premium.calculation.rating.RatingSnapshot;
+import com.insurance.premium.calculation.service.PremiumCalculationService;
+
+@ExtendWith(MockitoExtension.class)
+class ApplicationStatisticsServiceTest {
+
+    @Mock
+    private ApplicationStatisticsRepository statisticsRepository;
+
+    @Mock
+    private PremiumCalculationService calculationService;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        RegionFactor berlin = new RegionFactor();
+        berlin.setId(1L);
+        berlin.setFederalState("Berlin");
+        berlin.setFactor(new BigDecimal("1.2"));
+        VehicleType vehicleType = new VehicleType();
+        vehicleType.setName("Kompaktklasse");
+        vehicleType.setFactor(new BigDecimal("1.0"));
+        MileageFactor mileageFactor = new MileageFactor();
+        mileageFactor.setMinMileage(0);
+        mileageFactor.setFactor(new BigDecimal("1.0"));
+        RatingSnapshot snapshot = new RatingSnapshot(1L, new BigDecimal("500.00"), List.of(berlin),
+                List.of(new PostcodeAssignment("10115", "Berlin", 1L)), List.of(vehicleType), List.of(mileageFactor));
+        lenient().when(calculationService.getRatingSnapshot()).thenReturn(snapshot);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getStatistics_CountsCreatedChangedAndDeletedApplications() {
+        ApplicationStatisticsService service = new ApplicationStatisticsService(statisticsRepository, calculationService, false);
+        Application first = application("10115", "Kompaktklasse", "900.00", now);
+        Application second = application("10115", "SUV", "700.00", now.minusDays(1));
+        Application third = application("99999", "SUV", "500.50", now.minusDays(1));
+
+        service.recordCreated(List.of(first, second, third));
+        service.recordStatusChange(Status.NEW, Status.ACCEPTED, 2);
+        second.setStatus(Status.ACCEPTED);
+        service.recordDeleted(second);
+
+        ApplicationStatistics statistics = service.getStatistics(3);
+        assertEquals(2, statistics.total());
+        assertEquals(Map.of(Status.NEW, 1L, Status.ACCEPTED, 1L, Status.REJECTED, 0L), statistics.byStatus());
+        assertEquals(new BigDecimal("1400.50"), statistics.premiumTotal());
+        assertEquals(new BigDecimal("700.25"), statistics.averagePremium());
+        assertEquals(List.of(
+                new ApplicationStatisticsBucket(now.toLocalDate().toString(), 1, new BigDecimal("900.00"), new BigDecimal("900.00")),
+                new ApplicationStatisticsBucket(now.toLocalDate().minusDays(1).toString(), 1, new BigDecimal("500.50"), new BigDecimal("500.50")),
+                new ApplicationStatisticsBucket(now.toLocalDate().minusDays(2).toString(), 0, new BigDecimal("0.00"), null)),
+                statistics.byDay());
+        assertEquals(List.of("Kompaktklasse", "SUV"), keys(statistics.byVehicleType()));
+        assertEquals(List.of(
+                new ApplicationStatisticsBucket("Berlin", 1, new BigDecimal("900.00"), new BigDecimal("900.00")),
+                new ApplicationStatisticsBucket(ApplicationStatisticsService.UNKNOWN_FEDERAL_STATE, 1,
+                        new BigDecimal("500.50"), new BigDecimal("500.50"))),
+                statistics.byFederalState());
+        assertThrows(IllegalArgumentException.class, () -> service.getStatistics(0));
+        verifyNoInteractions(statisticsRepository);
+    }
+
+    @Test
+    void recordCreated_WithinTransaction_CountsAfterCommit() {
+        ApplicationStatisticsService service = new ApplicationStatisticsService(statisticsRepository, calculationService, false);
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.recordCreated(application("10115", "Kompaktklasse", "900.00", now));
+
+        assertEquals(0, service.getStatistics(1).total());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, service.getStatistics(1).total());
+    }
+
+    @Test
+    void flush_WritesCommittedChangesOnceAndRetriesFailedChanges() {
+        ApplicationStatisticsService service = new ApplicationStatisticsService(statisticsRepository, calculationService, true);
+        service.recordCreated(application("10115", "Kompaktklasse", "900.00", now));
+        doThrow(new DataAccessResourceFailureException("connection lost")).doNothing().when(statisticsRepository).add(anyList());
+
+        service.flush();
+        service.flush();
+        service.flush();
+
+        String day = now.toLocalDate().toString();
+        List<Row> expected = List.of(
+                new Row("STATUS", "NEW", 1, new BigDecimal("0.00")),
+                new Row("DAY", day, 1, new BigDecimal("900.00")),
+                new Row("VEHICLE_TYPE", "Kompaktklasse", 1, new BigDecimal("900.00")),
+                new Row("FEDERAL_STATE", "Berlin", 1, new BigDecimal("900.00")));
+        // the failed flush and its retry, nothing left for the third flush
+        verify(statisticsRepository, times(2)).add(expected);
+        verifyNoMoreInteractions(statisticsRepository);
+    }
+
+    @Test
+    void refresh_LoadsCountersFromTheTableAndKeepsUnflushedChanges() {
+        ApplicationStatisticsService service = new ApplicationStatisticsService(statisticsRepository, calculationService, true);
+        String day = LocalDate.now().toString();
+        when(statisticsRepository.findAll()).thenReturn(List.of(
+                new Row("STATUS", "ACCEPTED", 3, BigDecimal.ZERO),
+                new Row("DAY", day, 3, new BigDecimal("1500.00")),
+                new Row("VEHICLE_TYPE", "SUV", 3, new BigDecimal("1500.00")),
+                new Row("FEDERAL_STATE", "Berlin", 3, new BigDecimal("1500.00"))));
+        service.recordCreated(application("10115", "SUV", "600.00", now));
+        doThrow(new DataAccessResourceFailureException("connection lost")).when(statisticsRepository).add(anyList());
+
+        service.refresh();
+
+        ApplicationStatistics statistics = service.getStatistics(1);
+        assertEquals(4, statistics.total());
+        assertEquals(3L, statistics.byStatus().get(Status.ACCEPTED));
+        assertEquals(List.of(new ApplicationStatisticsBucket("SUV", 4, new BigDecimal("2100.00"), new BigDecimal("525.00"))),
+                statistics.byVehicleType());
+    }
+
+    @Test
+    void refresh_WhileChangesAreRecorded_LosesNone() {
+        ApplicationStatisticsService service = new ApplicationStatisticsService(statisticsRepository, calculationService, true);
+        AtomicLong accepted = new AtomicLong();
+        doAnswer(invocation -> {
+            List<Row> changes = invocation.getArgument(0);
+            changes.stream().filter(row -> row.value().equals("ACCEPTED")).forEach(row -> accepted.addAndGet(row.count()));
+            return null;
+        }).when(statisticsRepository).add(anyList());
+        when(statisticsRepository.findAll()).thenAnswer(invocation -> List.of(
+                new Row("STATUS", "NEW", -accepted.get(), BigDecimal.ZERO),
+                new Row("STATUS", "ACCEPTED", accepted.get(), BigDecimal.ZERO)));
+        // many aggregates, so replacing the counters takes a while
+        for (int i = 0; i < 20_000; i++) {
+            service.recordCreated(application("10115", "Type " + i, "100.00", now));
+        }
+        int threads = 4;
+        int changesPerThread = 200_000;
+        AtomicLong recorded = new AtomicLong();
+
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < changesPerThread; j++) {
+                    service.recordStatusChange(Status.NEW, Status.ACCEPTED, 1);
+                    recorded.incrementAndGet();
+                }
+            });
+        }
+        CompletableFuture<Void> done = CompletableFuture.allOf(workers);
+        while (!done.isDone()) {
+            service.refresh();
+            // every change recorded before is counted, without waiting for the next refresh
+            long expected = recorded.get();
+            long counted = service.getStatistics(1).byStatus().get(Status.ACCEPTED);
+            assertTrue(counted >= expected, "counted " + counted + " of " + expected + " changes");
+        }
+        done.join();
+        assertEquals((long) threads * changesPerThread, service.getStatistics(1).byStatus().get(Status.ACCEPTED));
+    }
+
+    private static Application application(String postalCode, String vehicleType, String premium, LocalDateTime createdAt) {
+        Application application = new Application();
+        application.setPostalCode(postalCode);
+        application.setVehicleType(vehicleType);
+        application.setCalculatedPremium(new BigDecimal(premium));
+        application.setCreatedAt(createdAt);
+        application.setStatus(Status.NEW);
+        return application;
+    }
+
+    private static List<String> keys(List<ApplicationStatisticsBucket> buckets) {
+        return buckets.stream().map(ApplicationStatisticsBucket::key).toList();
+    }
+}
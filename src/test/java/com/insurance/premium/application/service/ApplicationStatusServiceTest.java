@@ -0,0 +1,113 @@
+package com.insurance.premium.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.insurance.premium.application.domain.Application.Status;
+import com.insurance.premium.application.dto.ApplicationStatusBulkRequest;
+import com.insurance.premium.application.dto.ApplicationStatusBulkResponse;
+import com.insurance.premium.application.dto.ApplicationStatusOutcome;
+import com.insurance.premium.application.dto.ApplicationStatusOutcome.Outcome;
+import com.insurance.premium.application.repository.ApplicationStatusRepository;
+
+class ApplicationStatusServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private final ApplicationStatisticsService statisticsService = mock(ApplicationStatisticsService.class);
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationStatusRepository statusRepository;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:application-status-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE applications (id BIGINT PRIMARY KEY, vehicle_type VARCHAR(50) NOT NULL, "
+                + "status VARCHAR(20) NOT NULL, created_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE applications_archive (id BIGINT PRIMARY KEY, status VARCHAR(20) NOT NULL)");
+        statusRepository = new ApplicationStatusRepository(dataSource);
+    }
+
+    @Test
+    void updateStatuses_WithIds_ReturnsOutcomePerId() {
+        insert(1, "Kompaktklasse", Status.NEW, BASE);
+        insert(2, "Kompaktklasse", Status.REJECTED, BASE);
+        insert(3, "SUV", Status.NEW, BASE);
+        jdbcTemplate.update("INSERT INTO applications_archive (id, status) VALUES (4, 'REJECTED')");
+
+        ApplicationStatusBulkResponse response = new ApplicationStatusService(statusRepository, statisticsService, 10)
+                .updateStatuses(new ApplicationStatusBulkRequest(Status.ACCEPTED, List.of(3L, 2L, 99L, 1L, 4L, 3L), null, null));
+
+        assertEquals(2, response.updated());
+        assertFalse(response.truncated());
+        assertEquals(List.of(
+                new ApplicationStatusOutcome(3, Outcome.UPDATED, Status.ACCEPTED),
+                new ApplicationStatusOutcome(2, Outcome.SKIPPED, Status.REJECTED),
+                new ApplicationStatusOutcome(99, Outcome.NOT_FOUND, null),
+                new ApplicationStatusOutcome(1, Outcome.UPDATED, Status.ACCEPTED),
+                new ApplicationStatusOutcome(4, Outcome.SKIPPED, Status.REJECTED)), response.results());
+        assertEquals(Status.ACCEPTED.name(), status(1));
+        assertEquals(Status.REJECTED.name(), status(2));
+        assertEquals(Status.ACCEPTED.name(), status(3));
+        verify(statisticsService).recordStatusChange(Status.NEW, Status.ACCEPTED, 2);
+    }
+
+    @Test
+    void updateStatuses_WithFilter_UpdatesOldestMatchingNewApplications() {
+        for (int i = 1; i <= 5; i++) {
+            insert(i, "Kompaktklasse", Status.NEW, BASE.minusDays(i));
+        }
+        insert(6, "Kompaktklasse", Status.ACCEPTED, BASE.minusDays(10));
+        insert(7, "SUV", Status.NEW, BASE.minusDays(10));
+        insert(8, "Kompaktklasse", Status.NEW, BASE.plusDays(1));
+        ApplicationStatusService service = new ApplicationStatusService(statusRepository, statisticsService, 3);
+        ApplicationStatusBulkRequest request = new ApplicationStatusBulkRequest(Status.REJECTED, null, "Kompaktklasse", BASE);
+
+        ApplicationStatusBulkResponse first = service.updateStatuses(request);
+        ApplicationStatusBulkResponse second = service.updateStatuses(request);
+
+        assertEquals(3, first.updated());
+        assertTrue(first.truncated());
+        assertEquals(List.of(5L, 4L, 3L), first.results().stream().map(ApplicationStatusOutcome::id).toList());
+        assertEquals(2, second.updated());
+        assertFalse(second.truncated());
+        assertEquals(List.of(2L, 1L), second.results().stream().map(ApplicationStatusOutcome::id).toList());
+        assertEquals(Status.ACCEPTED.name(), status(6));
+        assertEquals(Status.NEW.name(), status(7));
+        assertEquals(Status.NEW.name(), status(8));
+    }
+
+    @Test
+    void updateStatuses_WithInvalidRequest_IsRejected() {
+        ApplicationStatusService service = new ApplicationStatusService(statusRepository, statisticsService, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> service.updateStatuses(
+                new ApplicationStatusBulkRequest(Status.NEW, List.of(1L), null, null)));
+        assertThrows(IllegalArgumentException.class, () -> service.updateStatuses(
+                new ApplicationStatusBulkRequest(Status.ACCEPTED, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> service.updateStatuses(
+                new ApplicationStatusBulkRequest(Status.ACCEPTED, List.of(1L), "SUV", null)));
+        assertThrows(IllegalArgumentException.class, () -> service.updateStatuses(
+                new ApplicationStatusBulkRequest(Status.ACCEPTED, List.of(1L, 2L, 3L), null, null)));
+    }
+
+    private void insert(long id, String vehicleType, Status status, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO applications (id, vehicle_type, status, created_at) VALUES (?, ?, ?, ?)",
+                id, vehicleType, status.name(), Timestamp.valueOf(createdAt));
+    }
+
+    private String status(long id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM applications WHERE id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,171 @@
+package com.insurance.premium.calculation.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.springframework.core.io.ClassPathResource;
+
+import com.insurance.premium.calculation.domain.MileageFactor;
+import com.insurance.premium.calculation.domain.RegionFactor;
+import com.insurance.premium.calculation.domain.VehicleType;
+import com.insurance.premium.calculation.dto.PostcodeAssignment;
+import com.insurance.premium.calculation.dto.PremiumCalculationRequest;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+/**
+ * Rating data for the benchmarks: the factors of {@code V2__initial_data.sql}
+ * and the postcodes of {@code postcodes.csv}.
+ */
+final class BenchmarkData {
+
+    static final BigDecimal BASE_PREMIUM = new BigDecimal("500.00");
+
+    private static final String[][] REGION_FACTORS = {
+        {"DEFAULT", "1.0"}, {"Baden-Württemberg", "1.2"}, {"Bayern", "1.1"}, {"Berlin", "1.4"},
+        {"Brandenburg", "1.0"}, {"Bremen", "1.3"}, {"Hamburg", "1.4"}, {"Hessen", "1.2"},
+        {"Mecklenburg-Vorpommern", "0.9"}, {"Niedersachsen", "1.0"}, {"Nordrhein-Westfalen", "1.3"},
+        {"Rheinland-Pfalz", "1.1"}, {"Saarland", "1.0"}, {"Sachsen", "0.9"}, {"Sachsen-Anhalt", "0.9"},
+        {"Schleswig-Holstein", "1.0"}, {"Thüringen", "0.9"}
+    };
+
+    private static final String[][] VEHICLE_TYPES = {
+        {"Kleinwagen", "0.8"}, {"Kompaktklasse", "1.0"}, {"Mittelklasse", "1.2"}, {"Oberklasse", "1.5"},
+        {"SUV", "1.3"}, {"Sportwagen", "1.8"}, {"Van", "1.1"}, {"Elektroauto", "0.7"}
+    };
+
+    private static final Object[][] MILEAGE_FACTORS = {
+        {0, 5000, "0.5"}, {5001, 10000, "1.0"}, {10001, 20000, "1.5"}, {20001, null, "2.0"}
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Create the region factors, with IDs if requested
+     *
+     * @param withIds Whether to assign IDs, as the database would
+     * @return The region factors
+     */
+    static List<RegionFactor> regionFactors(boolean withIds) {
+        List<RegionFactor> factors = new ArrayList<>();
+        for (int i = 0; i < REGION_FACTORS.length; i++) {
+            RegionFactor factor = new RegionFactor();
+            if (withIds) {
+                factor.setId(i + 1L);
+            }
+            factor.setFederalState(REGION_FACTORS[i][0]);
+            factor.setFactor(new BigDecimal(REGION_FACTORS[i][1]));
+            factors.add(factor);
+        }
+        return factors;
+    }
+
+    static List<VehicleType> vehicleTypes(boolean withIds) {
+        List<VehicleType> types = new ArrayList<>();
+        for (int i = 0; i < VEHICLE_TYPES.length; i++) {
+            VehicleType type = new VehicleType();
+            if (withIds) {
+                type.setId(i + 1L);
+            }
+            type.setName(VEHICLE_TYPES[i][0]);
+            type.setFactor(new BigDecimal(VEHICLE_TYPES[i][1]));
+            types.add(type);
+        }
+        return types;
+    }
+
+    static List<MileageFactor> mileageFactors(boolean withIds) {
+        List<MileageFactor> factors = new ArrayList<>();
+        for (int i = 0; i < MILEAGE_FACTORS.length; i++) {
+            MileageFactor factor = new MileageFactor();
+            if (withIds) {
+                factor.setId(i + 1L);
+            }
+            factor.setMinMileage((Integer) MILEAGE_FACTORS[i][0]);
+            factor.setMaxMileage((Integer) MILEAGE_FACTORS[i][1]);
+            factor.setFactor(new BigDecimal((String) MILEAGE_FACTORS[i][2]));
+            factors.add(factor);
+        }
+        return factors;
+    }
+
+    /**
+     * Read the distinct postcode to federal state assignments of {@code postcodes.csv}
+     * and map them to the region factors, like {@code RegionDataLoader} does
+     *
+     * @param regionFactors The region factors with IDs
+     * @return The postcode assignments
+     */
+    static List<PostcodeAssignment> postcodeAssignments(List<RegionFactor> regionFactors) {
+        Map<String, Long> factorIds = new LinkedHashMap<>();
+        Long defaultId = null;
+        for (RegionFactor factor : regionFactors) {
+            factorIds.put(factor.getFederalState().toLowerCase(), factor.getId());
+            if ("DEFAULT".equals(factor.getFederalState())) {
+                defaultId = factor.getId();
+            }
+        }
+        Map<String, PostcodeAssignment> assignments = new LinkedHashMap<>();
+        for (String[] postcode : readPostcodes()) {
+            Long factorId = factorIds.getOrDefault(postcode[1].toLowerCase(), defaultId);
+            assignments.putIfAbsent(postcode[0] + "_" + postcode[1], new PostcodeAssignment(postcode[0], postcode[1], factorId));
+        }
+        return new ArrayList<>(assignments.values());
+    }
+
+    /**
+     * Create a reproducible workload of valid requests with postcodes drawn from {@code postcodes.csv}
+     *
+     * @param size The number of requests
+     * @param seed The random seed
+     * @return The requests
+     */
+    static PremiumCalculationRequest[] mixedRequests(int size, long seed) {
+        List<String> postcodes = readPostcodes().stream().map(postcode -> postcode[0]).distinct().toList();
+        Random random = new Random(seed);
+        PremiumCalculationRequest[] requests = new PremiumCalculationRequest[size];
+        for (int i = 0; i < size; i++) {
+            requests[i] = new PremiumCalculationRequest(
+                    postcodes.get(random.nextInt(postcodes.size())),
+                    VEHICLE_TYPES[random.nextInt(VEHICLE_TYPES.length)][0],
+                    1 + random.nextInt(40_000));
+        }
+        return requests;
+    }
+
+    /**
+     * Read postal code and federal state of every line of {@code postcodes.csv}
+     */
+    private static List<String[]> readPostcodes() {
+        List<String[]> postcodes = new ArrayList<>();
+        try (CSVReader reader = new CSVReader(new BufferedReader(new InputStreamReader(
+                new ClassPathResource("postcodes.csv").getInputStream(), StandardCharsets.UTF_8)))) {
+            List<String> header = Arrays.stream(reader.readNext()).map(String::trim).toList();
+            int idxState = header.indexOf("REGION1");
+            int idxPostcode = header.indexOf("POSTLEITZAHL");
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                if (line.length > Math.max(idxState, idxPostcode)) {
+                    String state = line[idxState].trim().replace("\"", "");
+                    String postcode = line[idxPostcode].trim().replace("\"", "");
+                    if (!state.isBlank() && !postcode.isBlank()) {
+                        postcodes.add(new String[] {postcode, state});
+                    }
+                }
+            }
+        } catch (IOException | CsvValidationException e) {
+            throw new IllegalStateException("Failed to read postcodes.csv", e);
+        }
+        return postcodes;
+    }
+}
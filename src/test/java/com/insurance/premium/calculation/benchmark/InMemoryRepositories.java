@@ -0,0 +1,39 @@
+package com.insurance.premium.calculation.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for Spring Data repositories, answering the queries the
+ * benchmarked code uses from fixed data. Any other repository method fails.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    /**
+     * Create an in-memory repository
+     *
+     * @param repositoryType The repository interface
+     * @param queries The result of each supported query method by name, as a function of the method arguments
+     * @return The in-memory repository
+     */
+    static <T> T of(Class<T> repositoryType, Map<String, Function<Object[], Object>> queries) {
+        Object repository = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] {repositoryType},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> "InMemory" + repositoryType.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> {
+                        Function<Object[], Object> query = queries.get(method.getName());
+                        if (query == null) {
+                            throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName());
+                        }
+                        yield query.apply(args == null ? new Object[0] : args);
+                    }
+                });
+        return repositoryType.cast(repository);
+    }
+}
@@ -0,0 +1,197 @@
+package com.insurance.premium.calculation.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.insurance.premium.PremiumCalculatorApplication;
+import com.insurance.premium.calculation.domain.MileageFactor;
+import com.insurance.premium.calculation.domain.RegionFactor;
+import com.insurance.premium.calculation.domain.VehicleType;
+import com.insurance.premium.calculation.dto.PostcodeAssignment;
+import com.insurance.premium.calculation.dto.PremiumCalculationRequest;
+import com.insurance.premium.calculation.dto.PremiumCalculationResult;
+import com.insurance.premium.calculation.rating.RatingSnapshot;
+import com.insurance.premium.calculation.repository.MileageFactorRepository;
+import com.insurance.premium.calculation.repository.RegionFactorRepository;
+import com.insurance.premium.calculation.repository.RegionRepository;
+import com.insurance.premium.calculation.repository.VehicleTypeRepository;
+import com.insurance.premium.calculation.service.PremiumCalculationService;
+import com.insurance.premium.calculation.service.QuoteCache;
+import com.insurance.premium.calculation.service.RatingSnapshotService;
+import com.insurance.premium.calculation.service.RegionDataLoader;
+import com.insurance.premium.common.domain.SystemConfiguration;
+import com.insurance.premium.common.repository.SystemConfigurationRepository;
+import com.insurance.premium.common.service.ConfigurationService;
+
+/**
+ * Benchmarks of the premium calculation hot path.
+ *
+ * The {@code backend} parameter selects where the rating data comes from:
+ * {@code in-memory} wires the services by hand on top of in-memory repositories,
+ * {@code h2} starts the application context on the embedded H2 database of the
+ * {@code test} profile and loads {@code postcodes.csv} through {@link RegionDataLoader}.
+ * The {@code quoteCacheSize} parameter sets the size of the {@link QuoteCache}, 0 disables it.
+ *
+ * Run with {@code mvn -Pbenchmark -DskipTests verify}, see STARTUP_GUIDE.md.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PremiumCalculationBenchmark {
+
+    private static final int WORKLOAD_SIZE = 1024;
+
+    @Param({"in-memory", "h2"})
+    private String backend;
+
+    @Param({"10000", "0"})
+    private int quoteCacheSize;
+
+    private ConfigurableApplicationContext context;
+    private PremiumCalculationService calculationService;
+    private RatingSnapshotService ratingSnapshotService;
+
+    private PremiumCalculationRequest singleRequest;
+    private PremiumCalculationRequest[] mixedRequests;
+    private PremiumCalculationRequest unknownPostalCode;
+    private PremiumCalculationRequest unknownVehicleType;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.WARN);
+        if ("h2".equals(backend)) {
+            setUpH2();
+        } else {
+            setUpInMemory();
+        }
+        ratingSnapshotService.reload();
+
+        singleRequest = new PremiumCalculationRequest("10115", "Kompaktklasse", 15000);
+        mixedRequests = BenchmarkData.mixedRequests(WORKLOAD_SIZE, 42L);
+        unknownPostalCode = new PremiumCalculationRequest("00000", "Kompaktklasse", 15000);
+        unknownVehicleType = new PremiumCalculationRequest("10115", "Raumschiff", 15000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public PremiumCalculationResult singleQuote() {
+        return calculationService.calculatePremium(singleRequest);
+    }
+
+    @Benchmark
+    public PremiumCalculationResult mixedPostcodeQuotes() {
+        PremiumCalculationRequest request = mixedRequests[next++ & (WORKLOAD_SIZE - 1)];
+        return calculationService.calculatePremium(request);
+    }
+
+    @Benchmark
+    public Object invalidPostalCode() {
+        try {
+            return calculationService.calculatePremium(unknownPostalCode);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object invalidVehicleType() {
+        try {
+            return calculationService.calculatePremium(unknownVehicleType);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public RatingSnapshot reloadRatingSnapshot() {
+        return ratingSnapshotService.reload();
+    }
+
+    private void setUpInMemory() {
+        List<RegionFactor> regionFactors = BenchmarkData.regionFactors(true);
+        List<PostcodeAssignment> postcodes = BenchmarkData.postcodeAssignments(regionFactors);
+        List<VehicleType> vehicleTypes = BenchmarkData.vehicleTypes(true);
+        List<MileageFactor> mileageFactors = BenchmarkData.mileageFactors(true);
+        SystemConfiguration basePremium = new SystemConfiguration();
+        basePremium.setKey(ConfigurationService.BASE_PREMIUM_KEY);
+        basePremium.setValue(BenchmarkData.BASE_PREMIUM.toPlainString());
+
+        RegionFactorRepository regionFactorRepository = InMemoryRepositories.of(RegionFactorRepository.class,
+                Map.of("findAll", args -> regionFactors));
+        RegionRepository regionRepository = InMemoryRepositories.of(RegionRepository.class,
+                Map.of("findAllPostcodeAssignments", args -> postcodes));
+        VehicleTypeRepository vehicleTypeRepository = InMemoryRepositories.of(VehicleTypeRepository.class,
+                Map.of("findAll", args -> vehicleTypes));
+        MileageFactorRepository mileageFactorRepository = InMemoryRepositories.of(MileageFactorRepository.class,
+                Map.of("findAll", args -> mileageFactors));
+        SystemConfigurationRepository configurationRepository = InMemoryRepositories.of(SystemConfigurationRepository.class,
+                Map.of("findByKey", args -> Optional.of(basePremium).filter(c -> c.getKey().equals(args[0]))));
+
+        // without a Spring context the self references have to be set by hand
+        ConfigurationService configService = new ConfigurationService(configurationRepository, event -> { });
+        ReflectionTestUtils.setField(configService, "self", configService);
+        ratingSnapshotService = new RatingSnapshotService(regionFactorRepository, regionRepository,
+                vehicleTypeRepository, mileageFactorRepository, configService);
+        ReflectionTestUtils.setField(ratingSnapshotService, "self", ratingSnapshotService);
+        calculationService = new PremiumCalculationService(regionRepository, vehicleTypeRepository,
+                mileageFactorRepository, ratingSnapshotService, new QuoteCache(quoteCacheSize));
+    }
+
+    private void setUpH2() {
+        context = new SpringApplicationBuilder(PremiumCalculatorApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "premium.quote-cache.max-size=" + quoteCacheSize,
+                        // the context is closed in the tear down, not by the shutdown hook of H2
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        // the region data is loaded below, once the factors exist
+                        "logging.level.com.insurance.premium.calculation.service.RegionDataLoader=OFF")
+                .run();
+
+        context.getBean(RegionFactorRepository.class).saveAll(BenchmarkData.regionFactors(false));
+        context.getBean(VehicleTypeRepository.class).saveAll(BenchmarkData.vehicleTypes(false));
+        context.getBean(MileageFactorRepository.class).saveAll(BenchmarkData.mileageFactors(false));
+        context.getBean(ConfigurationService.class).updateBasePremium(new BigDecimal(BenchmarkData.BASE_PREMIUM.toPlainString()));
+        context.getBean(RegionDataLoader.class).loadRegionData();
+
+        calculationService = context.getBean(PremiumCalculationService.class);
+        ratingSnapshotService = context.getBean(RatingSnapshotService.class);
+    }
+}
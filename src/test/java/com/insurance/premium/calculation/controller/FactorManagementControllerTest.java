@@ -15,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -23,9 +24,15 @@ import com.insurance.premium.calculation.domain.MileageFactor;
 import com.insurance.premium.calculation.domain.RegionFactor;
 import com.insurance.premium.calculation.domain.VehicleType;
 import com.insurance.premium.calculation.dto.MileageFactorRequest;
+import com.insurance.premium.calculation.dto.PremiumGridEntry;
+import com.insurance.premium.calculation.dto.PremiumGridResponse;
+import com.insurance.premium.calculation.dto.QuoteCacheStats;
 import com.insurance.premium.calculation.dto.RegionFactorRequest;
+import com.insurance.premium.calculation.dto.RegionSyncResult;
 import com.insurance.premium.calculation.dto.VehicleTypeRequest;
 import com.insurance.premium.calculation.service.FactorManagementService;
+import com.insurance.premium.calculation.service.PremiumCalculationService;
+import com.insurance.premium.calculation.service.RegionDataLoader;
 import com.insurance.premium.security.config.TestSecurityConfig;
 
 @WebMvcTest(FactorManagementController.class)
@@ -41,6 +48,12 @@ class FactorManagementControllerTest {
     @MockitoBean
     private FactorManagementService factorManagementService;
 
+    @MockitoBean
+    private PremiumCalculationService calculationService;
+
+    @MockitoBean
+    private RegionDataLoader regionDataLoader;
+
     private RegionFactor testRegionFactor;
     private RegionFactorRequest regionFactorRequest;
     
@@ -400,4 +413,97 @@ class FactorManagementControllerTest {
         
         verify(factorManagementService, times(1)).deleteMileageFactor(id);
     }
+    
+    @Test
+    void getPremiumGrid_ShouldReturnAllPremiums() throws Exception {
+        // Arrange
+        PremiumGridResponse grid = new PremiumGridResponse(3L, new BigDecimal("500.00"), 1, 1, 1, List.of(
+            new PremiumGridEntry("Berlin", new BigDecimal("1.2"), "SUV", new BigDecimal("1.3"),
+                    0, 5000, new BigDecimal("0.8"), new BigDecimal("624.00"))));
+        when(calculationService.getPremiumGrid()).thenReturn(grid);
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/premium/management/grid"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.version").value(3))
+                .andExpect(jsonPath("$.premiums[0].federalState").value("Berlin"))
+                .andExpect(jsonPath("$.premiums[0].vehicleType").value("SUV"))
+                .andExpect(jsonPath("$.premiums[0].maxMileage").value(5000))
+                .andExpect(jsonPath("$.premiums[0].premium").value(624.00));
+        
+        verify(calculationService, times(1)).getPremiumGrid();
+    }
+    
+    @Test
+    void getQuoteCacheStats_ShouldReturnCounters() throws Exception {
+        // Arrange
+        when(calculationService.getQuoteCacheStats()).thenReturn(new QuoteCacheStats(95, 5, 2, 40, 10000, 3L));
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/premium/management/quote-cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(95))
+                .andExpect(jsonPath("$.misses").value(5))
+                .andExpect(jsonPath("$.evictions").value(2))
+                .andExpect(jsonPath("$.hitRate").value(0.95));
+        
+        verify(calculationService, times(1)).getQuoteCacheStats();
+    }
+    
+    @Test
+    void reloadPostcodes_WithoutFile_SynchronizesConfiguredFile() throws Exception {
+        // Arrange
+        when(regionDataLoader.syncRegions(false)).thenReturn(new RegionSyncResult(2, 1, 3, 22890, 120));
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/premium/management/postcodes/reload"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(2))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.deleted").value(3))
+                .andExpect(jsonPath("$.unchanged").value(22890));
+        
+        verify(regionDataLoader, times(1)).syncRegions(false);
+    }
+    
+    @Test
+    void reloadPostcodes_WithUploadedFile_SynchronizesUploadedFile() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "postcodes.csv", "text/csv", "REGION1\n".getBytes());
+        when(regionDataLoader.syncRegions(any(), eq(false))).thenReturn(new RegionSyncResult(1, 0, 0, 0, 5));
+        
+        // Act & Assert
+        mockMvc.perform(multipart("/api/admin/premium/management/postcodes/reload").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1));
+        
+        verify(regionDataLoader, never()).syncRegions(anyBoolean());
+    }
+    
+    @Test
+    void reloadPostcodes_WhenAlreadyRunning_ReturnsConflict() throws Exception {
+        // Arrange
+        when(regionDataLoader.syncRegions(false)).thenThrow(new IllegalStateException("Region synchronization is already running"));
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/premium/management/postcodes/reload"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Region synchronization is already running"));
+    }
+    
+    @Test
+    void reloadPostcodes_WhenTooManyDeletions_ReturnsBadRequestUnlessForced() throws Exception {
+        // Arrange
+        when(regionDataLoader.syncRegions(false)).thenThrow(new IllegalArgumentException(
+                "Synchronization would delete 22890 of 22893 regions (more than 20%), use force to apply it"));
+        when(regionDataLoader.syncRegions(true)).thenReturn(new RegionSyncResult(0, 0, 22890, 3, 80));
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/premium/management/postcodes/reload"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/admin/premium/management/postcodes/reload").param("force", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(22890));
+    }
 }
@@ -5,7 +5,9 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -27,8 +29,10 @@ import org.springframework.test.web.servlet.MvcResult;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.insurance.premium.calculation.dto.FactorResponse;
 import com.insurance.premium.calculation.dto.PostcodeResponse;
+import com.insurance.premium.calculation.dto.PremiumBatchSummary;
 import com.insurance.premium.calculation.dto.PremiumCalculationRequest;
 import com.insurance.premium.calculation.dto.PremiumCalculationResult;
+import com.insurance.premium.calculation.service.PremiumBatchCalculationService;
 import com.insurance.premium.calculation.service.PremiumCalculationService;
 import com.insurance.premium.security.config.TestSecurityConfig;
 
@@ -45,6 +49,9 @@ class PremiumCalculationControllerTest {
     @MockitoBean
     private PremiumCalculationService calculationService;
 
+    @MockitoBean
+    private PremiumBatchCalculationService batchCalculationService;
+
     private PremiumCalculationRequest validRequest;
     private PremiumCalculationResult calculationResult;
     private List<FactorResponse> regionFactors;
@@ -155,6 +162,38 @@ class PremiumCalculationControllerTest {
         verify(calculationService, times(1)).calculatePremium(any(PremiumCalculationRequest.class));
     }
 
+    @Test
+    void calculatePremiumBatch_WithNdjson_StreamsResults() throws Exception {
+        // Arrange
+        when(batchCalculationService.calculateBatch(any(), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"index\":0,\"result\":{\"premium\":900.00}}\n".getBytes(StandardCharsets.UTF_8));
+            return new PremiumBatchSummary(1, 0, 1L);
+        });
+
+        // Act & Assert
+        MvcResult result = mockMvc.perform(post("/api/premium/calculate/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(objectMapper.writeValueAsString(validRequest) + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        assertEquals("{\"index\":0,\"result\":{\"premium\":900.00}}\n", result.getResponse().getContentAsString());
+        verify(batchCalculationService, times(1)).calculateBatch(any(), any());
+        verify(calculationService, never()).calculatePremium(any(PremiumCalculationRequest.class));
+    }
+
+    @Test
+    void calculatePremiumBatch_WithUnsupportedContentType_Returns415() throws Exception {
+        mockMvc.perform(post("/api/premium/calculate/batch")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("10115"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(batchCalculationService);
+    }
+
     @Test
     void getPostcodes_ReturnsPagedPostcodes() throws Exception {
         // Act & Assert
@@ -0,0 +1,169 @@
+package com.insurance.premium.calculation.rating;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.insurance.premium.calculation.domain.MileageFactor;
+import com.insurance.premium.calculation.domain.RegionFactor;
+import com.insurance.premium.calculation.domain.VehicleType;
+import com.insurance.premium.calculation.dto.PostcodeAssignment;
+
+/**
+ * Property based equivalence tests of the fixed-point arithmetic against the BigDecimal calculation.
+ * The random generators are seeded, so failures are reproducible.
+ */
+class FixedPointTest {
+
+    private static final int ITERATIONS = 200_000;
+    private static final long MAX_PREMIUM = 9_999_999_999L; // DECIMAL(10,2)
+    private static final long MAX_FACTOR = 99_999L;          // DECIMAL(5,2)
+
+    @Test
+    void multiply_WithRandomValues_EqualsBigDecimalCalculation() {
+        Random random = new Random(20240401L);
+        for (int i = 0; i < ITERATIONS; i++) {
+            long premium = randomLong(random, MAX_PREMIUM);
+            long factor1 = randomLong(random, MAX_FACTOR);
+            long factor2 = randomLong(random, MAX_FACTOR);
+            long factor3 = randomLong(random, MAX_FACTOR);
+
+            assertEquivalent(premium, factor1, factor2, factor3);
+        }
+    }
+
+    @Test
+    void multiply_WithRealisticValues_EqualsBigDecimalCalculation() {
+        Random random = new Random(42L);
+        for (int i = 0; i < ITERATIONS; i++) {
+            long premium = random.nextLong(200_000L);
+            long factor1 = 50 + random.nextLong(200);
+            long factor2 = 50 + random.nextLong(200);
+            long factor3 = 50 + random.nextLong(200);
+
+            assertEquivalent(premium, factor1, factor2, factor3);
+        }
+    }
+
+    @Test
+    void multiply_WithNegativeValues_EqualsBigDecimalCalculation() {
+        Random random = new Random(7L);
+        for (int i = 0; i < ITERATIONS; i++) {
+            long premium = random.nextLong(2 * MAX_PREMIUM) - MAX_PREMIUM;
+            long factor1 = random.nextLong(2 * MAX_FACTOR) - MAX_FACTOR;
+            long factor2 = random.nextLong(2_000) - 1_000;
+            long factor3 = random.nextLong(2_000) - 1_000;
+
+            assertEquivalent(premium, factor1, factor2, factor3);
+        }
+    }
+
+    @Test
+    void multiply_WithRoundingTies_RoundsHalfUp() {
+        // 0.01 * 0.50 * 1.00 * 1.00 = 0.005 -> 0.01
+        assertEquals(1L, FixedPoint.multiply(1, 50, 100, 100));
+        // 0.01 * 0.49 * 1.00 * 1.00 = 0.0049 -> 0.00
+        assertEquals(0L, FixedPoint.multiply(1, 49, 100, 100));
+        // -0.01 * 0.50 * 1.00 * 1.00 = -0.005 -> -0.01
+        assertEquals(-1L, FixedPoint.multiply(-1, 50, 100, 100));
+        assertEquivalent(1, 50, 100, 100);
+        assertEquivalent(-1, 50, 100, 100);
+        assertEquivalent(12345, 150, 133, 77);
+    }
+
+    @Test
+    void multiply_WithOverflow_ThrowsArithmeticException() {
+        assertThrows(ArithmeticException.class,
+                () -> FixedPoint.multiply(MAX_PREMIUM, MAX_FACTOR, MAX_FACTOR, MAX_FACTOR));
+    }
+
+    @Test
+    void of_ConvertsRepresentableValues() {
+        assertEquals(150L, FixedPoint.of(new BigDecimal("1.5")));
+        assertEquals(150L, FixedPoint.of(new BigDecimal("1.50")));
+        assertEquals(200L, FixedPoint.of(new BigDecimal("2")));
+        assertEquals(150L, FixedPoint.of(new BigDecimal("1.500")));
+        assertEquals(-7L, FixedPoint.of(new BigDecimal("-0.07")));
+        assertEquals(FixedPoint.NOT_REPRESENTABLE, FixedPoint.of(new BigDecimal("1.234")));
+        assertEquals(FixedPoint.NOT_REPRESENTABLE, FixedPoint.of(new BigDecimal("1E+30")));
+        assertEquals(FixedPoint.NOT_REPRESENTABLE, FixedPoint.of(null));
+        assertEquals(new BigDecimal("1.50"), FixedPoint.toBigDecimal(150L));
+    }
+
+    @Test
+    void calculatePremium_WithRandomSnapshots_EqualsBigDecimalCalculation() {
+        Random random = new Random(1337L);
+        for (int i = 0; i < 2_000; i++) {
+            // factors with zero to three decimal places, the latter are not representable
+            BigDecimal basePremium = randomDecimal(random, MAX_PREMIUM, 2);
+            BigDecimal regionFactor = randomDecimal(random, MAX_FACTOR, 3);
+            BigDecimal vehicleFactor = randomDecimal(random, MAX_FACTOR, 2);
+            BigDecimal mileageFactor = randomDecimal(random, MAX_FACTOR, 2);
+            RatingSnapshot snapshot = snapshot(basePremium, regionFactor, vehicleFactor, mileageFactor);
+
+            BigDecimal expected = basePremium.multiply(regionFactor).multiply(vehicleFactor).multiply(mileageFactor)
+                    .setScale(2, java.math.RoundingMode.HALF_UP);
+            assertEquals(expected, snapshot.calculatePremium(0, 0, 0),
+                    () -> basePremium + " * " + regionFactor + " * " + vehicleFactor + " * " + mileageFactor);
+        }
+    }
+
+    private static void assertEquivalent(long premium, long factor1, long factor2, long factor3) {
+        BigDecimal expected = FixedPoint.multiply(FixedPoint.toBigDecimal(premium), FixedPoint.toBigDecimal(factor1),
+                FixedPoint.toBigDecimal(factor2), FixedPoint.toBigDecimal(factor3));
+        long actual;
+        try {
+            actual = FixedPoint.multiply(premium, factor1, factor2, factor3);
+        } catch (ArithmeticException e) {
+            // overflow of a partial product is reported, never silently wrong
+            BigInteger partial1 = BigInteger.valueOf(premium).multiply(BigInteger.valueOf(factor1));
+            BigInteger partial2 = partial1.multiply(BigInteger.valueOf(factor2));
+            BigInteger product = partial2.multiply(BigInteger.valueOf(factor3));
+            assertTrue(Math.max(Math.max(partial1.bitLength(), partial2.bitLength()), product.bitLength()) > 63,
+                    () -> "Unexpected overflow for " + premium + ", " + factor1 + ", " + factor2 + ", " + factor3);
+            return;
+        }
+        // equals also compares the scale, so the results are identical and not just numerically equal
+        assertEquals(expected, FixedPoint.toBigDecimal(actual),
+                () -> premium + ", " + factor1 + ", " + factor2 + ", " + factor3);
+    }
+
+    private static long randomLong(Random random, long max) {
+        // favour small values and boundaries besides the uniform distribution
+        return switch (random.nextInt(4)) {
+            case 0 -> random.nextLong(max + 1);
+            case 1 -> random.nextLong(1_000);
+            case 2 -> max - random.nextLong(10);
+            default -> random.nextLong(100) * 100 + (random.nextBoolean() ? 50 : 0);
+        };
+    }
+
+    private static BigDecimal randomDecimal(Random random, long maxHundredths, int maxScale) {
+        int scale = random.nextInt(maxScale + 1);
+        long bound = scale == 3 ? maxHundredths * 10 : maxHundredths;
+        BigDecimal value = BigDecimal.valueOf(random.nextLong(bound + 1), Math.max(scale, 2));
+        // values like 1.5 and 1.50 must give the same result
+        return scale < 2 ? value.stripTrailingZeros() : value;
+    }
+
+    private static RatingSnapshot snapshot(BigDecimal basePremium, BigDecimal regionFactor,
+            BigDecimal vehicleFactor, BigDecimal mileageFactor) {
+        RegionFactor region = new RegionFactor();
+        region.setId(1L);
+        region.setFederalState("Berlin");
+        region.setFactor(regionFactor);
+        VehicleType vehicleType = new VehicleType();
+        vehicleType.setName("SUV");
+        vehicleType.setFactor(vehicleFactor);
+        MileageFactor band = new MileageFactor();
+        band.setMinMileage(0);
+        band.setFactor(mileageFactor);
+        return new RatingSnapshot(1L, basePremium, List.of(region),
+                List.of(new PostcodeAssignment("10115", "Berlin", 1L)), List.of(vehicleType), List.of(band));
+    }
+}
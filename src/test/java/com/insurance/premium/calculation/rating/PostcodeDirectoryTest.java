@@ -0,0 +1,80 @@
+package com.insurance.premium.calculation.rating;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.insurance.premium.calculation.dto.PostcodeAssignment;
+
+class PostcodeDirectoryTest {
+
+    private PostcodeDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        Map<Long, Integer> regionFactorSlots = Map.of(10L, 0, 20L, 1, 30L, 2);
+        List<PostcodeAssignment> postcodes = List.of(
+            new PostcodeAssignment("01067", "Sachsen", 10L),
+            new PostcodeAssignment("10115", "Berlin", 20L),
+            new PostcodeAssignment("10115", "Berlin", 20L),
+            new PostcodeAssignment("14476", "Brandenburg", 30L),
+            new PostcodeAssignment("14476", "Berlin", 20L),
+            new PostcodeAssignment("99998", "Thüringen", 10L),
+            new PostcodeAssignment("99999", "Unknown", 42L),
+            new PostcodeAssignment("A-1010", "Wien", 30L),
+            new PostcodeAssignment("A-2000", "Wien", 30L),
+            new PostcodeAssignment("A-2000", "Niederösterreich", 20L));
+        directory = PostcodeDirectory.build(postcodes, regionFactorSlots);
+    }
+
+    @Test
+    void findSlot_WithKnownPostalCode_ReturnsSlot() {
+        assertEquals(0, directory.findSlot("01067"));
+        assertEquals(1, directory.findSlot("10115"));
+        assertEquals(0, directory.findSlot("99998"));
+    }
+
+    @Test
+    void findSlot_WithPostalCodeInSeveralStates_ReturnsNotFound() {
+        assertEquals(PostcodeDirectory.NOT_FOUND, directory.findSlot("14476"));
+        assertTrue(directory.isAmbiguous("14476"));
+        assertFalse(directory.isAmbiguous("10115"));
+    }
+
+    @Test
+    void findSlot_WithUnknownOrInvalidPostalCode_ReturnsNotFound() {
+        assertEquals(PostcodeDirectory.NOT_FOUND, directory.findSlot("00000"));
+        assertEquals(PostcodeDirectory.NOT_FOUND, directory.findSlot("99999"));
+        assertEquals(PostcodeDirectory.NOT_FOUND, directory.findSlot("1011"));
+        assertEquals(PostcodeDirectory.NOT_FOUND, directory.findSlot("101155"));
+        assertEquals(PostcodeDirectory.NOT_FOUND, directory.findSlot("1O115"));
+        assertEquals(PostcodeDirectory.NOT_FOUND, directory.findSlot(""));
+        assertEquals(PostcodeDirectory.NOT_FOUND, directory.findSlot(null));
+        assertFalse(directory.isAmbiguous(null));
+    }
+
+    @Test
+    void findSlot_WithNonNumericPostalCode_UsesOverflow() {
+        assertEquals(2, directory.findSlot("A-1010"));
+        assertEquals(PostcodeDirectory.NOT_FOUND, directory.findSlot("A-2000"));
+        assertTrue(directory.isAmbiguous("A-2000"));
+    }
+
+    @Test
+    void size_CountsKnownAndAmbiguousPostalCodes() {
+        assertEquals(6, directory.size());
+        assertEquals(2, directory.getAmbiguousCount());
+    }
+
+    @Test
+    void build_WithoutPostcodes_ReturnsEmptyDirectory() {
+        PostcodeDirectory empty = PostcodeDirectory.build(List.of(), Map.of());
+
+        assertEquals(0, empty.size());
+        assertEquals(PostcodeDirectory.NOT_FOUND, empty.findSlot("10115"));
+    }
+}
@@ -0,0 +1,158 @@
+package com.insurance.premium.calculation.rating;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.insurance.premium.calculation.domain.MileageFactor;
+import com.insurance.premium.calculation.domain.RegionFactor;
+import com.insurance.premium.calculation.domain.VehicleType;
+import com.insurance.premium.calculation.dto.PostcodeAssignment;
+
+class RatingSnapshotTest {
+
+    private RatingSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        List<RegionFactor> regionFactors = List.of(
+            regionFactor(1L, "DEFAULT", "1.0"),
+            regionFactor(2L, "Berlin", "1.4"),
+            regionFactor(3L, "Brandenburg", "1.0"));
+        List<PostcodeAssignment> postcodes = List.of(
+            new PostcodeAssignment("10115", "Berlin", 2L),
+            new PostcodeAssignment("10115", "Berlin", 2L),
+            new PostcodeAssignment("14476", "Brandenburg", 3L),
+            new PostcodeAssignment("14476", "Berlin", 2L),
+            new PostcodeAssignment("99999", "Unknown", 42L));
+        List<VehicleType> vehicleTypes = List.of(
+            vehicleType("Kleinwagen", "0.8"),
+            vehicleType("SUV", "1.3"));
+        List<MileageFactor> mileageFactors = List.of(
+            mileageFactor(20001, null, "2.0"),
+            mileageFactor(0, 5000, "0.5"),
+            mileageFactor(5001, 10000, "1.0"),
+            mileageFactor(10001, 20000, "1.5"));
+        snapshot = new RatingSnapshot(7L, new BigDecimal("500.00"), regionFactors, postcodes, vehicleTypes, mileageFactors);
+    }
+
+    @Test
+    void findRegionSlot_WithUniquePostalCode_ReturnsRegionFactor() {
+        int slot = snapshot.findRegionSlot("10115");
+
+        assertNotEquals(RatingSnapshot.NOT_FOUND, slot);
+        assertEquals("Berlin", snapshot.getFederalState(slot));
+        assertEquals(new BigDecimal("1.4"), snapshot.getRegionFactor(slot));
+    }
+
+    @Test
+    void findRegionSlot_WithPostalCodeInSeveralStates_ReturnsNotFound() {
+        assertEquals(RatingSnapshot.NOT_FOUND, snapshot.findRegionSlot("14476"));
+    }
+
+    @Test
+    void findRegionSlot_WithUnknownPostalCodeOrFactor_ReturnsNotFound() {
+        assertEquals(RatingSnapshot.NOT_FOUND, snapshot.findRegionSlot("00000"));
+        assertEquals(RatingSnapshot.NOT_FOUND, snapshot.findRegionSlot("99999"));
+        assertEquals(RatingSnapshot.NOT_FOUND, snapshot.findRegionSlot(null));
+    }
+
+    @Test
+    void findVehicleTypeSlot_ResolvesByName() {
+        int slot = snapshot.findVehicleTypeSlot("SUV");
+
+        assertEquals(new BigDecimal("1.3"), snapshot.getVehicleFactor(slot));
+        assertEquals(RatingSnapshot.NOT_FOUND, snapshot.findVehicleTypeSlot("Unknown"));
+        assertEquals(RatingSnapshot.NOT_FOUND, snapshot.findVehicleTypeSlot(null));
+    }
+
+    @Test
+    void findMileageSlot_ResolvesBandBoundaries() {
+        assertEquals(new BigDecimal("0.5"), snapshot.getMileageFactor(snapshot.findMileageSlot(0)));
+        assertEquals(new BigDecimal("0.5"), snapshot.getMileageFactor(snapshot.findMileageSlot(5000)));
+        assertEquals(new BigDecimal("1.0"), snapshot.getMileageFactor(snapshot.findMileageSlot(5001)));
+        assertEquals(new BigDecimal("1.5"), snapshot.getMileageFactor(snapshot.findMileageSlot(20000)));
+        assertEquals(new BigDecimal("2.0"), snapshot.getMileageFactor(snapshot.findMileageSlot(1_000_000)));
+        assertEquals(RatingSnapshot.NOT_FOUND, snapshot.findMileageSlot(-1));
+    }
+
+    @Test
+    void findMileageSlot_WithOverlappingBands_PrefersHighestMinMileage() {
+        RatingSnapshot overlapping = new RatingSnapshot(1L, BigDecimal.ONE, List.of(), List.of(), List.of(),
+            List.of(mileageFactor(0, 10000, "1.0"), mileageFactor(5000, 10000, "1.2")));
+
+        assertEquals(new BigDecimal("1.2"), overlapping.getMileageFactor(overlapping.findMileageSlot(7500)));
+        assertEquals(new BigDecimal("1.0"), overlapping.getMileageFactor(overlapping.findMileageSlot(4999)));
+    }
+
+    @Test
+    void getters_ReturnSnapshotMetadata() {
+        assertEquals(7L, snapshot.getVersion());
+        assertEquals(new BigDecimal("500.00"), snapshot.getBasePremium());
+        assertEquals(3, snapshot.getRegionSlotCount());
+        assertEquals(2, snapshot.getVehicleTypeSlotCount());
+        assertEquals(4, snapshot.getMileageSlotCount());
+        assertEquals(0, snapshot.getMinMileage(0));
+        assertNull(snapshot.getMaxMileage(3));
+    }
+
+    @Test
+    void calculatePremium_ReadsPremiumGrid() {
+        assertTrue(snapshot.hasPremiumGrid());
+        for (int regionSlot = 0; regionSlot < snapshot.getRegionSlotCount(); regionSlot++) {
+            for (int vehicleTypeSlot = 0; vehicleTypeSlot < snapshot.getVehicleTypeSlotCount(); vehicleTypeSlot++) {
+                for (int mileageSlot = 0; mileageSlot < snapshot.getMileageSlotCount(); mileageSlot++) {
+                    BigDecimal expected = snapshot.getBasePremium()
+                            .multiply(snapshot.getRegionFactor(regionSlot))
+                            .multiply(snapshot.getVehicleFactor(vehicleTypeSlot))
+                            .multiply(snapshot.getMileageFactor(mileageSlot))
+                            .setScale(2, RoundingMode.HALF_UP);
+                    assertEquals(expected, snapshot.calculatePremium(regionSlot, vehicleTypeSlot, mileageSlot));
+                }
+            }
+        }
+        // 500.00 * 1.4 * 1.3 * 2.0
+        int berlin = snapshot.findRegionSlot("10115");
+        assertEquals(182000L, snapshot.getPremiumFixed(berlin, snapshot.findVehicleTypeSlot("SUV"), snapshot.findMileageSlot(30000)));
+    }
+
+    @Test
+    void calculatePremium_WithFactorNotRepresentable_FallsBackToBigDecimal() {
+        RatingSnapshot precise = new RatingSnapshot(1L, new BigDecimal("500.005"),
+            List.of(regionFactor(1L, "Berlin", "1.25")),
+            List.of(new PostcodeAssignment("10115", "Berlin", 1L)),
+            List.of(vehicleType("SUV", "1.3")),
+            List.of(mileageFactor(0, null, "1.0")));
+
+        // 500.005 * 1.25 * 1.3 = 812.508125
+        assertEquals(new BigDecimal("812.51"), precise.calculatePremium(0, 0, 0));
+    }
+
+    private static RegionFactor regionFactor(Long id, String federalState, String factor) {
+        RegionFactor regionFactor = new RegionFactor();
+        regionFactor.setId(id);
+        regionFactor.setFederalState(federalState);
+        regionFactor.setFactor(new BigDecimal(factor));
+        return regionFactor;
+    }
+
+    private static VehicleType vehicleType(String name, String factor) {
+        VehicleType vehicleType = new VehicleType();
+        vehicleType.setName(name);
+        vehicleType.setFactor(new BigDecimal(factor));
+        return vehicleType;
+    }
+
+    private static MileageFactor mileageFactor(int min, Integer max, String factor) {
+        MileageFactor mileageFactor = new MileageFactor();
+        mileageFactor.setMinMileage(min);
+        mileageFactor.setMaxMileage(max);
+        mileageFactor.setFactor(new BigDecimal(factor));
+        return mileageFactor;
+    }
+}
@@ -3,11 +3,13 @@ package com.insurance.premium.calculation.repository;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -141,4 +143,39 @@ class RegionRepositoryTest {
         assertEquals("10009", firstPage.getContent().get(9).getPostalCode());
         assertEquals("10010", secondPage.getContent().get(0).getPostalCode());
     }
+    
+    @Test
+    void findAfter_WithSharedPostalCodes_ShouldPageThroughAllRegions() {
+        // Arrange
+        RegionFactor factor = new RegionFactor();
+        factor.setFederalState("Test");
+        factor.setFactor(new BigDecimal("1.0"));
+        regionFactorRepository.save(factor);
+        
+        // Create 9 regions, three districts per postal code
+        for (int i = 0; i < 9; i++) {
+            Region region = new Region("State", "Germany", null, "City", String.format("%05d", 10000 + i / 3), "District " + i, factor);
+            regionRepository.save(region);
+        }
+        
+        // Act - page through in pages of 4 regions
+        List<String> districts = new ArrayList<>();
+        String postalCode = "";
+        long id = 0;
+        List<Region> page;
+        do {
+            page = regionRepository.findAfter(postalCode, id, Limit.of(4));
+            page.forEach(region -> districts.add(region.getDistrict()));
+            if (!page.isEmpty()) {
+                postalCode = page.get(page.size() - 1).getPostalCode();
+                id = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == 4);
+        
+        // Assert
+        assertEquals(9, districts.size());
+        assertEquals(9, districts.stream().distinct().count());
+        assertEquals("District 0", districts.get(0));
+        assertEquals("District 8", districts.get(8));
+    }
 }
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.insurance.premium.calculation.domain.MileageFactor;
 import com.insurance.premium.calculation.domain.RegionFactor;
@@ -20,6 +21,7 @@ import com.insurance.premium.calculation.domain.VehicleType;
 import com.insurance.premium.calculation.dto.MileageFactorRequest;
 import com.insurance.premium.calculation.dto.RegionFactorRequest;
 import com.insurance.premium.calculation.dto.VehicleTypeRequest;
+import com.insurance.premium.calculation.event.FactorsChangedEvent;
 import com.insurance.premium.calculation.repository.MileageFactorRepository;
 import com.insurance.premium.calculation.repository.RegionFactorRepository;
 import com.insurance.premium.calculation.repository.VehicleTypeRepository;
@@ -36,6 +38,9 @@ class FactorManagementServiceTest {
     @Mock
     private MileageFactorRepository mileageFactorRepository;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @InjectMocks
     private FactorManagementService factorManagementService;
     
@@ -124,6 +129,7 @@ class FactorManagementServiceTest {
         assertEquals(request.getFederalState(), result.getFederalState());
         assertEquals(request.getFactor(), result.getFactor());
         verify(regionFactorRepository, times(1)).save(any(RegionFactor.class));
+        verify(eventPublisher).publishEvent(any(FactorsChangedEvent.class));
     }
     
     @Test
@@ -0,0 +1,157 @@
+package com.insurance.premium.calculation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.premium.calculation.domain.MileageFactor;
+import com.insurance.premium.calculation.domain.RegionFactor;
+import com.insurance.premium.calculation.domain.VehicleType;
+import com.insurance.premium.calculation.dto.PostcodeAssignment;
+import com.insurance.premium.calculation.dto.PremiumBatchItemResult;
+import com.insurance.premium.calculation.dto.PremiumBatchSummary;
+import com.insurance.premium.calculation.rating.RatingSnapshot;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+@ExtendWith(MockitoExtension.class)
+class PremiumBatchCalculationServiceTest {
+
+    @Mock
+    private RatingSnapshotService ratingSnapshotService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ValidatorFactory validatorFactory;
+    private PremiumBatchCalculationService batchService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        PremiumCalculationService calculationService = new PremiumCalculationService(null, null, null, ratingSnapshotService, new QuoteCache(100));
+        batchService = new PremiumBatchCalculationService(calculationService, validatorFactory.getValidator(), objectMapper);
+
+        RegionFactor berlin = new RegionFactor();
+        berlin.setId(1L);
+        berlin.setFederalState("Berlin");
+        berlin.setFactor(new BigDecimal("1.2"));
+        VehicleType vehicleType = new VehicleType();
+        vehicleType.setName("Kompaktklasse");
+        vehicleType.setFactor(new BigDecimal("1.0"));
+        MileageFactor mileageFactor = new MileageFactor();
+        mileageFactor.setMinMileage(0);
+        mileageFactor.setMaxMileage(null);
+        mileageFactor.setFactor(new BigDecimal("1.5"));
+        RatingSnapshot snapshot = new RatingSnapshot(3L, new BigDecimal("500.00"), List.of(berlin),
+                List.of(new PostcodeAssignment("10115", "Berlin", 1L)), List.of(vehicleType), List.of(mileageFactor));
+        when(ratingSnapshotService.getSnapshot()).thenReturn(snapshot);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void calculateBatch_WithJsonArray_StreamsOneResultPerRequest() throws IOException {
+        String input = """
+                [{"postalCode":"10115","vehicleType":"Kompaktklasse","annualMileage":15000},
+                 {"postalCode":"99999","vehicleType":"Kompaktklasse","annualMileage":15000},
+                 {"postalCode":"10115","vehicleType":"Kompaktklasse","annualMileage":5000}]
+                """;
+
+        List<PremiumBatchItemResult> results = new ArrayList<>();
+        PremiumBatchSummary summary = calculate(input, results);
+
+        assertEquals(3, summary.total());
+        assertEquals(1, summary.failed());
+        assertEquals(3L, summary.snapshotVersion());
+        assertEquals(3, results.size());
+        assertEquals(0, results.get(0).index());
+        assertEquals(new BigDecimal("900.00"), results.get(0).result().premium());
+        assertNull(results.get(0).error());
+        assertEquals("No region factor found for postal code: 99999", results.get(1).error().message());
+        assertNull(results.get(1).result());
+        assertEquals(2, results.get(2).index());
+        assertEquals(new BigDecimal("900.00"), results.get(2).result().premium());
+        // one snapshot for the whole batch
+        verify(ratingSnapshotService, times(1)).getSnapshot();
+    }
+
+    @Test
+    void calculateBatch_WithNdjson_ReportsInvalidItemsAndContinues() throws IOException {
+        String input = """
+                {"postalCode":"10115","vehicleType":"Kompaktklasse","annualMileage":15000}
+                {"postalCode":"","vehicleType":"Kompaktklasse","annualMileage":0}
+                {"postalCode":"10115","vehicleType":"Kompaktklasse","annualMileage":"many"}
+                {"postalCode":"10115","vehicleType":"Raumschiff","annualMileage":15000}
+                {"postalCode":"10115","vehicleType":"Kompaktklasse","annualMileage":1000}
+                """;
+
+        List<PremiumBatchItemResult> results = new ArrayList<>();
+        PremiumBatchSummary summary = calculate(input, results);
+
+        assertEquals(5, summary.total());
+        assertEquals(3, summary.failed());
+        assertEquals(2, summary.succeeded());
+        assertNotNull(results.get(0).result());
+        assertEquals("VALIDATION_ERROR", results.get(1).error().code());
+        assertEquals("Annual mileage must be a positive number, Postal code is required", results.get(1).error().message());
+        assertTrue(results.get(2).error().message().startsWith("Invalid request"));
+        assertEquals("Unknown vehicle type: Raumschiff", results.get(3).error().message());
+        assertEquals(4, results.get(4).index());
+        assertNotNull(results.get(4).result());
+    }
+
+    @Test
+    void calculateBatch_WithMalformedJson_StopsWithError() throws IOException {
+        String input = """
+                {"postalCode":"10115","vehicleType":"Kompaktklasse","annualMileage":15000}
+                {"postalCode":"10115",
+                """;
+
+        List<PremiumBatchItemResult> results = new ArrayList<>();
+        PremiumBatchSummary summary = calculate(input, results);
+
+        assertEquals(2, summary.total());
+        assertEquals(1, summary.failed());
+        assertNotNull(results.get(0).result());
+        assertTrue(results.get(1).error().message().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void calculateBatch_WithEmptyInput_WritesNothing() throws IOException {
+        List<PremiumBatchItemResult> results = new ArrayList<>();
+        PremiumBatchSummary summary = calculate("[]", results);
+
+        assertEquals(0, summary.total());
+        assertTrue(results.isEmpty());
+    }
+
+    private PremiumBatchSummary calculate(String input, List<PremiumBatchItemResult> results) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PremiumBatchSummary summary = batchService.calculateBatch(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                results.add(objectMapper.readValue(line, PremiumBatchItemResult.class));
+            }
+        }
+        return summary;
+    }
+}
@@ -6,24 +6,27 @@ import static org.mockito.Mockito.*;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
-import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.insurance.premium.calculation.domain.MileageFactor;
-import com.insurance.premium.calculation.domain.Region;
 import com.insurance.premium.calculation.domain.RegionFactor;
 import com.insurance.premium.calculation.domain.VehicleType;
+import com.insurance.premium.calculation.dto.PostcodeAssignment;
 import com.insurance.premium.calculation.dto.PremiumCalculationRequest;
 import com.insurance.premium.calculation.dto.PremiumCalculationResult;
+import com.insurance.premium.calculation.dto.PremiumGridEntry;
+import com.insurance.premium.calculation.dto.PremiumGridResponse;
+import com.insurance.premium.calculation.dto.QuoteCacheStats;
+import com.insurance.premium.calculation.rating.RatingSnapshot;
 import com.insurance.premium.calculation.repository.MileageFactorRepository;
 import com.insurance.premium.calculation.repository.RegionRepository;
 import com.insurance.premium.calculation.repository.VehicleTypeRepository;
-import com.insurance.premium.common.service.ConfigurationService;
 
 @ExtendWith(MockitoExtension.class)
 class PremiumCalculationServiceTest {
@@ -38,7 +41,10 @@ class PremiumCalculationServiceTest {
     private MileageFactorRepository mileageFactorRepository;
     
     @Mock
-    private ConfigurationService configService;
+    private RatingSnapshotService ratingSnapshotService;
+    
+    @Spy
+    private QuoteCache quoteCache = new QuoteCache(100);
     
     @InjectMocks
     private PremiumCalculationService calculationService;
@@ -56,25 +62,7 @@ class PremiumCalculationServiceTest {
         // Arrange
         PremiumCalculationRequest request = new PremiumCalculationRequest(POSTAL_CODE, VEHICLE_TYPE, ANNUAL_MILEAGE);
         
-        RegionFactor regionFactor = new RegionFactor();
-        regionFactor.setFederalState("Berlin");
-        regionFactor.setFactor(REGION_FACTOR_VALUE);
-        
-        Region region = new Region("Berlin", "Germany", "Berlin", "Berlin", POSTAL_CODE, "Mitte", regionFactor);
-        
-        VehicleType vehicleType = new VehicleType();
-        vehicleType.setName(VEHICLE_TYPE);
-        vehicleType.setFactor(VEHICLE_FACTOR_VALUE);
-        
-        MileageFactor mileageFactor = new MileageFactor();
-        mileageFactor.setMinMileage(10001);
-        mileageFactor.setMaxMileage(20000);
-        mileageFactor.setFactor(MILEAGE_FACTOR_VALUE);
-        
-        when(configService.getBasePremium()).thenReturn(BASE_PREMIUM);
-        when(regionRepository.findByPostalCode(POSTAL_CODE)).thenReturn(List.of(region));
-        when(vehicleTypeRepository.findByName(VEHICLE_TYPE)).thenReturn(Optional.of(vehicleType));
-        when(mileageFactorRepository.findByMileage(ANNUAL_MILEAGE)).thenReturn(Optional.of(mileageFactor));
+        when(ratingSnapshotService.getSnapshot()).thenReturn(createSnapshot(List.of(createMileageFactor())));
         
         // Expected premium calculation: 500 * 1.2 * 1.0 * 1.5 = 900.00
         BigDecimal expectedPremium = BASE_PREMIUM
@@ -100,6 +88,7 @@ class PremiumCalculationServiceTest {
     @Test
     void calculatePremium_WithInvalidRequest_ThrowsException() {
         // Arrange
+        when(ratingSnapshotService.getSnapshot()).thenReturn(createSnapshot(List.of(createMileageFactor())));
         PremiumCalculationRequest invalidRequest = new PremiumCalculationRequest(null, VEHICLE_TYPE, ANNUAL_MILEAGE);
         
         // Act & Assert
@@ -115,14 +104,7 @@ class PremiumCalculationServiceTest {
         // Arrange
         PremiumCalculationRequest request = new PremiumCalculationRequest(POSTAL_CODE, "Unknown", ANNUAL_MILEAGE);
         
-        RegionFactor regionFactor = new RegionFactor();
-        regionFactor.setFederalState("Berlin");
-        regionFactor.setFactor(REGION_FACTOR_VALUE);
-        
-        Region region = new Region("Berlin", "Germany", "Berlin", "Berlin", POSTAL_CODE, "Mitte", regionFactor);
-        
-        when(regionRepository.findByPostalCode(POSTAL_CODE)).thenReturn(List.of(region));
-        when(vehicleTypeRepository.findByName("Unknown")).thenReturn(Optional.empty());
+        when(ratingSnapshotService.getSnapshot()).thenReturn(createSnapshot(List.of(createMileageFactor())));
         
         // Act & Assert
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -137,26 +119,146 @@ class PremiumCalculationServiceTest {
         // Arrange
         PremiumCalculationRequest request = new PremiumCalculationRequest(POSTAL_CODE, VEHICLE_TYPE, ANNUAL_MILEAGE);
         
-        RegionFactor regionFactor = new RegionFactor();
-        regionFactor.setFederalState("Berlin");
-        regionFactor.setFactor(REGION_FACTOR_VALUE);
+        // no mileage bands configured
+        when(ratingSnapshotService.getSnapshot()).thenReturn(createSnapshot(List.of()));
         
-        Region region = new Region("Berlin", "Germany", "Berlin", "Berlin", POSTAL_CODE, "Mitte", regionFactor);
+        // Act & Assert
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            calculationService.calculatePremium(request);
+        });
         
-        VehicleType vehicleType = new VehicleType();
-        vehicleType.setName(VEHICLE_TYPE);
-        vehicleType.setFactor(VEHICLE_FACTOR_VALUE);
+        assertTrue(exception.getMessage().contains("No mileage factor found"));
+    }
+    
+    @Test
+    void calculatePremium_WithPostalCodeInSeveralFederalStates_ThrowsException() {
+        // Arrange
+        RegionFactor berlin = createRegionFactor(1L, "Berlin", REGION_FACTOR_VALUE);
+        RegionFactor brandenburg = createRegionFactor(2L, "Brandenburg", new BigDecimal("1.0"));
+        RatingSnapshot snapshot = new RatingSnapshot(1L, BASE_PREMIUM, List.of(berlin, brandenburg),
+                List.of(new PostcodeAssignment(POSTAL_CODE, "Berlin", 1L),
+                        new PostcodeAssignment(POSTAL_CODE, "Brandenburg", 2L)),
+                List.of(createVehicleType()), List.of(createMileageFactor()));
+        when(ratingSnapshotService.getSnapshot()).thenReturn(snapshot);
         
-        when(configService.getBasePremium()).thenReturn(BASE_PREMIUM);
-        when(regionRepository.findByPostalCode(POSTAL_CODE)).thenReturn(List.of(region));
-        when(vehicleTypeRepository.findByName(VEHICLE_TYPE)).thenReturn(Optional.of(vehicleType));
-        when(mileageFactorRepository.findByMileage(ANNUAL_MILEAGE)).thenReturn(Optional.empty());
+        PremiumCalculationRequest request = new PremiumCalculationRequest(POSTAL_CODE, VEHICLE_TYPE, ANNUAL_MILEAGE);
         
         // Act & Assert
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
             calculationService.calculatePremium(request);
         });
         
-        assertTrue(exception.getMessage().contains("No mileage factor found"));
+        assertTrue(exception.getMessage().contains("No region factor found"));
+    }
+    
+    @Test
+    void calculatePremium_DoesNotQueryRepositories() {
+        // Arrange
+        when(ratingSnapshotService.getSnapshot()).thenReturn(createSnapshot(List.of(createMileageFactor())));
+        PremiumCalculationRequest request = new PremiumCalculationRequest(POSTAL_CODE, VEHICLE_TYPE, ANNUAL_MILEAGE);
+        
+        // Act
+        calculationService.calculatePremium(request);
+        
+        // Assert
+        verifyNoInteractions(regionRepository, vehicleTypeRepository, mileageFactorRepository);
+    }
+    
+    @Test
+    void calculatePremium_WithinSameMileageBand_UsesCachedResult() {
+        // Arrange
+        when(ratingSnapshotService.getSnapshot()).thenReturn(createSnapshot(List.of(createMileageFactor())));
+        
+        // Act
+        PremiumCalculationResult first = calculationService.calculatePremium(
+                new PremiumCalculationRequest(POSTAL_CODE, VEHICLE_TYPE, ANNUAL_MILEAGE));
+        PremiumCalculationResult second = calculationService.calculatePremium(
+                new PremiumCalculationRequest(POSTAL_CODE, VEHICLE_TYPE, 18000));
+        
+        // Assert
+        assertEquals(first.premium(), second.premium());
+        assertEquals(18000, second.annualMileage());
+        QuoteCacheStats stats = calculationService.getQuoteCacheStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+    }
+    
+    @Test
+    void calculatePremium_AfterSnapshotReload_RecalculatesPremium() {
+        // Arrange
+        MileageFactor mileageFactor = createMileageFactor();
+        when(ratingSnapshotService.getSnapshot()).thenReturn(createSnapshot(List.of(mileageFactor)));
+        PremiumCalculationRequest request = new PremiumCalculationRequest(POSTAL_CODE, VEHICLE_TYPE, ANNUAL_MILEAGE);
+        calculationService.calculatePremium(request);
+        
+        mileageFactor.setFactor(new BigDecimal("2.0"));
+        RegionFactor regionFactor = createRegionFactor(1L, "Berlin", REGION_FACTOR_VALUE);
+        when(ratingSnapshotService.getSnapshot()).thenReturn(new RatingSnapshot(2L, BASE_PREMIUM, List.of(regionFactor),
+                List.of(new PostcodeAssignment(POSTAL_CODE, "Berlin", 1L)),
+                List.of(createVehicleType()), List.of(mileageFactor)));
+        
+        // Act
+        PremiumCalculationResult result = calculationService.calculatePremium(request);
+        
+        // Assert
+        assertEquals(new BigDecimal("1200.00"), result.premium());
+        assertEquals(0, calculationService.getQuoteCacheStats().hits());
+        assertEquals(2L, calculationService.getQuoteCacheStats().ratingVersion());
+    }
+    
+    @Test
+    void getPremiumGrid_ReturnsPremiumOfEveryCombination() {
+        // Arrange
+        MileageFactor lowMileage = createMileageFactor();
+        lowMileage.setMinMileage(0);
+        lowMileage.setMaxMileage(10000);
+        lowMileage.setFactor(new BigDecimal("0.8"));
+        when(ratingSnapshotService.getSnapshot()).thenReturn(createSnapshot(List.of(lowMileage, createMileageFactor())));
+        
+        // Act
+        PremiumGridResponse grid = calculationService.getPremiumGrid();
+        
+        // Assert
+        assertEquals(1L, grid.version());
+        assertEquals(BASE_PREMIUM, grid.basePremium());
+        assertEquals(2, grid.premiums().size());
+        PremiumGridEntry low = grid.premiums().get(0);
+        assertEquals("Berlin", low.federalState());
+        assertEquals(VEHICLE_TYPE, low.vehicleType());
+        assertEquals(0, low.minMileage());
+        assertEquals(new BigDecimal("480.00"), low.premium());
+        assertEquals(new BigDecimal("900.00"), grid.premiums().get(1).premium());
+        verifyNoInteractions(regionRepository, vehicleTypeRepository, mileageFactorRepository);
+    }
+    
+    private RatingSnapshot createSnapshot(List<MileageFactor> mileageFactors) {
+        RegionFactor regionFactor = createRegionFactor(1L, "Berlin", REGION_FACTOR_VALUE);
+        return new RatingSnapshot(1L, BASE_PREMIUM, List.of(regionFactor),
+                List.of(new PostcodeAssignment(POSTAL_CODE, "Berlin", 1L)),
+                List.of(createVehicleType()), mileageFactors);
+    }
+    
+    private RegionFactor createRegionFactor(Long id, String federalState, BigDecimal factor) {
+        RegionFactor regionFactor = new RegionFactor();
+        regionFactor.setId(id);
+        regionFactor.setFederalState(federalState);
+        regionFactor.setFactor(factor);
+        return regionFactor;
+    }
+    
+    private VehicleType createVehicleType() {
+        VehicleType vehicleType = new VehicleType();
+        vehicleType.setName(VEHICLE_TYPE);
+        vehicleType.setFactor(VEHICLE_FACTOR_VALUE);
+        return vehicleType;
+    }
+    
+    private MileageFactor createMileageFactor() {
+        MileageFactor mileageFactor = new MileageFactor();
+        mileageFactor.setMinMileage(10001);
+        mileageFactor.setMaxMileage(20000);
+        mileageFactor.setFactor(MILEAGE_FACTOR_VALUE);
+        return mileageFactor;
     }
 }
@@ -0,0 +1,91 @@
+package com.insurance.premium.calculation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.insurance.premium.calculation.dto.PremiumCalculationResult;
+import com.insurance.premium.calculation.dto.QuoteCacheStats;
+
+class QuoteCacheTest {
+
+    private static final PremiumCalculationResult RESULT = new PremiumCalculationResult(
+            "10115", "Kompaktklasse", 15000, new BigDecimal("500.00"),
+            new BigDecimal("1.5"), BigDecimal.ONE, new BigDecimal("1.2"), new BigDecimal("900.00"));
+
+    @Test
+    void get_CountsHitsAndMisses() {
+        QuoteCache cache = new QuoteCache(10);
+        QuoteCache.Key key = new QuoteCache.Key("10115", "Kompaktklasse", 1, 1L);
+
+        assertNull(cache.get(key));
+        cache.put(key, RESULT);
+        assertSame(RESULT, cache.get(key));
+
+        QuoteCacheStats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRate());
+    }
+
+    @Test
+    void put_WhenFull_EvictsEntries() {
+        QuoteCache cache = new QuoteCache(10);
+
+        for (int i = 0; i < 25; i++) {
+            cache.put(new QuoteCache.Key(String.valueOf(10000 + i), "Kompaktklasse", 1, 1L), RESULT);
+        }
+
+        QuoteCacheStats stats = cache.getStats();
+        assertTrue(stats.size() <= 10);
+        assertEquals(25 - stats.size(), stats.evictions());
+    }
+
+    @Test
+    void put_WhenFull_KeepsFrequentlyHitEntries() {
+        QuoteCache cache = new QuoteCache(10);
+        List<QuoteCache.Key> popular = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            popular.add(new QuoteCache.Key(String.valueOf(10000 + i), "Kompaktklasse", 1, 1L));
+            cache.put(popular.get(i), RESULT);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            for (QuoteCache.Key key : popular) {
+                assertSame(RESULT, cache.get(key), "evicted " + key);
+            }
+            cache.put(new QuoteCache.Key(String.valueOf(20000 + i), "Kompaktklasse", 1, 1L), RESULT);
+        }
+
+        assertTrue(cache.getStats().evictions() >= 90);
+    }
+
+    @Test
+    void put_WithNewerVersion_DropsOlderEntries() {
+        QuoteCache cache = new QuoteCache(10);
+        QuoteCache.Key oldKey = new QuoteCache.Key("10115", "Kompaktklasse", 1, 1L);
+        cache.put(oldKey, RESULT);
+
+        cache.put(new QuoteCache.Key("10115", "Kompaktklasse", 1, 2L), RESULT);
+        cache.put(oldKey, RESULT);
+
+        assertEquals(1, cache.getStats().size());
+        assertEquals(2L, cache.getStats().ratingVersion());
+        assertNull(cache.get(oldKey));
+    }
+
+    @Test
+    void get_WithCacheDisabled_ReturnsNull() {
+        QuoteCache cache = new QuoteCache(0);
+        QuoteCache.Key key = new QuoteCache.Key("10115", "Kompaktklasse", 1, 1L);
+
+        cache.put(key, RESULT);
+
+        assertNull(cache.get(key));
+        assertEquals(0, cache.getStats().size());
+    }
+}
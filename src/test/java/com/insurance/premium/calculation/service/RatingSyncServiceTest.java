@@ -0,0 +1,163 @@
+package com.insurance.premium.calculation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurance.premium.calculation.rating.RatingSnapshot;
+import com.insurance.premium.common.jdbc.EmbeddedPostgresExtension;
+
+/**
+ * Runs two sync services against an embedded PostgreSQL, standing in for two instances.
+ * Skipped where the embedded database cannot be started (e.g. when running as root).
+ */
+class RatingSyncServiceTest {
+
+    @RegisterExtension
+    static final EmbeddedPostgresExtension postgres = new EmbeddedPostgresExtension();
+
+    private static DataSource dataSource;
+    private static DataSourceProperties dataSourceProperties;
+
+    private CountingSnapshotService snapshotServiceA;
+    private CountingSnapshotService snapshotServiceB;
+    private RatingSyncService instanceA;
+    private RatingSyncService instanceB;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        dataSource = postgres.getDataSource();
+        dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl(postgres.getJdbcUrl());
+        dataSourceProperties.setUsername("postgres");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        snapshotServiceA = new CountingSnapshotService();
+        snapshotServiceB = new CountingSnapshotService();
+        instanceA = new RatingSyncService(dataSource, dataSourceProperties, snapshotServiceA, 200, 200);
+        instanceB = new RatingSyncService(dataSource, dataSourceProperties, snapshotServiceB, 200, 200);
+        instanceA.onApplicationReady();
+        instanceB.onApplicationReady();
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        instanceA.stop();
+        instanceB.stop();
+    }
+
+    @Test
+    void publishVersion_NotifiesOtherInstanceAfterCommit() throws InterruptedException {
+        Long version = transactionTemplate.execute(status -> instanceA.publishVersion("test"));
+
+        assertTrue(snapshotServiceB.awaitReloads(1, 5000));
+        assertEquals(version, instanceB.getKnownVersion());
+        assertEquals(version, instanceA.getKnownVersion());
+        // the publishing instance reloads via its own transactional event listener
+        assertFalse(snapshotServiceA.awaitReloads(1, 500));
+    }
+
+    @Test
+    void publishVersion_WithRollback_DoesNotNotify() throws InterruptedException {
+        long before = instanceB.getKnownVersion();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            instanceA.publishVersion("test");
+            status.setRollbackOnly();
+        });
+
+        assertFalse(snapshotServiceB.awaitReloads(1, 1000));
+        assertEquals(before, instanceB.getKnownVersion());
+    }
+
+    @Test
+    void checkVersion_AfterMissedNotification_ReloadsSnapshot() {
+        instanceB.stop();
+        new JdbcTemplate(dataSource).update("UPDATE rating_version SET version = version + 1 WHERE id = 1");
+
+        instanceB.checkVersion();
+        instanceB.checkVersion();
+
+        assertEquals(1, snapshotServiceB.reloads.get());
+    }
+
+    @Test
+    void listener_AfterConnectionLoss_Reconnects() throws InterruptedException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        awaitListeners(jdbcTemplate, 2);
+
+        jdbcTemplate.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = ?",
+                RatingSyncService.LISTENER_APPLICATION_NAME);
+        awaitListeners(jdbcTemplate, 2);
+        Long version = transactionTemplate.execute(status -> instanceA.publishVersion("test"));
+
+        assertTrue(snapshotServiceB.awaitReloads(1, 5000));
+        assertEquals(version, instanceB.getKnownVersion());
+    }
+
+    /**
+     * Wait until the given number of listener connections, opened outside the pool, are listening
+     */
+    private static void awaitListeners(JdbcTemplate jdbcTemplate, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            Integer listening = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_stat_activity WHERE application_name = ? AND query LIKE 'LISTEN%'",
+                    Integer.class, RatingSyncService.LISTENER_APPLICATION_NAME);
+            if (listening != null && listening == count) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("Listener connections not established");
+    }
+
+    /**
+     * Snapshot service counting reloads instead of reading from the database
+     */
+    private static class CountingSnapshotService extends RatingSnapshotService {
+
+        private final AtomicInteger reloads = new AtomicInteger();
+
+        CountingSnapshotService() {
+            super(null, null, null, null, null);
+        }
+
+        @Override
+        public synchronized RatingSnapshot reload() {
+            reloads.incrementAndGet();
+            notifyAll();
+            return null;
+        }
+
+        synchronized boolean awaitReloads(int count, long timeoutMillis) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            while (reloads.get() < count) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                wait(remaining);
+            }
+            return true;
+        }
+    }
+}
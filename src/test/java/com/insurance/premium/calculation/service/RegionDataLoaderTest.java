@@ -0,0 +1,231 @@
+package com.insurance.premium.calculation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.insurance.premium.calculation.domain.RegionFactor;
+import com.insurance.premium.calculation.dto.RegionSyncResult;
+import com.insurance.premium.calculation.event.FactorsChangedEvent;
+import com.insurance.premium.calculation.repository.RegionFactorRepository;
+import com.insurance.premium.calculation.repository.RegionRepository;
+import com.insurance.premium.common.jdbc.EmbeddedPostgresExtension;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+class RegionDataLoaderTest {
+
+    @RegisterExtension
+    static final EmbeddedPostgresExtension postgres = new EmbeddedPostgresExtension();
+
+    private static final String CSV_HEADER = "ISO_3166_1_ALPHA_2, ISO_3166_1_ALPHA_2_REGION_CODE, REGION1, REGION2, REGION3, "
+            + "REGION4, POSTLEITZAHL, ORT, AREA1, AREA2, LATITUDE, LONGITUDE, ZEITZONE, UTC, SOMMERZEIT, ACTIVE\n";
+    private static final String BERLIN_ROW = "\"DE\", \"DE-BE\", \"Berlin\", , \"Berlin\", , \"10115\", \"Berlin\", "
+            + "\"Mitte\", , 52.53, 13.38, \"Europe/Berlin\", \"UTC+1\", true, \"A\"\n";
+    private static final String NEW_ROW = "\"DE\", \"DE-BE\", \"Berlin\", , \"Berlin\", , \"10999\", \"Berlin\", "
+            + "\"Neustadt\", , 52.50, 13.42, \"Europe/Berlin\", \"UTC+1\", true, \"A\"\n";
+
+    private static int expectedRegions;
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    @BeforeAll
+    static void countUniqueRegions() throws Exception {
+        // reference: deduplication by concatenated key, as before the streaming import
+        Set<String> keys = new HashSet<>();
+        try (CSVReader csvReader = new CSVReader(new BufferedReader(new InputStreamReader(
+                new ClassPathResource("postcodes.csv").getInputStream(), StandardCharsets.UTF_8)))) {
+            csvReader.readNext();
+            String[] line;
+            while ((line = csvReader.readNext()) != null) {
+                String key = String.join("_", value(line, 2), value(line, 4), value(line, 5),
+                        value(line, 7), value(line, 6), value(line, 8));
+                if (!value(line, 2).isBlank() && !value(line, 4).isBlank() && !value(line, 7).isBlank() && !value(line, 6).isBlank()) {
+                    keys.add(key);
+                }
+            }
+        }
+        expectedRegions = keys.size();
+    }
+
+    @Test
+    void loadRegionData_OnPostgres_CopiesUniqueRegions() throws Exception {
+        DataSource dataSource = postgres.getDataSource();
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        assertRegionsLoaded(dataSource);
+        assertChangesSynchronized(dataSource);
+    }
+
+    @Test
+    void loadRegionData_OnH2_InsertsUniqueRegionsInBatches() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:regionloader;DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE region_factors (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, federal_state VARCHAR(100), factor DECIMAL(5, 2))");
+        jdbcTemplate.execute("INSERT INTO region_factors (federal_state, factor) VALUES ('DEFAULT', 1.0), ('Bayern', 1.1)");
+        jdbcTemplate.execute("CREATE TABLE regions (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, federal_state VARCHAR(100) NOT NULL, "
+                + "country VARCHAR(100) NOT NULL, area VARCHAR(100), city VARCHAR(100) NOT NULL, postal_code VARCHAR(10) NOT NULL, "
+                + "district VARCHAR(100), region_factor_id BIGINT NOT NULL REFERENCES region_factors(id), "
+                + "CONSTRAINT uk_regions_multiple UNIQUE (federal_state, country, area, city, postal_code, district))");
+
+        assertRegionsLoaded(dataSource);
+
+        // a new region factor for Berlin, whose regions used the default factor so far
+        jdbcTemplate.execute("INSERT INTO region_factors (federal_state, factor) VALUES ('Berlin', 1.4)");
+        RegionSyncResult result = createLoader(dataSource).syncRegions(false);
+        int berlinRegions = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM regions WHERE federal_state = 'Berlin'", Integer.class);
+        assertEquals(berlinRegions, result.updated());
+        assertEquals(expectedRegions - berlinRegions, result.unchanged());
+        assertEquals(0, result.inserted() + result.deleted());
+
+        assertChangesSynchronized(dataSource);
+    }
+
+    @Test
+    void syncRegions_WithoutChanges_DoesNotReloadSnapshot() throws Exception {
+        DataSource dataSource = createH2Regions("regionloadersync");
+        ByteArrayResource csv = csv(BERLIN_ROW);
+        RegionDataLoader loader = createLoader(dataSource);
+        loader.syncRegions(csv, false);
+
+        RegionSyncResult result = loader.syncRegions(csv, false);
+
+        assertEquals(new RegionSyncResult(0, 0, 0, 1, result.durationMillis()), result);
+        verify(eventPublisher, times(1)).publishEvent(any(FactorsChangedEvent.class));
+    }
+
+    @Test
+    void syncRegions_WithHeaderOnly_LeavesRegionsUnchanged() throws Exception {
+        DataSource dataSource = createH2Regions("regionloaderempty");
+        RegionDataLoader loader = createLoader(dataSource);
+        loader.syncRegions(csv(BERLIN_ROW + NEW_ROW), false);
+
+        assertThrows(CsvValidationException.class, () -> loader.syncRegions(csv(""), true));
+        // a file with the wrong delimiter has no valid rows either
+        assertThrows(CsvValidationException.class, () -> loader.syncRegions(
+                csv(BERLIN_ROW.replace(',', ';') + NEW_ROW.replace(',', ';')), true));
+
+        assertEquals(List.of("10115", "10999"), new JdbcTemplate(dataSource).queryForList(
+                "SELECT postal_code FROM regions ORDER BY postal_code", String.class));
+        verify(eventPublisher, times(1)).publishEvent(any(FactorsChangedEvent.class));
+    }
+
+    @Test
+    void syncRegions_DeletingTooManyRegions_RequiresForce() throws Exception {
+        DataSource dataSource = createH2Regions("regionloaderdelete");
+        RegionDataLoader loader = createLoader(dataSource);
+        loader.syncRegions(csv(BERLIN_ROW + NEW_ROW), false);
+
+        assertThrows(IllegalArgumentException.class, () -> loader.syncRegions(csv(BERLIN_ROW), false));
+        assertEquals(2, new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM regions", Integer.class));
+
+        RegionSyncResult result = loader.syncRegions(csv(BERLIN_ROW), true);
+        assertEquals(1, result.deleted());
+        assertEquals(1, new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM regions", Integer.class));
+    }
+
+    @Test
+    void rowHashes_DetectsDuplicates() {
+        RegionDataLoader.RowHashes hashes = new RegionDataLoader.RowHashes();
+
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(hashes.add(RegionDataLoader.RowHashes.hash("Berlin", "Berlin", "", "Berlin", String.valueOf(i), "")));
+        }
+        assertFalse(hashes.add(RegionDataLoader.RowHashes.hash("Berlin", "Berlin", "", "Berlin", "42", "")));
+        assertTrue(hashes.add(RegionDataLoader.RowHashes.hash("Berlin", "Berlin", "", "Berlin", "4", "2")));
+        assertEquals(100_001, hashes.size());
+    }
+
+    private void assertRegionsLoaded(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        createLoader(dataSource).loadRegionData();
+
+        assertEquals(expectedRegions, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM regions", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM regions WHERE district IS NULL", Integer.class));
+        assertEquals("Berlin", jdbcTemplate.queryForObject(
+                "SELECT MIN(federal_state) FROM regions WHERE postal_code = '10115'", String.class));
+        verify(eventPublisher).publishEvent(new FactorsChangedEvent("region data"));
+    }
+
+    /**
+     * Synchronize with a file containing one of the current regions and a new one
+     */
+    private void assertChangesSynchronized(DataSource dataSource) throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        long berlinId = jdbcTemplate.queryForObject(
+                "SELECT id FROM regions WHERE postal_code = '10115' AND district = 'Mitte'", Long.class);
+
+        RegionSyncResult result = createLoader(dataSource).syncRegions(csv(BERLIN_ROW + NEW_ROW), true);
+
+        assertEquals(1, result.inserted());
+        assertEquals(1, result.unchanged());
+        assertEquals(expectedRegions - 1, result.deleted());
+        assertEquals(List.of("10115", "10999"), jdbcTemplate.queryForList(
+                "SELECT postal_code FROM regions ORDER BY postal_code", String.class));
+        assertEquals(berlinId, jdbcTemplate.queryForObject(
+                "SELECT id FROM regions WHERE postal_code = '10115'", Long.class));
+    }
+
+    private RegionDataLoader createLoader(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        RegionRepository regionRepository = mock(RegionRepository.class);
+        RegionFactorRepository regionFactorRepository = mock(RegionFactorRepository.class);
+        when(regionRepository.count()).thenReturn(0L);
+        when(regionFactorRepository.findAll()).thenAnswer(invocation -> findRegionFactors(jdbcTemplate));
+        when(regionFactorRepository.findDefaultRegionFactor()).thenAnswer(invocation -> findRegionFactors(jdbcTemplate).stream()
+                .filter(f -> "DEFAULT".equals(f.getFederalState())).findFirst());
+        return new RegionDataLoader(regionRepository, regionFactorRepository, dataSource, eventPublisher,
+                new DefaultResourceLoader(), "classpath:postcodes.csv", 0.2);
+    }
+
+    private static DataSource createH2Regions(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE region_factors (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, federal_state VARCHAR(100), factor DECIMAL(5, 2))");
+        jdbcTemplate.execute("INSERT INTO region_factors (federal_state, factor) VALUES ('DEFAULT', 1.0), ('Berlin', 1.4)");
+        jdbcTemplate.execute("CREATE TABLE regions (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, federal_state VARCHAR(100) NOT NULL, "
+                + "country VARCHAR(100) NOT NULL, area VARCHAR(100), city VARCHAR(100) NOT NULL, postal_code VARCHAR(10) NOT NULL, "
+                + "district VARCHAR(100), region_factor_id BIGINT NOT NULL REFERENCES region_factors(id))");
+        return dataSource;
+    }
+
+    private static List<RegionFactor> findRegionFactors(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.query("SELECT id, federal_state FROM region_factors", (rs, i) -> {
+            RegionFactor factor = new RegionFactor();
+            factor.setId(rs.getLong("id"));
+            factor.setFederalState(rs.getString("federal_state"));
+            return factor;
+        });
+    }
+
+    private static ByteArrayResource csv(String rows) {
+        return new ByteArrayResource((CSV_HEADER + rows).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String value(String[] line, int index) {
+        return line[index].trim().replace("\"", "");
+    }
+}
@@ -0,0 +1,103 @@
+package com.insurance.premium.common.jdbc;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Embedded PostgreSQL shared by all test classes of a test run. The server is started on
+ * the first request for a database and stopped after the run; every test class gets
+ * databases of its own, so the classes do not see each other's data. Tests requesting a
+ * database are skipped where the embedded server cannot be started (e.g. when running as root).
+ *
+ * <pre>
+ * &#64;RegisterExtension
+ * static final EmbeddedPostgresExtension postgres = new EmbeddedPostgresExtension();
+ * </pre>
+ */
+public class EmbeddedPostgresExtension implements BeforeAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(EmbeddedPostgresExtension.class);
+
+    private Server server;
+    private String prefix;
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        server = context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Server.class, key -> new Server(), Server.class);
+        prefix = context.getRequiredTestClass().getSimpleName().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Get the main database of the test class, created on the first call
+     *
+     * @return the data source of the database
+     */
+    public DataSource getDataSource() {
+        return server.database(prefix);
+    }
+
+    /**
+     * Get a further database of the test class, created on the first call
+     *
+     * @param name the name of the database within the test class
+     * @return the data source of the database
+     */
+    public DataSource getDataSource(String name) {
+        return server.database(prefix + "_" + name);
+    }
+
+    /**
+     * Get the JDBC URL of the main database of the test class
+     *
+     * @return the JDBC URL, with the user postgres
+     */
+    public String getJdbcUrl() {
+        getDataSource();
+        return server.postgres.getJdbcUrl("postgres", prefix);
+    }
+
+    /**
+     * The server, started once and closed with the root context at the end of the run
+     */
+    private static final class Server implements ExtensionContext.Store.CloseableResource {
+
+        private final Set<String> databases = new HashSet<>();
+        private EmbeddedPostgres postgres;
+        private String unavailable;
+
+        synchronized DataSource database(String name) {
+            if (postgres == null && unavailable == null) {
+                try {
+                    postgres = EmbeddedPostgres.builder().start();
+                } catch (Exception e) {
+                    unavailable = e.getMessage();
+                }
+            }
+            if (unavailable != null) {
+                Assumptions.abort("Embedded PostgreSQL not available: " + unavailable);
+            }
+            if (databases.add(name)) {
+                new JdbcTemplate(postgres.getPostgresDatabase()).execute("CREATE DATABASE " + name);
+            }
+            return postgres.getDatabase("postgres", name);
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+}
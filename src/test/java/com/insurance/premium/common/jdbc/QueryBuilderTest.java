@@ -0,0 +1,35 @@
+package com.insurance.premium.common.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.insurance.premium.application.domain.Application.Status;
+
+class QueryBuilderTest {
+
+    @Test
+    void where_LeavesOutUnsetFiltersAndConvertsValues() {
+        LocalDateTime from = LocalDateTime.of(2025, 3, 10, 8, 0);
+
+        QueryBuilder query = new QueryBuilder("SELECT id FROM applications")
+                .where("status = ?", Status.ACCEPTED)
+                .where("vehicle_type = ?", null)
+                .where("created_at >= ?", from)
+                .append(" ORDER BY id LIMIT ?", 10);
+
+        assertEquals("SELECT id FROM applications WHERE status = ? AND created_at >= ? ORDER BY id LIMIT ?", query.sql());
+        assertArrayEquals(new Object[] {"ACCEPTED", Timestamp.valueOf(from), 10}, query.args());
+    }
+
+    @Test
+    void sql_WithoutFilters_HasNoWhereClause() {
+        QueryBuilder query = new QueryBuilder("SELECT id FROM applications").where("status = ?", null);
+
+        assertEquals("SELECT id FROM applications", query.sql());
+        assertEquals(0, query.args().length);
+    }
+}
@@ -0,0 +1,102 @@
+package com.insurance.premium.common.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Runs the range partition helpers against an embedded PostgreSQL.
+ * Skipped where the embedded database cannot be started.
+ */
+class RangePartitionsTest {
+
+    private static final long LOCK_KEY = 42L;
+
+    @RegisterExtension
+    static final EmbeddedPostgresExtension postgres = new EmbeddedPostgresExtension();
+
+    private static DataSource dataSource;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        dataSource = postgres.getDataSource();
+    }
+
+    @Test
+    void createPartition_MovesRowsOfTheRangeOutOfTheDefaultPartition() throws Exception {
+        JdbcTemplate jdbcTemplate = createTable("readings");
+        LocalDate day = LocalDate.of(2025, 3, 10);
+        jdbcTemplate.update("INSERT INTO readings VALUES (1, ?), (2, ?), (3, ?)",
+                day.minusDays(1), day, day.plusDays(1));
+
+        RangePartitions.maintain(dataSource, LOCK_KEY, "Test maintenance", conn -> {
+            RangePartitions.createPartition(conn, "readings", "readings_p20250310", "day", day, day.plusDays(1));
+            return null;
+        });
+
+        assertEquals(List.of(2L), ids(jdbcTemplate, "readings_p20250310"));
+        assertEquals(List.of(1L, 3L), ids(jdbcTemplate, "readings_default"));
+        assertEquals(List.of(1L, 2L, 3L), ids(jdbcTemplate, "readings"));
+        try (Connection conn = dataSource.getConnection()) {
+            assertEquals(List.of("readings_default", "readings_p20250310"), RangePartitions.listPartitions(conn, "readings"));
+        }
+    }
+
+    @Test
+    void maintain_WhileAnotherInstanceHoldsTheLock_IsRejected() throws Exception {
+        createTable("locked");
+        try (Connection other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            try (Statement statement = other.createStatement()) {
+                statement.execute("SELECT pg_advisory_xact_lock(" + LOCK_KEY + ")");
+            }
+
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> RangePartitions.maintain(dataSource, LOCK_KEY, "Test maintenance", conn -> {
+                        fail("The maintenance must not run without the lock");
+                        return null;
+                    }));
+            assertEquals("Test maintenance is already running on another instance", e.getMessage());
+            other.rollback();
+        }
+    }
+
+    @Test
+    void maintain_WhenTheMaintenanceFails_RollsBack() throws Exception {
+        JdbcTemplate jdbcTemplate = createTable("failing");
+        LocalDate day = LocalDate.of(2025, 3, 10);
+        jdbcTemplate.update("INSERT INTO failing VALUES (1, ?)", day);
+
+        assertThrows(SQLException.class, () -> RangePartitions.maintain(dataSource, LOCK_KEY, "Test maintenance", conn -> {
+            RangePartitions.createPartition(conn, "failing", "failing_p20250310", "day", day, day.plusDays(1));
+            throw new SQLException("Maintenance failed");
+        }));
+
+        assertEquals(List.of(1L), ids(jdbcTemplate, "failing_default"));
+        try (Connection conn = dataSource.getConnection()) {
+            assertEquals(List.of("failing_default"), RangePartitions.listPartitions(conn, "failing"));
+        }
+    }
+
+    private static JdbcTemplate createTable(String table) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id BIGINT NOT NULL, day DATE NOT NULL) PARTITION BY RANGE (day)");
+        jdbcTemplate.execute("CREATE TABLE " + RangePartitions.defaultPartition(table) + " PARTITION OF " + table + " DEFAULT");
+        return jdbcTemplate;
+    }
+
+    private static List<Long> ids(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " ORDER BY id", Long.class);
+    }
+}
@@ -14,9 +14,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import com.insurance.premium.common.domain.SystemConfiguration;
+import com.insurance.premium.common.event.ConfigurationChangedEvent;
 import com.insurance.premium.common.repository.SystemConfigurationRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +27,9 @@ class ConfigurationServiceTest {
     @Mock
     private SystemConfigurationRepository configurationRepository;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @InjectMocks
     @Spy
     private ConfigurationService configurationService;
@@ -172,6 +177,7 @@ class ConfigurationServiceTest {
         assertEquals(description, result.getDescription());
         verify(configurationRepository).findByKey(configKey);
         verify(configurationRepository).save(any(SystemConfiguration.class));
+        verify(eventPublisher).publishEvent(new ConfigurationChangedEvent(configKey, newValue));
     }
     
     @Test
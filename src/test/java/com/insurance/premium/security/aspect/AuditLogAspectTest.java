@@ -0,0 +1,228 @@
+package com.insurance.premium.security.aspect;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.premium.common.event.ConfigurationChangedEvent;
+import com.insurance.premium.common.service.ConfigurationService;
+import com.insurance.premium.security.dto.EndpointLatencyStats;
+import com.insurance.premium.security.service.AuditLogService;
+import com.insurance.premium.security.service.AuditPolicyService;
+import com.insurance.premium.security.service.AuditRecord;
+import com.insurance.premium.security.service.EndpointLatencyRegistry;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogAspectTest {
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    private AuditPolicyService auditPolicyService;
+    private EndpointLatencyRegistry latencyRegistry;
+    private AuditLogAspect aspect;
+    private SampleController controller;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        auditPolicyService = new AuditPolicyService(null, "default=full");
+        latencyRegistry = new EndpointLatencyRegistry("1");
+        aspect = new AuditLogAspect(auditLogService, auditPolicyService, latencyRegistry, new ObjectMapper());
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampleController());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        controller = factory.getProxy();
+
+        request = new MockHttpServletRequest("POST", "/sample");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("User-Agent", "JUnit");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void logControllerMethodExecution_WithRequestBody_LogsBodyAndStatus() {
+        controller.create(request, Map.of("postalCode", "10115"));
+
+        verify(auditLogService).createAuditLog(eq("SampleController"), eq("POST"), eq("/sample"),
+            eq("{\"postalCode\":\"10115\"}"), eq(201), eq("10.0.0.1"), eq("JUnit"), anyLong());
+    }
+
+    @Test
+    void logControllerMethodExecution_WithParameters_LogsParameterMap() {
+        request.setRequestURI("/sample/7");
+
+        controller.get(7L);
+
+        verify(auditLogService).createAuditLog(eq("SampleController"), eq("GET"), eq("/sample/7"),
+            eq("{\"id\":7}"), eq(200), eq("10.0.0.1"), eq("JUnit"), anyLong());
+    }
+
+    @Test
+    void logControllerMethodExecution_WithRequestMappingAndException_LogsServerError() {
+        assertThrows(IllegalStateException.class, () -> controller.fail());
+
+        verify(auditLogService).createAuditLog(eq("SampleController"), eq("DELETE"), eq("/sample"),
+            eq("{}"), eq(500), eq("10.0.0.1"), eq("JUnit"), anyLong());
+    }
+
+    @Test
+    void logControllerMethodExecution_WithVoidHandlerSettingStatus_LogsResponseStatus() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+
+        controller.upload(response);
+
+        verify(auditLogService).createAuditLog(eq("SampleController"), eq("PUT"), eq("/sample"),
+            eq("{}"), eq(400), eq("10.0.0.1"), eq("JUnit"), anyLong());
+        assertEquals(1, latencyRegistry.getStats().get(0).windows().get(0).clientErrors());
+        assertEquals(0, latencyRegistry.getStats().get(0).windows().get(0).serverErrors());
+    }
+
+    @Test
+    void logControllerMethodExecution_WithResponseStatusException_LogsItsStatus() {
+        request.setRequestURI("/sample/missing");
+
+        assertThrows(ResponseStatusException.class, () -> controller.missing());
+
+        verify(auditLogService).createAuditLog(eq("SampleController"), eq("GET"), eq("/sample/missing"),
+            eq("{}"), eq(404), eq("10.0.0.1"), eq("JUnit"), anyLong());
+    }
+
+    @Test
+    void logControllerMethodExecution_RecordsLatencyPerMethod() {
+        controller.get(7L);
+        controller.get(8L);
+        assertThrows(IllegalStateException.class, () -> controller.fail());
+
+        List<EndpointLatencyStats> stats = latencyRegistry.getStats();
+        assertEquals(2, stats.size());
+        assertEquals("SampleController.fail", stats.get(0).endpoint());
+        assertEquals(1, stats.get(0).windows().get(0).serverErrors());
+        assertEquals("SampleController.get", stats.get(1).endpoint());
+        assertEquals("GET", stats.get(1).httpMethod());
+        assertEquals(2, stats.get(1).windows().get(0).count());
+    }
+
+    @Test
+    void logControllerMethodExecution_WithinAuditedRequest_EnrichesAuditRecord() {
+        AuditRecord auditRecord = AuditRecord.start(request);
+
+        controller.get(7L);
+
+        assertEquals("SampleController", auditRecord.getController());
+        verifyNoInteractions(auditLogService);
+    }
+
+    @Test
+    void logControllerMethodExecution_WithMetadataPolicy_LogsWithoutRequestData() {
+        auditPolicyService.onConfigurationChanged(new ConfigurationChangedEvent(
+            ConfigurationService.AUDIT_POLICY_KEY, "controller:SampleController=metadata"));
+
+        controller.create(request, Map.of("postalCode", "10115"));
+
+        verify(auditLogService).createAuditLog(eq("SampleController"), eq("POST"), eq("/sample"),
+            eq("{}"), eq(201), eq("10.0.0.1"), eq("JUnit"), anyLong());
+    }
+
+    @Test
+    void logControllerMethodExecution_WithErrorsOnlyPolicy_LogsFailedCallsOnly() {
+        auditPolicyService.onConfigurationChanged(new ConfigurationChangedEvent(
+            ConfigurationService.AUDIT_POLICY_KEY, "endpoint:/sample/**=errors"));
+        AuditRecord auditRecord = AuditRecord.start(request);
+
+        controller.get(7L);
+        assertFalse(auditRecord.isAuditable(200));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/sample")));
+        assertThrows(IllegalStateException.class, () -> controller.fail());
+        verify(auditLogService).createAuditLog(eq("SampleController"), eq("DELETE"), eq("/sample"),
+            eq("{}"), eq(500), any(), any(), anyLong());
+    }
+
+    @Test
+    void describe_IsComputedOncePerMethod() throws Exception {
+        Method create = SampleController.class.getMethod("create", HttpServletRequest.class, Map.class);
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(create);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getTarget()).thenReturn(new SampleController());
+
+        AuditMethodDescriptor descriptor = aspect.describe(joinPoint);
+
+        assertSame(descriptor, aspect.describe(joinPoint));
+        assertEquals("SampleController", descriptor.controllerName());
+        assertEquals("POST", descriptor.httpMethod());
+        assertEquals(1, descriptor.requestBodyIndex());
+        assertNull(descriptor.parameterNames()[0]);
+        verify(signature, times(1)).getParameterNames();
+    }
+
+    @RestController
+    @RequestMapping("/sample")
+    static class SampleController {
+
+        @PostMapping
+        public ResponseEntity<String> create(HttpServletRequest request, @RequestBody Map<String, String> body) {
+            return ResponseEntity.status(HttpStatus.CREATED).body("created");
+        }
+
+        @GetMapping("/{id}")
+        public String get(@PathVariable Long id) {
+            return "sample " + id;
+        }
+
+        @RequestMapping(method = RequestMethod.DELETE)
+        public void fail() {
+            throw new IllegalStateException("failed");
+        }
+
+        @RequestMapping(method = RequestMethod.PUT)
+        public void upload(HttpServletResponse response) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+        }
+
+        @GetMapping("/missing")
+        public String missing() {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "missing");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.insurance.premium.security.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.premium.calculation.dto.PremiumCalculationRequest;
+import com.insurance.premium.security.aspect.AuditLogAspect;
+import com.insurance.premium.security.service.AuditLogService;
+import com.insurance.premium.security.service.AuditLogWriter;
+import com.insurance.premium.security.service.AuditPolicyService;
+import com.insurance.premium.security.service.AuditRecord;
+import com.insurance.premium.security.service.EndpointLatencyRegistry;
+
+/**
+ * Benchmarks of the overhead of {@link AuditLogAspect} on controller calls.
+ *
+ * The {@code direct} benchmarks call the controller without the aspect, the
+ * {@code audited} ones through an AOP proxy with the aspect, so the difference is the
+ * cost of auditing a call. With {@code auditRecord} the call belongs to a request started
+ * by the audit filter (the usual case), otherwise the entry is handed to the audit writer,
+ * which is not started, so entries are dropped once its buffer is full. The {@code policy}
+ * parameter is the {@link AuditPolicyService audit policy}; sampled calls skip the request data.
+ *
+ * Run with {@code mvn -Pbenchmark -DskipTests verify -Djmh.args="AuditLogAspect"}, see STARTUP_GUIDE.md.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditLogAspectBenchmark {
+
+    @Param({"true", "false"})
+    private boolean auditRecord;
+
+    @Param({"default=full", "default=sampled:5"})
+    private String policy;
+
+    private BenchmarkController controller;
+    private BenchmarkController audited;
+    private MockHttpServletRequest request;
+    private AuditLogWriter writer;
+    private PremiumCalculationRequest body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:audit-benchmark");
+        writer = new AuditLogWriter((DataSource) dataSource, 1024, 100, 1000, "drop", 0);
+        // the repository is only used by the audit log queries
+        AuditLogService auditLogService = new AuditLogService(null, writer, new ObjectMapper(), 1000);
+
+        controller = new BenchmarkController();
+        AspectJProxyFactory factory = new AspectJProxyFactory(controller);
+        factory.setProxyTargetClass(true);
+        // the configuration service is only used to refresh the policy
+        AuditPolicyService auditPolicyService = new AuditPolicyService(null, policy);
+        factory.addAspect(new AuditLogAspect(auditLogService, auditPolicyService, new EndpointLatencyRegistry("1"), new ObjectMapper()));
+        audited = factory.getProxy();
+
+        request = new MockHttpServletRequest("POST", "/api/premium/calculate");
+        request.addHeader("User-Agent", "JMH");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        if (auditRecord) {
+            // the record only keeps the last controller call, so one record serves all invocations
+            AuditRecord.start(request);
+        }
+        body = new PremiumCalculationRequest("10115", "Kompaktklasse", 15000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public Object directPost() {
+        return controller.calculate(body);
+    }
+
+    @Benchmark
+    public Object auditedPost() {
+        return audited.calculate(body);
+    }
+
+    @Benchmark
+    public Object directGet() {
+        return controller.get("10115");
+    }
+
+    @Benchmark
+    public Object auditedGet() {
+        return audited.get("10115");
+    }
+
+    /**
+     * Controller with the mapping shapes of the real controllers; a test component, so
+     * application contexts of the tests do not pick it up
+     */
+    @TestComponent
+    @RestController
+    public static class BenchmarkController {
+
+        @PostMapping("/api/premium/calculate")
+        public ResponseEntity<String> calculate(@RequestBody PremiumCalculationRequest request) {
+            return ResponseEntity.ok(request.postalCode());
+        }
+
+        @GetMapping("/api/regions/{postalCode}")
+        public String get(@PathVariable String postalCode) {
+            return postalCode;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.insurance.premium.security.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.insurance.premium.security.domain.AuditLog;
+import com.insurance.premium.security.service.AuditLogService;
+import com.insurance.premium.security.service.AuditRecord;
+
+import jakarta.servlet.FilterChain;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityAuditLogFilterTest {
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    private SecurityAuditLogFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new SecurityAuditLogFilter(auditLogService);
+        request = new MockHttpServletRequest("POST", "/api/premium/calculate");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("User-Agent", "JUnit");
+        response = new MockHttpServletResponse();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void doFilter_WithAuthenticatedControllerCall_WritesOneEntry() throws Exception {
+        var user = new UsernamePasswordAuthenticationToken("admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+
+        filter.doFilter(request, response, inRequestContext(auditRecord -> {
+            auditRecord.recordSecurityEvent("Authentication Success", user, true);
+            auditRecord.recordControllerCall("PremiumCalculationController", "{\"postalCode\":\"10115\"}", user, true);
+        }));
+
+        AuditLog auditLog = captureWrittenEntry(200);
+        assertEquals("admin", auditLog.getUsername());
+        assertEquals("PremiumCalculationController", auditLog.getController());
+        assertEquals("POST", auditLog.getMethod());
+        assertEquals("/api/premium/calculate", auditLog.getEndpoint());
+        assertEquals("{\"postalCode\":\"10115\"}", auditLog.getRequestData());
+        assertEquals("Authentication Success", auditLog.getSecurityEvent());
+        assertEquals("10.0.0.1", auditLog.getIpAddress());
+        assertEquals("JUnit", auditLog.getUserAgent());
+    }
+
+    @Test
+    void doFilter_WithFailedAuthentication_WritesOneEntryWithEvent() throws Exception {
+        var attempt = new UsernamePasswordAuthenticationToken("admin", "wrong");
+
+        filter.doFilter(request, response, inRequestContext(auditRecord -> {
+            auditRecord.recordSecurityEvent("Authentication Failure - Bad Credentials", attempt, false);
+            response.setStatus(401);
+        }));
+
+        AuditLog auditLog = captureWrittenEntry(401);
+        assertEquals("anonymous", auditLog.getUsername());
+        assertEquals("SecurityFilter", auditLog.getController());
+        assertEquals("Authentication Failure - Bad Credentials", auditLog.getSecurityEvent());
+        assertEquals("{}", auditLog.getRequestData());
+    }
+
+    @Test
+    void doFilter_WithoutControllerCallOrError_WritesNothing() throws Exception {
+        filter.doFilter(request, response, inRequestContext(auditRecord -> { }));
+
+        verify(auditLogService, never()).createAuditLog(any(AuditRecord.class), anyInt());
+    }
+
+    @Test
+    void doFilter_WithControllerCallNotSelectedByPolicy_WritesOnlyErrors() throws Exception {
+        var user = new UsernamePasswordAuthenticationToken("admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+
+        filter.doFilter(request, response, inRequestContext(auditRecord -> {
+            auditRecord.recordSecurityEvent("Authentication Success", user, true);
+            auditRecord.recordControllerCall("PremiumCalculationController", "{}", user, false);
+        }));
+        verify(auditLogService, never()).createAuditLog(any(AuditRecord.class), anyInt());
+
+        filter.doFilter(request, response, inRequestContext(auditRecord -> {
+            auditRecord.recordControllerCall("PremiumCalculationController", "{}", user, false);
+            response.setStatus(400);
+        }));
+        captureWrittenEntry(400);
+    }
+
+    @Test
+    void doFilter_WithExceptionInChain_WritesServerError() {
+        FilterChain chain = (req, res) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, response, chain));
+
+        assertEquals(500, captureWrittenEntry(500).getResponseStatus());
+    }
+
+    private FilterChain inRequestContext(Consumer<AuditRecord> processing) {
+        return (req, res) -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            processing.accept(AuditRecord.current());
+        };
+    }
+
+    private AuditLog captureWrittenEntry(int status) {
+        ArgumentCaptor<AuditRecord> captor = ArgumentCaptor.forClass(AuditRecord.class);
+        verify(auditLogService).createAuditLog(captor.capture(), eq(status));
+        return captor.getValue().toAuditLog(status);
+    }
+}
@@ -0,0 +1,75 @@
+package com.insurance.premium.security.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.insurance.premium.common.jdbc.EmbeddedPostgresExtension;
+import com.insurance.premium.security.dto.AuditLogCursor;
+import com.insurance.premium.security.dto.AuditLogEntry;
+import com.insurance.premium.security.dto.AuditLogFilter;
+
+/**
+ * Runs the audit log search against an embedded PostgreSQL with the Flyway migrations and
+ * checks that pages are read in index order from the daily partitions.
+ * Skipped where the embedded database cannot be started.
+ */
+class AuditLogQueryRepositoryTest {
+
+    private static final String PAGE_SQL = "SELECT id, timestamp FROM audit_logs WHERE %s" +
+            "(timestamp, id) < ('%s', %d) ORDER BY timestamp DESC, id DESC LIMIT 50";
+
+    @RegisterExtension
+    static final EmbeddedPostgresExtension postgres = new EmbeddedPostgresExtension();
+
+    private static JdbcTemplate jdbcTemplate;
+    private static AuditLogQueryRepository repository;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        DataSource dataSource = postgres.getDataSource();
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // three days of entries, one every few seconds
+        jdbcTemplate.update("INSERT INTO audit_logs (timestamp, username, controller, method, endpoint, response_status) " +
+                "SELECT ?::timestamp + n * INTERVAL '3 seconds', 'user' || n % 10, 'Controller' || n % 5, 'GET', " +
+                "'/api/endpoint/' || n % 20, CASE WHEN n % 7 = 0 THEN 400 ELSE 200 END " +
+                "FROM generate_series(0, 86399) n", LocalDate.now().atStartOfDay());
+        jdbcTemplate.execute("ANALYZE audit_logs");
+        repository = new AuditLogQueryRepository(dataSource, 500);
+    }
+
+    @Test
+    void findPage_ContinuesAfterTheCursorNewestFirst() {
+        List<AuditLogEntry> first = repository.findPage(AuditLogFilter.NONE, null, 50, false);
+        List<AuditLogEntry> second = repository.findPage(AuditLogFilter.NONE, AuditLogCursor.of(first.get(49)), 50, false);
+
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM audit_logs ORDER BY timestamp DESC, id DESC LIMIT 100", Long.class);
+        assertEquals(expected.subList(0, 50), first.stream().map(AuditLogEntry::id).toList());
+        assertEquals(expected.subList(50, 100), second.stream().map(AuditLogEntry::id).toList());
+    }
+
+    @Test
+    void findPage_ReadsThePartitionsInIndexOrderWithoutSorting() {
+        AuditLogEntry middle = repository.findPage(AuditLogFilter.NONE, null, 40_000, false).get(39_999);
+
+        for (String filter : List.of("", "response_status = 400 AND ", "response_status >= 400 AND ")) {
+            String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " +
+                    PAGE_SQL.formatted(filter, middle.timestamp(), middle.id()), String.class));
+
+            assertTrue(plan.contains("Merge Append"), plan);
+            assertTrue(plan.contains("Scan Backward using audit_logs_p"), plan);
+            assertFalse(plan.matches("(?s).*\\bSort(?! Key).*"), plan);
+        }
+    }
+}
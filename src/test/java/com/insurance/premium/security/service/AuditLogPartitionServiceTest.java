@@ -0,0 +1,138 @@
+package com.insurance.premium.security.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.insurance.premium.common.jdbc.EmbeddedPostgresExtension;
+
+/**
+ * Runs the partition maintenance against an embedded PostgreSQL with the Flyway migrations.
+ * Skipped where the embedded database cannot be started.
+ */
+class AuditLogPartitionServiceTest {
+
+    @RegisterExtension
+    static final EmbeddedPostgresExtension postgres = new EmbeddedPostgresExtension();
+
+    private static DataSource dataSource;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        dataSource = postgres.getDataSource();
+        Flyway.configure().dataSource(dataSource).load().migrate();
+    }
+
+    @Test
+    void maintain_CreatesPartitionsAndRollsUpExpiredDays() throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        LocalDate today = LocalDate.now();
+        LocalDateTime morning = today.atTime(9, 10);
+        insert(jdbcTemplate, morning, "/api/premium/calculate", 200, 10);
+        insert(jdbcTemplate, morning.plusMinutes(20), "/api/premium/calculate", 400, 30);
+        insert(jdbcTemplate, morning.plusHours(1), "/api/premium/calculate", 200, 5);
+        // beyond the partitions created by the migration, so stored in the default partition
+        LocalDate later = today.plusDays(40);
+        insert(jdbcTemplate, later.atTime(12, 0), "/api/applications", 201, 7);
+        assertEquals(1, count(jdbcTemplate, "audit_logs_default"));
+
+        AuditLogPartitionService service = new AuditLogPartitionService(dataSource, 30, 2, 30);
+        AuditLogPartitionService.MaintenanceResult result = service.maintain(later);
+
+        assertEquals(List.of(AuditLogPartitionService.partitionName(later),
+                AuditLogPartitionService.partitionName(later.plusDays(1)),
+                AuditLogPartitionService.partitionName(later.plusDays(2))), result.created());
+        assertTrue(result.dropped().contains(AuditLogPartitionService.partitionName(today)));
+        assertEquals(0, count(jdbcTemplate, "audit_logs_default"));
+        assertEquals(1, count(jdbcTemplate, AuditLogPartitionService.partitionName(later)));
+        assertEquals(1, count(jdbcTemplate, "audit_logs"));
+
+        List<Map<String, Object>> hourly = jdbcTemplate.queryForList(
+                "SELECT * FROM audit_log_hourly WHERE endpoint = '/api/premium/calculate' ORDER BY hour");
+        assertEquals(2, hourly.size());
+        assertEquals(2L, hourly.get(0).get("request_count"));
+        assertEquals(1L, hourly.get(0).get("error_count"));
+        assertEquals(40L, hourly.get(0).get("total_execution_time_ms"));
+        assertEquals(30L, hourly.get(0).get("max_execution_time_ms"));
+        assertEquals(1L, hourly.get(1).get("request_count"));
+
+        // a second run has nothing to do
+        AuditLogPartitionService.MaintenanceResult again = service.maintain(later);
+        assertTrue(again.created().isEmpty());
+        assertTrue(again.dropped().isEmpty());
+    }
+
+    @Test
+    void maintain_WithManyExpiredDays_DropsAtMostMaxDropsPerRun() throws Exception {
+        DataSource capped = postgres.getDataSource("capped");
+        Flyway.configure().dataSource(capped).load().migrate();
+        LocalDate today = LocalDate.now();
+        AuditLogPartitionService service = new AuditLogPartitionService(capped, 30, 0, 3);
+
+        // the migration created the partitions from today until a week ahead, all expired 40 days later
+        AuditLogPartitionService.MaintenanceResult first = service.maintain(today.plusDays(40));
+        AuditLogPartitionService.MaintenanceResult second = service.maintain(today.plusDays(40));
+        AuditLogPartitionService.MaintenanceResult third = service.maintain(today.plusDays(40));
+
+        assertEquals(List.of(AuditLogPartitionService.partitionName(today),
+                AuditLogPartitionService.partitionName(today.plusDays(1)),
+                AuditLogPartitionService.partitionName(today.plusDays(2))), first.dropped());
+        assertEquals(3, second.dropped().size());
+        assertEquals(List.of(AuditLogPartitionService.partitionName(today.plusDays(6)),
+                AuditLogPartitionService.partitionName(today.plusDays(7))), third.dropped());
+    }
+
+    @Test
+    void migration_MovesEntriesWithinRetentionIntoDailyPartitions() throws Exception {
+        DataSource legacy = postgres.getDataSource("legacy");
+        Flyway.configure().dataSource(legacy).target("7").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(legacy);
+        LocalDate today = LocalDate.now();
+        LocalDateTime threeDaysAgo = today.minusDays(3).atTime(8, 0);
+        LocalDateTime twoYearsAgo = today.minusYears(2).atTime(8, 0);
+        for (LocalDateTime timestamp : List.of(threeDaysAgo, twoYearsAgo)) {
+            jdbcTemplate.update("INSERT INTO audit_logs (timestamp, username, controller, method, endpoint) "
+                    + "VALUES (?, 'user', 'TestController', 'GET', '/api/premium/factors')", Timestamp.valueOf(timestamp));
+        }
+
+        // the retention is passed in like spring.flyway.init-sqls does
+        Flyway.configure().dataSource(legacy).initSql("SET audit.retention_days = '30'").load().migrate();
+
+        // partitions from 30 days ago until a week ahead, the older entry in the default partition
+        assertEquals(38, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = 'audit_logs'::regclass AND c.relname LIKE 'audit_logs_p%'", Integer.class));
+        assertEquals(1, count(jdbcTemplate, AuditLogPartitionService.partitionName(threeDaysAgo.toLocalDate())));
+        assertEquals(1, count(jdbcTemplate, "audit_logs_default"));
+        insert(jdbcTemplate, LocalDateTime.now(), "/api/premium/calculate", 200, 1);
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM audit_logs", Integer.class));
+
+        // the first maintenance rolls up the older entry without dropping any partition
+        AuditLogPartitionService.MaintenanceResult result = new AuditLogPartitionService(legacy, 30, 7, 30).maintain(today);
+        assertTrue(result.dropped().isEmpty());
+        assertEquals(0, count(jdbcTemplate, "audit_logs_default"));
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT request_count FROM audit_log_hourly WHERE hour = ?",
+                Long.class, Timestamp.valueOf(twoYearsAgo)));
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, LocalDateTime timestamp, String endpoint, int status, long executionTimeMs) {
+        jdbcTemplate.update("INSERT INTO audit_logs (timestamp, username, controller, method, endpoint, response_status, "
+                + "execution_time_ms) VALUES (?, 'user', 'TestController', 'POST', ?, ?, ?)",
+                Timestamp.valueOf(timestamp), endpoint, status, executionTimeMs);
+    }
+
+    private static int count(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
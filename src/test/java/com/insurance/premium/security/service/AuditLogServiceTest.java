@@ -0,0 +1,147 @@
+package com.insurance.premium.security.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.premium.security.dto.AuditLogEntry;
+import com.insurance.premium.security.dto.AuditLogFilter;
+import com.insurance.premium.security.dto.AuditLogPage;
+import com.insurance.premium.security.repository.AuditLogQueryRepository;
+
+class AuditLogServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private JdbcTemplate jdbcTemplate;
+    private AuditLogQueryRepository queryRepository;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:audit-query-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE audit_logs (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "timestamp TIMESTAMP NOT NULL, username VARCHAR(255) NOT NULL, controller VARCHAR(255) NOT NULL, "
+                + "method VARCHAR(10) NOT NULL, endpoint VARCHAR(255) NOT NULL, request_data TEXT, "
+                + "response_status INTEGER, ip_address VARCHAR(45), user_agent VARCHAR(255), execution_time_ms BIGINT, "
+                + "security_event VARCHAR(100))");
+        queryRepository = new AuditLogQueryRepository(dataSource, 10);
+    }
+
+    @Test
+    void search_PagesThroughAllEntriesWithCursor() {
+        // pairs of entries share a timestamp, so the id has to break the tie
+        for (int i = 0; i < 25; i++) {
+            insert("user", "/api/premium/calculate", 200, BASE.plusSeconds(i / 2));
+        }
+        AuditLogService service = service(1000);
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            AuditLogPage page = service.search(AuditLogFilter.NONE, cursor, 10, false);
+            page.items().forEach(entry -> ids.add(entry.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(25, ids.size());
+        assertEquals(25, ids.stream().distinct().count());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) > ids.get(i), "entries must be ordered newest first");
+        }
+    }
+
+    @Test
+    void search_CombinesFilters() {
+        insert("alice", "/api/applications", 200, BASE);
+        insert("alice", "/api/applications", 404, BASE.plusMinutes(1));
+        insert("alice", "/api/applications", 500, BASE.plusHours(2));
+        insert("alice", "/api/premium/calculate", 400, BASE.plusMinutes(1));
+        insert("bob", "/api/applications", 403, BASE.plusMinutes(1));
+        AuditLogService service = service(1000);
+
+        AuditLogFilter filter = new AuditLogFilter("alice", null, "/api/applications",
+                BASE, BASE.plusHours(1), null, 400);
+        AuditLogPage page = service.search(filter, null, 100, false);
+
+        assertEquals(1, page.items().size());
+        AuditLogEntry entry = page.items().get(0);
+        assertEquals("alice", entry.username());
+        assertEquals(404, entry.responseStatus());
+        assertNull(entry.requestData());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void findAll_IsCappedAtMaxResults() {
+        for (int i = 0; i < 8; i++) {
+            insert("user", "/api/applications", 200, BASE.plusSeconds(i));
+        }
+        AuditLogService service = service(5);
+
+        AuditLogPage page = service.findAll();
+        assertEquals(5, page.items().size());
+        assertEquals("{\"page\":7}", page.items().get(0).requestData());
+        assertNotNull(page.nextCursor());
+
+        assertEquals(5, service.search(AuditLogFilter.NONE, null, 100, false).items().size());
+        assertEquals(3, service.search(AuditLogFilter.NONE, page.nextCursor(), 100, false).items().size());
+    }
+
+    @Test
+    void search_RejectsInvalidCursor() {
+        AuditLogService service = service(1000);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.search(AuditLogFilter.NONE, "not-a-cursor", 10, false));
+    }
+
+    @Test
+    void export_WritesOneLinePerEntry() throws Exception {
+        for (int i = 0; i < 23; i++) {
+            insert(i % 2 == 0 ? "alice" : "bob", "/api/applications", 200, BASE.plusSeconds(i));
+        }
+        AuditLogService service = service(5);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = service.export(AuditLogFilter.byUsername("alice"), true, output);
+
+        // exports are not capped and read in several fetches
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(12, count);
+        assertEquals(12, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("alice", first.get("username").asText());
+        assertEquals("{\"page\":22}", first.get("requestData").asText());
+    }
+
+    private AuditLogService service(int maxResults) {
+        // the writer is only used to create audit logs
+        return new AuditLogService(queryRepository, null, objectMapper, maxResults);
+    }
+
+    private void insert(String username, String endpoint, int status, LocalDateTime timestamp) {
+        int page = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Integer.class);
+        jdbcTemplate.update("INSERT INTO audit_logs (timestamp, username, controller, method, endpoint, request_data, "
+                + "response_status, execution_time_ms) VALUES (?, ?, 'TestController', 'GET', ?, ?, ?, 5)",
+                Timestamp.valueOf(timestamp), username, endpoint, "{\"page\":" + page + "}", status);
+    }
+}
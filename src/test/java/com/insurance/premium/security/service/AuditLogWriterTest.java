@@ -0,0 +1,196 @@
+package com.insurance.premium.security.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.insurance.premium.security.domain.AuditLog;
+import com.insurance.premium.security.dto.AuditWriterStats;
+
+class AuditLogWriterTest {
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:audit-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SEQUENCE audit_logs_seq INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE TABLE audit_logs (id BIGINT PRIMARY KEY, "
+                + "timestamp TIMESTAMP NOT NULL, username VARCHAR(255) NOT NULL, controller VARCHAR(255) NOT NULL, "
+                + "method VARCHAR(10) NOT NULL, endpoint VARCHAR(255) NOT NULL, request_data TEXT, "
+                + "response_status INTEGER, ip_address VARCHAR(45), user_agent VARCHAR(255), execution_time_ms BIGINT, "
+                + "security_event VARCHAR(100))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void enqueue_WritesEntriesInBatches() throws Exception {
+        writer = new AuditLogWriter(dataSource, 64, 10, 20, "drop", 0);
+        writer.start();
+
+        for (int i = 0; i < 25; i++) {
+            assertTrue(writer.enqueue(entry("/api/premium/calculate", i)));
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (writer.getStats().written() < 25 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        AuditWriterStats stats = writer.getStats();
+        assertEquals(25, stats.enqueued());
+        assertEquals(25, stats.written());
+        assertEquals(0, stats.dropped());
+        assertEquals(25, count());
+    }
+
+    @Test
+    void write_StoresAllColumns() throws Exception {
+        writer = new AuditLogWriter(dataSource, 16, 4, 1000, "drop", 0);
+        AuditLog withNulls = new AuditLog("anonymous", "SecurityFilter", "GET", "/api/x", null, null, null, null, null);
+
+        writer.write(List.of(entry("/api/premium/calculate", 7), withNulls));
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT * FROM audit_logs WHERE endpoint = '/api/premium/calculate'");
+        assertEquals("user", row.get("USERNAME"));
+        assertEquals("PremiumCalculationController", row.get("CONTROLLER"));
+        assertEquals("POST", row.get("METHOD"));
+        assertEquals("{\"i\":7}", row.get("REQUEST_DATA"));
+        assertEquals(200, row.get("RESPONSE_STATUS"));
+        assertEquals(7L, row.get("EXECUTION_TIME_MS"));
+        assertNull(jdbcTemplate.queryForObject(
+                "SELECT response_status FROM audit_logs WHERE endpoint = '/api/x'", Integer.class));
+    }
+
+    @Test
+    void write_ReservesIdsInBlocks() throws Exception {
+        writer = new AuditLogWriter(dataSource, 128, 40, 1000, "drop", 0);
+        List<AuditLog> entries = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            entries.add(entry("/api/premium/calculate", i));
+        }
+
+        writer.write(entries);
+        writer.write(entries);
+        // another writer, e.g. of a second instance, reserves its own block
+        jdbcTemplate.queryForObject("SELECT nextval('audit_logs_seq')", Long.class);
+        writer.write(entries);
+
+        assertEquals(120, count());
+        assertEquals(120, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM audit_logs", Integer.class));
+        // 1 to 101 from the own blocks, then 152 to 170 from the block after the foreign one (102 to 151)
+        assertEquals(101, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs WHERE id <= 101", Integer.class));
+        assertEquals(170L, jdbcTemplate.queryForObject("SELECT MAX(id) FROM audit_logs", Long.class));
+        assertEquals(251L, jdbcTemplate.queryForObject("SELECT nextval('audit_logs_seq')", Long.class));
+    }
+
+    @Test
+    void enqueue_WithFullBuffer_DropsAndCountsEntries() {
+        writer = new AuditLogWriter(dataSource, 8, 4, 1000, "drop", 0);
+
+        int queued = 0;
+        for (int i = 0; i < 12; i++) {
+            if (writer.enqueue(entry("/api/premium/calculate", i))) {
+                queued++;
+            }
+        }
+
+        AuditWriterStats stats = writer.getStats();
+        assertEquals(8, queued);
+        assertEquals(8, stats.enqueued());
+        assertEquals(4, stats.dropped());
+        assertEquals(8, stats.buffered());
+    }
+
+    @Test
+    void enqueue_WithBlockPolicyAndNoFreeSpace_DropsAfterTimeout() {
+        writer = new AuditLogWriter(dataSource, 2, 2, 1000, "block", 20);
+        writer.enqueue(entry("/a", 1));
+        writer.enqueue(entry("/b", 2));
+
+        long start = System.nanoTime();
+        assertFalse(writer.enqueue(entry("/c", 3)));
+
+        assertTrue(System.nanoTime() - start >= 20_000_000L);
+        assertEquals(1, writer.getStats().dropped());
+    }
+
+    @Test
+    void stop_FlushesBufferedEntries() {
+        writer = new AuditLogWriter(dataSource, 128, 50, 60_000, "drop", 0);
+        writer.start();
+        for (int i = 0; i < 30; i++) {
+            writer.enqueue(entry("/api/premium/calculate", i));
+        }
+
+        writer.stop();
+
+        assertEquals(30, count());
+        assertEquals(0, writer.getStats().buffered());
+    }
+
+    @Test
+    void ringBuffer_WithConcurrentProducers_DeliversEveryElementOnce() throws Exception {
+        AuditLogWriter.RingBuffer<Integer> buffer = new AuditLogWriter.RingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 10_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        boolean[] seen = new boolean[producers * perProducer];
+        List<Integer> drained = new ArrayList<>();
+        int total = 0;
+        while (total < seen.length) {
+            drained.clear();
+            total += buffer.drainTo(drained, 100);
+            for (int value : drained) {
+                assertFalse(seen[value]);
+                seen[value] = true;
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, buffer.size());
+        assertEquals(1024, buffer.capacity());
+    }
+
+    private static AuditLog entry(String endpoint, int i) {
+        return new AuditLog("user", "PremiumCalculationController", "POST", endpoint,
+                "{\"i\":" + i + "}", 200, "127.0.0.1", "JUnit", (long) i);
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Integer.class);
+    }
+}
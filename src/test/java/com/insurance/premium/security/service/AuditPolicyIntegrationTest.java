@@ -0,0 +1,54 @@
+package com.insurance.premium.security.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.insurance.premium.common.repository.SystemConfigurationRepository;
+import com.insurance.premium.common.service.ConfigurationService;
+
+/**
+ * Not transactional, as the policy is validated and applied around the commit of the configuration change
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AuditPolicyIntegrationTest {
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private AuditPolicyService auditPolicyService;
+
+    @Autowired
+    private SystemConfigurationRepository configurationRepository;
+
+    @AfterEach
+    void tearDown() {
+        configurationRepository.findByKey(ConfigurationService.AUDIT_POLICY_KEY).ifPresent(configurationRepository::delete);
+        auditPolicyService.refresh();
+    }
+
+    @Test
+    void updateConfiguration_WithValidPolicy_AppliesItAfterCommit() {
+        configurationService.updateConfiguration(ConfigurationService.AUDIT_POLICY_KEY,
+            "endpoint:/api/premium/calculate/**=errors;default=full", null);
+
+        assertEquals("endpoint:/api/premium/calculate/**=errors;default=full",
+            auditPolicyService.getPolicy().getDefinition());
+        assertFalse(auditPolicyService.decide("PremiumCalculationController", "/api/premium/calculate", null).audited());
+    }
+
+    @Test
+    void updateConfiguration_WithInvalidPolicy_IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> configurationService.updateConfiguration(
+            ConfigurationService.AUDIT_POLICY_KEY, "default=verbose", null));
+
+        assertTrue(configurationRepository.findByKey(ConfigurationService.AUDIT_POLICY_KEY).isEmpty());
+        assertEquals("default=full", auditPolicyService.getPolicy().getDefinition());
+    }
+}
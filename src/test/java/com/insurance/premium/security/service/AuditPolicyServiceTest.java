@@ -0,0 +1,66 @@
+package com.insurance.premium.security.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.insurance.premium.common.event.ConfigurationChangedEvent;
+import com.insurance.premium.common.service.ConfigurationService;
+
+@ExtendWith(MockitoExtension.class)
+class AuditPolicyServiceTest {
+
+    @Mock
+    private ConfigurationService configService;
+
+    private AuditPolicyService auditPolicyService;
+
+    @BeforeEach
+    void setUp() {
+        auditPolicyService = new AuditPolicyService(configService, "default=full");
+    }
+
+    @Test
+    void refresh_LoadsPolicyFromConfiguration() {
+        when(configService.getConfigValue(ConfigurationService.AUDIT_POLICY_KEY, "default=full"))
+            .thenReturn("default=errors");
+
+        auditPolicyService.refresh();
+
+        assertEquals("default=errors", auditPolicyService.getPolicy().getDefinition());
+        assertFalse(auditPolicyService.decide("C", "/x", null).audited());
+    }
+
+    @Test
+    void refresh_WithInvalidConfiguration_KeepsCurrentPolicy() {
+        when(configService.getConfigValue(ConfigurationService.AUDIT_POLICY_KEY, "default=full"))
+            .thenReturn("default=verbose");
+
+        auditPolicyService.refresh();
+
+        assertEquals("default=full", auditPolicyService.getPolicy().getDefinition());
+    }
+
+    @Test
+    void onConfigurationChanged_AppliesAuditPolicyOnly() {
+        auditPolicyService.onConfigurationChanged(new ConfigurationChangedEvent(ConfigurationService.BASE_PREMIUM_KEY, "600"));
+        assertEquals("default=full", auditPolicyService.getPolicy().getDefinition());
+
+        auditPolicyService.onConfigurationChanged(new ConfigurationChangedEvent(ConfigurationService.AUDIT_POLICY_KEY, "default=metadata"));
+        assertEquals(AuditPolicy.Decision.METADATA, auditPolicyService.decide("C", "/x", null));
+    }
+
+    @Test
+    void validateConfiguration_WithInvalidPolicy_ThrowsException() {
+        ConfigurationChangedEvent invalid = new ConfigurationChangedEvent(ConfigurationService.AUDIT_POLICY_KEY, "default=verbose");
+
+        assertThrows(IllegalArgumentException.class, () -> auditPolicyService.validateConfiguration(invalid));
+        assertDoesNotThrow(() -> auditPolicyService.validateConfiguration(
+            new ConfigurationChangedEvent(ConfigurationService.BASE_PREMIUM_KEY, "default=verbose")));
+    }
+}
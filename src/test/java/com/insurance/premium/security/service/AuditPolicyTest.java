@@ -0,0 +1,72 @@
+package com.insurance.premium.security.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+class AuditPolicyTest {
+
+    private static final Authentication ADMIN = new UsernamePasswordAuthenticationToken(
+        "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+    private static final Authentication ANONYMOUS = new AnonymousAuthenticationToken(
+        "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+    @Test
+    void decide_UsesFirstMatchingRule() {
+        AuditPolicy policy = AuditPolicy.parse(
+            "role:ADMIN=full; endpoint:/api/premium/calculate/**=errors; controller:ApplicationController=metadata; default=full");
+
+        assertEquals(AuditPolicy.Decision.FULL, policy.decide("PremiumCalculationController", "/api/premium/calculate", ADMIN));
+        assertEquals(AuditPolicy.Decision.ERRORS_ONLY, policy.decide("PremiumCalculationController", "/api/premium/calculate", ANONYMOUS));
+        assertEquals(AuditPolicy.Decision.ERRORS_ONLY, policy.decide("PremiumCalculationController", "/api/premium/calculate/batch", null));
+        assertEquals(AuditPolicy.Decision.METADATA, policy.decide("ApplicationController", "/api/applications", ANONYMOUS));
+        assertEquals(AuditPolicy.Decision.FULL, policy.decide("FactorManagementController", "/api/admin/premium/management/regions", ANONYMOUS));
+    }
+
+    @Test
+    void decide_WithAnonymousRole_MatchesUnauthenticatedCallsOnly() {
+        AuditPolicy policy = AuditPolicy.parse("role:anonymous=metadata;role:ROLE_ADMIN=errors");
+
+        assertEquals(AuditPolicy.Decision.METADATA, policy.decide("C", "/x", ANONYMOUS));
+        assertEquals(AuditPolicy.Decision.METADATA, policy.decide("C", "/x", null));
+        assertEquals(AuditPolicy.Decision.ERRORS_ONLY, policy.decide("C", "/x", ADMIN));
+    }
+
+    @Test
+    void decide_WithSampledRule_AuditsAboutThePercentage() {
+        AuditPolicy policy = AuditPolicy.parse("default=sampled:10");
+
+        int audited = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (policy.decide("C", "/x", null).audited()) {
+                audited++;
+            }
+        }
+
+        assertTrue(audited > 700 && audited < 1300, "audited " + audited);
+        assertFalse(AuditPolicy.parse("default=sampled:0").decide("C", "/x", null).audited());
+        assertTrue(AuditPolicy.parse("default=sampled:100%").decide("C", "/x", null).audited());
+    }
+
+    @Test
+    void decide_WithoutMatchingRule_AuditsInFull() {
+        AuditPolicy policy = AuditPolicy.parse("controller:ApplicationController=errors");
+
+        assertEquals(AuditPolicy.Decision.FULL, policy.decide("UserController", "/api/users", ADMIN));
+    }
+
+    @Test
+    void parse_WithInvalidDefinition_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> AuditPolicy.parse(" "));
+        assertThrows(IllegalArgumentException.class, () -> AuditPolicy.parse("default"));
+        assertThrows(IllegalArgumentException.class, () -> AuditPolicy.parse("path:/x=full"));
+        assertThrows(IllegalArgumentException.class, () -> AuditPolicy.parse("default=verbose"));
+        assertThrows(IllegalArgumentException.class, () -> AuditPolicy.parse("default=sampled:abc"));
+        assertThrows(IllegalArgumentException.class, () -> AuditPolicy.parse("default=sampled:150"));
+        assertThrows(IllegalArgumentException.class, () -> AuditPolicy.parse("controller:=full"));
+    }
+}
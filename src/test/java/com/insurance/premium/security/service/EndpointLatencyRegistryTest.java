@@ -0,0 +1,95 @@
+package com.insurance.premium.security.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.insurance.premium.security.dto.EndpointLatencyStats;
+import com.insurance.premium.security.dto.LatencyWindowStats;
+
+class EndpointLatencyRegistryTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(5));
+
+    @Test
+    void histogram_BucketsAreWithinOnePercent() {
+        for (long value = 0; value < EndpointLatencyRegistry.Histogram.MAX_VALUE; value = value * 3 / 2 + 1) {
+            int index = EndpointLatencyRegistry.Histogram.indexOf(value);
+            long highest = EndpointLatencyRegistry.Histogram.highestValueOf(index);
+            assertTrue(highest >= value, "bucket of " + value + " ends at " + highest);
+            assertTrue(highest - value <= value / 64, "bucket of " + value + " ends at " + highest);
+            assertEquals(index, EndpointLatencyRegistry.Histogram.indexOf(highest));
+            long middle = EndpointLatencyRegistry.Histogram.middleValueOf(index);
+            assertTrue(Math.abs(middle - value) <= value / 100 + 1, "middle of bucket of " + value + " is " + middle);
+        }
+    }
+
+    @Test
+    void getStats_ReportsPercentilesAndErrors() {
+        EndpointLatencyRegistry registry = new EndpointLatencyRegistry("1", clock::get);
+        for (int micros = 1; micros <= 10_000; micros++) {
+            int status = micros % 100 == 0 ? 500 : micros % 50 == 0 ? 404 : 200;
+            registry.record("PremiumCalculationController.calculatePremium", "POST", micros * 1000L, status);
+        }
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        List<EndpointLatencyStats> stats = registry.getStats();
+        assertEquals(1, stats.size());
+        assertEquals("POST", stats.get(0).httpMethod());
+        LatencyWindowStats window = stats.get(0).windows().get(0);
+        assertEquals(10_000, window.count());
+        assertEquals(1000.0, window.throughputPerSecond(), 0.001);
+        assertEquals(100, window.clientErrors());
+        assertEquals(100, window.serverErrors());
+        assertEquals(5.0, window.p50Ms(), 0.05);
+        assertEquals(9.0, window.p90Ms(), 0.09);
+        assertEquals(9.9, window.p99Ms(), 0.1);
+        assertEquals(9.99, window.p999Ms(), 0.1);
+        assertEquals(10.0, window.maxMs());
+        assertEquals(5.0, window.meanMs(), 0.01);
+    }
+
+    @Test
+    void getStats_RollsWindowsByMinute() {
+        EndpointLatencyRegistry registry = new EndpointLatencyRegistry("1,5", clock::get);
+        for (int i = 0; i < 10; i++) {
+            registry.record("ApplicationController.getAllApplications", "GET", 2_000_000, 200);
+        }
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(3));
+        for (int i = 0; i < 5; i++) {
+            registry.record("ApplicationController.getAllApplications", "GET", 8_000_000, 200);
+        }
+
+        List<LatencyWindowStats> windows = registry.getStats().get(0).windows();
+        assertEquals(5, windows.get(0).count());
+        assertEquals(8.0, windows.get(0).p50Ms(), 0.08);
+        assertEquals(15, windows.get(1).count());
+        assertEquals(2.0, windows.get(1).p50Ms(), 0.02);
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        assertTrue(registry.getStats().isEmpty());
+    }
+
+    @Test
+    void record_FromManyThreads_CountsEveryCall() throws Exception {
+        EndpointLatencyRegistry registry = new EndpointLatencyRegistry("1");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    registry.record("ApplicationController.getApplication", "GET", i * 1000L, 200);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, registry.getStats().get(0).windows().get(0).count());
+    }
+}